@@ -0,0 +1,48 @@
+package edu.ntnu.idi.idatt.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The entry point of {@code benchmarks.jar}. Runs JMH with the given command line, but writes the results
+ * as JSON to {@code jmh-result-<version>.json} unless a result format or file is given, so results from
+ * two releases can be compared directly. Unless a profiler is chosen, the GC profiler is added, so every
+ * result also reports how much the benchmark allocates.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    /**
+     * Runs the benchmarks.
+     *
+     * @param args JMH command line options, for example {@code StorageBenchmark -p size=1000}.
+     * @throws Exception if JMH fails.
+     */
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        if (!options.contains("-rf")) {
+            options.add("-rf");
+            options.add("json");
+        }
+        if (!options.contains("-prof")) {
+            options.add("-prof");
+            options.add("gc");
+        }
+        if (!options.contains("-rff")) {
+            options.add("-rff");
+            options.add(defaultResultFile());
+        }
+        org.openjdk.jmh.Main.main(options.toArray(new String[0]));
+    }
+
+    /**
+     * Names the result file after the version the benchmarks were built from.
+     */
+    private static String defaultResultFile() {
+        String version = BenchmarkRunner.class.getPackage().getImplementationVersion();
+        return "jmh-result-" + (version == null ? "dev" : version) + ".json";
+    }
+}
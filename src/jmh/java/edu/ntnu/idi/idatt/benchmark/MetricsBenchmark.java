@@ -0,0 +1,87 @@
+package edu.ntnu.idi.idatt.benchmark;
+
+import edu.ntnu.idi.idatt.metrics.LatencyHistogram;
+import edu.ntnu.idi.idatt.metrics.MetricsRegistry;
+import edu.ntnu.idi.idatt.metrics.OperationMetrics;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures what recording an operation costs: the two clock reads alone, recording a latency into a striped
+ * histogram, and a complete {@link OperationMetrics#start()} and {@link OperationMetrics#stop(long)} pair,
+ * both with the default sample interval that storage and cookbook operations use and with every call timed,
+ * as menu actions are. The sampled pair is also measured with four threads recording into the same
+ * operation, where striping keeps them from contending.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsBenchmark {
+    private final OperationMetrics operation = MetricsRegistry.global().operation("benchmark.sampled");
+    private final OperationMetrics everyCall = MetricsRegistry.global().operation("benchmark.everyCall");
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private long latency = 1234;
+
+    /**
+     * Makes the every-call operation time every call.
+     */
+    @Setup
+    public void setUp() {
+        everyCall.setSampleInterval(1);
+    }
+
+    /**
+     * Reads the clock twice, as timing an operation does.
+     */
+    @Benchmark
+    public long clockReads() {
+        long start = System.nanoTime();
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Records a latency without reading the clock.
+     */
+    @Benchmark
+    public void record() {
+        histogram.record(latency);
+    }
+
+    /**
+     * Records an empty operation with the default sample interval.
+     */
+    @Benchmark
+    public void startStop() {
+        operation.stop(operation.start());
+    }
+
+    /**
+     * Records an empty operation, timing every call.
+     */
+    @Benchmark
+    public void startStopEveryCall() {
+        everyCall.stop(everyCall.start());
+    }
+
+    /**
+     * Records an empty operation with the default sample interval from four threads at once.
+     */
+    @Benchmark
+    @Threads(4)
+    public void startStopShared() {
+        operation.stop(operation.start());
+    }
+}
@@ -0,0 +1,26 @@
+package edu.ntnu.idi.idatt.benchmark;
+
+/**
+ * How often each ingredient name occurs, both in generated storage and in the names benchmarks look up.
+ */
+public enum NameDistribution {
+    /** Every name is equally likely. */
+    UNIFORM(0),
+    /** The name of rank k is drawn with probability proportional to 1/k, so a few names dominate. */
+    ZIPFIAN(1);
+
+    private final double skew;
+
+    NameDistribution(double skew) {
+        this.skew = skew;
+    }
+
+    /**
+     * Retrieves the Zipf exponent of the distribution.
+     *
+     * @return the exponent; 0 for uniform.
+     */
+    public double skew() {
+        return skew;
+    }
+}
@@ -0,0 +1,288 @@
+package edu.ntnu.idi.idatt.benchmark;
+
+import edu.ntnu.idi.idatt.model.Cookbook;
+import edu.ntnu.idi.idatt.model.Recipe;
+import edu.ntnu.idi.idatt.model.Storage;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures recipe suggestion, feasibility checks, lookup by name and adding recipes, over cookbooks of
+ * different sizes, recipes of different lengths and storages that stock different shares of the ingredients.
+ * A recipe can be made exactly when all of its ingredients are stocked, so with coverage c and k ingredients
+ * per recipe about c^k of the recipes are feasible.
+ *
+ * <p>Suggestion and feasibility are also measured with {@link StreamBaseline}, the stream-based checks
+ * the application started with, so any index or parallel engine is compared against the same baseline.
+ * Suggestion runs on a pool of the configured number of threads; operations that other threads call
+ * concurrently can be measured with JMH's own {@code -t} option. The launcher adds {@code -prof gc}
+ * unless another profiler is chosen, so allocation rates are reported alongside times.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class RecipeBenchmark {
+    private static final int INGREDIENTS = 2000;
+    private static final String[] UNITS = {"g", "kg", "pcs", "liter"};
+    private static final String[] CATEGORIES = {"Lunch", "Dinner", "Breakfast", "Dessert"};
+    private static final int LOOKUPS = 1 << 10;
+    private static final int ADDITIONS = 1000;
+
+    /**
+     * A generated cookbook. Recipes draw their ingredients uniformly from a fixed set of names.
+     */
+    @State(Scope.Benchmark)
+    public abstract static class Recipes {
+        /** The number of recipes in the cookbook. */
+        @Param({"100", "10000", "100000"})
+        public int recipes;
+
+        /** The number of distinct ingredients in every recipe. */
+        @Param({"4", "16"})
+        public int ingredientsPerRecipe;
+
+        Cookbook cookbook;
+        private SplittableRandom random;
+
+        /**
+         * Creates a cookbook holding the configured number of recipes, generated from a fixed seed.
+         */
+        void fill() {
+            random = new SplittableRandom(11);
+            cookbook = new Cookbook();
+            for (int r = 0; r < recipes; r++) {
+                cookbook.addRecipeToCookbook(newRecipe(r), CATEGORIES[r % CATEGORIES.length]);
+            }
+        }
+
+        /**
+         * Generates a recipe with distinct ingredients, each in the unit its name is stocked in.
+         */
+        Recipe newRecipe(int number) {
+            Recipe recipe = new Recipe(0, nameOfRecipe(number), "Generated recipe.", "Mix and cook.");
+            int first = random.nextInt(INGREDIENTS);
+            int step = 1 + random.nextInt(INGREDIENTS / ingredientsPerRecipe - 1);
+            for (int i = 0; i < ingredientsPerRecipe; i++) {
+                int k = (first + i * step) % INGREDIENTS;
+                recipe.addIngredient(nameOfIngredient(k), 1 + random.nextInt(5), UNITS[k % UNITS.length], 20.0);
+            }
+            return recipe;
+        }
+    }
+
+    /**
+     * A cookbook and a storage generated once per run.
+     */
+    @State(Scope.Benchmark)
+    public static class Kitchen extends Recipes {
+        /** The share of all ingredient names that storage holds enough of for any recipe. */
+        @Param({"0.25", "0.75", "1.0"})
+        public double coverage;
+
+        Storage storage;
+        Recipe[] checked;
+        String[] lookups;
+        private int next;
+
+        /**
+         * Generates the cookbook, the storage and the recipes and names to look up.
+         */
+        @Setup(Level.Trial)
+        public void setUp() {
+            fill();
+            SplittableRandom random = new SplittableRandom(23);
+            storage = new Storage();
+            int[] order = new int[INGREDIENTS];
+            for (int k = 0; k < INGREDIENTS; k++) {
+                int j = random.nextInt(k + 1);
+                order[k] = order[j];
+                order[j] = k;
+            }
+            int stocked = (int) Math.round(coverage * INGREDIENTS);
+            LocalDate expiry = LocalDate.now().plusYears(1);
+            for (int i = 0; i < stocked; i++) {
+                int k = order[i];
+                storage.addEntry(nameOfIngredient(k), 100, UNITS[k % UNITS.length], expiry, 50.0);
+            }
+
+            ArrayList<Recipe> all = new ArrayList<>(cookbook.getCookbook().values());
+            checked = new Recipe[LOOKUPS];
+            lookups = new String[LOOKUPS];
+            for (int i = 0; i < LOOKUPS; i++) {
+                checked[i] = all.get(random.nextInt(all.size()));
+                lookups[i] = checked[i].getRecipeName();
+            }
+        }
+
+        /**
+         * Retrieves the position of the next recipe to check or look up.
+         */
+        int next() {
+            int i = next;
+            next = (next + 1) & (LOOKUPS - 1);
+            return i;
+        }
+    }
+
+    /**
+     * The pool recipe suggestion runs on. With one thread every suggestion is checked sequentially;
+     * with more, every suggestion is split across the pool.
+     */
+    @State(Scope.Benchmark)
+    public static class Engine {
+        /** The parallelism of the suggestion pool. */
+        @Param({"1", "4"})
+        public int threads;
+
+        ForkJoinPool pool;
+
+        /**
+         * Points the kitchen's cookbook at a pool of the configured size.
+         *
+         * @param kitchen the kitchen whose cookbook suggests recipes.
+         */
+        @Setup(Level.Trial)
+        public void setUp(Kitchen kitchen) {
+            pool = new ForkJoinPool(threads);
+            kitchen.cookbook.setSuggestionPool(pool);
+            kitchen.cookbook.setParallelThreshold(threads == 1 ? Integer.MAX_VALUE : 1);
+        }
+
+        /**
+         * Shuts the pool down.
+         */
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * A cookbook regenerated before every iteration, with new recipes ready to add to it.
+     */
+    @State(Scope.Benchmark)
+    public static class Growing extends Recipes {
+        Recipe[] pending;
+        private int next;
+
+        /**
+         * Replaces the cookbook with a freshly filled one and generates the recipes to add.
+         */
+        @Setup(Level.Iteration)
+        public void refill() {
+            fill();
+            pending = new Recipe[ADDITIONS];
+            for (int i = 0; i < ADDITIONS; i++) {
+                pending[i] = newRecipe(recipes + i);
+            }
+            next = 0;
+        }
+
+        /**
+         * Retrieves the position of the next recipe to add.
+         */
+        int next() {
+            int i = next;
+            next = (next + 1) % ADDITIONS;
+            return i;
+        }
+    }
+
+    private static String nameOfIngredient(int k) {
+        return String.format("Ingredient %05d", k);
+    }
+
+    private static String nameOfRecipe(int number) {
+        return String.format("Recipe %06d", number);
+    }
+
+    /**
+     * Suggests every recipe that can be made, including indexing the storage.
+     *
+     * @param kitchen the cookbook and storage.
+     * @param engine  the pool suggestion runs on.
+     * @return the suggested recipes.
+     */
+    @Benchmark
+    public ArrayList<Recipe> suggestRecipe(Kitchen kitchen, Engine engine) {
+        return kitchen.cookbook.suggestRecipe(kitchen.storage);
+    }
+
+    /**
+     * Suggests every recipe that can be made with the original stream-based check.
+     *
+     * @param kitchen the cookbook and storage.
+     * @return the suggested recipes.
+     */
+    @Benchmark
+    public ArrayList<Recipe> suggestRecipeStreamBaseline(Kitchen kitchen) {
+        return StreamBaseline.suggestRecipe(kitchen.cookbook, kitchen.storage);
+    }
+
+    /**
+     * Checks whether one recipe can be made. Nothing is printed for a shortfall.
+     *
+     * @param kitchen the cookbook and storage.
+     * @return true if the recipe can be made.
+     */
+    @Benchmark
+    public boolean canMakeRecipe(Kitchen kitchen) {
+        return kitchen.checked[kitchen.next()].canMakeRecipe(kitchen.storage);
+    }
+
+    /**
+     * Checks whether one recipe can be made with the original stream-based check.
+     *
+     * @param kitchen the cookbook and storage.
+     * @return true if the recipe can be made.
+     */
+    @Benchmark
+    public boolean canMakeRecipeStreamBaseline(Kitchen kitchen) {
+        return StreamBaseline.canMakeRecipe(kitchen.checked[kitchen.next()], kitchen.storage);
+    }
+
+    /**
+     * Finds a recipe that is in the cookbook by its name.
+     *
+     * @param kitchen the cookbook.
+     * @return the recipe found.
+     */
+    @Benchmark
+    public Recipe findRecipeByName(Kitchen kitchen) {
+        return kitchen.cookbook.findRecipeByName(kitchen.lookups[kitchen.next()]);
+    }
+
+    /**
+     * Adds {@value #ADDITIONS} recipes. Timed as a batch, since the cookbook is rebuilt between
+     * iterations to keep its size.
+     *
+     * @param growing the cookbook to add to.
+     * @return the added recipe.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 5, batchSize = ADDITIONS)
+    @Measurement(iterations = 10, batchSize = ADDITIONS)
+    public Recipe addRecipeToCookbook(Growing growing) {
+        int i = growing.next();
+        return growing.cookbook.addRecipeToCookbook(growing.pending[i], CATEGORIES[i % CATEGORIES.length]);
+    }
+}
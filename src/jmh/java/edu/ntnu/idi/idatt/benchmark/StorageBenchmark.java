@@ -0,0 +1,233 @@
+package edu.ntnu.idi.idatt.benchmark;
+
+import edu.ntnu.idi.idatt.dataset.DatasetGenerator;
+import edu.ntnu.idi.idatt.foodhandling.ClientStorage;
+import edu.ntnu.idi.idatt.model.Ingredient;
+import edu.ntnu.idi.idatt.model.Storage;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link Storage} and the {@link ClientStorage} valuations against storages of 1e3 to 1e7 entries
+ * whose names are drawn uniformly or from a Zipf distribution. Lookups draw names from the same distribution,
+ * so with Zipfian names most lookups hit the few ingredients that have most of the entries.
+ *
+ * <p>Every storage is generated by a {@link DatasetGenerator} from a fixed seed, so two runs on the same day
+ * measure the same data. The benchmarks that remove stock either remove a negligible amount or put an entry
+ * back for every entry they remove, so the storage keeps its size for the whole run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms3g", "-Xmx3g"})
+public class StorageBenchmark {
+    private static final int QUERIES = 1 << 12;
+    private static final int ADDITIONS = 1000;
+
+    /**
+     * A generated storage and the names looked up in it.
+     */
+    @State(Scope.Benchmark)
+    public abstract static class Dataset {
+        /** The number of entries in storage. */
+        @Param({"1000", "10000", "100000", "1000000", "10000000"})
+        public int size;
+
+        /** How entries and lookups are spread over the names. */
+        @Param({"UNIFORM", "ZIPFIAN"})
+        public NameDistribution distribution;
+
+        /** The number of distinct ingredient names. */
+        @Param({"1000"})
+        public int names;
+
+        DatasetGenerator generator;
+        Storage storage;
+        LocalDate today;
+        int[] queries;
+        private int nextQuery;
+
+        /**
+         * Sets up the generator and draws the names to look up. Expiry dates are spread around today,
+         * so a share of the stock is expired whenever the benchmarks are run.
+         */
+        void generate() {
+            today = LocalDate.now();
+            generator = new DatasetGenerator(7, today, names, distribution.skew());
+            SplittableRandom random = new SplittableRandom(42);
+            queries = new int[QUERIES];
+            for (int q = 0; q < QUERIES; q++) {
+                queries[q] = generator.getPopularity().next(random);
+            }
+        }
+
+        /**
+         * Fills a new storage with the configured number of entries.
+         */
+        void fill() {
+            storage = new Storage();
+            generator.generateLots(size, storage::addEntry);
+        }
+
+        /**
+         * Retrieves the number of the next name to look up.
+         */
+        int nextQuery() {
+            int k = queries[nextQuery];
+            nextQuery = (nextQuery + 1) & (QUERIES - 1);
+            return k;
+        }
+    }
+
+    /**
+     * A storage generated once per run, for benchmarks that keep its size.
+     */
+    @State(Scope.Benchmark)
+    public static class Filled extends Dataset {
+        LocalDate lower;
+        LocalDate upper;
+
+        /**
+         * Generates the storage and a one-week date interval starting today.
+         */
+        @Setup(Level.Trial)
+        public void setUp() {
+            generate();
+            fill();
+            lower = today;
+            upper = today.plusDays(6);
+        }
+    }
+
+    /**
+     * A storage regenerated before every iteration, for benchmarks that add to it.
+     */
+    @State(Scope.Benchmark)
+    public static class Growing extends Dataset {
+
+        /**
+         * Sets up the generator once.
+         */
+        @Setup(Level.Trial)
+        public void setUp() {
+            generate();
+        }
+
+        /**
+         * Replaces the storage with a freshly filled one, dropping the entries added by the last iteration.
+         */
+        @Setup(Level.Iteration)
+        public void refill() {
+            fill();
+        }
+    }
+
+    /**
+     * Adds {@value #ADDITIONS} entries without questions or output, the path scripts and the API use.
+     * Timed as a batch, since the storage is rebuilt between iterations to keep its size.
+     *
+     * @param data the storage to add to.
+     * @return the last entry added.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 5, batchSize = ADDITIONS)
+    @Measurement(iterations = 10, batchSize = ADDITIONS)
+    public Ingredient addEntry(Growing data) {
+        int k = data.nextQuery();
+        return data.storage.addEntry(data.generator.ingredientName(k), 1, data.generator.defaultUnit(k), data.today, 50);
+    }
+
+    /**
+     * Looks up the entries of one ingredient.
+     *
+     * @param data the storage to search.
+     * @return the entries found.
+     */
+    @Benchmark
+    public ArrayList<Ingredient> getIngredientsByName(Filled data) {
+        return data.storage.getIngredientsByName(data.generator.ingredientName(data.nextQuery()));
+    }
+
+    /**
+     * Removes a negligible amount of an ingredient, which reduces its oldest entry without removing it.
+     *
+     * @param data the storage to remove from.
+     */
+    @Benchmark
+    public void removeIngredientByNameAndAmount(Filled data) {
+        data.storage.removeIngredientByNameAndAmount(data.generator.ingredientName(data.nextQuery()), 1e-9);
+    }
+
+    /**
+     * Adds an entry and then removes the oldest entry of the same ingredient in full, so the storage keeps
+     * its size while every removal takes an entry out of the storage list.
+     *
+     * @param data the storage to change.
+     */
+    @Benchmark
+    public void removeWholeEntry(Filled data) {
+        int k = data.nextQuery();
+        String name = data.generator.ingredientName(k);
+        data.storage.addEntry(name, 1, data.generator.defaultUnit(k), data.today, 50);
+        data.storage.removeIngredientByNameAndAmount(name, Double.MAX_VALUE);
+    }
+
+    /**
+     * Finds the entries that expire within one week, sorted by expiry date.
+     *
+     * @param data the storage to search.
+     * @return the entries found.
+     */
+    @Benchmark
+    public ArrayList<Ingredient> getIngredientsInDateInterval(Filled data) {
+        return data.storage.getIngredientsInDateInterval(data.lower, data.upper);
+    }
+
+    /**
+     * Sums the price of all stock. The storage prints nothing, so this is the valuation alone.
+     *
+     * @param data the storage to value.
+     */
+    @Benchmark
+    public void getTotalPrice(Filled data) {
+        ClientStorage.getTotalPrice(data.storage);
+    }
+
+    /**
+     * Lists the expired entries, sorted by expiry date.
+     *
+     * @param data the storage to search.
+     * @return the expired entries.
+     */
+    @Benchmark
+    public ArrayList<Ingredient> getExpiredIngredients(Filled data) {
+        return ClientStorage.getExpiredIngredients(data.storage);
+    }
+
+    /**
+     * Sums the price of the expired entries.
+     *
+     * @param data the storage to value.
+     * @return the total price.
+     */
+    @Benchmark
+    public double getExpiredPrice(Filled data) {
+        return ClientStorage.getExpiredPrice(data.storage);
+    }
+}
@@ -0,0 +1,70 @@
+package edu.ntnu.idi.idatt.benchmark;
+
+import edu.ntnu.idi.idatt.model.Cookbook;
+import edu.ntnu.idi.idatt.model.Ingredient;
+import edu.ntnu.idi.idatt.model.Recipe;
+import edu.ntnu.idi.idatt.model.Storage;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The recipe feasibility checks as first written, with streams: every call maps the storage by lower-cased
+ * ingredient name and compares amounts without converting units. Kept as the baseline that the availability
+ * index and the parallel suggestion engine are measured against.
+ *
+ * <p>The original map could hold one entry per name and failed on duplicates; here the first entry wins,
+ * which is what the original saw when storage merged entries of the same name.
+ */
+final class StreamBaseline {
+
+    private StreamBaseline() {
+    }
+
+    /**
+     * Suggests the recipes that can be made from the storage.
+     *
+     * @param cookbook the recipes to check.
+     * @param storage  the available ingredients.
+     * @return the recipes that can be made.
+     */
+    static ArrayList<Recipe> suggestRecipe(Cookbook cookbook, Storage storage) {
+        Map<String, Ingredient> ingredientMap = mapByName(storage);
+        return cookbook.getCookbook().values().stream()
+                .filter(recipe -> recipe.getRecipe().stream().allMatch(recipeIngredient -> {
+                    Ingredient available = ingredientMap.get(recipeIngredient.getIngredientName().toLowerCase());
+                    return available != null && available.getIngredientAmount() >= recipeIngredient.getIngredientAmount();
+                }))
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * Checks whether a recipe can be made from the storage, building the shortfall messages the original
+     * printed but not printing them.
+     *
+     * @param recipe  the recipe to check.
+     * @param storage the available ingredients.
+     * @return true if the recipe can be made; false otherwise.
+     */
+    static boolean canMakeRecipe(Recipe recipe, Storage storage) {
+        Map<String, Ingredient> storageIngredients = mapByName(storage);
+        ArrayList<String> insufficientIngredients = new ArrayList<>();
+        return recipe.getRecipe().stream().allMatch(recipeIngredient -> {
+            Ingredient storageIngredient = storageIngredients.get(recipeIngredient.getIngredientName().toLowerCase());
+            if (storageIngredient == null || storageIngredient.getIngredientAmount() < recipeIngredient.getIngredientAmount()) {
+                String reason = storageIngredient == null
+                        ? "not available"
+                        : "only " + storageIngredient.getIngredientAmount() + " available";
+                insufficientIngredients.add(recipeIngredient.getIngredientName() + " (" + reason + ", requires " + recipeIngredient.getIngredientAmount() + " )");
+                return false;
+            }
+            return true;
+        });
+    }
+
+    private static Map<String, Ingredient> mapByName(Storage storage) {
+        return storage.getIngredients().stream()
+                .collect(Collectors.toMap(ingredient -> ingredient.getIngredientName().toLowerCase(),
+                        ingredient -> ingredient, (first, second) -> first));
+    }
+}
@@ -0,0 +1,251 @@
+package edu.ntnu.idi.idatt.batch;
+
+import edu.ntnu.idi.idatt.inputvalidator.InputParser;
+import edu.ntnu.idi.idatt.model.Cookbook;
+import edu.ntnu.idi.idatt.model.Recipe;
+import edu.ntnu.idi.idatt.model.Storage;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Executes a script of storage and cookbook commands without prompting, one command per line.
+ * Every command produces exactly one tab-separated result line, so a script and its output can be
+ * matched up line by line:
+ *
+ * <pre>
+ * add Eggs 12 pcs 2026-11-01 3.5      ok
+ * remove Milk 0.5                     ok	0.5
+ * cook 2000 2                         ok	true
+ * suggest                             ok	2	2000	2001
+ * frobnicate                          error	4	Unknown command: frobnicate
+ * </pre>
+ *
+ * <p>Ingredient names may contain spaces, since the fixed arguments are read from the end of the line.
+ * A date of {@code -} means no expiration date. Blank lines and lines starting with {@code #} are skipped
+ * and produce no output. Output is only written to the given writer, which the caller should buffer.
+ * Lines are split into token offsets and numbers and dates are parsed in place with an {@link InputParser},
+ * so malformed arguments are reported without creating or throwing exceptions.
+ * A runner keeps scratch state between commands and must not be shared between threads.
+ */
+public class ScriptRunner {
+    private final Storage storage;
+    private final Cookbook cookbook;
+    private final InputParser parser = new InputParser();
+    private final StringBuilder result = new StringBuilder(64);
+    private String line;
+    private int[] tokenStarts = new int[8];
+    private int[] tokenEnds = new int[8];
+    private int tokenCount;
+    private int failures;
+
+    /**
+     * Constructs a ScriptRunner that operates on the given storage and cookbook.
+     *
+     * @param storage  the storage the commands change.
+     * @param cookbook the cookbook recipes are looked up in.
+     */
+    public ScriptRunner(Storage storage, Cookbook cookbook) {
+        this.storage = storage;
+        this.cookbook = cookbook;
+    }
+
+    /**
+     * Executes every command in a script.
+     *
+     * @param script the script to read commands from.
+     * @param out    the writer result lines are written to; flushed once at the end.
+     * @return the number of commands that failed.
+     * @throws IOException if reading the script or writing a result fails.
+     */
+    public int run(BufferedReader script, Writer out) throws IOException {
+        int failuresBefore = failures;
+        int lineNumber = 0;
+        String next;
+        while ((next = script.readLine()) != null) {
+            lineNumber++;
+            if (execute(next, lineNumber)) {
+                out.append(result).append('\n');
+            }
+        }
+        out.flush();
+        return failures - failuresBefore;
+    }
+
+    /**
+     * Executes a single command line.
+     *
+     * @param line the command line.
+     * @return the result line, or null if the line was blank or a comment.
+     */
+    public String execute(String line) {
+        return execute(line, 1) ? result.toString() : null;
+    }
+
+    /**
+     * Executes a command line and leaves its result in {@code result}.
+     *
+     * @return false if the line was blank or a comment.
+     */
+    private boolean execute(String line, int lineNumber) {
+        tokenize(line);
+        if (tokenCount == 0 || line.charAt(tokenStarts[0]) == '#') {
+            return false;
+        }
+        result.setLength(0);
+        String error;
+        try {
+            if (isCommand("add")) {
+                error = add();
+            } else if (isCommand("remove")) {
+                error = remove();
+            } else if (isCommand("cook")) {
+                error = cook();
+            } else if (isCommand("suggest")) {
+                error = suggest();
+            } else {
+                error = "Unknown command: " + token(0);
+            }
+        } catch (RuntimeException e) {
+            error = String.valueOf(e.getMessage());
+        }
+        if (error != null) {
+            failures++;
+            result.setLength(0);
+            result.append("error\t").append(lineNumber).append('\t').append(error);
+        }
+        return true;
+    }
+
+    /**
+     * Each command appends its result and returns null, or returns an error message.
+     */
+    private String add() {
+        if (tokenCount - 1 < 5) {
+            return "Usage: add <name> <amount> <unit> <yyyy-mm-dd|-> <price>";
+        }
+        if (!parseAmount(tokenCount - 4)) {
+            return "Invalid amount: " + token(tokenCount - 4);
+        }
+        double amount = parser.getDouble();
+        if (!parseAmount(tokenCount - 1)) {
+            return "Invalid amount: " + token(tokenCount - 1);
+        }
+        double price = parser.getDouble();
+        int date = tokenCount - 2;
+        boolean noExpiry = tokenEnds[date] - tokenStarts[date] == 1 && line.charAt(tokenStarts[date]) == '-';
+        if (!noExpiry && parser.parseDate(line, tokenStarts[date], tokenEnds[date]) != InputParser.OK) {
+            return "Invalid date: " + token(date);
+        }
+        storage.addEntry(nameBefore(4), amount, token(tokenCount - 3), noExpiry ? null : parser.getDate(), price);
+        result.append("ok");
+        return null;
+    }
+
+    private String remove() {
+        if (tokenCount - 1 < 2) {
+            return "Usage: remove <name> <amount>";
+        }
+        if (!parseAmount(tokenCount - 1)) {
+            return "Invalid amount: " + token(tokenCount - 1);
+        }
+        double removed = storage.withdraw(nameBefore(1), parser.getDouble());
+        result.append("ok\t").append(removed);
+        return null;
+    }
+
+    private String cook() {
+        if (tokenCount != 2 && tokenCount != 3) {
+            return "Usage: cook <recipeID> [servings]";
+        }
+        if (parser.parseInt(line, tokenStarts[1], tokenEnds[1]) != InputParser.OK) {
+            return "Invalid recipe ID: " + token(1);
+        }
+        Recipe recipe = cookbook.getCookbook().get(parser.getInt());
+        if (recipe == null) {
+            return "Recipe not found: " + token(1);
+        }
+        int servings = 1;
+        if (tokenCount == 3) {
+            if (parser.parseInt(line, tokenStarts[2], tokenEnds[2]) != InputParser.OK) {
+                return "Invalid servings: " + token(2);
+            }
+            servings = parser.getInt();
+        }
+        result.append("ok\t").append(storage.cook(recipe, servings));
+        return null;
+    }
+
+    private String suggest() {
+        if (tokenCount > 1) {
+            return "Usage: suggest";
+        }
+        ArrayList<Recipe> suggestions = cookbook.suggestRecipe(storage);
+        result.append("ok\t").append(suggestions.size());
+        for (Recipe recipe : suggestions) {
+            result.append('\t').append(recipe.getRecipeID());
+        }
+        return null;
+    }
+
+    private boolean isCommand(String command) {
+        return tokenEnds[0] - tokenStarts[0] == command.length()
+                && line.regionMatches(tokenStarts[0], command, 0, command.length());
+    }
+
+    private String token(int index) {
+        return line.substring(tokenStarts[index], tokenEnds[index]);
+    }
+
+    /**
+     * Joins the tokens between the command and the last {@code fixedArguments} tokens into a name.
+     */
+    private String nameBefore(int fixedArguments) {
+        int end = tokenCount - fixedArguments;
+        if (end == 2) {
+            return token(1);
+        }
+        StringBuilder name = new StringBuilder(token(1));
+        for (int i = 2; i < end; i++) {
+            name.append(' ').append(line, tokenStarts[i], tokenEnds[i]);
+        }
+        return name.toString();
+    }
+
+    /**
+     * Parses a token as a finite, non-negative amount, leaving it in the parser.
+     */
+    private boolean parseAmount(int index) {
+        return parser.parseDouble(line, tokenStarts[index], tokenEnds[index]) == InputParser.OK
+                && parser.getDouble() >= 0;
+    }
+
+    /**
+     * Splits a line on whitespace into the reusable token offset arrays.
+     */
+    private void tokenize(String text) {
+        line = text;
+        tokenCount = 0;
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && Character.isWhitespace(text.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < length && !Character.isWhitespace(text.charAt(i))) {
+                i++;
+            }
+            if (i > start) {
+                if (tokenCount == tokenStarts.length) {
+                    tokenStarts = Arrays.copyOf(tokenStarts, tokenCount * 2);
+                    tokenEnds = Arrays.copyOf(tokenEnds, tokenCount * 2);
+                }
+                tokenStarts[tokenCount] = start;
+                tokenEnds[tokenCount++] = i;
+            }
+        }
+    }
+}
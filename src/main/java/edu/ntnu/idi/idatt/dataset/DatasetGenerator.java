@@ -0,0 +1,380 @@
+package edu.ntnu.idi.idatt.dataset;
+
+import edu.ntnu.idi.idatt.model.Recipe;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Generates storages and cookbooks of any size from a seed, scaling up the kind of data
+ * {@link edu.ntnu.idi.idatt.foodhandling.ClientStorage#init()} and
+ * {@link edu.ntnu.idi.idatt.foodhandling.ClientCookbook#init()} hold.
+ *
+ * <p>Ingredients come from a vocabulary of everyday foods, extended with variants such as "Organic Eggs"
+ * as far as needed. How often an ingredient appears follows a Zipf distribution over the vocabulary, so
+ * staples dominate. Each food has its own kind of unit: stock of a food sold by weight is entered in g or kg,
+ * liquids in ml, dl or liters, and the rest in pieces or packages. Expiration dates are spread around the
+ * reference date according to how long each food keeps, so some stock is always expired.
+ * Prices follow from a price per base unit with some variation.
+ *
+ * <p>Stock entries and recipes are drawn from separate random streams, and every call starts its stream
+ * from the seed, so the same seed, reference date, vocabulary and skew always produce the same data,
+ * whatever was generated before. Data is handed to a sink as it is generated and never held in memory,
+ * so very large kitchens can be streamed into a storage or a {@link SnapshotWriter}.
+ */
+public class DatasetGenerator {
+    public static final int DEFAULT_VOCABULARY = 1000;
+    public static final double DEFAULT_SKEW = 1.0;
+
+    private static final long LOT_STREAM = 0x4C4F5453L;
+    private static final long RECIPE_STREAM = 0x52435053L;
+
+    private static final int MASS = 0;
+    private static final int VOLUME = 1;
+    private static final int COUNT = 2;
+    private static final int PACKAGE = 3;
+
+    // Name, kind of unit, package unit, days it keeps, price per kg, liter, piece or package.
+    private static final Food[] FOODS = {
+        new Food("Eggs", COUNT, null, 21, 4.0),
+        new Food("Milk", VOLUME, null, 10, 20.0),
+        new Food("Flour", MASS, null, 240, 15.0),
+        new Food("Butter", MASS, null, 60, 90.0),
+        new Food("Sugar", MASS, null, 720, 20.0),
+        new Food("Rice", MASS, null, 540, 30.0),
+        new Food("Pasta", MASS, null, 540, 25.0),
+        new Food("Potato", MASS, null, 60, 15.0),
+        new Food("Onion", MASS, null, 45, 15.0),
+        new Food("Tomato", COUNT, null, 10, 5.0),
+        new Food("Carrots", MASS, null, 30, 15.0),
+        new Food("Chicken Breast", MASS, null, 5, 120.0),
+        new Food("Ground Beef", MASS, null, 4, 110.0),
+        new Food("Cheddar Cheese", MASS, null, 45, 120.0),
+        new Food("Bread", PACKAGE, "loaf", 5, 35.0),
+        new Food("Garlic", MASS, null, 90, 80.0),
+        new Food("Salmon", MASS, null, 4, 200.0),
+        new Food("Mozzarella", MASS, null, 20, 100.0),
+        new Food("Cream", VOLUME, null, 14, 50.0),
+        new Food("Tomato Sauce", PACKAGE, "can", 540, 15.0),
+        new Food("Apple", COUNT, null, 30, 5.0),
+        new Food("Banana", COUNT, null, 7, 4.0),
+        new Food("Lettuce", PACKAGE, "head", 7, 25.0),
+        new Food("Oats", MASS, null, 360, 25.0),
+        new Food("Yoghurt", VOLUME, null, 21, 30.0),
+        new Food("Bell Pepper", COUNT, null, 14, 12.0),
+        new Food("Olive Oil", VOLUME, null, 540, 120.0),
+        new Food("Lemon", COUNT, null, 30, 6.0),
+        new Food("Cucumber", COUNT, null, 10, 15.0),
+        new Food("Mushrooms", MASS, null, 7, 90.0),
+        new Food("Spinach", MASS, null, 5, 100.0),
+        new Food("Broccoli", PACKAGE, "head", 7, 25.0),
+        new Food("Coconut Milk", PACKAGE, "can", 540, 25.0),
+        new Food("Soy Sauce", PACKAGE, "bottle", 720, 35.0),
+        new Food("Vegetable Broth", VOLUME, null, 360, 30.0),
+        new Food("Honey", PACKAGE, "jar", 720, 60.0),
+        new Food("Cocoa Powder", MASS, null, 540, 150.0),
+        new Food("Orange Juice", VOLUME, null, 14, 25.0),
+        new Food("Basil", MASS, null, 7, 400.0),
+        new Food("Cinnamon", MASS, null, 720, 300.0),
+    };
+
+    private static final String[] VARIANTS = {
+        "Organic", "Fresh", "Frozen", "Local", "Smoked", "Dried", "Whole", "Sliced",
+        "Grated", "Low-fat", "Spicy", "Premium", "Budget", "Imported", "Homemade"
+    };
+
+    // Dish and the default category it belongs to.
+    private static final String[][] DISHES = {
+        {"Omelette", "Breakfast"}, {"Porridge", "Breakfast"}, {"Pancakes", "Breakfast"}, {"Smoothie", "Breakfast"},
+        {"Salad", "Lunch"}, {"Sandwich", "Lunch"}, {"Soup", "Lunch"}, {"Wrap", "Lunch"},
+        {"Stew", "Dinner"}, {"Curry", "Dinner"}, {"Casserole", "Dinner"}, {"Stir-Fry", "Dinner"}, {"Pie", "Dinner"},
+        {"Cake", "Dessert"}, {"Pudding", "Dessert"}, {"Crumble", "Dessert"}
+    };
+
+    private final long seed;
+    private final LocalDate today;
+    private final int vocabulary;
+    private final double skew;
+    private final ZipfSampler popularity;
+    private final String[] names;
+    private final LocalDate[] dates;
+    private final int dateOffset;
+
+    /**
+     * Constructs a DatasetGenerator with the default vocabulary size and skew.
+     *
+     * @param seed  the seed all data is generated from.
+     * @param today the date expiration dates are spread around.
+     */
+    public DatasetGenerator(long seed, LocalDate today) {
+        this(seed, today, DEFAULT_VOCABULARY, DEFAULT_SKEW);
+    }
+
+    /**
+     * Constructs a DatasetGenerator.
+     *
+     * @param seed       the seed all data is generated from.
+     * @param today      the date expiration dates are spread around.
+     * @param vocabulary the number of distinct ingredient names.
+     * @param skew       the Zipf exponent of ingredient popularity; 0 makes every ingredient equally common.
+     * @throws IllegalArgumentException if the date is null, the vocabulary is empty or the skew is out of range.
+     */
+    public DatasetGenerator(long seed, LocalDate today, int vocabulary, double skew) {
+        if (today == null) {
+            throw new IllegalArgumentException("Reference date cannot be null.");
+        }
+        this.seed = seed;
+        this.today = today;
+        this.vocabulary = vocabulary;
+        this.skew = skew;
+        this.popularity = new ZipfSampler(vocabulary, skew);
+        this.names = new String[vocabulary];
+        for (int rank = 0; rank < vocabulary; rank++) {
+            Food food = FOODS[rank % FOODS.length];
+            int variant = (rank / FOODS.length) % (VARIANTS.length + 1);
+            int copy = rank / (FOODS.length * (VARIANTS.length + 1));
+            String name = variant == 0 ? food.name : VARIANTS[variant - 1] + " " + food.name;
+            names[rank] = copy == 0 ? name : name + " (" + (copy + 1) + ")";
+        }
+
+        // Dates are shared between entries, so tens of millions of entries need only a few hundred dates.
+        int longest = Arrays.stream(FOODS).mapToInt(food -> food.keepsDays).max().orElse(0);
+        this.dateOffset = longest / 4;
+        this.dates = new LocalDate[dateOffset + longest + 1];
+        for (int i = 0; i < dates.length; i++) {
+            dates[i] = today.plusDays(i - dateOffset);
+        }
+    }
+
+    /**
+     * Describes the settings data is generated with, as {@code key=value} pairs. Data generated with
+     * the same description is identical.
+     *
+     * @return the description.
+     */
+    public String describe() {
+        return "seed=" + seed + " today=" + today + " vocabulary=" + vocabulary + " skew=" + skew;
+    }
+
+    /**
+     * Retrieves the number of distinct ingredient names.
+     *
+     * @return the vocabulary size.
+     */
+    public int getVocabulary() {
+        return vocabulary;
+    }
+
+    /**
+     * Retrieves the sampler of ingredient popularity, so lookups can follow the same distribution as the data.
+     *
+     * @return the sampler, drawing ranks into the vocabulary.
+     */
+    public ZipfSampler getPopularity() {
+        return popularity;
+    }
+
+    /**
+     * Names the ingredient of a popularity rank. The first ranks are everyday foods, followed by their
+     * variants and then numbered copies.
+     *
+     * @param rank the rank, from 0 for the most popular.
+     * @return the ingredient name.
+     * @throws IllegalArgumentException if the rank is outside the vocabulary.
+     */
+    public String ingredientName(int rank) {
+        checkRank(rank);
+        return names[rank];
+    }
+
+    /**
+     * Retrieves the unit an ingredient is stocked in when it is not split by size, such as "kg" or "pcs".
+     *
+     * @param rank the rank of the ingredient.
+     * @return the unit name.
+     * @throws IllegalArgumentException if the rank is outside the vocabulary.
+     */
+    public String defaultUnit(int rank) {
+        checkRank(rank);
+        Food food = FOODS[rank % FOODS.length];
+        return switch (food.kind) {
+            case MASS -> "kg";
+            case VOLUME -> "liter";
+            case COUNT -> "pcs";
+            default -> food.packageUnit;
+        };
+    }
+
+    /**
+     * Generates stock entries.
+     *
+     * @param count the number of entries.
+     * @param sink  receives the entries in order.
+     * @throws IllegalArgumentException if the count is negative.
+     */
+    public void generateLots(long count, LotSink sink) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count cannot be negative.");
+        }
+        SplittableRandom random = new SplittableRandom(seed ^ LOT_STREAM);
+        for (long i = 0; i < count; i++) {
+            int rank = popularity.next(random);
+            Food food = FOODS[rank % FOODS.length];
+            String unit;
+            double amount;
+            double baseAmount;
+            switch (food.kind) {
+                case MASS -> {
+                    if (random.nextBoolean()) {
+                        unit = "kg";
+                        amount = (1 + random.nextInt(50)) / 10.0;
+                        baseAmount = amount;
+                    } else {
+                        unit = "g";
+                        amount = 50 * (1 + random.nextInt(20));
+                        baseAmount = amount / 1000;
+                    }
+                }
+                case VOLUME -> {
+                    int pick = random.nextInt(5);
+                    if (pick < 3) {
+                        unit = "liter";
+                        amount = (1 + random.nextInt(6)) / 2.0;
+                        baseAmount = amount;
+                    } else if (pick == 3) {
+                        unit = "dl";
+                        amount = 1 + random.nextInt(10);
+                        baseAmount = amount / 10;
+                    } else {
+                        unit = "ml";
+                        amount = 50 * (1 + random.nextInt(20));
+                        baseAmount = amount / 1000;
+                    }
+                }
+                case COUNT -> {
+                    unit = "pcs";
+                    amount = 1 + random.nextInt(24);
+                    baseAmount = amount;
+                }
+                default -> {
+                    unit = food.packageUnit;
+                    amount = 1 + random.nextInt(4);
+                    baseAmount = amount;
+                }
+            }
+            int keeps = food.keepsDays;
+            int expiresIn = random.nextInt(keeps + keeps / 4 + 1) - keeps / 4;
+            double price = cents(baseAmount * food.pricePerUnit * (0.8 + 0.4 * random.nextDouble()));
+            sink.accept(names[rank], amount, unit, dates[dateOffset + expiresIn], price);
+        }
+    }
+
+    /**
+     * Generates recipes. Each recipe has 3 to 10 distinct ingredients drawn by popularity, is named after
+     * its first ingredient and a dish, and belongs to the default category of the dish.
+     * Recipe IDs are left to the cookbook.
+     *
+     * @param count the number of recipes.
+     * @param sink  receives the recipes in order.
+     * @throws IllegalArgumentException if the count is negative.
+     */
+    public void generateRecipes(int count, RecipeSink sink) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count cannot be negative.");
+        }
+        SplittableRandom random = new SplittableRandom(seed ^ RECIPE_STREAM);
+        int[] ranks = new int[10];
+        for (int r = 0; r < count; r++) {
+            int lines = Math.min(3 + random.nextInt(8), vocabulary);
+            for (int i = 0; i < lines; i++) {
+                ranks[i] = distinctRank(random, ranks, i);
+            }
+            String[] dish = DISHES[random.nextInt(DISHES.length)];
+            Recipe recipe = new Recipe(0, names[ranks[0]] + " " + dish[0] + " #" + (r + 1),
+                    "A generated " + dish[0].toLowerCase() + ".", "Prepare the ingredients and cook.");
+            for (int i = 0; i < lines; i++) {
+                Food food = FOODS[ranks[i] % FOODS.length];
+                String unit;
+                double amount;
+                double baseAmount;
+                switch (food.kind) {
+                    case MASS -> {
+                        unit = "g";
+                        amount = 10 * (1 + random.nextInt(50));
+                        baseAmount = amount / 1000;
+                    }
+                    case VOLUME -> {
+                        unit = "dl";
+                        amount = 1 + random.nextInt(5);
+                        baseAmount = amount / 10;
+                    }
+                    case COUNT -> {
+                        unit = "pcs";
+                        amount = 1 + random.nextInt(6);
+                        baseAmount = amount;
+                    }
+                    default -> {
+                        unit = food.packageUnit;
+                        amount = 1 + random.nextInt(2);
+                        baseAmount = amount;
+                    }
+                }
+                recipe.addIngredient(names[ranks[i]], amount, unit, cents(baseAmount * food.pricePerUnit));
+            }
+            sink.accept(recipe, dish[1]);
+        }
+    }
+
+    /**
+     * Draws a rank that is not among the first {@code taken} ranks already drawn. Popular ranks are drawn
+     * again a few times; after that the next unused rank is taken, so small vocabularies cannot loop forever.
+     */
+    private int distinctRank(SplittableRandom random, int[] drawn, int taken) {
+        int rank = popularity.next(random);
+        for (int attempt = 0; attempt < 8 && contains(drawn, taken, rank); attempt++) {
+            rank = popularity.next(random);
+        }
+        while (contains(drawn, taken, rank)) {
+            rank = (rank + 1) % vocabulary;
+        }
+        return rank;
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static double cents(double amount) {
+        return Math.round(amount * 100) / 100.0;
+    }
+
+    private void checkRank(int rank) {
+        if (rank < 0 || rank >= vocabulary) {
+            throw new IllegalArgumentException("Rank out of range: " + rank);
+        }
+    }
+
+    /**
+     * An everyday food the vocabulary is built from.
+     */
+    private static final class Food {
+        private final String name;
+        private final int kind;
+        private final String packageUnit;
+        private final int keepsDays;
+        private final double pricePerUnit;
+
+        private Food(String name, int kind, String packageUnit, int keepsDays, double pricePerUnit) {
+            this.name = name;
+            this.kind = kind;
+            this.packageUnit = packageUnit;
+            this.keepsDays = keepsDays;
+            this.pricePerUnit = pricePerUnit;
+        }
+    }
+}
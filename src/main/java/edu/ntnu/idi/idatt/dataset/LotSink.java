@@ -0,0 +1,22 @@
+package edu.ntnu.idi.idatt.dataset;
+
+import java.time.LocalDate;
+
+/**
+ * Receives generated or loaded stock entries one at a time. {@code storage::addEntry} is a LotSink,
+ * so entries can be streamed straight into a {@link edu.ntnu.idi.idatt.model.Storage}.
+ */
+@FunctionalInterface
+public interface LotSink {
+
+    /**
+     * Receives one stock entry.
+     *
+     * @param ingredientName        the name of the ingredient.
+     * @param ingredientAmount      the amount of the ingredient.
+     * @param ingredientMeasurement the measurement unit of the ingredient.
+     * @param expireDate            the expiration date, or null if the entry does not expire.
+     * @param ingredientPrice       the price of the entry.
+     */
+    void accept(String ingredientName, double ingredientAmount, String ingredientMeasurement, LocalDate expireDate, double ingredientPrice);
+}
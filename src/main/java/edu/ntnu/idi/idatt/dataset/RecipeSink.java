@@ -0,0 +1,20 @@
+package edu.ntnu.idi.idatt.dataset;
+
+import edu.ntnu.idi.idatt.model.Recipe;
+
+/**
+ * Receives generated or loaded recipes one at a time, each complete with its ingredients.
+ * {@code cookbook::addRecipeToCookbook} is a RecipeSink, so recipes can be streamed straight into a
+ * {@link edu.ntnu.idi.idatt.model.Cookbook}.
+ */
+@FunctionalInterface
+public interface RecipeSink {
+
+    /**
+     * Receives one recipe.
+     *
+     * @param recipe   the recipe.
+     * @param category the name of the category the recipe belongs to.
+     */
+    void accept(Recipe recipe, String category);
+}
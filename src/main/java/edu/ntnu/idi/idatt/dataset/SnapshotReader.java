@@ -0,0 +1,186 @@
+package edu.ntnu.idi.idatt.dataset;
+
+import edu.ntnu.idi.idatt.events.SnapshotEvent;
+import edu.ntnu.idi.idatt.inputvalidator.InputParser;
+import edu.ntnu.idi.idatt.model.Recipe;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.HashMap;
+
+/**
+ * Reads a snapshot written by {@link SnapshotWriter} and hands its stock entries and recipes to sinks,
+ * so a snapshot streams straight into a storage and a cookbook:
+ *
+ * <pre>
+ * SnapshotReader.read(file, storage::addEntry, cookbook::addRecipeToCookbook);
+ * </pre>
+ *
+ * <p>Numbers and dates are parsed in place with an {@link InputParser}, and equal expiration dates share
+ * one {@link LocalDate}, so loading tens of millions of entries creates little garbage.
+ * A recipe is handed over once all of its lines have been read. Each read is emitted as a {@link SnapshotEvent}
+ * to Java Flight Recorder when that event is enabled.
+ */
+public class SnapshotReader {
+    private static final int MAX_FIELDS = 6;
+
+    private final String name;
+    private final LotSink lots;
+    private final RecipeSink recipes;
+    private final InputParser parser = new InputParser();
+    private final HashMap<Integer, LocalDate> dates = new HashMap<>();
+    private final int[] fieldStarts = new int[MAX_FIELDS];
+    private final int[] fieldEnds = new int[MAX_FIELDS];
+    private String line;
+    private int lineNumber;
+    private long lotCount;
+    private long recipeCount;
+    private int fieldCount;
+    private Recipe recipe;
+    private String category;
+
+    private SnapshotReader(String name, LotSink lots, RecipeSink recipes) {
+        this.name = name;
+        this.lots = lots;
+        this.recipes = recipes;
+    }
+
+    /**
+     * Reads a snapshot file.
+     *
+     * @param file    the file to read.
+     * @param lots    receives the stock entries.
+     * @param recipes receives the recipes.
+     * @throws IOException if the file cannot be read.
+     * @throws IllegalArgumentException if the file is malformed.
+     */
+    public static void read(Path file, LotSink lots, RecipeSink recipes) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            read(file.getFileName().toString(), reader, lots, recipes);
+        }
+    }
+
+    /**
+     * Reads a snapshot.
+     *
+     * @param name    the name of the snapshot, used in error messages.
+     * @param reader  the reader to read from.
+     * @param lots    receives the stock entries.
+     * @param recipes receives the recipes.
+     * @throws IOException if reading fails.
+     * @throws IllegalArgumentException if a record is unknown, has the wrong number of fields or a malformed
+     *                                  number or date, or a recipe line comes before any recipe.
+     */
+    public static void read(String name, BufferedReader reader, LotSink lots, RecipeSink recipes) throws IOException {
+        SnapshotReader snapshot = new SnapshotReader(name, lots, recipes);
+        SnapshotEvent event = new SnapshotEvent();
+        event.begin();
+        try {
+            String next;
+            while ((next = reader.readLine()) != null) {
+                snapshot.lineNumber++;
+                if (!next.isEmpty() && next.charAt(0) != '#') {
+                    snapshot.record(next);
+                }
+            }
+            snapshot.finishRecipe();
+        } finally {
+            if (event.shouldCommit()) {
+                event.snapshot = name;
+                event.lines = snapshot.lineNumber;
+                event.lots = snapshot.lotCount;
+                event.recipes = snapshot.recipeCount;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Handles one record.
+     */
+    private void record(String record) {
+        line = record;
+        split();
+        if (isRecord("lot", 6)) {
+            finishRecipe();
+            double amount = number(2);
+            double price = number(5);
+            lots.accept(field(1), amount, field(3), date(4), price);
+            lotCount++;
+        } else if (isRecord("recipe", 5)) {
+            finishRecipe();
+            category = field(1);
+            recipe = new Recipe(0, field(2), field(3), field(4));
+        } else if (isRecord("line", 5)) {
+            if (recipe == null) {
+                throw malformed("recipe line before any recipe");
+            }
+            recipe.addIngredient(field(1), number(2), field(3), number(4));
+        } else {
+            throw malformed("expected lot, recipe or line with the right number of fields");
+        }
+    }
+
+    /**
+     * Hands the recipe being read to the sink.
+     */
+    private void finishRecipe() {
+        if (recipe != null) {
+            recipes.accept(recipe, category);
+            recipeCount++;
+            recipe = null;
+        }
+    }
+
+    /**
+     * Splits the line into tab-separated field offsets.
+     */
+    private void split() {
+        fieldCount = 0;
+        int start = 0;
+        while (fieldCount < MAX_FIELDS) {
+            int tab = line.indexOf('\t', start);
+            fieldStarts[fieldCount] = start;
+            fieldEnds[fieldCount++] = tab < 0 ? line.length() : tab;
+            if (tab < 0) {
+                return;
+            }
+            start = tab + 1;
+        }
+        // More fields than any record has.
+        fieldCount = MAX_FIELDS + 1;
+    }
+
+    private boolean isRecord(String type, int fields) {
+        return fieldCount == fields && fieldEnds[0] == type.length() && line.startsWith(type);
+    }
+
+    private String field(int index) {
+        return line.substring(fieldStarts[index], fieldEnds[index]);
+    }
+
+    private double number(int index) {
+        if (parser.parseDouble(line, fieldStarts[index], fieldEnds[index]) != InputParser.OK) {
+            throw malformed("invalid number: " + field(index));
+        }
+        return parser.getDouble();
+    }
+
+    private LocalDate date(int index) {
+        if (fieldEnds[index] - fieldStarts[index] == 1 && line.charAt(fieldStarts[index]) == '-') {
+            return null;
+        }
+        if (parser.parseDate(line, fieldStarts[index], fieldEnds[index]) != InputParser.OK) {
+            throw malformed("invalid date: " + field(index));
+        }
+        int key = (parser.getYear() * 16 + parser.getMonth()) * 32 + parser.getDay();
+        return dates.computeIfAbsent(key, k -> parser.getDate());
+    }
+
+    private IllegalArgumentException malformed(String problem) {
+        return new IllegalArgumentException(name + ":" + lineNumber + ": " + problem + ".");
+    }
+}
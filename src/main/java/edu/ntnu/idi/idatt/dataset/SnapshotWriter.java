@@ -0,0 +1,166 @@
+package edu.ntnu.idi.idatt.dataset;
+
+import edu.ntnu.idi.idatt.events.SnapshotEvent;
+import edu.ntnu.idi.idatt.model.Recipe;
+import edu.ntnu.idi.idatt.model.RecipeRequirement;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.LocalDate;
+
+/**
+ * Writes stock entries and recipes to a snapshot file as they arrive, so a generated kitchen can be saved
+ * and loaded again with {@link SnapshotReader}. Fields are separated by tabs, one record per line:
+ *
+ * <pre>
+ * # food dataset seed=42 today=2026-10-19 vocabulary=1000 skew=1.0
+ * lot      Eggs  12.0  pcs  2026-11-02  47.04
+ * recipe   Breakfast  Eggs Omelette #1  A generated omelette.  Prepare the ingredients and cook.
+ * line     Eggs  3.0  pcs  12.0
+ * </pre>
+ *
+ * <p>A {@code lot} is a stock entry with name, amount, unit, expiration date ({@code -} for none) and price.
+ * A {@code recipe} has a category, name, description and instruction, and the {@code line} records after it
+ * are its ingredients with name, amount, unit and price. Lines starting with {@code #} are comments.
+ * Numbers are written with {@link Double#toString(double)}, so the same data always gives the same bytes.
+ * Failures to write are thrown as {@link UncheckedIOException}, since the sink interfaces cannot throw
+ * checked exceptions. Writing, from construction until {@link #close()}, is emitted as a {@link SnapshotEvent}
+ * to Java Flight Recorder when that event is enabled.
+ */
+public class SnapshotWriter implements LotSink, RecipeSink, Closeable {
+    private final Writer out;
+    private final String name;
+    private final StringBuilder record = new StringBuilder(128);
+    private final SnapshotEvent event = new SnapshotEvent();
+    private long lines;
+    private long lots;
+    private long recipes;
+
+    /**
+     * Constructs a SnapshotWriter.
+     *
+     * @param out the writer to write to; it should be buffered.
+     */
+    public SnapshotWriter(Writer out) {
+        this(out, null);
+    }
+
+    /**
+     * Constructs a SnapshotWriter for a named snapshot.
+     *
+     * @param out  the writer to write to; it should be buffered.
+     * @param name the name of the snapshot, such as its file name, reported in flight recordings.
+     */
+    public SnapshotWriter(Writer out, String name) {
+        this.out = out;
+        this.name = name;
+        event.begin();
+    }
+
+    /**
+     * Writes a comment line.
+     *
+     * @param comment the comment, without the leading {@code #}.
+     * @throws IllegalArgumentException if the comment contains a line break.
+     */
+    public void comment(String comment) {
+        record.setLength(0);
+        record.append("# ").append(checked(comment));
+        write();
+    }
+
+    /**
+     * Writes a stock entry.
+     *
+     * @param ingredientName        the name of the ingredient.
+     * @param ingredientAmount      the amount of the ingredient.
+     * @param ingredientMeasurement the measurement unit of the ingredient.
+     * @param expireDate            the expiration date, or null if the entry does not expire.
+     * @param ingredientPrice       the price of the entry.
+     * @throws IllegalArgumentException if the name or unit contains a tab or line break.
+     */
+    @Override
+    public void accept(String ingredientName, double ingredientAmount, String ingredientMeasurement, LocalDate expireDate, double ingredientPrice) {
+        record.setLength(0);
+        record.append("lot\t").append(checked(ingredientName))
+                .append('\t').append(ingredientAmount)
+                .append('\t').append(checked(ingredientMeasurement))
+                .append('\t');
+        if (expireDate == null) {
+            record.append('-');
+        } else {
+            record.append(expireDate);
+        }
+        record.append('\t').append(ingredientPrice);
+        write();
+        lots++;
+    }
+
+    /**
+     * Writes a recipe and its ingredients.
+     *
+     * @param recipe   the recipe.
+     * @param category the name of the category the recipe belongs to.
+     * @throws IllegalArgumentException if a text field contains a tab or line break.
+     */
+    @Override
+    public void accept(Recipe recipe, String category) {
+        record.setLength(0);
+        record.append("recipe\t").append(checked(category))
+                .append('\t').append(checked(recipe.getRecipeName()))
+                .append('\t').append(checked(recipe.getRecipeDescription()))
+                .append('\t').append(checked(recipe.getRecipeInstruction()));
+        write();
+        for (RecipeRequirement line : recipe.getRecipe()) {
+            record.setLength(0);
+            record.append("line\t").append(checked(line.getIngredientName()))
+                    .append('\t').append(line.getIngredientAmount())
+                    .append('\t').append(checked(line.getIngredientMeasurement()))
+                    .append('\t').append(line.getIngredientPrice());
+            write();
+        }
+        recipes++;
+    }
+
+    /**
+     * Flushes and closes the underlying writer, ending the flight recorder event of the write.
+     *
+     * @throws IOException if closing fails.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            out.close();
+        } finally {
+            if (event.shouldCommit()) {
+                event.snapshot = name;
+                event.write = true;
+                event.lines = lines;
+                event.lots = lots;
+                event.recipes = recipes;
+                event.commit();
+            }
+        }
+    }
+
+    private void write() {
+        record.append('\n');
+        lines++;
+        try {
+            out.append(record);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String checked(String field) {
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == '\t' || c == '\n' || c == '\r') {
+                throw new IllegalArgumentException("Snapshot fields cannot contain tabs or line breaks: " + field);
+            }
+        }
+        return field;
+    }
+}
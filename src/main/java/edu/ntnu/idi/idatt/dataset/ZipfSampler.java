@@ -0,0 +1,78 @@
+package edu.ntnu.idi.idatt.dataset;
+
+import java.util.SplittableRandom;
+
+/**
+ * Draws ranks from a Zipf distribution: rank k, counted from 0, is drawn with probability proportional
+ * to 1/(k+1)^s. An exponent of 0 makes every rank equally likely; 1 is the classic Zipf law, where the
+ * most popular item is drawn twice as often as the second and ten times as often as the tenth.
+ *
+ * <p>A sampler holds no random state, so one sampler can serve several independent, seeded streams.
+ */
+public class ZipfSampler {
+    private final int size;
+    private final double[] cumulative;
+
+    /**
+     * Constructs a ZipfSampler.
+     *
+     * @param size     the number of ranks.
+     * @param exponent the skew; 0 for a uniform distribution.
+     * @throws IllegalArgumentException if there are no ranks or the exponent is negative or not a number.
+     */
+    public ZipfSampler(int size, double exponent) {
+        if (size < 1) {
+            throw new IllegalArgumentException("A Zipf distribution needs at least one rank.");
+        }
+        if (!(exponent >= 0) || Double.isInfinite(exponent)) {
+            throw new IllegalArgumentException("The Zipf exponent must be 0 or a positive number.");
+        }
+        this.size = size;
+        if (exponent == 0) {
+            this.cumulative = null;
+        } else {
+            this.cumulative = new double[size];
+            double sum = 0;
+            for (int k = 0; k < size; k++) {
+                sum += Math.pow(k + 1, -exponent);
+                cumulative[k] = sum;
+            }
+            for (int k = 0; k < size; k++) {
+                cumulative[k] /= sum;
+            }
+        }
+    }
+
+    /**
+     * Retrieves the number of ranks.
+     *
+     * @return the number of ranks.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Draws a rank.
+     *
+     * @param random the source of randomness.
+     * @return a rank from 0 to {@link #size()}, exclusive.
+     */
+    public int next(SplittableRandom random) {
+        if (cumulative == null) {
+            return random.nextInt(size);
+        }
+        double u = random.nextDouble();
+        int low = 0;
+        int high = size - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulative[mid] <= u) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,45 @@
+package edu.ntnu.idi.idatt.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Java Flight Recorder event for one call of {@code Recipe.canMakeRecipe}, which indexes the whole storage
+ * before checking the recipe's ingredients. Disabled by default; see {@link StorageEvent}.
+ */
+@Name(RecipeFeasibilityEvent.NAME)
+@Label("Recipe Feasibility Check")
+@Description("A check of whether one recipe can be made from a storage.")
+@Category({"Food", "Cookbook"})
+@Enabled(false)
+@StackTrace(false)
+public class RecipeFeasibilityEvent extends Event {
+    /** The name the event is recorded under. */
+    public static final String NAME = "edu.ntnu.idi.idatt.RecipeFeasibility";
+
+    @Label("Recipe")
+    public String recipeName;
+
+    @Label("Recipe ID")
+    public int recipeID;
+
+    @Label("Ingredients Scanned")
+    @Description("The number of ingredient lines of the recipe.")
+    public int ingredientsScanned;
+
+    @Label("Entries Indexed")
+    @Description("The number of storage entries the availability index was built from.")
+    public int entriesIndexed;
+
+    @Label("Missing Ingredients")
+    @Description("The number of ingredient lines the storage did not hold enough of.")
+    public int missingIngredients;
+
+    @Label("Feasible")
+    public boolean feasible;
+}
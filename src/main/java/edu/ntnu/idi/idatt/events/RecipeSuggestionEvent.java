@@ -0,0 +1,37 @@
+package edu.ntnu.idi.idatt.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Java Flight Recorder event for one call of {@code Cookbook.suggestRecipe}, recording how many recipes
+ * were checked, how many could be made and whether the check was split across the suggestion pool.
+ * Disabled by default; see {@link StorageEvent}.
+ */
+@Name(RecipeSuggestionEvent.NAME)
+@Label("Recipe Suggestion")
+@Description("A check of every recipe in a cookbook against an availability index.")
+@Category({"Food", "Cookbook"})
+@Enabled(false)
+@StackTrace(false)
+public class RecipeSuggestionEvent extends Event {
+    /** The name the event is recorded under. */
+    public static final String NAME = "edu.ntnu.idi.idatt.RecipeSuggestion";
+
+    @Label("Recipes Scanned")
+    @Description("The number of recipes checked.")
+    public int recipesScanned;
+
+    @Label("Result Size")
+    @Description("The number of recipes that can be made.")
+    public int resultSize;
+
+    @Label("Parallelism")
+    @Description("The parallelism of the pool the check was split across, or 1 if it ran on the calling thread.")
+    public int parallelism;
+}
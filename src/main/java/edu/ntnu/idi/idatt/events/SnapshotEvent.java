@@ -0,0 +1,44 @@
+package edu.ntnu.idi.idatt.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Java Flight Recorder event for reading or writing one snapshot file, from the first record to the last.
+ * Disabled by default; see {@link StorageEvent}.
+ */
+@Name(SnapshotEvent.NAME)
+@Label("Snapshot I/O")
+@Description("Reading or writing a snapshot of stock entries and recipes.")
+@Category({"Food", "Snapshot"})
+@Enabled(false)
+@StackTrace(false)
+public class SnapshotEvent extends Event {
+    /** The name the event is recorded under. */
+    public static final String NAME = "edu.ntnu.idi.idatt.Snapshot";
+
+    @Label("Snapshot")
+    @Description("The name of the snapshot, if known.")
+    public String snapshot;
+
+    @Label("Write")
+    @Description("Whether the snapshot was written rather than read.")
+    public boolean write;
+
+    @Label("Lines")
+    @Description("The number of lines read or written, including comments.")
+    public long lines;
+
+    @Label("Lots")
+    @Description("The number of stock entries read or written.")
+    public long lots;
+
+    @Label("Recipes")
+    @Description("The number of recipes read or written.")
+    public long recipes;
+}
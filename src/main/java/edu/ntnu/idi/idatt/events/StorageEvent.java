@@ -0,0 +1,69 @@
+package edu.ntnu.idi.idatt.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Java Flight Recorder event for one storage operation, from when it is called until it returns.
+ * Disabled by default; enable {@value #NAME} in a recording, for example with {@code src/main/jfr/food.jfc},
+ * to see which operations were in flight during a GC pause or while a lock was contended. The storage only
+ * creates the event while it is enabled, and begins and commits it where it records the call's metrics.
+ */
+@Name(StorageEvent.NAME)
+@Label("Storage Operation")
+@Description("A call of a storage operation, with the ingredient or recipe it concerned and how much it scanned.")
+@Category({"Food", "Storage"})
+@Enabled(false)
+@StackTrace(false)
+public class StorageEvent extends Event {
+    /** The name the event is recorded under. */
+    public static final String NAME = "edu.ntnu.idi.idatt.StorageOperation";
+
+    @Label("Operation")
+    @Description("The name of the storage method.")
+    public String operation;
+
+    @Label("Mutation")
+    @Description("Whether the operation can change the stock.")
+    public boolean mutation;
+
+    @Label("Ingredient")
+    @Description("The ingredient the operation concerned, if any.")
+    public String ingredientName;
+
+    @Label("Recipe")
+    @Description("The recipe the operation concerned, if any.")
+    public String recipeName;
+
+    @Label("Amount")
+    @Description("The amount added or removed, or the number of servings cooked or reserved.")
+    public double amount;
+
+    @Label("Result Size")
+    @Description("The number of entries returned or removed, or 1 if a cook, check, reservation or release succeeded and 0 if not.")
+    public int resultSize;
+
+    @Label("Items Scanned")
+    @Description("The number of entries or ingredient groups the operation looked at.")
+    public int itemsScanned;
+
+    /**
+     * Constructs an event for an operation on an ingredient.
+     *
+     * @param operation      the name of the storage method.
+     * @param mutation       whether the operation can change the stock.
+     * @param ingredientName the ingredient, or null.
+     * @param amount         the amount added or removed.
+     */
+    public StorageEvent(String operation, boolean mutation, String ingredientName, double amount) {
+        this.operation = operation;
+        this.mutation = mutation;
+        this.ingredientName = ingredientName;
+        this.amount = amount;
+    }
+}
@@ -2,7 +2,9 @@ package edu.ntnu.idi.idatt.foodhandling;
 
 import edu.ntnu.idi.idatt.inputvalidator.InputValidator;
 import edu.ntnu.idi.idatt.model.Ingredient;
+import edu.ntnu.idi.idatt.model.Renderer;
 import edu.ntnu.idi.idatt.model.Storage;
+import edu.ntnu.idi.idatt.output.OutputSink;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -12,7 +14,7 @@ import java.util.stream.Collectors;
 /**
  * The ClientStorage class provides functionality for managing and interacting with a storage system.
  * It supports initializing storage with predefined ingredients, viewing, adding, and removing ingredients,
- * and calculating storage-related metrics.
+ * and calculating storage-related metrics. Messages are written to the storage's output sink.
  */
 public class ClientStorage {
 
@@ -85,10 +87,10 @@ public class ClientStorage {
      */
     public static void viewAllIngredients(Storage storage) {
         if (storage.getIngredients().isEmpty()) {
-            System.out.println("Storage is empty.");
+            storage.getOutput().println("Storage is empty.");
         } else {
-            System.out.println("All the ingredients in storage: ");
-            storage.getIngredients().forEach(System.out::println);
+            storage.getOutput().println("All the ingredients in storage: ");
+            printIngredients(storage.getIngredients(), "\n", storage.getOutput());
         }
     }
 
@@ -99,8 +101,7 @@ public class ClientStorage {
      */
     public static void getIngredientsByName(Storage storage, InputValidator inputValidator) {
         String ingredientName = inputValidator.getNonEmptyString("Please enter ingredient's name: ");
-        storage.getIngredientsByName(ingredientName).stream().sorted()
-                .forEach(ingredient -> System.out.println(ingredient + "\n"));
+        printIngredients(storage.getIngredientsByName(ingredientName).stream().sorted().toList(), "\n\n", storage.getOutput());
     }
 
     /**
@@ -126,8 +127,25 @@ public class ClientStorage {
         String ingredientName = inputValidator.getNonEmptyString("Please enter ingredient's name: ");
         double ingredientAmount = inputValidator.getValidDouble("Please enter the amount to remove: ");
         storage.removeIngredientByNameAndAmount(ingredientName, ingredientAmount);
-        System.out.println("Updated storage: ");
-        storage.getIngredients().forEach(ingredient -> System.out.println(ingredient + "\n"));
+        storage.getOutput().println("Updated storage: ");
+        printIngredients(storage.getIngredients(), "\n\n", storage.getOutput());
+    }
+
+    /**
+     * Prints ingredients, each followed by a separator, rendered into a single buffer.
+     *
+     * @param ingredients the ingredients to print.
+     * @param separator   the text written after each ingredient.
+     * @param output      the sink to write to.
+     */
+    private static void printIngredients(List<Ingredient> ingredients, String separator, OutputSink output) {
+        Renderer renderer = new Renderer(Renderer.Format.TEXT);
+        StringBuilder listing = new StringBuilder();
+        for (Ingredient ingredient : ingredients) {
+            renderer.appendIngredient(ingredient, listing);
+            listing.append(separator);
+        }
+        output.print(listing);
     }
 
     /**
@@ -137,13 +155,13 @@ public class ClientStorage {
      */
     public static void getTotalPrice(Storage storage) {
         if (storage.getIngredients().isEmpty()) {
-            System.out.println("No ingredients registered.");
+            storage.getOutput().println("No ingredients registered.");
             return;
         }
         double totalPrice = storage.getIngredients().stream()
                 .mapToDouble(Ingredient::getIngredientPrice)
                 .sum();
-        System.out.println("Total value of storage: " + totalPrice + " kr.");
+        storage.getOutput().println("Total value of storage: " + totalPrice + " kr.");
     }
 
     /**
@@ -155,7 +173,8 @@ public class ClientStorage {
     public static ArrayList<Ingredient> getExpiredIngredients (Storage storage) {
         LocalDate today = LocalDate.now();
         return storage.getIngredients().stream()
-                .filter(ingredient -> ingredient.getExpireDate().isBefore(today))
+                // An entry without an expiration date never expires.
+                .filter(ingredient -> ingredient.getExpireDate() != null && ingredient.getExpireDate().isBefore(today))
                 .sorted(Comparator.comparing(Ingredient::getExpireDate))
                 .collect(Collectors.toCollection(ArrayList::new));
     }
@@ -173,9 +192,9 @@ public class ClientStorage {
                 .sum();
 
         if (expiredIngredients.isEmpty()) {
-            System.out.println("No expired ingredients found.");
+            storage.getOutput().println("No expired ingredients found.");
         } else {
-            System.out.println("Total price of expired ingredients: +" + expiredPrice + " kr.");
+            storage.getOutput().println("Total price of expired ingredients: +" + expiredPrice + " kr.");
         }
         return expiredPrice;
     }
@@ -0,0 +1,347 @@
+package edu.ntnu.idi.idatt.inputvalidator;
+
+import java.time.LocalDate;
+
+/**
+ * Parses integers, decimal numbers and ISO dates ({@code 2026-11-01}) straight from a range of characters.
+ * Instead of throwing, every parse method returns a status code, and the parsed value is read from the
+ * parser afterwards, so invalid input costs no more than valid input and no substrings are created.
+ * Leading and trailing whitespace in the range is ignored.
+ *
+ * <p>Shared by the interactive {@link InputValidator}, the script runner and the HTTP server.
+ * A parser holds the last parsed value, so each thread needs its own.
+ */
+public class InputParser {
+    /** The input was parsed. */
+    public static final int OK = 0;
+    /** The input was empty or only whitespace. */
+    public static final int EMPTY = 1;
+    /** The input was not in the expected format. */
+    public static final int MALFORMED = 2;
+    /** The input was well-formed, but the value does not fit the type or is not a real date. */
+    public static final int OUT_OF_RANGE = 3;
+
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private int intValue;
+    private double doubleValue;
+    private int year;
+    private int month;
+    private int day;
+
+    /**
+     * Parses a whole string as an integer.
+     *
+     * @param input the input.
+     * @return {@link #OK}, {@link #EMPTY}, {@link #MALFORMED} or {@link #OUT_OF_RANGE}.
+     */
+    public int parseInt(CharSequence input) {
+        return parseInt(input, 0, input.length());
+    }
+
+    /**
+     * Parses a range of characters as an integer: an optional sign followed by decimal digits.
+     *
+     * @param input the characters.
+     * @param start the index of the first character of the range.
+     * @param end   the index after the last character of the range.
+     * @return {@link #OK}, {@link #EMPTY}, {@link #MALFORMED} or {@link #OUT_OF_RANGE}.
+     */
+    public int parseInt(CharSequence input, int start, int end) {
+        start = skipLeadingWhitespace(input, start, end);
+        end = skipTrailingWhitespace(input, start, end);
+        if (start == end) {
+            return EMPTY;
+        }
+        boolean negative = input.charAt(start) == '-';
+        int i = negative || input.charAt(start) == '+' ? start + 1 : start;
+        if (i == end) {
+            return MALFORMED;
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = input.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return MALFORMED;
+            }
+            value = value * 10 + digit;
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                return skipDigits(input, i + 1, end) == end ? OUT_OF_RANGE : MALFORMED;
+            }
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            return OUT_OF_RANGE;
+        }
+        intValue = (int) value;
+        return OK;
+    }
+
+    /**
+     * Parses a whole string as a decimal number.
+     *
+     * @param input the input.
+     * @return {@link #OK}, {@link #EMPTY}, {@link #MALFORMED} or {@link #OUT_OF_RANGE}.
+     */
+    public int parseDouble(CharSequence input) {
+        return parseDouble(input, 0, input.length());
+    }
+
+    /**
+     * Parses a range of characters as a decimal number: an optional sign, digits with an optional
+     * decimal point, and an optional exponent such as {@code e-3}. NaN, infinities and hexadecimal
+     * notation are not accepted, and numbers too large to be finite are out of range.
+     *
+     * @param input the characters.
+     * @param start the index of the first character of the range.
+     * @param end   the index after the last character of the range.
+     * @return {@link #OK}, {@link #EMPTY}, {@link #MALFORMED} or {@link #OUT_OF_RANGE}.
+     */
+    public int parseDouble(CharSequence input, int start, int end) {
+        start = skipLeadingWhitespace(input, start, end);
+        end = skipTrailingWhitespace(input, start, end);
+        if (start == end) {
+            return EMPTY;
+        }
+        int i = start;
+        boolean negative = input.charAt(i) == '-';
+        if (negative || input.charAt(i) == '+') {
+            i++;
+        }
+        long mantissa = 0;
+        int significantDigits = 0;
+        int scale = 0;
+        int digits = 0;
+        boolean point = false;
+        for (; i < end; i++) {
+            char c = input.charAt(i);
+            if (c == '.' && !point) {
+                point = true;
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                break;
+            }
+            digits++;
+            if (significantDigits < 18) {
+                if (mantissa != 0 || c != '0') {
+                    mantissa = mantissa * 10 + (c - '0');
+                    significantDigits++;
+                }
+                if (point) {
+                    scale--;
+                }
+            } else if (!point) {
+                scale++;
+            }
+        }
+        if (digits == 0) {
+            return MALFORMED;
+        }
+        if (i < end) {
+            char c = input.charAt(i);
+            if (c != 'e' && c != 'E') {
+                return MALFORMED;
+            }
+            boolean negativeExponent = ++i < end && input.charAt(i) == '-';
+            if (i < end && (input.charAt(i) == '-' || input.charAt(i) == '+')) {
+                i++;
+            }
+            if (i == end || skipDigits(input, i, end) != end) {
+                return MALFORMED;
+            }
+            // Parsed here rather than with parseInt, which would overwrite the result of an earlier parseInt call.
+            long exponent = 0;
+            for (; i < end && exponent <= Integer.MAX_VALUE; i++) {
+                exponent = exponent * 10 + (input.charAt(i) - '0');
+            }
+            if (exponent > Integer.MAX_VALUE) {
+                // Far outside the range of a double, but the sign still decides between zero and overflow.
+                if (!negativeExponent && mantissa != 0) {
+                    return OUT_OF_RANGE;
+                }
+                doubleValue = negative ? -0.0 : 0.0;
+                return OK;
+            }
+            scale = (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, scale + (negativeExponent ? -exponent : exponent)));
+        }
+
+        double value;
+        if (mantissa == 0) {
+            value = 0;
+        } else if (significantDigits <= 15 && scale >= -22 && scale <= 22) {
+            // Both operands are exact, so one rounding gives the correctly rounded result.
+            value = scale < 0 ? mantissa / POWERS_OF_TEN[-scale] : mantissa * POWERS_OF_TEN[scale];
+        } else {
+            // Rare inputs with many digits or large exponents; the syntax is already checked, so this cannot throw.
+            value = Double.parseDouble(input.subSequence(start, end).toString());
+            value = Math.abs(value);
+        }
+        if (Double.isInfinite(value)) {
+            return OUT_OF_RANGE;
+        }
+        doubleValue = negative ? -value : value;
+        return OK;
+    }
+
+    /**
+     * Parses a whole string as an ISO date.
+     *
+     * @param input the input.
+     * @return {@link #OK}, {@link #EMPTY}, {@link #MALFORMED} or {@link #OUT_OF_RANGE}.
+     */
+    public int parseDate(CharSequence input) {
+        return parseDate(input, 0, input.length());
+    }
+
+    /**
+     * Parses a range of characters as an ISO date, {@code yyyy-mm-dd}. A well-formed date whose month
+     * or day does not exist, such as {@code 2023-02-29}, is out of range.
+     *
+     * @param input the characters.
+     * @param start the index of the first character of the range.
+     * @param end   the index after the last character of the range.
+     * @return {@link #OK}, {@link #EMPTY}, {@link #MALFORMED} or {@link #OUT_OF_RANGE}.
+     */
+    public int parseDate(CharSequence input, int start, int end) {
+        start = skipLeadingWhitespace(input, start, end);
+        end = skipTrailingWhitespace(input, start, end);
+        if (start == end) {
+            return EMPTY;
+        }
+        if (end - start != 10 || input.charAt(start + 4) != '-' || input.charAt(start + 7) != '-') {
+            return MALFORMED;
+        }
+        int parsedYear = digits(input, start, 4);
+        int parsedMonth = digits(input, start + 5, 2);
+        int parsedDay = digits(input, start + 8, 2);
+        if (parsedYear < 0 || parsedMonth < 0 || parsedDay < 0) {
+            return MALFORMED;
+        }
+        if (parsedMonth < 1 || parsedMonth > 12 || parsedDay < 1 || parsedDay > daysInMonth(parsedYear, parsedMonth)) {
+            return OUT_OF_RANGE;
+        }
+        year = parsedYear;
+        month = parsedMonth;
+        day = parsedDay;
+        return OK;
+    }
+
+    /**
+     * Retrieves the value of the last successful {@link #parseInt} call.
+     *
+     * @return the parsed integer.
+     */
+    public int getInt() {
+        return intValue;
+    }
+
+    /**
+     * Retrieves the value of the last successful {@link #parseDouble} call.
+     *
+     * @return the parsed number.
+     */
+    public double getDouble() {
+        return doubleValue;
+    }
+
+    /**
+     * Retrieves the year of the last successful {@link #parseDate} call.
+     *
+     * @return the parsed year.
+     */
+    public int getYear() {
+        return year;
+    }
+
+    /**
+     * Retrieves the month of the last successful {@link #parseDate} call.
+     *
+     * @return the parsed month (1-12).
+     */
+    public int getMonth() {
+        return month;
+    }
+
+    /**
+     * Retrieves the day of the last successful {@link #parseDate} call.
+     *
+     * @return the parsed day of the month.
+     */
+    public int getDay() {
+        return day;
+    }
+
+    /**
+     * Retrieves the value of the last successful {@link #parseDate} call as a date.
+     *
+     * @return the parsed date.
+     */
+    public LocalDate getDate() {
+        return LocalDate.of(year, month, day);
+    }
+
+    /**
+     * Determines the number of days in a given month and year.
+     *
+     * @param year  the year.
+     * @param month the month (1-12).
+     * @return the number of days in the specified month.
+     */
+    public static int daysInMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> (isLeapYear(year) ? 29 : 28); // February
+            case 4, 6, 9, 11 -> 30; // Months with 30 days
+            default -> 31; // All other months
+        };
+    }
+
+    /**
+     * Checks if a given year is a leap year.
+     *
+     * @param year the year to check.
+     * @return true if the year is a leap year, false otherwise.
+     */
+    public static boolean isLeapYear(int year) {
+        return (year % 4 == 0 && year % 100 != 0) || (year % 400 == 0);
+    }
+
+    /**
+     * Reads a fixed number of digits as a number, or returns -1 if any of them is not a digit.
+     */
+    private static int digits(CharSequence input, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = input.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static int skipDigits(CharSequence input, int start, int end) {
+        while (start < end && input.charAt(start) >= '0' && input.charAt(start) <= '9') {
+            start++;
+        }
+        return start;
+    }
+
+    private static int skipLeadingWhitespace(CharSequence input, int start, int end) {
+        while (start < end && Character.isWhitespace(input.charAt(start))) {
+            start++;
+        }
+        return start;
+    }
+
+    private static int skipTrailingWhitespace(CharSequence input, int start, int end) {
+        while (end > start && Character.isWhitespace(input.charAt(end - 1))) {
+            end--;
+        }
+        return end;
+    }
+}
@@ -1,22 +1,72 @@
 package edu.ntnu.idi.idatt.inputvalidator;
 
+import edu.ntnu.idi.idatt.metrics.InputWait;
+import edu.ntnu.idi.idatt.output.OutputSink;
 import java.time.LocalDate;
 import java.util.Scanner;
 
 /**
  * Provides utility methods for validating and retrieving user input.
  * Supports input validation for integers, doubles, non-empty strings, and dates.
+ * Input is parsed with an {@link InputParser}, so invalid input is reported without exceptions.
+ * Prompts are written to an {@link OutputSink}, which is flushed whenever input is read.
  */
 public class InputValidator {
     public final Scanner scanner;
+    private final InputParser parser = new InputParser();
+    private OutputSink output;
 
     /**
-     * Constructs an InputValidator instance with a specified Scanner.
+     * Constructs an InputValidator instance with a specified Scanner, prompting on the console.
      *
      * @param scanner the Scanner to use for input.
      */
     public InputValidator(Scanner scanner) {
+        this(scanner, OutputSink.console());
+    }
+
+    /**
+     * Constructs an InputValidator instance with a specified Scanner and output sink.
+     *
+     * @param scanner the Scanner to use for input.
+     * @param output  the sink prompts and error messages are written to.
+     */
+    public InputValidator(Scanner scanner, OutputSink output) {
         this.scanner = scanner;
+        this.output = output;
+    }
+
+    /**
+     * Sets the sink prompts and error messages are written to, so they can share a buffer with other output.
+     *
+     * @param output the sink to write to.
+     */
+    public void setOutput(OutputSink output) {
+        this.output = output;
+    }
+
+    /**
+     * Retrieves the sink prompts and error messages are written to.
+     *
+     * @return the output sink.
+     */
+    public OutputSink getOutput() {
+        return output;
+    }
+
+    /**
+     * Writes everything buffered, including the prompt, and then reads a line of input.
+     *
+     * @return the line read.
+     */
+    private String readLine() {
+        output.flush();
+        long start = InputWait.start();
+        try {
+            return scanner.nextLine();
+        } finally {
+            InputWait.stop(start);
+        }
     }
 
     /**
@@ -28,13 +78,12 @@ public class InputValidator {
      */
     public int getValidInt(String message) {
         while (true) {
-            System.out.println(message);
-            String input = scanner.nextLine();
-            try {
-                return Integer.parseInt(input);
-            } catch (NumberFormatException e) {
-                System.out.println("Please enter a valid integer");
+            output.println(message);
+            String input = readLine();
+            if (parser.parseInt(input) == InputParser.OK) {
+                return parser.getInt();
             }
+            output.println("Please enter a valid integer");
         }
     }
 
@@ -47,13 +96,12 @@ public class InputValidator {
      */
     public double getValidDouble(String message) {
         while (true) {
-            System.out.println(message);
-            String input = scanner.nextLine();
-            try {
-                return Double.parseDouble(input);
-            } catch (NumberFormatException e) {
-                System.out.println("Please enter a valid double");
+            output.println(message);
+            String input = readLine();
+            if (parser.parseDouble(input) == InputParser.OK) {
+                return parser.getDouble();
             }
+            output.println("Please enter a valid double");
         }
     }
 
@@ -66,10 +114,10 @@ public class InputValidator {
      */
     public String getNonEmptyString(String message) {
         while (true) {
-            System.out.println(message);
-            String input = scanner.nextLine();
+            output.println(message);
+            String input = readLine();
             if (input.isEmpty()) {
-                System.out.println("Please enter a valid string");
+                output.println("Please enter a valid string");
             } else {
                 return input;
             }
@@ -80,15 +128,28 @@ public class InputValidator {
      * Prompts the user with a message and retrieves a valid expiration date.
      * If the input does not form a valid date, the user is re-prompted until a valid date is provided.
      * Ensures the date is valid for the specified month and year (handles leap years).
+     * A whole ISO date, such as 2026-11-01, can be entered at the year prompt to skip the month and day prompts.
      *
      * @param message the prompt message to display to the user.
      * @return a valid LocalDate object representing the expiration date.
      */
     public LocalDate getValidExpirationDate(String message) {
-        System.out.printf("%s (type 'cancel' to exit)%n", message);
+        output.printf("%s (type 'cancel' to exit)%n", message);
 
-        Integer year = getValidYear();
-        if (year == null) return null;
+        Integer year = null;
+        while (year == null) {
+            output.print("Year: ");
+            String yearInput = readLine();
+            if (yearInput.equalsIgnoreCase("cancel")) {
+                output.println("Input canceled by user.");
+                return null;
+            }
+            int dateStatus = parser.parseDate(yearInput);
+            if (dateStatus == InputParser.OK && parser.getYear() >= 1900 && parser.getYear() <= 2100) {
+                return parser.getDate();
+            }
+            year = parseYear(yearInput, dateStatus);
+        }
 
         Integer month = getValidMonth();
         if (month == null) return null;
@@ -100,30 +161,23 @@ public class InputValidator {
     }
 
     /**
-     * Prompts the user to input a valid year.
-     * Repeats until the user provides valid input or cancels the operation.
+     * Checks input at the year prompt that is not a whole date within range, and explains what is wrong with it.
      *
-     * @return the valid year entered by the user, or null if the user cancels.
+     * @param yearInput  the input.
+     * @param dateStatus the result of parsing the input as a whole date.
+     * @return the year, or null if the input is not a valid year.
      */
-    private Integer getValidYear() {
-        while (true) {
-            System.out.print("Year: ");
-            String yearInput = scanner.nextLine();
-            if (yearInput.equalsIgnoreCase("cancel")) {
-                System.out.println("Input canceled by user.");
-                return null;
-            }
-            try {
-                int year = Integer.parseInt(yearInput);
-                if (year < 1900 || year > 2100) {
-                    System.out.println("Invalid year. Must be between 1900 and 2100.");
-                } else {
-                    return year;
-                }
-            } catch (NumberFormatException e) {
-                System.out.println("Invalid year. Please enter a numeric value.");
-            }
+    private Integer parseYear(String yearInput, int dateStatus) {
+        if (dateStatus == InputParser.OUT_OF_RANGE || dateStatus == InputParser.OK) {
+            output.println("Invalid date. The year must be between 1900 and 2100, and the month and day must exist.");
+        } else if (parser.parseInt(yearInput) != InputParser.OK) {
+            output.println("Invalid year. Please enter a numeric value.");
+        } else if (parser.getInt() < 1900 || parser.getInt() > 2100) {
+            output.println("Invalid year. Must be between 1900 and 2100.");
+        } else {
+            return parser.getInt();
         }
+        return null;
     }
 
     /**
@@ -134,21 +188,18 @@ public class InputValidator {
      */
     private Integer getValidMonth() {
         while (true) {
-            System.out.print("Month (1-12): ");
-            String monthInput = scanner.nextLine();
+            output.print("Month (1-12): ");
+            String monthInput = readLine();
             if (monthInput.equalsIgnoreCase("cancel")) {
-                System.out.println("Input canceled by user.");
+                output.println("Input canceled by user.");
                 return null;
             }
-            try {
-                int month = Integer.parseInt(monthInput);
-                if (month < 1 || month > 12) {
-                    System.out.println("Invalid month. Must be between 1 and 12.");
-                } else {
-                    return month;
-                }
-            } catch (NumberFormatException e) {
-                System.out.println("Invalid month. Please enter a numeric value.");
+            if (parser.parseInt(monthInput) != InputParser.OK) {
+                output.println("Invalid month. Please enter a numeric value.");
+            } else if (parser.getInt() < 1 || parser.getInt() > 12) {
+                output.println("Invalid month. Must be between 1 and 12.");
+            } else {
+                return parser.getInt();
             }
         }
     }
@@ -163,49 +214,21 @@ public class InputValidator {
      * @return a valid day as an integer, or null if the user cancels the input.
      */
     private Integer getValidDay(int year, int month) {
-        int maxDays = daysInMonth(year, month);
+        int maxDays = InputParser.daysInMonth(year, month);
         while (true) {
-            System.out.print("Day: ");
-            String dayInput = scanner.nextLine();
+            output.print("Day: ");
+            String dayInput = readLine();
             if (dayInput.equalsIgnoreCase("cancel")) {
-                System.out.println("Input canceled by user.");
+                output.println("Input canceled by user.");
                 return null;
             }
-            try {
-                int day = Integer.parseInt(dayInput);
-                if (day < 1 || day > maxDays) {
-                    System.out.printf("Invalid day. Must be between 1 and %d.%n", maxDays);
-                } else {
-                    return day;
-                }
-            } catch (NumberFormatException e) {
-                System.out.println("Invalid day. Please enter a numeric value.");
+            if (parser.parseInt(dayInput) != InputParser.OK) {
+                output.println("Invalid day. Please enter a numeric value.");
+            } else if (parser.getInt() < 1 || parser.getInt() > maxDays) {
+                output.printf("Invalid day. Must be between 1 and %d.%n", maxDays);
+            } else {
+                return parser.getInt();
             }
         }
     }
-
-    /**
-     * Determines the number of days in a given month and year.
-     *
-     * @param year  the year.
-     * @param month the month (1-12).
-     * @return the number of days in the specified month.
-     */
-    private int daysInMonth(int year, int month) {
-        return switch (month) {
-            case 2 -> (isLeapYear(year) ? 29 : 28); // February
-            case 4, 6, 9, 11 -> 30; // Months with 30 days
-            default -> 31; // All other months
-        };
-    }
-
-    /**
-     * Checks if a given year is a leap year.
-     *
-     * @param year the year to check.
-     * @return true if the year is a leap year, false otherwise.
-     */
-    private boolean isLeapYear(int year) {
-        return (year % 4 == 0 && year % 100 != 0) || (year % 400 == 0);
-    }
 }
@@ -1,11 +1,38 @@
 package edu.ntnu.idi.idatt.main;
 
+import edu.ntnu.idi.idatt.batch.ScriptRunner;
+import edu.ntnu.idi.idatt.dataset.DatasetGenerator;
+import edu.ntnu.idi.idatt.dataset.SnapshotWriter;
 import edu.ntnu.idi.idatt.foodhandling.ClientCookbook;
 import edu.ntnu.idi.idatt.foodhandling.ClientStorage;
 import edu.ntnu.idi.idatt.inputvalidator.InputValidator;
+import edu.ntnu.idi.idatt.metrics.MetricsRegistry;
 import edu.ntnu.idi.idatt.model.Cookbook;
 import edu.ntnu.idi.idatt.model.Storage;
+import edu.ntnu.idi.idatt.replay.LoadGenerator;
+import edu.ntnu.idi.idatt.replay.Session;
+import edu.ntnu.idi.idatt.replay.SessionRecorder;
+import edu.ntnu.idi.idatt.server.ApiServer;
+import edu.ntnu.idi.idatt.server.PantryService;
+import edu.ntnu.idi.idatt.server.StockProtocolServer;
 import edu.ntnu.idi.idatt.ui.UserInterface;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
 
 /**
@@ -35,14 +62,65 @@ public class Main {
     /**
      * The main method initializes the application components and starts the application.
      * Uses default implementations for production.
+     * With {@code --script <file>} the commands in the file are executed without any menus,
+     * and with {@code --script -} they are read from standard input; see {@link ScriptRunner}.
+     * With {@code --server [port] [--threads n]} the storage and cookbook are served over HTTP instead
+     * of the console; see {@link ApiServer}. {@code --threads} runs requests on n platform threads
+     * rather than virtual threads. With {@code --stock-server [port]} they are served over the binary
+     * stock protocol instead; see {@link StockProtocolServer}.
+     * With {@code --record <file>} the console application runs as usual while the input is recorded to a
+     * replay file; see {@link SessionRecorder}. With {@code --load <file>... [--users n] [--speed x] [--repeat n]}
+     * recorded sessions are replayed by simulated users and a latency report is printed; see {@link LoadGenerator}.
+     * With {@code --generate <file> [--lots n] [--recipes n] [--seed n] [--today yyyy-mm-dd] [--vocabulary n] [--skew x]}
+     * a synthetic storage and cookbook are written to a snapshot file, or to standard output for {@code -};
+     * see {@link DatasetGenerator}.
+     * The console application, the servers and load runs expose the operation metrics of the
+     * {@link MetricsRegistry} as platform MBeans, where JConsole can read them and invoke {@code dump}.
      *
-     * @param args the command-line arguments, not used in this application
+     * @param args the command-line arguments
+     * @throws IOException if the script cannot be read or its results cannot be written
+     * @throws InterruptedException if the main thread is interrupted while a server is running
      */
-    public static void main(String[] args) {
-        Scanner scanner = new Scanner(System.in);
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length == 2 && args[0].equals("--script")) {
+            int failures = runScript(args[1].equals("-") ? System.in : new FileInputStream(args[1]), System.out);
+            System.exit(failures == 0 ? 0 : 1);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--server")) {
+            exposeMetrics();
+            runServer(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--stock-server")) {
+            exposeMetrics();
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : 9090;
+            StockProtocolServer server = new StockProtocolServer(ClientStorage.init(), ClientCookbook.init(), new InetSocketAddress(port));
+            server.start();
+            System.out.println("Serving the stock protocol on port " + server.getPort() + ".");
+            Thread.currentThread().join();
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--load")) {
+            exposeMetrics();
+            System.out.print(runLoad(args));
+            return;
+        }
+        if (args.length > 1 && args[0].equals("--generate")) {
+            runGenerate(args);
+            return;
+        }
+        exposeMetrics();
+        InputStream input = System.in;
+        if (args.length == 2 && args[0].equals("--record")) {
+            input = new SessionRecorder(System.in, Files.newBufferedWriter(Path.of(args[1]), StandardCharsets.UTF_8));
+        }
+        Scanner scanner = new Scanner(input);
         InputValidator inputValidator = new InputValidator(scanner);
         Storage storage = ClientStorage.init();
         Cookbook cookbook = ClientCookbook.init();
+        // Share one scanner so confirmations asked by the storage are read from the same, possibly recorded, input
+        storage.setScanner(scanner);
 
         // Create the user interface with default dependencies
         UserInterface ui = new UserInterface(new ClientStorage(), new ClientCookbook(), storage, cookbook, inputValidator);
@@ -51,6 +129,129 @@ public class Main {
         new Main(new ClientStorage(), new ClientCookbook(), ui).start();
     }
 
+    /**
+     * Registers the global metrics registry and its operations with the platform MBean server.
+     */
+    private static void exposeMetrics() {
+        MetricsRegistry.global().registerMBeans(ManagementFactory.getPlatformMBeanServer());
+    }
+
+    /**
+     * Runs a script of commands against an empty storage and the predefined cookbook.
+     * Only result lines are written to {@code out}; the cookbook is set up without printing anything,
+     * so the output stays machine-readable.
+     *
+     * @param script the script to read.
+     * @param out    the stream result lines are written to.
+     * @return the number of commands that failed.
+     * @throws IOException if the script cannot be read or its results cannot be written
+     */
+    static int runScript(InputStream script, PrintStream out) throws IOException {
+        Cookbook cookbook = ClientCookbook.init();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(script, StandardCharsets.UTF_8), 1 << 16)) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16);
+            return new ScriptRunner(new Storage(), cookbook).run(reader, writer);
+        }
+    }
+
+    /**
+     * Serves the predefined storage and cookbook over HTTP until the process is stopped.
+     *
+     * @param args the command-line arguments, starting with {@code --server}
+     * @throws IOException if the server cannot be started
+     * @throws IllegalArgumentException if the arguments are malformed
+     */
+    private static void runServer(String[] args) throws IOException {
+        int port = 8080;
+        int platformThreads = 0;
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals("--threads") && i + 1 < args.length) {
+                platformThreads = Integer.parseInt(args[++i]);
+            } else {
+                port = Integer.parseInt(args[i]);
+            }
+        }
+        // Without TCP_NODELAY small responses on a kept-alive connection wait for the client's delayed ACK,
+        // capping throughput at ~25 requests/s per connection. Must be set before the first server is created.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        PantryService service = new PantryService(ClientStorage.init(), ClientCookbook.init());
+        ApiServer server = new ApiServer(service, new InetSocketAddress(port), platformThreads);
+        server.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> server.stop(1)));
+        System.out.println("Serving on port " + server.getPort()
+                + (server.usesVirtualThreads() ? " with virtual threads." : " with platform threads."));
+    }
+
+    /**
+     * Replays recorded sessions with simulated users and formats the resulting report.
+     *
+     * @param args the command-line arguments, starting with {@code --load}
+     * @return the formatted report
+     * @throws IOException if a session cannot be read
+     * @throws InterruptedException if the main thread is interrupted during the run
+     * @throws IllegalArgumentException if the arguments are malformed
+     */
+    private static String runLoad(String[] args) throws IOException, InterruptedException {
+        List<Session> sessions = new ArrayList<>();
+        int users = 1;
+        double speed = 1;
+        int repetitions = 1;
+        for (int i = 1; i < args.length; i++) {
+            boolean hasValue = i + 1 < args.length;
+            if (args[i].equals("--users") && hasValue) {
+                users = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--speed") && hasValue) {
+                speed = Double.parseDouble(args[++i]);
+            } else if (args[i].equals("--repeat") && hasValue) {
+                repetitions = Integer.parseInt(args[++i]);
+            } else {
+                sessions.add(Session.read(Path.of(args[i])));
+            }
+        }
+        return new LoadGenerator(sessions, users, speed, repetitions).run().toString();
+    }
+
+    /**
+     * Generates a storage and cookbook and writes them to a snapshot.
+     *
+     * @param args the command-line arguments, starting with {@code --generate <file>}
+     * @throws IOException if the snapshot cannot be written
+     * @throws IllegalArgumentException if the arguments are malformed
+     */
+    private static void runGenerate(String[] args) throws IOException {
+        long lots = 10_000;
+        int recipes = 100;
+        long seed = 42;
+        LocalDate today = LocalDate.now();
+        int vocabulary = DatasetGenerator.DEFAULT_VOCABULARY;
+        double skew = DatasetGenerator.DEFAULT_SKEW;
+        for (int i = 2; i < args.length; i++) {
+            if (i + 1 == args.length) {
+                throw new IllegalArgumentException("Missing value for " + args[i]);
+            }
+            switch (args[i]) {
+                case "--lots" -> lots = Long.parseLong(args[++i]);
+                case "--recipes" -> recipes = Integer.parseInt(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--today" -> today = LocalDate.parse(args[++i]);
+                case "--vocabulary" -> vocabulary = Integer.parseInt(args[++i]);
+                case "--skew" -> skew = Double.parseDouble(args[++i]);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        DatasetGenerator generator = new DatasetGenerator(seed, today, vocabulary, skew);
+        Writer out = args[1].equals("-")
+                ? new OutputStreamWriter(System.out, StandardCharsets.UTF_8)
+                : Files.newBufferedWriter(Path.of(args[1]), StandardCharsets.UTF_8);
+        try (SnapshotWriter snapshot = new SnapshotWriter(new BufferedWriter(out, 1 << 16), args[1])) {
+            snapshot.comment("food dataset " + generator.describe() + " lots=" + lots + " recipes=" + recipes);
+            generator.generateLots(lots, snapshot);
+            generator.generateRecipes(recipes, snapshot);
+        }
+    }
+
     /**
      * Starts the application by invoking the user interface's start method.
      * This method is the entry point for the UI-driven interaction.
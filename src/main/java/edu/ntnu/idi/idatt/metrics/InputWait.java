@@ -0,0 +1,50 @@
+package edu.ntnu.idi.idatt.metrics;
+
+/**
+ * The time each thread has spent waiting for the user to type input. Console reads are timed by keeping
+ * the value of {@link #start()} and passing it to {@link #stop(long)}, so an operation that prompts the user
+ * can leave the waiting out of its own latency:
+ *
+ * <pre>
+ * long waited = InputWait.total();
+ * long start = OPERATION.start();
+ * try {
+ *     ...
+ * } finally {
+ *     OPERATION.stop(start, InputWait.total() - waited);
+ * }
+ * </pre>
+ */
+public final class InputWait {
+    private static final ThreadLocal<long[]> WAITED = ThreadLocal.withInitial(() -> new long[1]);
+
+    private InputWait() {
+    }
+
+    /**
+     * Marks the start of a read.
+     *
+     * @return the start time, to be passed to {@link #stop(long)}.
+     */
+    public static long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Marks the end of a read, adding its duration to the calling thread's total.
+     *
+     * @param start the value {@link #start()} returned when the read began.
+     */
+    public static void stop(long start) {
+        WAITED.get()[0] += System.nanoTime() - start;
+    }
+
+    /**
+     * Retrieves the total time the calling thread has spent waiting for input.
+     *
+     * @return the total in nanoseconds.
+     */
+    public static long total() {
+        return WAITED.get()[0];
+    }
+}
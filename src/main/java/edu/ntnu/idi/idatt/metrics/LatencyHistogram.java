@@ -0,0 +1,202 @@
+package edu.ntnu.idi.idatt.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of latencies in nanoseconds with logarithmic buckets, in the style of HdrHistogram:
+ * every power of two is split into {@value #SUB_BUCKETS} equal buckets, so a recorded value is known
+ * to within 1/{@value #SUB_BUCKETS} of itself whether it is 200 ns or 2 s. Values below
+ * {@value #SUB_BUCKETS} ns are exact, and values above 2^{@value #MAX_EXPONENT} ns (about five hours)
+ * are counted in the last bucket.
+ *
+ * <p>The buckets are striped: each thread records into one of several copies of the bucket array,
+ * chosen by its identity hash, and the copies are only summed when a {@link Snapshot} is taken.
+ * Recording is two atomic additions on memory that threads on other stripes never touch,
+ * so it does not contend and does not allocate.
+ */
+public final class LatencyHistogram {
+    /** The number of buckets every power of two is split into. */
+    public static final int SUB_BUCKETS = 16;
+    /** The exponent of the largest power of two that is bucketed precisely. */
+    public static final int MAX_EXPONENT = 44;
+
+    private static final int SUB_BUCKET_BITS = Integer.numberOfTrailingZeros(SUB_BUCKETS);
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+    private static final int SUM = BUCKETS;
+    // The sum is followed by a cache line of padding, so neighbouring stripes never share a line.
+    private static final int STRIDE = BUCKETS + 1 + 8;
+
+    private final int stripeMask;
+    private final AtomicLongArray cells;
+
+    /**
+     * Constructs an empty histogram with two stripes per available processor.
+     */
+    public LatencyHistogram() {
+        this(2 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs an empty histogram.
+     *
+     * @param stripes the minimum number of stripes; rounded up to a power of two, at most 64.
+     * @throws IllegalArgumentException if stripes is less than one.
+     */
+    public LatencyHistogram(int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("A histogram needs at least one stripe.");
+        }
+        int count = Math.min(64, Integer.highestOneBit(stripes - 1) << 1);
+        this.stripeMask = Math.max(1, count) - 1;
+        this.cells = new AtomicLongArray((stripeMask + 1) * STRIDE);
+    }
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos the latency in nanoseconds; negative values, which a clock adjustment could cause,
+     *              are recorded as zero.
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        int hash = System.identityHashCode(Thread.currentThread());
+        int base = ((hash ^ (hash >>> 16)) & stripeMask) * STRIDE;
+        cells.getAndIncrement(base + bucketOf(value));
+        cells.getAndAdd(base + SUM, value);
+    }
+
+    /**
+     * Sums the stripes into a snapshot. Latencies recorded while the snapshot is taken may or may not
+     * be included.
+     *
+     * @return the snapshot.
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        long sum = 0;
+        for (int base = 0; base < cells.length(); base += STRIDE) {
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                counts[bucket] += cells.get(base + bucket);
+            }
+            sum += cells.get(base + SUM);
+        }
+        return new Snapshot(counts, sum);
+    }
+
+    /**
+     * Clears every bucket. Latencies recorded during the reset may be partly kept.
+     */
+    public void reset() {
+        for (int i = 0; i < cells.length(); i++) {
+            cells.set(i, 0);
+        }
+    }
+
+    /**
+     * Finds the bucket a value is counted in.
+     *
+     * @param value a non-negative value.
+     * @return the bucket index.
+     */
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int shift = exponent - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    /**
+     * Finds the largest value that is counted in a bucket.
+     *
+     * @param bucket the bucket index.
+     * @return the largest value of the bucket.
+     */
+    static long highestValueOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    /**
+     * The bucket counts of a histogram at one point in time.
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+
+        private Snapshot(long[] counts, long sum) {
+            long total = 0;
+            for (long bucketCount : counts) {
+                total += bucketCount;
+            }
+            this.counts = counts;
+            this.count = total;
+            this.sum = sum;
+        }
+
+        /**
+         * Retrieves the number of recorded latencies.
+         *
+         * @return the count.
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Retrieves the mean of the recorded latencies.
+         *
+         * @return the mean in nanoseconds, or zero if nothing was recorded.
+         */
+        public double getMean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /**
+         * Retrieves the latency that a given percentage of the recorded latencies are at or below.
+         * The result is the largest value of the bucket the percentile falls in, so it is never
+         * lower than the true percentile.
+         *
+         * @param percentile the percentile, from 0 to 100.
+         * @return the latency in nanoseconds, or zero if nothing was recorded.
+         * @throws IllegalArgumentException if the percentile is outside 0 to 100.
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (!(percentile >= 0 && percentile <= 100)) {
+                throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+            long seen = 0;
+            for (int bucket = 0; bucket < counts.length; bucket++) {
+                seen += counts[bucket];
+                if (seen >= rank) {
+                    return highestValueOf(bucket);
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * Retrieves the largest recorded latency, to bucket precision.
+         *
+         * @return the latency in nanoseconds, or zero if nothing was recorded.
+         */
+        public long getMax() {
+            for (int bucket = counts.length - 1; bucket >= 0; bucket--) {
+                if (counts[bucket] > 0) {
+                    return highestValueOf(bucket);
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package edu.ntnu.idi.idatt.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * The operations timed by the application, by name. Storage, cookbook and user interface operations
+ * look up their {@link OperationMetrics} once, in static fields of their own class, from the
+ * {@link #global()} registry, so recording never goes through a map.
+ *
+ * <p>Once {@link #registerMBeans(MBeanServer)} has been called, the registry and each operation,
+ * including operations created later, are visible to JMX clients such as JConsole as
+ * {@code edu.ntnu.idi.idatt:type=Metrics} and {@code edu.ntnu.idi.idatt:type=Operation,name=<operation>}.
+ */
+public final class MetricsRegistry implements MetricsRegistryMBean {
+    /** The JMX domain of the registry and its operations. */
+    public static final String DOMAIN = "edu.ntnu.idi.idatt";
+
+    private static final MetricsRegistry GLOBAL = new MetricsRegistry();
+
+    private final ConcurrentHashMap<String, OperationMetrics> operations = new ConcurrentHashMap<>();
+    private volatile MBeanServer server;
+
+    /**
+     * Constructs an empty registry that is not registered with any MBean server.
+     */
+    public MetricsRegistry() {
+    }
+
+    /**
+     * Retrieves the registry the application's operations are recorded in.
+     *
+     * @return the global registry.
+     */
+    public static MetricsRegistry global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Retrieves the metrics of an operation, creating them on first use.
+     *
+     * @param name the name of the operation, such as {@code storage.addEntry}; it becomes part of a JMX
+     *             object name, so it should not contain commas, colons, equals signs or quotes.
+     * @return the metrics of the operation.
+     * @throws IllegalArgumentException if the name is null or empty.
+     */
+    public OperationMetrics operation(String name) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("Operation name cannot be null or empty.");
+        }
+        OperationMetrics metrics = operations.get(name);
+        if (metrics != null) {
+            return metrics;
+        }
+        metrics = operations.computeIfAbsent(name, OperationMetrics::new);
+        if (server != null) {
+            register(metrics);
+        }
+        return metrics;
+    }
+
+    /**
+     * Retrieves the metrics of all operations.
+     *
+     * @return the operations, in alphabetical order.
+     */
+    public List<OperationMetrics> getOperations() {
+        List<OperationMetrics> sorted = new ArrayList<>(operations.values());
+        sorted.sort(Comparator.comparing(OperationMetrics::getName));
+        return sorted;
+    }
+
+    /**
+     * Retrieves the names of all operations, in alphabetical order.
+     *
+     * @return the operation names.
+     */
+    @Override
+    public String[] getOperationNames() {
+        return getOperations().stream().map(OperationMetrics::getName).toArray(String[]::new);
+    }
+
+    /**
+     * Registers the registry and all of its operations as MBeans. Operations created afterwards are
+     * registered when they are created. Registering with the same server again has no effect.
+     *
+     * @param server the server to register with, usually
+     *               {@link java.lang.management.ManagementFactory#getPlatformMBeanServer()}.
+     * @throws IllegalArgumentException if the server is null.
+     * @throws IllegalStateException if the registry is already registered with another server,
+     *                               or registration fails.
+     */
+    public synchronized void registerMBeans(MBeanServer server) {
+        if (server == null) {
+            throw new IllegalArgumentException("MBean server cannot be null.");
+        }
+        if (this.server != null && this.server != server) {
+            throw new IllegalStateException("Metrics are already registered with another MBean server.");
+        }
+        this.server = server;
+        register(this, DOMAIN + ":type=Metrics");
+        for (OperationMetrics metrics : operations.values()) {
+            register(metrics);
+        }
+    }
+
+    /**
+     * Formats the metrics of every operation that has been called as a table.
+     *
+     * @return the table.
+     */
+    @Override
+    public String dump() {
+        StringBuilder table = new StringBuilder(1024);
+        dump(table);
+        return table.toString();
+    }
+
+    /**
+     * Appends a table of the metrics of every operation that has been called, one line per operation,
+     * with the number of timed calls the latencies are taken from and the latencies in microseconds.
+     *
+     * @param table the builder to append to.
+     */
+    public void dump(StringBuilder table) {
+        table.append(String.format(Locale.ROOT, "%-44s %10s %8s %10s %10s %10s %10s %10s %10s %10s%n",
+                "operation", "count", "errors", "timed", "mean us", "p50 us", "p90 us", "p99 us", "p99.9 us", "max us"));
+        for (OperationMetrics metrics : getOperations()) {
+            long count = metrics.getCount();
+            long errors = metrics.getErrorCount();
+            if (count == 0 && errors == 0) {
+                continue;
+            }
+            LatencyHistogram.Snapshot latencies = metrics.snapshot();
+            table.append(String.format(Locale.ROOT, "%-44s %10d %8d %10d %10.1f %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+                    metrics.getName(), count, errors, latencies.getCount(),
+                    latencies.getMean() / 1000, latencies.getValueAtPercentile(50) / 1000.0,
+                    latencies.getValueAtPercentile(90) / 1000.0, latencies.getValueAtPercentile(99) / 1000.0,
+                    latencies.getValueAtPercentile(99.9) / 1000.0, latencies.getMax() / 1000.0));
+        }
+    }
+
+    /**
+     * Clears the metrics of every operation.
+     */
+    @Override
+    public void reset() {
+        operations.values().forEach(OperationMetrics::reset);
+    }
+
+    private synchronized void register(OperationMetrics metrics) {
+        register(metrics, DOMAIN + ":type=Operation,name=" + metrics.getName());
+    }
+
+    private void register(Object mbean, String name) {
+        try {
+            ObjectName objectName = new ObjectName(name);
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(mbean, objectName);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register " + name + " as an MBean.", e);
+        }
+    }
+}
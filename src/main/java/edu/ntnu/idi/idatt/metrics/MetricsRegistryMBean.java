@@ -0,0 +1,27 @@
+package edu.ntnu.idi.idatt.metrics;
+
+/**
+ * The management interface of {@link MetricsRegistry}, through which JMX clients list the timed
+ * operations and dump or reset all of them at once.
+ */
+public interface MetricsRegistryMBean {
+
+    /**
+     * Retrieves the names of all operations, in alphabetical order.
+     *
+     * @return the operation names.
+     */
+    String[] getOperationNames();
+
+    /**
+     * Formats the metrics of every operation that has been called as a table.
+     *
+     * @return the table.
+     */
+    String dump();
+
+    /**
+     * Clears the metrics of every operation.
+     */
+    void reset();
+}
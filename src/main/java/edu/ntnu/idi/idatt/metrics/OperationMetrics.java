@@ -0,0 +1,217 @@
+package edu.ntnu.idi.idatt.metrics;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The call count, error count and latency histogram of one operation. An operation is timed by
+ * keeping the value of {@link #start()} and passing it to {@link #stop(long)} in a finally block,
+ * and exceptions are counted with {@link #failed()}:
+ *
+ * <pre>
+ * long start = OPERATION.start();
+ * try {
+ *     ...
+ * } catch (RuntimeException e) {
+ *     OPERATION.failed();
+ *     throw e;
+ * } finally {
+ *     OPERATION.stop(start);
+ * }
+ * </pre>
+ *
+ * <p>Every call and every error is counted, in striped counters that do not contend. Reading the clock
+ * twice costs more than the rest of the recording together, so by default only a random one in
+ * {@value #DEFAULT_SAMPLE_INTERVAL} calls is timed; the latency percentiles are those of the timed calls.
+ * Operations that are called rarely, such as menu actions, can time every call with
+ * {@link #setSampleInterval(int)}. Operations are created and looked up by name through a {@link MetricsRegistry}.
+ */
+public final class OperationMetrics implements OperationMetricsMBean {
+    /** How many calls there are per timed call, unless the operation is configured otherwise. */
+    public static final int DEFAULT_SAMPLE_INTERVAL = 8;
+    /** Returned by {@link #start()} for calls that are counted but not timed. */
+    public static final long UNTIMED = Long.MIN_VALUE;
+
+    private static final double NANOS_PER_MICRO = 1000.0;
+
+    private final String name;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private volatile int sampleMask = DEFAULT_SAMPLE_INTERVAL - 1;
+
+    /**
+     * Constructs the metrics of an operation.
+     *
+     * @param name the name of the operation.
+     */
+    OperationMetrics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Marks the start of a call.
+     *
+     * @return the start time if the call is timed, to be passed to {@link #stop(long)}.
+     */
+    public long start() {
+        int mask = sampleMask;
+        if (mask != 0 && (ThreadLocalRandom.current().nextInt() & mask) != 0) {
+            return UNTIMED;
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * Marks the end of a call, counting it and recording its latency if it is timed.
+     *
+     * @param start the value {@link #start()} returned when the call began.
+     */
+    public void stop(long start) {
+        calls.increment();
+        if (start != UNTIMED) {
+            latencies.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Marks the end of a call, counting it and recording its latency without the time it spent waiting
+     * on something outside the operation, such as the user typing input; see {@link InputWait}.
+     *
+     * @param start         the value {@link #start()} returned when the call began.
+     * @param excludedNanos the time to leave out of the latency.
+     */
+    public void stop(long start, long excludedNanos) {
+        calls.increment();
+        if (start != UNTIMED) {
+            latencies.record(Math.max(0, System.nanoTime() - start - excludedNanos));
+        }
+    }
+
+    /**
+     * Counts a call that threw an exception. The call is still timed by {@link #stop(long)}.
+     */
+    public void failed() {
+        errors.increment();
+    }
+
+    /**
+     * Retrieves the recorded latencies. The count of the snapshot is the number of timed calls.
+     *
+     * @return a snapshot of the latency histogram.
+     */
+    public LatencyHistogram.Snapshot snapshot() {
+        return latencies.snapshot();
+    }
+
+    /**
+     * Retrieves the name of the operation.
+     */
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Retrieves how many times the operation has completed, including failed calls.
+     */
+    @Override
+    public long getCount() {
+        return calls.sum();
+    }
+
+    /**
+     * Retrieves how many calls of the operation threw an exception.
+     */
+    @Override
+    public long getErrorCount() {
+        return errors.sum();
+    }
+
+    /**
+     * Retrieves the mean latency in microseconds.
+     */
+    @Override
+    public double getMeanMicros() {
+        return latencies.snapshot().getMean() / NANOS_PER_MICRO;
+    }
+
+    /**
+     * Retrieves the median latency in microseconds.
+     */
+    @Override
+    public double getP50Micros() {
+        return percentileMicros(50);
+    }
+
+    /**
+     * Retrieves the 90th percentile latency in microseconds.
+     */
+    @Override
+    public double getP90Micros() {
+        return percentileMicros(90);
+    }
+
+    /**
+     * Retrieves the 99th percentile latency in microseconds.
+     */
+    @Override
+    public double getP99Micros() {
+        return percentileMicros(99);
+    }
+
+    /**
+     * Retrieves the 99.9th percentile latency in microseconds.
+     */
+    @Override
+    public double getP999Micros() {
+        return percentileMicros(99.9);
+    }
+
+    /**
+     * Retrieves the largest latency in microseconds, to bucket precision.
+     */
+    @Override
+    public double getMaxMicros() {
+        return latencies.snapshot().getMax() / NANOS_PER_MICRO;
+    }
+
+    /**
+     * Retrieves how many calls there are per timed call.
+     *
+     * @return the sample interval; 1 if every call is timed.
+     */
+    @Override
+    public int getSampleInterval() {
+        return sampleMask + 1;
+    }
+
+    /**
+     * Sets how many calls there are per timed call. Which calls are timed is random, so calls that
+     * take longer are not more or less likely to be timed.
+     *
+     * @param sampleInterval the sample interval; 1 to time every call.
+     * @throws IllegalArgumentException if the interval is not a positive power of two.
+     */
+    @Override
+    public void setSampleInterval(int sampleInterval) {
+        if (sampleInterval < 1 || Integer.bitCount(sampleInterval) != 1) {
+            throw new IllegalArgumentException("Sample interval must be a positive power of two: " + sampleInterval);
+        }
+        sampleMask = sampleInterval - 1;
+    }
+
+    /**
+     * Clears the counts and latencies. Calls that complete during the reset may be partly kept.
+     */
+    @Override
+    public void reset() {
+        latencies.reset();
+        calls.reset();
+        errors.reset();
+    }
+
+    private double percentileMicros(double percentile) {
+        return latencies.snapshot().getValueAtPercentile(percentile) / NANOS_PER_MICRO;
+    }
+}
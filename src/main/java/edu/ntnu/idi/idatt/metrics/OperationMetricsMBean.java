@@ -0,0 +1,90 @@
+package edu.ntnu.idi.idatt.metrics;
+
+/**
+ * The management interface of {@link OperationMetrics}, through which JConsole and other JMX clients
+ * read the metrics of one operation. Latencies are in microseconds.
+ */
+public interface OperationMetricsMBean {
+
+    /**
+     * Retrieves the name of the operation.
+     *
+     * @return the operation name.
+     */
+    String getName();
+
+    /**
+     * Retrieves how many times the operation has completed, including failed calls.
+     *
+     * @return the call count.
+     */
+    long getCount();
+
+    /**
+     * Retrieves how many calls of the operation threw an exception.
+     *
+     * @return the error count.
+     */
+    long getErrorCount();
+
+    /**
+     * Retrieves how many calls there are per timed call. The latencies are those of the timed calls.
+     *
+     * @return the sample interval; 1 if every call is timed.
+     */
+    int getSampleInterval();
+
+    /**
+     * Sets how many calls there are per timed call.
+     *
+     * @param sampleInterval the sample interval, a power of two; 1 to time every call.
+     */
+    void setSampleInterval(int sampleInterval);
+
+    /**
+     * Retrieves the mean latency.
+     *
+     * @return the mean latency in microseconds.
+     */
+    double getMeanMicros();
+
+    /**
+     * Retrieves the median latency.
+     *
+     * @return the median latency in microseconds.
+     */
+    double getP50Micros();
+
+    /**
+     * Retrieves the 90th percentile latency.
+     *
+     * @return the 90th percentile latency in microseconds.
+     */
+    double getP90Micros();
+
+    /**
+     * Retrieves the 99th percentile latency.
+     *
+     * @return the 99th percentile latency in microseconds.
+     */
+    double getP99Micros();
+
+    /**
+     * Retrieves the 99.9th percentile latency.
+     *
+     * @return the 99.9th percentile latency in microseconds.
+     */
+    double getP999Micros();
+
+    /**
+     * Retrieves the largest latency.
+     *
+     * @return the largest latency in microseconds.
+     */
+    double getMaxMicros();
+
+    /**
+     * Clears the counts and latencies of the operation.
+     */
+    void reset();
+}
@@ -0,0 +1,183 @@
+package edu.ntnu.idi.idatt.model;
+
+import edu.ntnu.idi.idatt.metrics.MetricsRegistry;
+import edu.ntnu.idi.idatt.metrics.OperationMetrics;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * An immutable snapshot of how much of each ingredient a storage holds.
+ * Amounts are converted to their {@link Units} base unit and summed per ingredient and base unit, the same way
+ * {@link Storage#cook(Recipe, int)} draws on stock, so 12 pcs of eggs never count towards a recipe needing eggs in kg.
+ * Amounts are indexed by {@link IngredientCatalog} ID, so one index can be shared by any number of threads
+ * checking recipes against the same storage.
+ * Building an index from a storage is counted and sampled in the global metrics registry as {@code availabilityIndex.of}.
+ */
+public final class AvailabilityIndex {
+    private static final OperationMetrics OF_STORAGE = MetricsRegistry.global().operation("availabilityIndex.of");
+
+    // Most ingredients are only ever stocked in one base unit: the first one seen is kept in the arrays,
+    // and any other base unit of the same ingredient in the map, which is usually empty.
+    private double[] available;
+    private int[] baseUnits;
+    private final HashMap<Long, Double> otherBaseUnits = new HashMap<>();
+    private int entries;
+
+    /**
+     * Constructs an empty index. Amounts are added while the index is built, before it is shared.
+     *
+     * @param capacity the expected highest ingredient ID plus one.
+     */
+    AvailabilityIndex(int capacity) {
+        this.available = new double[capacity];
+        this.baseUnits = new int[capacity];
+        Arrays.fill(baseUnits, -1);
+    }
+
+    /**
+     * Builds an availability index from the current contents of a storage.
+     * Amounts held by active reservations are not available. The index is a consistent snapshot:
+     * a cook that changes several ingredients is either entirely in it or not at all.
+     *
+     * @param storage the storage to index.
+     * @return an index of the storage's unreserved ingredient amounts.
+     */
+    public static AvailabilityIndex of(Storage storage) {
+        long start = OF_STORAGE.start();
+        try {
+            return storage.availability();
+        } catch (RuntimeException e) {
+            OF_STORAGE.failed();
+            throw e;
+        } finally {
+            OF_STORAGE.stop(start);
+        }
+    }
+
+    /**
+     * Builds an availability index from a list of ingredients.
+     *
+     * @param ingredients the ingredients to index.
+     * @return an index of the ingredient amounts.
+     */
+    public static AvailabilityIndex of(List<Ingredient> ingredients) {
+        int capacity = 0;
+        for (Ingredient ingredient : ingredients) {
+            capacity = Math.max(capacity, ingredient.getIngredientID() + 1);
+        }
+        AvailabilityIndex index = new AvailabilityIndex(capacity);
+        for (Ingredient ingredient : ingredients) {
+            int unitID = ingredient.getUnitID();
+            if (ingredient.getIngredientID() < 0 || unitID < 0) {
+                continue;
+            }
+            index.add(ingredient.getIngredientID(), Units.baseOf(unitID), ingredient.getIngredientAmount() * Units.factorOf(unitID));
+        }
+        index.entries = ingredients.size();
+        return index;
+    }
+
+    /**
+     * Retrieves the available amount of an ingredient in one base unit.
+     *
+     * @param ingredientID the {@link IngredientCatalog} ID of the ingredient.
+     * @param baseUnitID   the {@link Units} ID of the base unit.
+     * @return the total available amount in that base unit, or zero if the storage holds none.
+     */
+    public double getAvailableAmount(int ingredientID, int baseUnitID) {
+        if (ingredientID < 0 || ingredientID >= available.length) {
+            return 0;
+        }
+        if (baseUnits[ingredientID] == baseUnitID) {
+            return available[ingredientID];
+        }
+        if (otherBaseUnits.isEmpty()) {
+            return 0;
+        }
+        return otherBaseUnits.getOrDefault(keyOf(ingredientID, baseUnitID), 0.0);
+    }
+
+    /**
+     * Retrieves the available amount of an ingredient in the base unit of its default unit.
+     *
+     * @param ingredientID the {@link IngredientCatalog} ID of the ingredient.
+     * @return the total available amount in that base unit, or zero if the storage holds none.
+     */
+    public double getAvailableAmount(int ingredientID) {
+        if (ingredientID < 0 || ingredientID >= IngredientCatalog.size()) {
+            return 0;
+        }
+        int defaultUnitID = IngredientCatalog.defaultUnitOf(ingredientID);
+        return defaultUnitID < 0 ? 0 : getAvailableAmount(ingredientID, Units.baseOf(defaultUnitID));
+    }
+
+    /**
+     * Retrieves the available amount of an ingredient by name, in the base unit of its default unit.
+     *
+     * @param ingredientName the name of the ingredient.
+     * @return the total available amount in that base unit, or zero if the storage holds none.
+     */
+    public double getAvailableAmount(String ingredientName) {
+        return getAvailableAmount(IngredientCatalog.find(ingredientName));
+    }
+
+    /**
+     * Checks whether the index holds at least the given amount of an ingredient.
+     *
+     * @param ingredientID the {@link IngredientCatalog} ID of the ingredient.
+     * @param baseUnitID   the {@link Units} ID of the base unit the amount is given in.
+     * @param amount       the required amount in that base unit.
+     * @return true if enough is available; false otherwise.
+     */
+    public boolean hasAtLeast(int ingredientID, int baseUnitID, double amount) {
+        return ingredientID >= 0 && getAvailableAmount(ingredientID, baseUnitID) >= amount;
+    }
+
+    /**
+     * Retrieves the number of entries the index was built from.
+     *
+     * @return the number of entries.
+     */
+    public int getEntryCount() {
+        return entries;
+    }
+
+    /**
+     * Adds an amount, which may be negative, to an ingredient in one base unit. Only called while the index is built.
+     *
+     * @param ingredientID the {@link IngredientCatalog} ID of the ingredient.
+     * @param baseUnitID   the {@link Units} ID of the base unit.
+     * @param amount       the amount in that base unit.
+     */
+    void add(int ingredientID, int baseUnitID, double amount) {
+        if (ingredientID >= available.length) {
+            int capacity = Math.max(ingredientID + 1, available.length * 2);
+            int previous = available.length;
+            available = Arrays.copyOf(available, capacity);
+            baseUnits = Arrays.copyOf(baseUnits, capacity);
+            Arrays.fill(baseUnits, previous, capacity, -1);
+        }
+        if (baseUnits[ingredientID] < 0) {
+            baseUnits[ingredientID] = baseUnitID;
+        }
+        if (baseUnits[ingredientID] == baseUnitID) {
+            available[ingredientID] += amount;
+        } else {
+            otherBaseUnits.merge(keyOf(ingredientID, baseUnitID), amount, Double::sum);
+        }
+    }
+
+    /**
+     * Adds to the number of entries the index was built from. Only called while the index is built.
+     *
+     * @param count the number of entries read.
+     */
+    void countEntries(int count) {
+        entries += count;
+    }
+
+    private static long keyOf(int ingredientID, int baseUnitID) {
+        return (long) ingredientID << 32 | baseUnitID;
+    }
+}
@@ -0,0 +1,108 @@
+package edu.ntnu.idi.idatt.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns recipe category names to small integer IDs.
+ * Names are matched case-insensitively, and IDs are handed out in registration order starting at zero,
+ * so they can be used directly as array indexes.
+ */
+public class CategoryRegistry {
+    private final ConcurrentHashMap<String, Integer> idsByKey;
+    private volatile String[] names;
+    private final int capacity;
+
+    /**
+     * Constructs an empty {@code CategoryRegistry} that can hold up to the given number of categories.
+     *
+     * @param capacity the maximum number of categories.
+     */
+    public CategoryRegistry(int capacity) {
+        this.idsByKey = new ConcurrentHashMap<>();
+        this.names = new String[0];
+        this.capacity = capacity;
+    }
+
+    /**
+     * Registers a category. Registering a name that already exists returns the existing ID.
+     *
+     * @param name the category name.
+     * @return the ID of the category.
+     * @throws IllegalArgumentException if the name is null or blank.
+     * @throws IllegalStateException    if the registry is full.
+     */
+    public synchronized int register(String name) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Category name cannot be null or empty.");
+        }
+        String key = keyOf(name);
+        Integer existing = idsByKey.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        int id = names.length;
+        if (id >= capacity) {
+            throw new IllegalStateException("Cannot register more than " + capacity + " categories.");
+        }
+        String[] grown = Arrays.copyOf(names, id + 1);
+        grown[id] = name.trim();
+        names = grown;
+        idsByKey.put(key, id);
+        return id;
+    }
+
+    /**
+     * Looks up the ID of a category.
+     *
+     * @param name the category name.
+     * @return the ID of the category, or -1 if it is not registered.
+     */
+    public int idOf(String name) {
+        if (name == null) {
+            return -1;
+        }
+        Integer id = idsByKey.get(keyOf(name));
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Retrieves the display name of a category.
+     *
+     * @param id the category ID.
+     * @return the name the category was registered with.
+     * @throws IllegalArgumentException if the ID is not registered.
+     */
+    public String nameOf(int id) {
+        String[] current = names;
+        if (id < 0 || id >= current.length) {
+            throw new IllegalArgumentException("Invalid category ID: " + id);
+        }
+        return current[id];
+    }
+
+    /**
+     * Retrieves the number of registered categories.
+     *
+     * @return the number of categories.
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Retrieves all category names in ID order.
+     *
+     * @return a list of category names.
+     */
+    public List<String> getNames() {
+        return new ArrayList<>(Arrays.asList(names));
+    }
+
+    private static String keyOf(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
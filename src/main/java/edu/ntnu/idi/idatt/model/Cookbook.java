@@ -1,92 +1,305 @@
 package edu.ntnu.idi.idatt.model;
 
+import edu.ntnu.idi.idatt.events.RecipeSuggestionEvent;
+import edu.ntnu.idi.idatt.metrics.MetricsRegistry;
+import edu.ntnu.idi.idatt.output.OutputSink;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Represents a cookbook containing recipes organized by categories.
  * Provides functionality to add, retrieve, and suggest recipes based on available ingredients.
+ * Categories are registered at runtime and interned to small IDs; a recipe can belong to several categories.
+ *
+ * <p>Every operation is counted, and a sample of calls timed, in the
+ * {@link MetricsRegistry#global() global metrics registry} under {@code cookbook.<method>}. Overloads taking a {@link Storage} are timed as the overload taking an
+ * {@link AvailabilityIndex}, with building the index timed separately. Suggestions are also emitted as a
+ * {@link RecipeSuggestionEvent} to Java Flight Recorder when that event is enabled.
  */
 public class Cookbook {
-    private final HashMap<Integer, Recipe> cookbook;
-    private final HashMap<String, ArrayList<Recipe>> categorizedRecipes;
-    private final HashMap<String, Integer> categoryCounters;
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 10_000;
+
+    private static final Probe.Operation REGISTER_CATEGORY = operation("registerCategory");
+    private static final Probe.Operation VIEW_RECIPES_BY_CATEGORY = operation("viewRecipesByCategory");
+    private static final Probe.Operation GET_RECIPES_IN_CATEGORY = operation("getRecipesInCategory");
+    private static final Probe.Operation ADD_RECIPE = operation("addRecipeToCookbook");
+    private static final Probe.Operation ADD_RECIPE_TO_CATEGORY = operation("addRecipeToCategory");
+    private static final Probe.Operation FIND_RECIPE_BY_NAME = operation("findRecipeByName");
+    private static final Probe.Operation SUGGEST_RECIPE = operation("suggestRecipe");
+    private static final Probe.Operation COMPUTE_MAX_SERVINGS = operation("computeMaxServings");
+    private static final Probe.Operation FIND_CLOSEST_RECIPES = operation("findClosestRecipes");
+
+    private final ConcurrentHashMap<Integer, Recipe> cookbook;
+    private final List<Recipe>[] recipesByCategory;
+    private final CategoryRegistry categories;
+    private final RecipeIdAllocator idAllocator;
+    private final AtomicLong version;
+    private volatile RecipeSnapshot snapshot;
+    private volatile RecipeMatrix matrix;
+    private volatile int parallelThreshold;
+    private volatile ForkJoinPool suggestionPool;
+    private volatile OutputSink output = OutputSink.none();
 
     /**
-     * Constructs an empty {@code Cookbook} and initializes category counters.
+     * Constructs an empty {@code Cookbook} and registers the default categories.
      */
+    @SuppressWarnings({"unchecked", "rawtypes"})
     public Cookbook() {
-        this.cookbook = new HashMap<>();
-        this.categorizedRecipes = new HashMap<>();
-        this.categoryCounters = new HashMap<>();
+        this.cookbook = new ConcurrentHashMap<>();
+        this.recipesByCategory = new List[RecipeIdAllocator.MAX_CATEGORIES];
+        for (int i = 0; i < recipesByCategory.length; i++) {
+            recipesByCategory[i] = Collections.synchronizedList(new ArrayList<>());
+        }
+        this.categories = new CategoryRegistry(RecipeIdAllocator.MAX_CATEGORIES);
+        this.idAllocator = new RecipeIdAllocator();
+        this.version = new AtomicLong();
+        this.parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+        this.suggestionPool = ForkJoinPool.commonPool();
 
-        categoryCounters.put("Lunch", 0);
-        categoryCounters.put("Dinner", 1);
-        categoryCounters.put("Breakfast", 2);
-        categoryCounters.put("Dessert", 3);
+        registerCategory("Lunch");
+        registerCategory("Dinner");
+        registerCategory("Breakfast");
+        registerCategory("Dessert");
     }
 
     /**
      * Retrieves the cookbook containing all recipes.
      *
-     * @return a {@code HashMap} where the keys are recipe IDs and the values are {@code Recipe} objects.
+     * @return a {@code Map} where the keys are recipe IDs and the values are {@code Recipe} objects.
      */
-    public HashMap<Integer, Recipe> getCookbook() {
+    public Map<Integer, Recipe> getCookbook() {
         return cookbook;
     }
 
     /**
-     * Generates a unique recipe ID based on the category.
+     * Sets where messages for the user are written. By default nothing is printed,
+     * so recipes added or listed programmatically spend no time on output.
      *
-     * @param category the category of the recipe.
-     * @return a unique recipe ID.
+     * @param output the sink to write to.
+     */
+    public void setOutput(OutputSink output) {
+        this.output = output;
+    }
+
+    /**
+     * Retrieves where messages for the user are written.
+     *
+     * @return the output sink.
+     */
+    public OutputSink getOutput() {
+        return output;
+    }
+
+    /**
+     * Registers a new recipe category. Registering an existing category (ignoring case) returns its ID.
+     *
+     * @param category the category name.
+     * @return the ID of the category.
+     * @throws IllegalArgumentException if the category name is null or empty.
+     * @throws IllegalStateException    if no more categories can be registered.
+     */
+    public int registerCategory(String category) {
+        Probe probe = REGISTER_CATEGORY.start();
+        try {
+            return categories.register(category);
+        } catch (RuntimeException e) {
+            throw probe.failed(e);
+        } finally {
+            probe.stop();
+        }
+    }
+
+    /**
+     * Looks up the ID of a category.
+     *
+     * @param category the category name.
+     * @return the ID of the category.
      * @throws IllegalArgumentException if the category is invalid.
      */
-    public int generateRecipeID(String category) {
-        if (!categoryCounters.containsKey(category)) {
+    public int getCategoryID(String category) {
+        int categoryID = categories.idOf(category);
+        if (categoryID < 0) {
             throw new IllegalArgumentException("Invalid category: " + category);
         }
-        int prefix = categoryCounters.get(category);
-        int counter = prefix * 1000 + categorizedRecipes.getOrDefault(category.toLowerCase(), new ArrayList<>()).size() + 1;
-        return counter;
+        return categoryID;
     }
 
     /**
-     * Retrieves and displays recipes by a specified category.
+     * Retrieves the name of a category.
+     *
+     * @param categoryID the ID of the category.
+     * @return the category name.
+     * @throws IllegalArgumentException if the category ID is not registered.
+     */
+    public String getCategoryName(int categoryID) {
+        return categories.nameOf(categoryID);
+    }
+
+    /**
+     * Retrieves the names of all registered categories in ID order.
+     *
+     * @return a list of category names.
+     */
+    public List<String> getCategories() {
+        return categories.getNames();
+    }
+
+    /**
+     * Returns the recipe ID the next recipe added to the category will receive.
+     * The ID is only reserved once the recipe is added with {@link #addRecipeToCookbook(Recipe, String)}.
+     *
+     * @param category the category of the recipe.
+     * @return the next recipe ID in the category.
+     * @throws IllegalArgumentException if the category is invalid.
+     */
+    public int generateRecipeID(String category) {
+        return idAllocator.peek(getCategoryID(category));
+    }
+
+    /**
+     * Retrieves and displays recipes by a specified category on the cookbook's output.
      *
      * @param category the category to filter recipes by.
      * @return a list of recipes in the specified category.
      */
     public ArrayList<Recipe> viewRecipesByCategory(String category) {
-        ArrayList<Recipe> recipes = categorizedRecipes.getOrDefault(category.toLowerCase(), new ArrayList<>());
-        if (recipes.isEmpty()) {
-            System.out.println("No recipes found under category: " + category);
-        } else {
-            System.out.println("\nRecipes under category: " + category);
-            recipes.forEach(recipe -> System.out.println("ID: " + recipe.getRecipeID() + " | " + recipe.getRecipeName()));
+        Probe probe = VIEW_RECIPES_BY_CATEGORY.start();
+        try {
+            int categoryID = categories.idOf(category);
+            ArrayList<Recipe> recipes = categoryID < 0 ? new ArrayList<>() : getRecipesInCategory(categoryID);
+            if (!output.isEnabled()) {
+                return recipes;
+            }
+            if (recipes.isEmpty()) {
+                output.println("No recipes found under category: " + category);
+            } else {
+                output.println("\nRecipes under category: " + category);
+                recipes.forEach(recipe -> output.println("ID: " + recipe.getRecipeID() + " | " + recipe.getRecipeName()));
+            }
+            return recipes;
+        } catch (RuntimeException e) {
+            throw probe.failed(e);
+        } finally {
+            probe.stop();
+        }
+    }
+
+    /**
+     * Retrieves the recipes in a category without printing anything.
+     *
+     * @param categoryID the ID of the category.
+     * @return a list of recipes in the category, in the order they were added.
+     * @throws IllegalArgumentException if the category ID is not registered.
+     */
+    public ArrayList<Recipe> getRecipesInCategory(int categoryID) {
+        Probe probe = GET_RECIPES_IN_CATEGORY.start();
+        try {
+            List<Recipe> categoryRecipes = recipesByCategory[checkCategoryID(categoryID)];
+            synchronized (categoryRecipes) {
+                return new ArrayList<>(categoryRecipes);
+            }
+        } catch (RuntimeException e) {
+            throw probe.failed(e);
+        } finally {
+            probe.stop();
         }
-        return recipes;
     }
 
     /**
      * Adds a new recipe to the cookbook under the specified category.
+     * Safe to call from several threads at once; each recipe receives its own ID.
      *
      * @param recipe   the recipe to add.
      * @param category the category to associate the recipe with.
      * @return the added recipe with an assigned recipe ID.
+     * @throws IllegalArgumentException if the category is invalid.
      */
     public Recipe addRecipeToCookbook(Recipe recipe, String category) {
-        int recipeID = generateRecipeID(category);
-        recipe.setRecipeID(recipeID);
-        cookbook.put(recipeID, recipe);
+        return addRecipeToCookbook(recipe, getCategoryID(category));
+    }
+
+    /**
+     * Adds a new recipe to the cookbook under the category with the given ID.
+     * The category becomes the recipe's primary category and is encoded in its recipe ID.
+     *
+     * @param recipe     the recipe to add.
+     * @param categoryID the ID of the category to associate the recipe with.
+     * @return the added recipe with an assigned recipe ID.
+     * @throws IllegalArgumentException if the category ID is not registered.
+     */
+    public Recipe addRecipeToCookbook(Recipe recipe, int categoryID) {
+        Probe probe = ADD_RECIPE.start();
+        try {
+            int recipeID = idAllocator.allocate(checkCategoryID(categoryID));
+            recipe.setRecipeID(recipeID);
+            cookbook.put(recipeID, recipe);
+            version.incrementAndGet();
+            addRecipeToCategory(recipe, categoryID);
 
-        categorizedRecipes.putIfAbsent(category.toLowerCase(), new ArrayList<>());
-        categorizedRecipes.get(category.toLowerCase()).add(recipe);
+            if (output.isEnabled()) {
+                output.println("Recipe added: " + recipe.getRecipeName() + " with ID: " + recipeID);
+            }
+            return recipe;
+        } catch (RuntimeException e) {
+            throw probe.failed(e);
+        } finally {
+            probe.stop();
+        }
+    }
+
+    /**
+     * Adds a recipe that is already in the cookbook to an additional category.
+     *
+     * @param recipe     the recipe to categorize.
+     * @param categoryID the ID of the category.
+     * @return true if the recipe was added to the category; false if it already belonged to it.
+     * @throws IllegalArgumentException if the category ID is not registered.
+     */
+    public boolean addRecipeToCategory(Recipe recipe, int categoryID) {
+        Probe probe = ADD_RECIPE_TO_CATEGORY.start();
+        try {
+            List<Recipe> categoryRecipes = recipesByCategory[checkCategoryID(categoryID)];
+            if (!recipe.addCategory(categoryID)) {
+                return false;
+            }
+            categoryRecipes.add(recipe);
+            return true;
+        } catch (RuntimeException e) {
+            throw probe.failed(e);
+        } finally {
+            probe.stop();
+        }
+    }
 
-        System.out.println("Recipe added: " + recipe.getRecipeName() + " with ID: " + recipeID);
-        return recipe;
+    /**
+     * Checks whether a recipe belongs to a category. Does not allocate.
+     *
+     * @param recipe     the recipe to check.
+     * @param categoryID the ID of the category.
+     * @return true if the recipe is in the category; false otherwise.
+     */
+    public boolean isRecipeInCategory(Recipe recipe, int categoryID) {
+        return recipe.isInCategory(categoryID);
+    }
+
+    private static Probe.Operation operation(String method) {
+        return new Probe.Operation(MetricsRegistry.global().operation("cookbook." + method));
+    }
+
+    private int checkCategoryID(int categoryID) {
+        if (categoryID < 0 || categoryID >= categories.size()) {
+            throw new IllegalArgumentException("Invalid category ID: " + categoryID);
+        }
+        return categoryID;
     }
 
     /**
@@ -97,30 +310,268 @@ public class Cookbook {
      * @throws IllegalArgumentException if the recipe name is null or empty.
      */
     public Recipe findRecipeByName(String recipeName) {
-        if (recipeName == null || recipeName.isEmpty()) {
-            throw new IllegalArgumentException("Recipe name cannot be null or empty.");
+        Probe probe = FIND_RECIPE_BY_NAME.start();
+        try {
+            if (recipeName == null || recipeName.isEmpty()) {
+                throw new IllegalArgumentException("Recipe name cannot be null or empty.");
+            }
+            return cookbook.values().stream()
+                    .filter(recipe -> recipe.getRecipeName().equals(recipeName))
+                    .findFirst().orElse(null);
+        } catch (RuntimeException e) {
+            throw probe.failed(e);
+        } finally {
+            probe.stop();
         }
-        return cookbook.values().stream()
-                .filter(recipe -> recipe.getRecipeName().equals(recipeName))
-                .findFirst().orElse(null);
+    }
+
+    /**
+     * Sets the number of recipes above which {@link #suggestRecipe(Storage)} checks recipes in parallel.
+     *
+     * @param parallelThreshold the minimum cookbook size for parallel checking.
+     * @throws IllegalArgumentException if the threshold is less than one.
+     */
+    public void setParallelThreshold(int parallelThreshold) {
+        if (parallelThreshold < 1) {
+            throw new IllegalArgumentException("Parallel threshold must be at least 1.");
+        }
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Sets the pool used to check recipes in parallel. Defaults to the common fork/join pool.
+     *
+     * @param suggestionPool the pool to run suggestion tasks in.
+     * @throws IllegalArgumentException if the pool is null.
+     */
+    public void setSuggestionPool(ForkJoinPool suggestionPool) {
+        if (suggestionPool == null) {
+            throw new IllegalArgumentException("Suggestion pool cannot be null.");
+        }
+        this.suggestionPool = suggestionPool;
     }
 
     /**
      * Suggests recipes that can be made with the available ingredients in the storage.
      *
      * @param storage the storage containing the available ingredients.
-     * @return a list of recipes that can be made with the available ingredients.
+     * @return a list of recipes that can be made with the available ingredients, ordered by recipe ID.
      */
     public ArrayList<Recipe> suggestRecipe(Storage storage) {
-        Map<String, Ingredient> ingredientMap = storage.getIngredients().stream()
-                .collect(Collectors.toMap(ingredient ->
-                        ingredient.getIngredientName().toLowerCase(), ingredient -> ingredient));
-
-        return cookbook.values().stream()
-                .filter(recipe -> recipe.getRecipe().stream().allMatch(recipeIngredient -> {
-                    Ingredient available = ingredientMap.get(recipeIngredient.getIngredientName().toLowerCase());
-                    return available != null && available.getIngredientAmount() >= recipeIngredient.getIngredientAmount();
-                }))
-                .collect(Collectors.toCollection(ArrayList::new));
+        return suggestRecipe(AvailabilityIndex.of(storage));
+    }
+
+    /**
+     * Suggests recipes that can be made with the amounts in an availability index.
+     * Cookbooks larger than the parallel threshold are split across the suggestion pool;
+     * each task writes to its own range of a shared result array, so the merge needs no locking
+     * and the result order is the same as for a sequential check.
+     *
+     * @param index the availability index to check recipes against.
+     * @return a list of recipes that can be made, ordered by recipe ID.
+     */
+    public ArrayList<Recipe> suggestRecipe(AvailabilityIndex index) {
+        Probe probe = SUGGEST_RECIPE.start();
+        RecipeSuggestionEvent event = new RecipeSuggestionEvent();
+        event.begin();
+        try {
+            Recipe[] recipes = getRecipesInOrder();
+            boolean[] feasible = new boolean[recipes.length];
+            event.recipesScanned = recipes.length;
+            event.parallelism = 1;
+            if (recipes.length >= parallelThreshold) {
+                ForkJoinPool pool = suggestionPool;
+                int leafSize = Math.max(1024, recipes.length / (pool.getParallelism() * 8));
+                event.parallelism = pool.getParallelism();
+                pool.invoke(new FeasibilityTask(recipes, index, feasible, 0, recipes.length, leafSize));
+            } else {
+                FeasibilityTask.check(recipes, index, feasible, 0, recipes.length);
+            }
+
+            ArrayList<Recipe> suggestions = new ArrayList<>();
+            for (int i = 0; i < recipes.length; i++) {
+                if (feasible[i]) {
+                    suggestions.add(recipes[i]);
+                }
+            }
+            event.resultSize = suggestions.size();
+            return suggestions;
+        } catch (RuntimeException e) {
+            throw probe.failed(e);
+        } finally {
+            probe.stop();
+            event.commit();
+        }
+    }
+
+    /**
+     * Computes how many times each recipe can be made from the unreserved ingredients in the storage.
+     *
+     * @param storage the storage containing the available ingredients.
+     * @return the number of servings of every recipe, ordered by recipe ID.
+     */
+    public RecipeServings computeMaxServings(Storage storage) {
+        return computeMaxServings(AvailabilityIndex.of(storage));
+    }
+
+    /**
+     * Computes how many times each recipe can be made from the amounts in an availability index:
+     * the minimum over its ingredients of the available amount divided by the required amount.
+     * The requirements of all recipes are kept flattened in primitive arrays between calls and only
+     * rebuilt after a recipe is added or changed, so a refresh is a single pass over those arrays.
+     *
+     * @param index the availability index to compute servings from.
+     * @return the number of servings of every recipe, ordered by recipe ID.
+     */
+    public RecipeServings computeMaxServings(AvailabilityIndex index) {
+        Probe probe = COMPUTE_MAX_SERVINGS.start();
+        try {
+            Recipe[] recipes = getRecipesInOrder();
+            RecipeMatrix current = matrix;
+            if (current == null || !current.isCurrent(recipes)) {
+                current = RecipeMatrix.of(recipes);
+                matrix = current;
+            }
+            return new RecipeServings(current.getRecipes(), current.maxServings(index));
+        } catch (RuntimeException e) {
+            throw probe.failed(e);
+        } finally {
+            probe.stop();
+        }
+    }
+
+    /**
+     * Finds the recipes that are closest to being possible to make with the ingredients in the storage.
+     *
+     * @param storage the storage containing the available ingredients.
+     * @param limit   the maximum number of recipes to return.
+     * @param measure how to measure how far a recipe is from being possible to make.
+     * @return up to {@code limit} shortfalls, smallest first.
+     * @throws IllegalArgumentException if the limit is negative or the measure is null.
+     */
+    public ArrayList<RecipeShortfall> findClosestRecipes(Storage storage, int limit, RecipeShortfall.Measure measure) {
+        return findClosestRecipes(AvailabilityIndex.of(storage), limit, measure);
+    }
+
+    /**
+     * Finds the recipes that are closest to being possible to make with the amounts in an availability index.
+     * Recipes that can already be made have a shortfall of zero and come first.
+     * Runs in one pass over the cookbook, keeping the best candidates in a heap bounded by {@code limit};
+     * once the heap is full, a recipe is abandoned as soon as its shortfall reaches the worst kept one.
+     * Ties are broken by recipe ID.
+     *
+     * @param index   the availability index to check recipes against.
+     * @param limit   the maximum number of recipes to return.
+     * @param measure how to measure how far a recipe is from being possible to make.
+     * @return up to {@code limit} shortfalls, smallest first.
+     * @throws IllegalArgumentException if the limit is negative or the measure is null.
+     */
+    public ArrayList<RecipeShortfall> findClosestRecipes(AvailabilityIndex index, int limit, RecipeShortfall.Measure measure) {
+        Probe probe = FIND_CLOSEST_RECIPES.start();
+        try {
+            if (limit < 0) {
+                throw new IllegalArgumentException("Limit cannot be negative.");
+            }
+            if (measure == null) {
+                throw new IllegalArgumentException("Shortfall measure cannot be null.");
+            }
+            Comparator<RecipeShortfall> closestFirst = Comparator.comparingDouble(RecipeShortfall::getScore)
+                    .thenComparingInt(shortfall -> shortfall.getRecipe().getRecipeID());
+            PriorityQueue<RecipeShortfall> worstFirst = new PriorityQueue<>(Math.max(1, limit), closestFirst.reversed());
+
+            for (Recipe recipe : getRecipesInOrder()) {
+                if (limit == 0) {
+                    break;
+                }
+                boolean full = worstFirst.size() == limit;
+                double cutoff = full ? worstFirst.peek().getScore() : Double.POSITIVE_INFINITY;
+                double score = recipe.measureShortfall(index, measure, cutoff);
+                if (score < cutoff) {
+                    if (full) {
+                        worstFirst.poll();
+                    }
+                    worstFirst.add(new RecipeShortfall(recipe, score));
+                }
+            }
+
+            ArrayList<RecipeShortfall> closest = new ArrayList<>(worstFirst);
+            closest.sort(closestFirst);
+            return closest;
+        } catch (RuntimeException e) {
+            throw probe.failed(e);
+        } finally {
+            probe.stop();
+        }
+    }
+
+    /**
+     * Retrieves all recipes ordered by recipe ID. The array is cached until the next recipe is added
+     * and must not be modified by callers.
+     *
+     * @return an array of all recipes in ascending ID order.
+     */
+    Recipe[] getRecipesInOrder() {
+        RecipeSnapshot current = snapshot;
+        long currentVersion = version.get();
+        if (current != null && current.version == currentVersion) {
+            return current.recipes;
+        }
+        Recipe[] recipes = cookbook.values().toArray(new Recipe[0]);
+        Arrays.sort(recipes, Comparator.comparingInt(Recipe::getRecipeID));
+        snapshot = new RecipeSnapshot(currentVersion, recipes);
+        return recipes;
+    }
+
+    /**
+     * All recipes of the cookbook at a given modification count.
+     */
+    private static final class RecipeSnapshot {
+        private final long version;
+        private final Recipe[] recipes;
+
+        private RecipeSnapshot(long version, Recipe[] recipes) {
+            this.version = version;
+            this.recipes = recipes;
+        }
+    }
+
+    /**
+     * Checks a range of recipes against an availability index, splitting the range in half
+     * until it is small enough to check directly.
+     */
+    @SuppressWarnings("serial") // Tasks only live for one suggestion and are never serialized.
+    private static final class FeasibilityTask extends RecursiveAction {
+        private final Recipe[] recipes;
+        private final AvailabilityIndex index;
+        private final boolean[] feasible;
+        private final int from;
+        private final int to;
+        private final int leafSize;
+
+        private FeasibilityTask(Recipe[] recipes, AvailabilityIndex index, boolean[] feasible, int from, int to, int leafSize) {
+            this.recipes = recipes;
+            this.index = index;
+            this.feasible = feasible;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= leafSize) {
+                check(recipes, index, feasible, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new FeasibilityTask(recipes, index, feasible, from, middle, leafSize),
+                    new FeasibilityTask(recipes, index, feasible, middle, to, leafSize));
+        }
+
+        private static void check(Recipe[] recipes, AvailabilityIndex index, boolean[] feasible, int from, int to) {
+            for (int i = from; i < to; i++) {
+                feasible[i] = recipes[i].canMakeWith(index);
+            }
+        }
     }
 }
@@ -1,18 +1,27 @@
 package edu.ntnu.idi.idatt.model;
 
 import java.time.LocalDate;
+import java.util.Comparator;
 
 /**
  * Represents an ingredient with properties such as name, amount, measurement unit,
  * expiration date, and price. This class implements the Comparable interface
  * to enable sorting based on ingredient name and expiration date.
+ * The ingredient and unit are kept only as {@link IngredientCatalog} and {@link Units} IDs, which is what
+ * storages and indexes compare; their names are looked up when displayed, so every entry of an ingredient
+ * shows the spelling it was first registered with.
  */
 public class Ingredient implements Comparable<Ingredient> {
-    private final String ingredientName;
+    // An entry without an expiration date never expires, so it sorts after every dated entry.
+    private static final Comparator<LocalDate> EXPIRY_ORDER = Comparator.nullsLast(Comparator.naturalOrder());
+
+    private final int ingredientID;
     private double ingredientAmount;
-    private String ingredientMeasurement;
+    private int unitID;
     private LocalDate expireDate;
     private double ingredientPrice;
+    /** The position of this entry in the list of the {@link Storage} that holds it, or -1; maintained by that storage. */
+    int storageSlot = -1;
 
     /**
      * Constructs a new Ingredient with the specified properties.
@@ -24,9 +33,9 @@ public class Ingredient implements Comparable<Ingredient> {
      * @param ingredientPrice      the price of the ingredient.
      */
     public Ingredient(String ingredientName, double ingredientAmount, String ingredientMeasurement, LocalDate expireDate, double ingredientPrice) {
-        this.ingredientName = ingredientName;
+        this.unitID = ingredientMeasurement == null ? -1 : Units.idOf(ingredientMeasurement);
+        this.ingredientID = ingredientName == null ? -1 : IngredientCatalog.idOf(ingredientName, unitID);
         this.ingredientAmount = ingredientAmount;
-        this.ingredientMeasurement = ingredientMeasurement;
         this.expireDate = expireDate;
         this.ingredientPrice = ingredientPrice;
     }
@@ -34,10 +43,28 @@ public class Ingredient implements Comparable<Ingredient> {
     /**
      * Retrieves the name of the ingredient.
      *
-     * @return the ingredient name.
+     * @return the ingredient name from the {@link IngredientCatalog}, or null if the ingredient has no name.
      */
     public String getIngredientName() {
-        return ingredientName;
+        return ingredientID < 0 ? null : IngredientCatalog.nameOf(ingredientID);
+    }
+
+    /**
+     * Retrieves the catalog ID of the ingredient.
+     *
+     * @return the {@link IngredientCatalog} ID, or -1 if the ingredient has no name.
+     */
+    public int getIngredientID() {
+        return ingredientID;
+    }
+
+    /**
+     * Retrieves the shared definition of the ingredient.
+     *
+     * @return the ingredient definition, or null if the ingredient has no name.
+     */
+    public IngredientDefinition getDefinition() {
+        return ingredientID < 0 ? null : IngredientCatalog.definitionOf(ingredientID);
     }
 
     /**
@@ -61,10 +88,19 @@ public class Ingredient implements Comparable<Ingredient> {
     /**
      * Retrieves the measurement unit of the ingredient.
      *
-     * @return the ingredient measurement unit.
+     * @return the unit name from {@link Units}, or null if the ingredient has no measurement unit.
      */
     public String getIngredientMeasurement() {
-        return ingredientMeasurement;
+        return unitID < 0 ? null : Units.nameOf(unitID);
+    }
+
+    /**
+     * Retrieves the ID of the measurement unit of the ingredient.
+     *
+     * @return the {@link Units} ID, or -1 if the ingredient has no measurement unit.
+     */
+    public int getUnitID() {
+        return unitID;
     }
 
     /**
@@ -73,7 +109,7 @@ public class Ingredient implements Comparable<Ingredient> {
      * @param ingredientMeasurement the new measurement unit.
      */
     public void setIngredientMeasurement(String ingredientMeasurement) {
-        this.ingredientMeasurement = ingredientMeasurement;
+        this.unitID = ingredientMeasurement == null ? -1 : Units.idOf(ingredientMeasurement);
     }
 
     /**
@@ -120,24 +156,24 @@ public class Ingredient implements Comparable<Ingredient> {
      */
     @Override
     public String toString() {
-        return "Ingredient: " + ingredientName
-                + " " + ingredientAmount
-                + " " + ingredientMeasurement
-                + "\nExpire date: " + expireDate
-                + "\nPrice: " + ingredientPrice + " kr"
-                + "\n";
+        StringBuilder result = new StringBuilder(64);
+        new Renderer(Renderer.Format.TEXT).appendIngredient(this, result);
+        return result.toString();
     }
 
     /**
      * Compares this ingredient to another based on name (case-insensitive) and expiration date.
+     * An ingredient without an expiration date never expires and comes after those with one.
      *
      * @param other the ingredient to compare to.
      * @return a negative value if this ingredient is less than the other, zero if equal, and a positive value if greater.
      */
     @Override
     public int compareTo(Ingredient other) {
-        int nameComparison = this.ingredientName.compareToIgnoreCase(other.ingredientName);
-        if (nameComparison != 0) return nameComparison;
-        return this.expireDate.compareTo(other.expireDate);
+        if (this.ingredientID != other.ingredientID) {
+            int nameComparison = getIngredientName().compareToIgnoreCase(other.getIngredientName());
+            if (nameComparison != 0) return nameComparison;
+        }
+        return EXPIRY_ORDER.compare(this.expireDate, other.expireDate);
     }
 }
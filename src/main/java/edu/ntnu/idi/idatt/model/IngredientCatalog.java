@@ -0,0 +1,143 @@
+package edu.ntnu.idi.idatt.model;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns ingredient names to dense integer IDs shared by storages, recipes and availability indexes,
+ * and holds the one shared {@link IngredientDefinition} of every ingredient.
+ * Names are matched case-insensitively. IDs are handed out in first-seen order starting at zero,
+ * so they can be used directly as array indexes.
+ */
+public final class IngredientCatalog {
+    private static final ConcurrentHashMap<String, Integer> idsByKey = new ConcurrentHashMap<>();
+    private static volatile IngredientDefinition[] definitions = new IngredientDefinition[16];
+    private static volatile int count;
+
+    private IngredientCatalog() {
+    }
+
+    /**
+     * Retrieves the ID of an ingredient, registering the name if it has not been seen before.
+     *
+     * @param ingredientName the name of the ingredient.
+     * @return the ID of the ingredient.
+     * @throws IllegalArgumentException if the name is null.
+     */
+    public static int idOf(String ingredientName) {
+        if (ingredientName == null) {
+            throw new IllegalArgumentException("Ingredient name cannot be null.");
+        }
+        Integer id = idsByKey.get(keyOf(ingredientName));
+        return id != null ? id : register(ingredientName, -1);
+    }
+
+    /**
+     * Retrieves the ID of an ingredient, registering the name if it has not been seen before.
+     * The unit becomes the default unit of the ingredient if it does not have one yet.
+     *
+     * @param ingredientName the name of the ingredient.
+     * @param unitID         the {@link Units} ID of the unit the ingredient is used in.
+     * @return the ID of the ingredient.
+     * @throws IllegalArgumentException if the name is null.
+     */
+    public static int idOf(String ingredientName, int unitID) {
+        if (ingredientName == null) {
+            throw new IllegalArgumentException("Ingredient name cannot be null.");
+        }
+        Integer id = idsByKey.get(keyOf(ingredientName));
+        if (id != null && definitions[id].getDefaultUnitID() >= 0) {
+            return id;
+        }
+        return register(ingredientName, unitID);
+    }
+
+    /**
+     * Looks up the ID of an ingredient without registering it.
+     *
+     * @param ingredientName the name of the ingredient.
+     * @return the ID of the ingredient, or -1 if the name has never been seen.
+     */
+    public static int find(String ingredientName) {
+        if (ingredientName == null) {
+            return -1;
+        }
+        Integer id = idsByKey.get(keyOf(ingredientName));
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Retrieves the name an ingredient was first registered with.
+     *
+     * @param id the ID of the ingredient.
+     * @return the ingredient name.
+     * @throws IllegalArgumentException if the ID is not registered.
+     */
+    public static String nameOf(int id) {
+        return definitionOf(id).getName();
+    }
+
+    /**
+     * Retrieves the default unit of an ingredient.
+     *
+     * @param id the ID of the ingredient.
+     * @return the {@link Units} ID of the default unit, or -1 if the ingredient has none yet.
+     * @throws IllegalArgumentException if the ID is not registered.
+     */
+    public static int defaultUnitOf(int id) {
+        return definitionOf(id).getDefaultUnitID();
+    }
+
+    /**
+     * Retrieves the shared definition of an ingredient.
+     *
+     * @param id the ID of the ingredient.
+     * @return the ingredient definition.
+     * @throws IllegalArgumentException if the ID is not registered.
+     */
+    public static IngredientDefinition definitionOf(int id) {
+        if (id < 0 || id >= count) {
+            throw new IllegalArgumentException("Invalid ingredient ID: " + id);
+        }
+        return definitions[id];
+    }
+
+    /**
+     * Retrieves the number of registered ingredients. Every registered ID is below this value.
+     *
+     * @return the number of ingredients.
+     */
+    public static int size() {
+        return count;
+    }
+
+    private static synchronized int register(String ingredientName, int unitID) {
+        String key = keyOf(ingredientName);
+        Integer existing = idsByKey.get(key);
+        if (existing != null) {
+            IngredientDefinition definition = definitions[existing];
+            if (unitID >= 0 && definition.getDefaultUnitID() < 0) {
+                // Definitions are immutable, so the first unit is recorded by publishing a replacement.
+                IngredientDefinition[] current = definitions;
+                current[existing] = new IngredientDefinition(existing, definition.getName(), key, unitID);
+                definitions = current;
+            }
+            return existing;
+        }
+        int id = count;
+        IngredientDefinition[] current = definitions;
+        if (id == current.length) {
+            current = Arrays.copyOf(current, id * 2);
+        }
+        current[id] = new IngredientDefinition(id, ingredientName.trim(), key, unitID);
+        definitions = current;
+        count = id + 1;
+        idsByKey.put(key, id);
+        return id;
+    }
+
+    private static String keyOf(String ingredientName) {
+        return ingredientName.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,74 @@
+package edu.ntnu.idi.idatt.model;
+
+/**
+ * The data an ingredient has regardless of how much of it there is: its catalog ID, display name,
+ * normalized lookup key and default unit. There is one shared instance per ingredient, held by
+ * {@link IngredientCatalog}; stock lots and recipe lines refer to it by ID. Instances are immutable.
+ */
+public final class IngredientDefinition {
+    private final int ingredientID;
+    private final String name;
+    private final String key;
+    private final int defaultUnitID;
+
+    /**
+     * Constructs a new IngredientDefinition.
+     *
+     * @param ingredientID  the catalog ID of the ingredient.
+     * @param name          the display name of the ingredient.
+     * @param key           the normalized name used for lookups.
+     * @param defaultUnitID the {@link Units} ID of the default unit, or -1 if the ingredient has none yet.
+     */
+    IngredientDefinition(int ingredientID, String name, String key, int defaultUnitID) {
+        this.ingredientID = ingredientID;
+        this.name = name;
+        this.key = key;
+        this.defaultUnitID = defaultUnitID;
+    }
+
+    /**
+     * Retrieves the catalog ID of the ingredient.
+     *
+     * @return the {@link IngredientCatalog} ID.
+     */
+    public int getIngredientID() {
+        return ingredientID;
+    }
+
+    /**
+     * Retrieves the display name of the ingredient.
+     *
+     * @return the name the ingredient was first registered with.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Retrieves the normalized name used to look the ingredient up.
+     *
+     * @return the trimmed, lower-case name.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Retrieves the default unit of the ingredient, which is the first unit it was stocked or used in.
+     *
+     * @return the {@link Units} ID of the default unit, or -1 if the ingredient has none yet.
+     */
+    public int getDefaultUnitID() {
+        return defaultUnitID;
+    }
+
+    /**
+     * Returns a string representation of the definition.
+     *
+     * @return the display name of the ingredient.
+     */
+    @Override
+    public String toString() {
+        return name;
+    }
+}
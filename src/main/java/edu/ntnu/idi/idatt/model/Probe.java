@@ -0,0 +1,185 @@
+package edu.ntnu.idi.idatt.model;
+
+import edu.ntnu.idi.idatt.events.StorageEvent;
+import edu.ntnu.idi.idatt.metrics.OperationMetrics;
+
+/**
+ * One call of a storage or cookbook operation, recorded in the operation's {@link OperationMetrics} and,
+ * for storage operations, as a {@link StorageEvent}. A probe is started by {@link Operation#start(String, double)},
+ * and {@link #stop()} counts and times the call and commits the event:
+ *
+ * <pre>
+ * Probe probe = WITHDRAW.start(ingredientName, amountToRemove);
+ * try {
+ *     ...
+ *     probe.setResultSize(emptied.size());
+ * } catch (RuntimeException e) {
+ *     throw probe.failed(e);
+ * } finally {
+ *     probe.stop();
+ * }
+ * </pre>
+ *
+ * <p>The event is only created while it is enabled, and the fields it records are set through the probe. A
+ * call that is neither timed nor recorded as an event, which is most calls, gets the operation's shared probe,
+ * so recording it allocates nothing; other calls allocate the probe and, if enabled, the event.
+ */
+final class Probe {
+    // Only asked whether storage events are enabled, which is the same for every instance.
+    private static final StorageEvent EVENTS = new StorageEvent(null, false, null, 0);
+
+    private final OperationMetrics metrics;
+    private final long start;
+    private final StorageEvent event;
+
+    /**
+     * Constructs a probe.
+     *
+     * @param metrics the metrics of the operation.
+     * @param start   the value {@link OperationMetrics#start()} returned when the call began.
+     * @param event   the begun event, or null if the event is not recorded.
+     */
+    private Probe(OperationMetrics metrics, long start, StorageEvent event) {
+        this.metrics = metrics;
+        this.start = start;
+        this.event = event;
+    }
+
+    /**
+     * Sets the recipe the call concerned.
+     *
+     * @param recipeName the name of the recipe.
+     */
+    void setRecipeName(String recipeName) {
+        if (event != null) {
+            event.recipeName = recipeName;
+        }
+    }
+
+    /**
+     * Sets the number of entries returned or removed, or 1 if the call succeeded and 0 if not.
+     *
+     * @param resultSize the result size.
+     */
+    void setResultSize(int resultSize) {
+        if (event != null) {
+            event.resultSize = resultSize;
+        }
+    }
+
+    /**
+     * Sets the number of entries or ingredient groups the call looked at.
+     *
+     * @param itemsScanned the number of items scanned.
+     */
+    void setItemsScanned(int itemsScanned) {
+        if (event != null) {
+            event.itemsScanned = itemsScanned;
+        }
+    }
+
+    /**
+     * Adds to the number of entries or ingredient groups the call looked at.
+     *
+     * @param itemsScanned the number of items scanned since the last update.
+     */
+    void addItemsScanned(int itemsScanned) {
+        if (event != null) {
+            event.itemsScanned += itemsScanned;
+        }
+    }
+
+    /**
+     * Counts the call as failed. The call is still timed by {@link #stop()}.
+     *
+     * @param e the exception the call threw.
+     * @return the same exception, so the caller can rethrow it.
+     */
+    RuntimeException failed(RuntimeException e) {
+        metrics.failed();
+        return e;
+    }
+
+    /**
+     * Counts and times the call and commits its event.
+     */
+    void stop() {
+        metrics.stop(start);
+        if (event != null) {
+            event.commit();
+        }
+    }
+
+    /**
+     * Counts and times the call without the time it spent waiting for input, and commits its event.
+     *
+     * @param excludedNanos the time to leave out of the latency; see {@link edu.ntnu.idi.idatt.metrics.InputWait}.
+     */
+    void stop(long excludedNanos) {
+        metrics.stop(start, excludedNanos);
+        if (event != null) {
+            event.commit();
+        }
+    }
+
+    /**
+     * An operation whose calls are recorded through probes.
+     */
+    static final class Operation {
+        private final OperationMetrics metrics;
+        private final String name;
+        private final boolean mutation;
+        private final Probe untimed;
+
+        /**
+         * Constructs an operation that is only recorded in its metrics.
+         *
+         * @param metrics the metrics of the operation.
+         */
+        Operation(OperationMetrics metrics) {
+            this(metrics, null, false);
+        }
+
+        /**
+         * Constructs a storage operation that is recorded in its metrics and as a {@link StorageEvent}.
+         *
+         * @param metrics  the metrics of the operation.
+         * @param name     the name of the storage method, or null if the operation has no event.
+         * @param mutation whether the operation can change the stock.
+         */
+        Operation(OperationMetrics metrics, String name, boolean mutation) {
+            this.metrics = metrics;
+            this.name = name;
+            this.mutation = mutation;
+            this.untimed = new Probe(metrics, OperationMetrics.UNTIMED, null);
+        }
+
+        /**
+         * Starts a call that does not concern an ingredient.
+         *
+         * @return the probe, to be stopped in a finally block.
+         */
+        Probe start() {
+            return start(null, 0);
+        }
+
+        /**
+         * Starts a call, beginning its event if the event is enabled.
+         *
+         * @param ingredientName the ingredient the call concerns, or null.
+         * @param amount         the amount added or removed, or the number of servings.
+         * @return the probe, to be stopped in a finally block.
+         */
+        Probe start(String ingredientName, double amount) {
+            long start = metrics.start();
+            StorageEvent event = null;
+            if (name != null && EVENTS.isEnabled()) {
+                event = new StorageEvent(name, mutation, ingredientName, amount);
+                event.begin();
+            } else if (start == OperationMetrics.UNTIMED) {
+                return untimed;
+            }
+            return new Probe(metrics, start, event);
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package edu.ntnu.idi.idatt.model;
 
+import edu.ntnu.idi.idatt.events.RecipeFeasibilityEvent;
+import edu.ntnu.idi.idatt.output.OutputSink;
 import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 
 /**
  * Represents a recipe with a unique ID, name, description, instructions, and a list of ingredients.
@@ -14,7 +18,11 @@ public class Recipe {
     private final String recipeName;
     private final String recipeDescription;
     private final String recipeInstruction;
-    private final ArrayList<Ingredient> recipe;
+    private final ArrayList<RecipeRequirement> recipe;
+    private final List<RecipeRequirement> recipeView;
+    private final HashMap<Integer, Integer> lineByIngredient;
+    private volatile long[] categoryBits;
+    private volatile CompiledRequirements compiled;
 
     /**
      * Constructs a new Recipe with the specified details.
@@ -30,6 +38,9 @@ public class Recipe {
         this.recipeDescription = recipeDescription;
         this.recipeInstruction = recipeInstruction;
         this.recipe = new ArrayList<>();
+        this.recipeView = Collections.unmodifiableList(recipe);
+        this.lineByIngredient = new HashMap<>();
+        this.categoryBits = new long[0];
     }
 
     /**
@@ -51,12 +62,30 @@ public class Recipe {
     }
 
     /**
-     * Retrieves the list of ingredients for this recipe.
+     * Retrieves the description of the recipe.
      *
-     * @return a list of Ingredient objects.
+     * @return the recipe description.
      */
-    public ArrayList<Ingredient> getRecipe() {
-        return this.recipe;
+    public String getRecipeDescription() {
+        return recipeDescription;
+    }
+
+    /**
+     * Retrieves the instructions for preparing the recipe.
+     *
+     * @return the recipe instructions.
+     */
+    public String getRecipeInstruction() {
+        return recipeInstruction;
+    }
+
+    /**
+     * Retrieves the ingredient lines of this recipe in the order they were added.
+     *
+     * @return an unmodifiable list of requirements.
+     */
+    public List<RecipeRequirement> getRecipe() {
+        return this.recipeView;
     }
 
     /**
@@ -68,58 +97,307 @@ public class Recipe {
         this.recipeID = recipeID;
     }
 
+    /**
+     * Checks whether the recipe belongs to a category. Does not allocate.
+     *
+     * @param categoryID the ID of the category.
+     * @return true if the recipe is in the category; false otherwise.
+     */
+    public boolean isInCategory(int categoryID) {
+        long[] bits = categoryBits;
+        int word = categoryID >>> 6;
+        return categoryID >= 0 && word < bits.length && (bits[word] & (1L << categoryID)) != 0;
+    }
+
+    /**
+     * Retrieves the IDs of all categories the recipe belongs to, in ascending order.
+     *
+     * @return an array of category IDs.
+     */
+    public int[] getCategoryIDs() {
+        long[] bits = categoryBits;
+        int[] ids = new int[Arrays.stream(bits).mapToInt(Long::bitCount).sum()];
+        int next = 0;
+        for (int word = 0; word < bits.length; word++) {
+            long remaining = bits[word];
+            while (remaining != 0) {
+                ids[next++] = word * 64 + Long.numberOfTrailingZeros(remaining);
+                remaining &= remaining - 1;
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Marks the recipe as belonging to a category.
+     *
+     * @param categoryID the ID of the category.
+     * @return true if the recipe was not already in the category; false otherwise.
+     */
+    synchronized boolean addCategory(int categoryID) {
+        if (isInCategory(categoryID)) {
+            return false;
+        }
+        int word = categoryID >>> 6;
+        long[] bits = Arrays.copyOf(categoryBits, Math.max(categoryBits.length, word + 1));
+        bits[word] |= 1L << categoryID;
+        categoryBits = bits;
+        return true;
+    }
+
+    /**
+     * Adds an ingredient to the recipe. If the ingredient already exists, its amount is updated,
+     * converted to the existing line's unit if the units are compatible.
+     * Existing lines are found through an index keyed by {@link IngredientCatalog} ID, so adding is
+     * constant time regardless of how many ingredients the recipe has.
+     *
+     * @param ingredientName        the name of the ingredient.
+     * @param ingredientAmount      the amount of the ingredient.
+     * @param ingredientMeasurement the measurement unit of the ingredient.
+     * @param ingredientPrice       the estimated cost of the amount.
+     * @param note                  an optional note for the line, or null.
+     * @return the current Recipe instance.
+     */
+    public Recipe addIngredient(String ingredientName, double ingredientAmount, String ingredientMeasurement, double ingredientPrice, String note) {
+        int ingredientID = IngredientCatalog.idOf(ingredientName);
+        int unitID = Units.idOf(ingredientMeasurement);
+        Integer line = lineByIngredient.putIfAbsent(ingredientID, recipe.size());
+        if (line != null) {
+            recipe.set(line, recipe.get(line).plus(ingredientAmount, unitID));
+        } else {
+            recipe.add(new RecipeRequirement(ingredientID, ingredientAmount, unitID, ingredientPrice, note));
+        }
+        compiled = null;
+        return this;
+    }
+
+    /**
+     * Adds an ingredient to the recipe. If the ingredient already exists, its amount is updated.
+     *
+     * @param ingredientName        the name of the ingredient.
+     * @param ingredientAmount      the amount of the ingredient.
+     * @param ingredientMeasurement the measurement unit of the ingredient.
+     * @param ingredientPrice       the estimated cost of the amount.
+     * @return the current Recipe instance.
+     */
+    public Recipe addIngredient(String ingredientName, double ingredientAmount, String ingredientMeasurement, double ingredientPrice) {
+        return addIngredient(ingredientName, ingredientAmount, ingredientMeasurement, ingredientPrice, (String) null);
+    }
+
     /**
      * Adds an ingredient to the recipe. If the ingredient already exists, its amount is updated.
+     * Kept for callers that describe recipe lines like stock; the expiration date has no meaning
+     * for a requirement and is ignored.
      *
-     * @param ingredientName       the name of the ingredient.
-     * @param ingredientAmount     the amount of the ingredient.
+     * @param ingredientName        the name of the ingredient.
+     * @param ingredientAmount      the amount of the ingredient.
      * @param ingredientMeasurement the measurement unit of the ingredient.
-     * @param expireDate           the expiration date of the ingredient.
-     * @param ingredientPrice      the price of the ingredient.
+     * @param expireDate            ignored.
+     * @param ingredientPrice       the estimated cost of the amount.
      * @return the current Recipe instance.
      */
     public Recipe addIngredient(String ingredientName, double ingredientAmount, String ingredientMeasurement, LocalDate expireDate, double ingredientPrice) {
-        for (Ingredient ingredient : this.recipe) {
-            if (ingredient.getIngredientName().equalsIgnoreCase(ingredientName)) {
-                ingredient.setIngredientAmount(ingredient.getIngredientAmount() + ingredientAmount);
-                return this;
+        return addIngredient(ingredientName, ingredientAmount, ingredientMeasurement, ingredientPrice, (String) null);
+    }
+
+    /**
+     * Checks if the recipe can be made with the amounts in an availability index.
+     * Unlike {@link #canMakeRecipe(Storage)} this prints nothing and does not rebuild the storage map,
+     * so it is safe to call for many recipes, from several threads, against one shared index.
+     *
+     * @param index the availability index to check against.
+     * @return true if every ingredient is available in the required amount; false otherwise.
+     */
+    public boolean canMakeWith(AvailabilityIndex index) {
+        CompiledRequirements requirements = compiledRequirements();
+        int[] ids = requirements.ids;
+        int[] baseUnits = requirements.baseUnits;
+        double[] amounts = requirements.baseAmounts;
+        for (int i = 0; i < ids.length; i++) {
+            if (!index.hasAtLeast(ids[i], baseUnits[i], amounts[i])) {
+                return false;
             }
         }
-        this.recipe.add(new Ingredient(ingredientName, ingredientAmount, ingredientMeasurement, expireDate, ingredientPrice));
-        return this;
+        return true;
+    }
+
+    /**
+     * Passes every ingredient line of the recipe to a visitor as primitive values, in recipe order.
+     * Does not allocate once the recipe's ingredient IDs have been resolved.
+     *
+     * @param visitor the visitor to receive each ingredient line.
+     */
+    public void forEachRequirement(RequirementVisitor visitor) {
+        CompiledRequirements requirements = compiledRequirements();
+        for (int i = 0; i < requirements.ids.length; i++) {
+            visitor.visit(requirements.ids[i], requirements.amounts[i], requirements.units[i], requirements.prices[i]);
+        }
+    }
+
+    /**
+     * Measures how far the recipe is from being possible to make with the amounts in an availability index.
+     * The cost of a missing amount is the recipe's price for the ingredient scaled by the missing fraction.
+     * Stops as soon as the shortfall reaches the limit, since the caller has no use for the exact value then.
+     *
+     * @param index   the availability index to check against.
+     * @param measure how to measure the shortfall.
+     * @param limit   the shortfall at which measuring can stop.
+     * @return the shortfall, or a value of at least {@code limit} if measuring stopped early.
+     */
+    public double measureShortfall(AvailabilityIndex index, RecipeShortfall.Measure measure, double limit) {
+        CompiledRequirements requirements = compiledRequirements();
+        double shortfall = 0;
+        for (int i = 0; i < requirements.ids.length && shortfall < limit; i++) {
+            double required = requirements.baseAmounts[i];
+            double missing = required - index.getAvailableAmount(requirements.ids[i], requirements.baseUnits[i]);
+            if (missing > 0) {
+                shortfall += measure == RecipeShortfall.Measure.MISSING_INGREDIENTS
+                        ? 1
+                        : requirements.prices[i] * Math.min(1.0, missing / required);
+            }
+        }
+        return shortfall;
+    }
+
+    /**
+     * Copies the requirements of the recipe into parallel primitive arrays once, so feasibility checks
+     * run over arrays rather than objects. Rebuilt after the ingredients change,
+     * so a new instance also tells callers that cached copies of the arrays are stale.
+     */
+    CompiledRequirements compiledRequirements() {
+        CompiledRequirements current = compiled;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (compiled == null) {
+                compiled = compile();
+            }
+            return compiled;
+        }
+    }
+
+    private CompiledRequirements compile() {
+        int[] ids = new int[recipe.size()];
+        double[] amounts = new double[recipe.size()];
+        int[] units = new int[recipe.size()];
+        int[] baseUnits = new int[recipe.size()];
+        double[] baseAmounts = new double[recipe.size()];
+        double[] prices = new double[recipe.size()];
+        for (int i = 0; i < ids.length; i++) {
+            RecipeRequirement line = recipe.get(i);
+            ids[i] = line.getIngredientID();
+            amounts[i] = line.getIngredientAmount();
+            units[i] = line.getUnitID();
+            baseUnits[i] = Units.baseOf(line.getUnitID());
+            baseAmounts[i] = line.getBaseAmount();
+            prices[i] = line.getIngredientPrice();
+        }
+        return new CompiledRequirements(ids, amounts, units, baseUnits, baseAmounts, prices);
+    }
+
+    /**
+     * Ingredient IDs, required amounts, unit IDs, base unit IDs, amounts in base units and prices of a recipe in parallel arrays.
+     */
+    static final class CompiledRequirements {
+        final int[] ids;
+        final double[] amounts;
+        final int[] units;
+        final int[] baseUnits;
+        final double[] baseAmounts;
+        final double[] prices;
+
+        private CompiledRequirements(int[] ids, double[] amounts, int[] units, int[] baseUnits, double[] baseAmounts, double[] prices) {
+            this.ids = ids;
+            this.amounts = amounts;
+            this.units = units;
+            this.baseUnits = baseUnits;
+            this.baseAmounts = baseAmounts;
+            this.prices = prices;
+        }
+    }
+
+    /**
+     * Checks the recipe against an availability index and records every ingredient that is short in a report.
+     * Builds no strings and prints nothing; with a reused report it allocates nothing once the recipe's
+     * ingredient IDs have been resolved, so it is suited to checking many recipes in a loop.
+     *
+     * @param index  the availability index to check against.
+     * @param report the report to clear and fill.
+     * @return true if every ingredient is available in the required amount; false otherwise.
+     */
+    public boolean checkAvailability(AvailabilityIndex index, ShortfallReport report) {
+        CompiledRequirements requirements = compiledRequirements();
+        report.reset(this);
+        for (int i = 0; i < requirements.ids.length; i++) {
+            double available = index.getAvailableAmount(requirements.ids[i], requirements.baseUnits[i]);
+            if (available < requirements.baseAmounts[i]) {
+                report.add(requirements.ids[i], i, requirements.baseAmounts[i], available);
+            }
+        }
+        return report.isFeasible();
     }
 
     /**
      * Checks if the recipe can be made with the available ingredients in the specified Storage.
-     * If any ingredient is insufficient, details are printed to the console.
+     * Amounts reserved in the storage are not available. If any ingredient is insufficient, details are printed
+     * to the storage's output.
      *
      * @param storage the Storage containing the available ingredients.
      * @return true if the recipe can be made; false otherwise.
      */
     public boolean canMakeRecipe(Storage storage) {
-        Map<String, Ingredient> storageIngredients = storage.getIngredients().stream()
-                .collect(Collectors.toMap(ingredient -> ingredient.getIngredientName().toLowerCase(),
-                        ingredient -> ingredient));
-
-        ArrayList<String> insufficientIngredients = new ArrayList<>();
-        boolean canMake = recipe.stream().allMatch(recipeIngredient -> {
-            Ingredient storageIngredient = storageIngredients.get(recipeIngredient.getIngredientName().toLowerCase());
-
-            if (storageIngredient == null || storageIngredient.getIngredientAmount() < recipeIngredient.getIngredientAmount()) {
-                String reason = storageIngredient == null
-                        ? "not available"
-                        : "only " + storageIngredient.getIngredientAmount() + " available";
-                insufficientIngredients.add(recipeIngredient.getIngredientName() + " (" + reason + ", requires " + recipeIngredient.getIngredientAmount() + " )");
-                return false;
-            }
-            return true;
-        });
+        return canMakeRecipe(storage, storage.getOutput());
+    }
+
+    /**
+     * Checks if the recipe can be made with the available ingredients in the specified Storage.
+     * Amounts reserved in the storage are not available. If any ingredient is insufficient, details are printed to the output.
+     * Only the stock of the recipe's own ingredients is read, as {@link Storage#canCook(Recipe, int)} does,
+     * so the cost does not grow with the size of the storage.
+     * The check is emitted as a {@link RecipeFeasibilityEvent} to Java Flight Recorder when that event is enabled.
+     *
+     * @param storage the Storage containing the available ingredients.
+     * @param output  the sink the details of a shortfall are written to.
+     * @return true if the recipe can be made; false otherwise.
+     */
+    public boolean canMakeRecipe(Storage storage, OutputSink output) {
+        RecipeFeasibilityEvent event = new RecipeFeasibilityEvent();
+        event.begin();
+        ShortfallReport report = new ShortfallReport();
+        AvailabilityIndex index = storage.availabilityOf(this);
+        boolean feasible = checkAvailability(index, report);
+        if (event.shouldCommit()) {
+            event.recipeName = recipeName;
+            event.recipeID = recipeID;
+            event.ingredientsScanned = recipe.size();
+            event.entriesIndexed = index.getEntryCount();
+            event.missingIngredients = report.size();
+            event.feasible = feasible;
+            event.commit();
+        }
+        if (!feasible && output.isEnabled()) {
+            printShortfall(report, output);
+        }
+        return feasible;
+    }
 
-        if (!canMake) {
-            System.out.println("Cannot make this recipe due to insufficient ingredients:");
-            insufficientIngredients.forEach(System.out::println);
+    /**
+     * Prints the ingredients in a shortfall report, with amounts in the units the recipe uses.
+     *
+     * @param report the report to print.
+     * @param output the sink to write to.
+     */
+    private void printShortfall(ShortfallReport report, OutputSink output) {
+        output.println("Cannot make this recipe due to insufficient ingredients:");
+        for (int i = 0; i < report.size(); i++) {
+            RecipeRequirement line = recipe.get(report.getLine(i));
+            double factor = Units.factorOf(line.getUnitID());
+            String reason = report.getAvailableAmount(i) <= 0
+                    ? "not available"
+                    : "only " + report.getAvailableAmount(i) / factor + " available";
+            output.println(line.getIngredientName() + " (" + reason + ", requires " + line.getIngredientAmount() + " )");
         }
-        return canMake;
     }
 
     /**
@@ -129,18 +407,8 @@ public class Recipe {
      */
     @Override
     public String toString() {
-        String result =  "Recipe: " + recipeName
-                + "\nDescription: " + recipeDescription
-                + "\nInstruction: " + recipeInstruction
-                + "\nIngredients:"
-                + "\n";
-
-        for (Ingredient ingredient : recipe) {
-            result += "- " + ingredient.getIngredientName()
-                    + ": " + ingredient.getIngredientAmount()
-                    + " " + ingredient.getIngredientMeasurement()
-                    + "\n";
-        }
-        return result;
+        StringBuilder result = new StringBuilder(128);
+        new Renderer(Renderer.Format.TEXT).appendRecipe(this, result);
+        return result.toString();
     }
 }
@@ -0,0 +1,93 @@
+package edu.ntnu.idi.idatt.model;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Allocates unique recipe IDs from one atomic sequence per category.
+ * A recipe ID packs the category index into its upper bits and the sequence number into its lower bits,
+ * so the category of any ID can be decoded without a lookup. Allocation is lock-free.
+ */
+public class RecipeIdAllocator {
+    public static final int SEQUENCE_BITS = 23;
+    public static final int MAX_CATEGORIES = 1 << (Integer.SIZE - 1 - SEQUENCE_BITS);
+    public static final int MAX_SEQUENCE = (1 << SEQUENCE_BITS) - 1;
+
+    // Each category counter sits on its own cache line so inserts into different categories do not contend.
+    private static final int SLOT_STRIDE = 16;
+
+    private final AtomicIntegerArray sequences;
+
+    /**
+     * Constructs a {@code RecipeIdAllocator} with all category sequences starting at zero.
+     */
+    public RecipeIdAllocator() {
+        this.sequences = new AtomicIntegerArray(MAX_CATEGORIES * SLOT_STRIDE);
+    }
+
+    /**
+     * Allocates the next recipe ID in the given category.
+     *
+     * @param categoryIndex the index of the category.
+     * @return a recipe ID that has not been handed out before.
+     * @throws IllegalArgumentException if the category index is out of range.
+     * @throws IllegalStateException    if the category has run out of sequence numbers.
+     */
+    public int allocate(int categoryIndex) {
+        int slot = slotOf(categoryIndex);
+        int sequence = sequences.incrementAndGet(slot);
+        if (sequence > MAX_SEQUENCE) {
+            sequences.decrementAndGet(slot);
+            throw new IllegalStateException("No recipe IDs left in category index: " + categoryIndex);
+        }
+        return compose(categoryIndex, sequence);
+    }
+
+    /**
+     * Returns the ID the next call to {@link #allocate(int)} would hand out, without reserving it.
+     *
+     * @param categoryIndex the index of the category.
+     * @return the next recipe ID in the category.
+     * @throws IllegalArgumentException if the category index is out of range.
+     */
+    public int peek(int categoryIndex) {
+        return compose(categoryIndex, Math.min(sequences.get(slotOf(categoryIndex)) + 1, MAX_SEQUENCE));
+    }
+
+    /**
+     * Builds a recipe ID from a category index and a sequence number.
+     *
+     * @param categoryIndex the index of the category.
+     * @param sequence      the sequence number within the category.
+     * @return the combined recipe ID.
+     */
+    public static int compose(int categoryIndex, int sequence) {
+        return (categoryIndex << SEQUENCE_BITS) | sequence;
+    }
+
+    /**
+     * Decodes the category index from a recipe ID.
+     *
+     * @param recipeID the recipe ID.
+     * @return the category index stored in the ID.
+     */
+    public static int categoryOf(int recipeID) {
+        return recipeID >>> SEQUENCE_BITS;
+    }
+
+    /**
+     * Decodes the sequence number from a recipe ID.
+     *
+     * @param recipeID the recipe ID.
+     * @return the sequence number stored in the ID.
+     */
+    public static int sequenceOf(int recipeID) {
+        return recipeID & MAX_SEQUENCE;
+    }
+
+    private int slotOf(int categoryIndex) {
+        if (categoryIndex < 0 || categoryIndex >= MAX_CATEGORIES) {
+            throw new IllegalArgumentException("Invalid category index: " + categoryIndex);
+        }
+        return categoryIndex * SLOT_STRIDE;
+    }
+}
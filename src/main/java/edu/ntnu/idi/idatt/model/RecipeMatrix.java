@@ -0,0 +1,104 @@
+package edu.ntnu.idi.idatt.model;
+
+/**
+ * The requirements of every recipe in a cookbook, flattened into one set of primitive arrays in
+ * compressed sparse row layout: the requirements of recipe {@code r} are at
+ * {@code rowStart[r]} up to {@code rowStart[r + 1]} in {@code ingredientIDs}, {@code baseUnitIDs} and {@code amounts}.
+ * Whole-cookbook computations can then run as one sequential pass over a few arrays
+ * instead of following a graph of recipe and ingredient objects.
+ */
+final class RecipeMatrix {
+    private static final double EPSILON = 1e-9;
+
+    private final Recipe[] recipes;
+    private final Recipe.CompiledRequirements[] sources;
+    private final int[] rowStart;
+    private final int[] ingredientIDs;
+    private final int[] baseUnitIDs;
+    private final double[] amounts;
+
+    private RecipeMatrix(Recipe[] recipes, Recipe.CompiledRequirements[] sources, int[] rowStart, int[] ingredientIDs,
+                         int[] baseUnitIDs, double[] amounts) {
+        this.recipes = recipes;
+        this.sources = sources;
+        this.rowStart = rowStart;
+        this.ingredientIDs = ingredientIDs;
+        this.baseUnitIDs = baseUnitIDs;
+        this.amounts = amounts;
+    }
+
+    /**
+     * Flattens the requirements of the given recipes, in array order. Amounts are in base units.
+     *
+     * @param recipes the recipes, one row each.
+     * @return the matrix.
+     */
+    static RecipeMatrix of(Recipe[] recipes) {
+        Recipe.CompiledRequirements[] sources = new Recipe.CompiledRequirements[recipes.length];
+        int[] rowStart = new int[recipes.length + 1];
+        for (int r = 0; r < recipes.length; r++) {
+            sources[r] = recipes[r].compiledRequirements();
+            rowStart[r + 1] = rowStart[r] + sources[r].ids.length;
+        }
+        int[] ingredientIDs = new int[rowStart[recipes.length]];
+        int[] baseUnitIDs = new int[ingredientIDs.length];
+        double[] amounts = new double[ingredientIDs.length];
+        for (int r = 0; r < recipes.length; r++) {
+            System.arraycopy(sources[r].ids, 0, ingredientIDs, rowStart[r], sources[r].ids.length);
+            System.arraycopy(sources[r].baseUnits, 0, baseUnitIDs, rowStart[r], sources[r].baseUnits.length);
+            System.arraycopy(sources[r].baseAmounts, 0, amounts, rowStart[r], sources[r].baseAmounts.length);
+        }
+        return new RecipeMatrix(recipes, sources, rowStart, ingredientIDs, baseUnitIDs, amounts);
+    }
+
+    /**
+     * Checks whether the matrix still describes the given recipes: the same recipes in the same order,
+     * none of which has had ingredients added since the matrix was built.
+     *
+     * @param recipes the recipes to compare with.
+     * @return true if the matrix is up to date; false otherwise.
+     */
+    boolean isCurrent(Recipe[] recipes) {
+        if (recipes != this.recipes) {
+            return false;
+        }
+        for (int r = 0; r < recipes.length; r++) {
+            if (recipes[r].compiledRequirements() != sources[r]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Retrieves the recipes, one per row.
+     *
+     * @return the recipes in row order.
+     */
+    Recipe[] getRecipes() {
+        return recipes;
+    }
+
+    /**
+     * Computes for every recipe how many times it can be made: the minimum over its ingredients of the
+     * available amount divided by the required amount, rounded down. A recipe without ingredients can be
+     * made {@link Integer#MAX_VALUE} times.
+     *
+     * @param available the available amount of each ingredient.
+     * @return the number of servings of each recipe, in row order.
+     */
+    int[] maxServings(AvailabilityIndex available) {
+        int[] servings = new int[recipes.length];
+        for (int r = 0; r < recipes.length; r++) {
+            double min = Double.POSITIVE_INFINITY;
+            for (int k = rowStart[r], end = rowStart[r + 1]; k < end && min >= 1 - EPSILON; k++) {
+                double stock = available.getAvailableAmount(ingredientIDs[k], baseUnitIDs[k]);
+                if (amounts[k] > 0) {
+                    min = Math.min(min, stock / amounts[k]);
+                }
+            }
+            servings[r] = min >= Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) Math.max(0, Math.floor(min + EPSILON));
+        }
+        return servings;
+    }
+}
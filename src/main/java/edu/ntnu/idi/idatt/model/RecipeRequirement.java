@@ -0,0 +1,128 @@
+package edu.ntnu.idi.idatt.model;
+
+/**
+ * One ingredient line of a recipe: how much of an ingredient the recipe needs.
+ * Unlike a stock {@link Ingredient} it has no expiration date. The ingredient and unit are kept only as
+ * {@link IngredientCatalog} and {@link Units} IDs; their names are looked up from the catalog when
+ * displayed, so every line of an ingredient shows the spelling it was first registered with.
+ * Instances are immutable.
+ */
+public final class RecipeRequirement {
+    private final int ingredientID;
+    private final int unitID;
+    private final double amount;
+    private final double price;
+    private final String note;
+
+    /**
+     * Constructs a new RecipeRequirement.
+     *
+     * @param ingredientID the {@link IngredientCatalog} ID of the ingredient.
+     * @param amount       the required amount, in the given unit.
+     * @param unitID       the {@link Units} ID of the unit the amount is given in.
+     * @param price        the estimated cost of the required amount.
+     * @param note         an optional note, such as "finely chopped", or null.
+     */
+    public RecipeRequirement(int ingredientID, double amount, int unitID, double price, String note) {
+        this.ingredientID = ingredientID;
+        this.unitID = unitID;
+        this.amount = amount;
+        this.price = price;
+        this.note = note;
+    }
+
+    /**
+     * Retrieves the ID of the ingredient.
+     *
+     * @return the {@link IngredientCatalog} ID.
+     */
+    public int getIngredientID() {
+        return ingredientID;
+    }
+
+    /**
+     * Retrieves the name of the ingredient.
+     *
+     * @return the ingredient name from the {@link IngredientCatalog}.
+     */
+    public String getIngredientName() {
+        return IngredientCatalog.nameOf(ingredientID);
+    }
+
+    /**
+     * Retrieves the required amount in the unit of the line.
+     *
+     * @return the required amount.
+     */
+    public double getIngredientAmount() {
+        return amount;
+    }
+
+    /**
+     * Retrieves the required amount converted to the base unit of the line's unit.
+     *
+     * @return the required amount in the base unit.
+     */
+    public double getBaseAmount() {
+        return amount * Units.factorOf(unitID);
+    }
+
+    /**
+     * Retrieves the ID of the unit of the line.
+     *
+     * @return the {@link Units} ID.
+     */
+    public int getUnitID() {
+        return unitID;
+    }
+
+    /**
+     * Retrieves the name of the unit of the line.
+     *
+     * @return the unit name from {@link Units}.
+     */
+    public String getIngredientMeasurement() {
+        return Units.nameOf(unitID);
+    }
+
+    /**
+     * Retrieves the estimated cost of the required amount.
+     *
+     * @return the price in kr.
+     */
+    public double getIngredientPrice() {
+        return price;
+    }
+
+    /**
+     * Retrieves the note of the line.
+     *
+     * @return the note, or null if the line has none.
+     */
+    public String getNote() {
+        return note;
+    }
+
+    /**
+     * Returns a copy of this line with more of the ingredient. An amount in a compatible unit is
+     * converted to the unit of this line; any other amount is added as it is.
+     *
+     * @param moreAmount the amount to add.
+     * @param moreUnitID the {@link Units} ID of the unit the amount is given in.
+     * @return the merged line.
+     */
+    RecipeRequirement plus(double moreAmount, int moreUnitID) {
+        double converted = Units.areCompatible(moreUnitID, unitID) ? Units.convert(moreAmount, moreUnitID, unitID) : moreAmount;
+        return new RecipeRequirement(ingredientID, amount + converted, unitID, price, note);
+    }
+
+    /**
+     * Returns a string representation of the line.
+     *
+     * @return the ingredient name, amount and unit, followed by the note if there is one.
+     */
+    @Override
+    public String toString() {
+        return getIngredientName() + ": " + amount + " " + getIngredientMeasurement() + (note == null ? "" : " (" + note + ")");
+    }
+}
@@ -0,0 +1,72 @@
+package edu.ntnu.idi.idatt.model;
+
+import java.util.Arrays;
+
+/**
+ * How many times each recipe of a cookbook can be made from the available ingredients,
+ * with recipes in ascending ID order.
+ */
+public class RecipeServings {
+    private final Recipe[] recipes;
+    private final int[] recipeIDs;
+    private final int[] servings;
+
+    /**
+     * Constructs a new RecipeServings.
+     *
+     * @param recipes  the recipes in ascending ID order.
+     * @param servings the number of servings of each recipe, in the same order.
+     */
+    RecipeServings(Recipe[] recipes, int[] servings) {
+        this.recipes = recipes;
+        this.servings = servings;
+        this.recipeIDs = new int[recipes.length];
+        for (int i = 0; i < recipes.length; i++) {
+            recipeIDs[i] = recipes[i].getRecipeID();
+        }
+    }
+
+    /**
+     * Retrieves the number of recipes.
+     *
+     * @return the number of recipes.
+     */
+    public int size() {
+        return recipes.length;
+    }
+
+    /**
+     * Retrieves the recipe at a position.
+     *
+     * @param index the position, from zero up to {@link #size()}.
+     * @return the recipe.
+     */
+    public Recipe getRecipe(int index) {
+        return recipes[index];
+    }
+
+    /**
+     * Retrieves the number of servings of the recipe at a position.
+     *
+     * @param index the position, from zero up to {@link #size()}.
+     * @return how many times the recipe can be made.
+     */
+    public int getServingsAt(int index) {
+        return servings[index];
+    }
+
+    /**
+     * Retrieves the number of servings of a recipe by ID.
+     *
+     * @param recipeID the ID of the recipe.
+     * @return how many times the recipe can be made.
+     * @throws IllegalArgumentException if the recipe is not in the cookbook.
+     */
+    public int getServings(int recipeID) {
+        int index = Arrays.binarySearch(recipeIDs, recipeID);
+        if (index < 0) {
+            throw new IllegalArgumentException("Recipe not found: " + recipeID);
+        }
+        return servings[index];
+    }
+}
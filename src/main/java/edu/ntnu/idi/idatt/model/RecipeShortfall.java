@@ -0,0 +1,60 @@
+package edu.ntnu.idi.idatt.model;
+
+/**
+ * Describes how far a recipe is from being possible to make with the available ingredients.
+ */
+public class RecipeShortfall {
+
+    /**
+     * The ways a shortfall can be measured when ranking recipes.
+     */
+    public enum Measure {
+        /** The number of ingredients that are missing or insufficient. */
+        MISSING_INGREDIENTS,
+        /** The cost of buying the missing amounts, based on the prices in the recipe. */
+        MISSING_COST
+    }
+
+    private final Recipe recipe;
+    private final double score;
+
+    /**
+     * Constructs a new RecipeShortfall.
+     *
+     * @param recipe the recipe the shortfall belongs to.
+     * @param score  the size of the shortfall in the measure it was ranked by.
+     */
+    public RecipeShortfall(Recipe recipe, double score) {
+        this.recipe = recipe;
+        this.score = score;
+    }
+
+    /**
+     * Retrieves the recipe.
+     *
+     * @return the recipe.
+     */
+    public Recipe getRecipe() {
+        return recipe;
+    }
+
+    /**
+     * Retrieves the size of the shortfall: a number of ingredients or a cost in kr,
+     * depending on the measure it was ranked by. Zero means the recipe can be made.
+     *
+     * @return the shortfall score.
+     */
+    public double getScore() {
+        return score;
+    }
+
+    /**
+     * Returns a string representation of the shortfall.
+     *
+     * @return the recipe name and shortfall score.
+     */
+    @Override
+    public String toString() {
+        return recipe.getRecipeName() + " (shortfall: " + score + ")";
+    }
+}
@@ -0,0 +1,474 @@
+package edu.ntnu.idi.idatt.model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Writes recipes and ingredients as text, CSV or JSON directly into an {@link Appendable},
+ * such as a {@code StringBuilder} or {@code Writer}, or as UTF-8 into a {@link ByteBuffer}.
+ * Fields are appended one by one and numbers are formatted into a reused buffer,
+ * so no intermediate strings are built per recipe or ingredient.
+ *
+ * <p>The text format is the one used by {@link Recipe#toString()} and {@link Ingredient#toString()}.
+ * A renderer keeps a small scratch buffer and is not safe to share between threads.
+ */
+public class Renderer {
+
+    /**
+     * The output formats a renderer can write.
+     */
+    public enum Format {
+        /** The human-readable format used on the console. */
+        TEXT,
+        /** Comma-separated values with a header row; recipes are written one row per ingredient. */
+        CSV,
+        /** JSON objects; lists are written as arrays. */
+        JSON
+    }
+
+    private static final String RECIPE_CSV_HEADER = "recipeID,recipeName,description,instruction,ingredientName,amount,measurement,price\n";
+    private static final String INGREDIENT_CSV_HEADER = "ingredientName,amount,measurement,expireDate,price\n";
+
+    private final Format format;
+    private final StringBuilder number;
+    private ByteBufferAppendable byteBufferAppendable;
+
+    /**
+     * Constructs a new Renderer for the given format.
+     *
+     * @param format the output format.
+     * @throws IllegalArgumentException if the format is null.
+     */
+    public Renderer(Format format) {
+        if (format == null) {
+            throw new IllegalArgumentException("Format cannot be null.");
+        }
+        this.format = format;
+        this.number = new StringBuilder(24);
+    }
+
+    /**
+     * Retrieves the output format of this renderer.
+     *
+     * @return the format.
+     */
+    public Format getFormat() {
+        return format;
+    }
+
+    /**
+     * Writes a single recipe. In CSV the recipe is written as rows without a header.
+     *
+     * @param recipe the recipe to write.
+     * @param out    the destination.
+     * @throws UncheckedIOException if the destination fails.
+     */
+    public void appendRecipe(Recipe recipe, Appendable out) {
+        try {
+            switch (format) {
+                case TEXT -> recipeText(recipe, out);
+                case CSV -> recipeCsv(recipe, out);
+                case JSON -> recipeJson(recipe, out);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes a list of recipes: separated by a blank line in text, under one header row in CSV,
+     * or as an array in JSON.
+     *
+     * @param recipes the recipes to write.
+     * @param out     the destination.
+     * @throws UncheckedIOException if the destination fails.
+     */
+    public void appendRecipes(Collection<Recipe> recipes, Appendable out) {
+        try {
+            listStart(out, RECIPE_CSV_HEADER);
+            boolean first = true;
+            for (Recipe recipe : recipes) {
+                listSeparator(out, first);
+                appendRecipe(recipe, out);
+                first = false;
+            }
+            listEnd(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes a single ingredient. In CSV the ingredient is written as a row without a header.
+     *
+     * @param ingredient the ingredient to write.
+     * @param out        the destination.
+     * @throws UncheckedIOException if the destination fails.
+     */
+    public void appendIngredient(Ingredient ingredient, Appendable out) {
+        try {
+            switch (format) {
+                case TEXT -> ingredientText(ingredient, out);
+                case CSV -> ingredientCsv(ingredient, out);
+                case JSON -> ingredientJson(ingredient, out);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes a list of ingredients: separated by a blank line in text, under one header row in CSV,
+     * or as an array in JSON.
+     *
+     * @param ingredients the ingredients to write.
+     * @param out         the destination.
+     * @throws UncheckedIOException if the destination fails.
+     */
+    public void appendIngredients(Collection<Ingredient> ingredients, Appendable out) {
+        try {
+            listStart(out, INGREDIENT_CSV_HEADER);
+            boolean first = true;
+            for (Ingredient ingredient : ingredients) {
+                listSeparator(out, first);
+                appendIngredient(ingredient, out);
+                first = false;
+            }
+            listEnd(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes a list of recipes as UTF-8 into a byte buffer.
+     *
+     * @param recipes the recipes to write.
+     * @param out     the destination buffer.
+     * @throws java.nio.BufferOverflowException if the buffer is too small.
+     */
+    public void appendRecipes(Collection<Recipe> recipes, ByteBuffer out) {
+        appendRecipes(recipes, byteBuffer(out));
+    }
+
+    /**
+     * Writes a list of ingredients as UTF-8 into a byte buffer.
+     *
+     * @param ingredients the ingredients to write.
+     * @param out         the destination buffer.
+     * @throws java.nio.BufferOverflowException if the buffer is too small.
+     */
+    public void appendIngredients(Collection<Ingredient> ingredients, ByteBuffer out) {
+        appendIngredients(ingredients, byteBuffer(out));
+    }
+
+    /**
+     * Writes a string as a quoted and escaped JSON string, or null for a missing string.
+     *
+     * @param value the string to write.
+     * @param out   the destination.
+     * @throws UncheckedIOException if the destination fails.
+     */
+    public static void appendJsonString(String value, Appendable out) {
+        try {
+            jsonString(value, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void recipeText(Recipe recipe, Appendable out) throws IOException {
+        out.append("Recipe: ").append(recipe.getRecipeName())
+                .append("\nDescription: ").append(recipe.getRecipeDescription())
+                .append("\nInstruction: ").append(recipe.getRecipeInstruction())
+                .append("\nIngredients:\n");
+        for (RecipeRequirement ingredient : recipe.getRecipe()) {
+            out.append("- ").append(ingredient.getIngredientName()).append(": ");
+            appendNumber(ingredient.getIngredientAmount(), out);
+            out.append(' ').append(ingredient.getIngredientMeasurement()).append('\n');
+        }
+    }
+
+    private void recipeCsv(Recipe recipe, Appendable out) throws IOException {
+        if (recipe.getRecipe().isEmpty()) {
+            recipeCsvPrefix(recipe, out);
+            out.append(",,,\n");
+            return;
+        }
+        for (RecipeRequirement ingredient : recipe.getRecipe()) {
+            recipeCsvPrefix(recipe, out);
+            csvField(ingredient.getIngredientName(), out);
+            out.append(',');
+            appendNumber(ingredient.getIngredientAmount(), out);
+            out.append(',');
+            csvField(ingredient.getIngredientMeasurement(), out);
+            out.append(',');
+            appendNumber(ingredient.getIngredientPrice(), out);
+            out.append('\n');
+        }
+    }
+
+    private void recipeCsvPrefix(Recipe recipe, Appendable out) throws IOException {
+        appendInt(recipe.getRecipeID(), out);
+        out.append(',');
+        csvField(recipe.getRecipeName(), out);
+        out.append(',');
+        csvField(recipe.getRecipeDescription(), out);
+        out.append(',');
+        csvField(recipe.getRecipeInstruction(), out);
+        out.append(',');
+    }
+
+    private void recipeJson(Recipe recipe, Appendable out) throws IOException {
+        out.append("{\"id\":");
+        appendInt(recipe.getRecipeID(), out);
+        out.append(",\"name\":");
+        jsonString(recipe.getRecipeName(), out);
+        out.append(",\"description\":");
+        jsonString(recipe.getRecipeDescription(), out);
+        out.append(",\"instruction\":");
+        jsonString(recipe.getRecipeInstruction(), out);
+        out.append(",\"ingredients\":[");
+        boolean first = true;
+        for (RecipeRequirement ingredient : recipe.getRecipe()) {
+            if (!first) {
+                out.append(',');
+            }
+            out.append("{\"name\":");
+            jsonString(ingredient.getIngredientName(), out);
+            out.append(",\"amount\":");
+            jsonNumber(ingredient.getIngredientAmount(), out);
+            out.append(",\"measurement\":");
+            jsonString(ingredient.getIngredientMeasurement(), out);
+            out.append(",\"price\":");
+            jsonNumber(ingredient.getIngredientPrice(), out);
+            out.append('}');
+            first = false;
+        }
+        out.append("]}");
+    }
+
+    private void ingredientText(Ingredient ingredient, Appendable out) throws IOException {
+        out.append("Ingredient: ").append(ingredient.getIngredientName()).append(' ');
+        appendNumber(ingredient.getIngredientAmount(), out);
+        out.append(' ').append(ingredient.getIngredientMeasurement()).append("\nExpire date: ");
+        appendDate(ingredient.getExpireDate(), out);
+        out.append("\nPrice: ");
+        appendNumber(ingredient.getIngredientPrice(), out);
+        out.append(" kr\n");
+    }
+
+    private void ingredientCsv(Ingredient ingredient, Appendable out) throws IOException {
+        csvField(ingredient.getIngredientName(), out);
+        out.append(',');
+        appendNumber(ingredient.getIngredientAmount(), out);
+        out.append(',');
+        csvField(ingredient.getIngredientMeasurement(), out);
+        out.append(',');
+        if (ingredient.getExpireDate() != null) {
+            appendDate(ingredient.getExpireDate(), out);
+        }
+        out.append(',');
+        appendNumber(ingredient.getIngredientPrice(), out);
+        out.append('\n');
+    }
+
+    private void ingredientJson(Ingredient ingredient, Appendable out) throws IOException {
+        out.append("{\"name\":");
+        jsonString(ingredient.getIngredientName(), out);
+        out.append(",\"amount\":");
+        jsonNumber(ingredient.getIngredientAmount(), out);
+        out.append(",\"measurement\":");
+        jsonString(ingredient.getIngredientMeasurement(), out);
+        out.append(",\"expireDate\":");
+        if (ingredient.getExpireDate() == null) {
+            out.append("null");
+        } else {
+            out.append('"');
+            appendDate(ingredient.getExpireDate(), out);
+            out.append('"');
+        }
+        out.append(",\"price\":");
+        jsonNumber(ingredient.getIngredientPrice(), out);
+        out.append('}');
+    }
+
+    private void listStart(Appendable out, String csvHeader) throws IOException {
+        if (format == Format.CSV) {
+            out.append(csvHeader);
+        } else if (format == Format.JSON) {
+            out.append('[');
+        }
+    }
+
+    private void listSeparator(Appendable out, boolean first) throws IOException {
+        if (first || format == Format.CSV) {
+            return;
+        }
+        out.append(format == Format.JSON ? "," : "\n");
+    }
+
+    private void listEnd(Appendable out) throws IOException {
+        if (format == Format.JSON) {
+            out.append(']');
+        }
+    }
+
+    /**
+     * Appends a number the same way string concatenation would, without creating a String.
+     */
+    private void appendNumber(double value, Appendable out) throws IOException {
+        number.setLength(0);
+        number.append(value);
+        out.append(number);
+    }
+
+    private void appendInt(int value, Appendable out) throws IOException {
+        number.setLength(0);
+        number.append(value);
+        out.append(number);
+    }
+
+    private void jsonNumber(double value, Appendable out) throws IOException {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            out.append("null");
+        } else {
+            appendNumber(value, out);
+        }
+    }
+
+    /**
+     * Appends a date in ISO format, or "null" for a missing date as string concatenation would.
+     */
+    private void appendDate(LocalDate date, Appendable out) throws IOException {
+        if (date == null) {
+            out.append("null");
+            return;
+        }
+        int year = date.getYear();
+        if (year < 0 || year > 9999) {
+            out.append(date.toString());
+            return;
+        }
+        number.setLength(0);
+        if (year < 1000) {
+            number.append(year < 10 ? "000" : year < 100 ? "00" : "0");
+        }
+        number.append(year).append('-');
+        if (date.getMonthValue() < 10) {
+            number.append('0');
+        }
+        number.append(date.getMonthValue()).append('-');
+        if (date.getDayOfMonth() < 10) {
+            number.append('0');
+        }
+        number.append(date.getDayOfMonth());
+        out.append(number);
+    }
+
+    private static void csvField(String value, Appendable out) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.append(value);
+            return;
+        }
+        out.append('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '"') {
+                out.append(value, start, i + 1).append('"');
+                start = i + 1;
+            }
+        }
+        out.append(value, start, value.length()).append('"');
+    }
+
+    private static void jsonString(String value, Appendable out) throws IOException {
+        if (value == null) {
+            out.append("null");
+            return;
+        }
+        out.append('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\' || c < 0x20) {
+                out.append(value, start, i);
+                switch (c) {
+                    case '"' -> out.append("\\\"");
+                    case '\\' -> out.append("\\\\");
+                    case '\n' -> out.append("\\n");
+                    case '\r' -> out.append("\\r");
+                    case '\t' -> out.append("\\t");
+                    default -> out.append("\\u00").append(Character.forDigit(c >> 4, 16)).append(Character.forDigit(c & 0xF, 16));
+                }
+                start = i + 1;
+            }
+        }
+        out.append(value, start, value.length()).append('"');
+    }
+
+    private Appendable byteBuffer(ByteBuffer buffer) {
+        if (byteBufferAppendable == null) {
+            byteBufferAppendable = new ByteBufferAppendable();
+        }
+        byteBufferAppendable.buffer = buffer;
+        byteBufferAppendable.highSurrogate = 0;
+        return byteBufferAppendable;
+    }
+
+    /**
+     * Encodes appended characters as UTF-8 straight into a byte buffer.
+     */
+    private static final class ByteBufferAppendable implements Appendable {
+        private ByteBuffer buffer;
+        private char highSurrogate;
+
+        @Override
+        public Appendable append(CharSequence csq) {
+            return append(csq, 0, csq.length());
+        }
+
+        @Override
+        public Appendable append(CharSequence csq, int start, int end) {
+            for (int i = start; i < end; i++) {
+                append(csq.charAt(i));
+            }
+            return this;
+        }
+
+        @Override
+        public Appendable append(char c) {
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | (c >> 6)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c)) {
+                highSurrogate = c;
+            } else if (Character.isLowSurrogate(c) && highSurrogate != 0) {
+                int codePoint = Character.toCodePoint(highSurrogate, c);
+                highSurrogate = 0;
+                buffer.put((byte) (0xF0 | (codePoint >> 18)));
+                buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+            } else {
+                buffer.put((byte) (0xE0 | (c >> 12)));
+                buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package edu.ntnu.idi.idatt.model;
+
+/**
+ * Receives the ingredient lines of a recipe as primitive values.
+ */
+@FunctionalInterface
+public interface RequirementVisitor {
+
+    /**
+     * Visits one ingredient line of a recipe.
+     *
+     * @param ingredientID the {@link IngredientCatalog} ID of the ingredient.
+     * @param amount       the required amount, in the line's unit.
+     * @param unitID       the {@link Units} ID of the line's unit.
+     * @param price        the price the recipe lists for the line.
+     */
+    void visit(int ingredientID, double amount, int unitID, double price);
+}
@@ -0,0 +1,134 @@
+package edu.ntnu.idi.idatt.model;
+
+import java.util.Arrays;
+
+/**
+ * The result of checking a recipe against an availability index: whether it can be made and,
+ * if not, which ingredients are short. Amounts are in the ingredients' base units.
+ *
+ * <p>A report is meant to be reused: {@link Recipe#checkAvailability(AvailabilityIndex, ShortfallReport)}
+ * clears and refills it, and its arrays only grow when a recipe is short of more ingredients than
+ * any recipe checked before, so checking many recipes in a loop allocates almost nothing.
+ * A report is not safe to share between threads.
+ */
+public class ShortfallReport {
+    private Recipe recipe;
+    private int count;
+    private int[] ingredientIDs;
+    private int[] lines;
+    private double[] requiredAmounts;
+    private double[] availableAmounts;
+
+    /**
+     * Constructs an empty ShortfallReport.
+     */
+    public ShortfallReport() {
+        this.ingredientIDs = new int[8];
+        this.lines = new int[8];
+        this.requiredAmounts = new double[8];
+        this.availableAmounts = new double[8];
+    }
+
+    /**
+     * Retrieves the recipe that was last checked into this report.
+     *
+     * @return the recipe, or null if the report has not been used.
+     */
+    public Recipe getRecipe() {
+        return recipe;
+    }
+
+    /**
+     * Checks whether the recipe can be made.
+     *
+     * @return true if no ingredient is short; false otherwise.
+     */
+    public boolean isFeasible() {
+        return count == 0;
+    }
+
+    /**
+     * Retrieves the number of ingredients that are short.
+     *
+     * @return the number of shortfalls.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Retrieves the {@link IngredientCatalog} ID of a short ingredient.
+     *
+     * @param index the position of the shortfall, from zero up to {@link #size()}.
+     * @return the ingredient ID.
+     */
+    public int getIngredientID(int index) {
+        checkIndex(index);
+        return ingredientIDs[index];
+    }
+
+    /**
+     * Retrieves the position of a short ingredient in the recipe's ingredient list.
+     *
+     * @param index the position of the shortfall, from zero up to {@link #size()}.
+     * @return the position in {@link Recipe#getRecipe()}.
+     */
+    public int getLine(int index) {
+        checkIndex(index);
+        return lines[index];
+    }
+
+    /**
+     * Retrieves the amount of a short ingredient the recipe requires.
+     *
+     * @param index the position of the shortfall, from zero up to {@link #size()}.
+     * @return the required amount in the ingredient's base unit.
+     */
+    public double getRequiredAmount(int index) {
+        checkIndex(index);
+        return requiredAmounts[index];
+    }
+
+    /**
+     * Retrieves the amount of a short ingredient that is available.
+     *
+     * @param index the position of the shortfall, from zero up to {@link #size()}.
+     * @return the available amount in the ingredient's base unit.
+     */
+    public double getAvailableAmount(int index) {
+        checkIndex(index);
+        return availableAmounts[index];
+    }
+
+    /**
+     * Clears the report before a recipe is checked into it.
+     */
+    void reset(Recipe recipe) {
+        this.recipe = recipe;
+        this.count = 0;
+    }
+
+    /**
+     * Records a short ingredient.
+     */
+    void add(int ingredientID, int line, double requiredAmount, double availableAmount) {
+        if (count == ingredientIDs.length) {
+            int capacity = count * 2;
+            ingredientIDs = Arrays.copyOf(ingredientIDs, capacity);
+            lines = Arrays.copyOf(lines, capacity);
+            requiredAmounts = Arrays.copyOf(requiredAmounts, capacity);
+            availableAmounts = Arrays.copyOf(availableAmounts, capacity);
+        }
+        ingredientIDs[count] = ingredientID;
+        lines[count] = line;
+        requiredAmounts[count] = requiredAmount;
+        availableAmounts[count] = availableAmount;
+        count++;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Invalid shortfall index: " + index);
+        }
+    }
+}
@@ -1,17 +1,65 @@
 package edu.ntnu.idi.idatt.model;
 
+import edu.ntnu.idi.idatt.events.StorageEvent;
+import edu.ntnu.idi.idatt.metrics.InputWait;
+import edu.ntnu.idi.idatt.metrics.MetricsRegistry;
+import edu.ntnu.idi.idatt.output.OutputSink;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Scanner;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 
 /**
  * Represents a storage system for ingredients. Provides functionality to manage, update, and query stored ingredients.
+ *
+ * <p>Entries are grouped per ingredient, and each group has its own lock. Operations that change the amounts of
+ * several ingredients, such as {@link #cook(Recipe, int)}, lock the groups in ascending ingredient ID order,
+ * so they cannot deadlock and only contend with operations on the same ingredients.
+ *
+ * <p>Every operation is counted, and a sample of calls timed, in the
+ * {@link MetricsRegistry#global() global metrics registry} under {@code storage.<method>}, and emitted as a
+ * {@link StorageEvent} to Java Flight Recorder when that event is enabled. The time
+ * {@link #addIngredient} waits for the user to answer its questions is left out of its latency.
  */
 public class Storage {
-    private static ArrayList<Ingredient> storage;
+    private static final double EPSILON = 1e-9;
+    private static final Probe.Operation GET_INGREDIENTS = operation("getIngredients", false);
+    private static final Probe.Operation ADD_INGREDIENT = operation("addIngredient", true);
+    private static final Probe.Operation ADD_ENTRY = operation("addEntry", true);
+    private static final Probe.Operation WITHDRAW = operation("withdraw", true);
+    private static final Probe.Operation GET_INGREDIENTS_BY_NAME = operation("getIngredientsByName", false);
+    private static final Probe.Operation REMOVE_INGREDIENT = operation("removeIngredientByNameAndAmount", true);
+    private static final Probe.Operation COOK = operation("cook", true);
+    private static final Probe.Operation CAN_COOK = operation("canCook", false);
+    private static final Probe.Operation COOK_RESERVATION = operation("cookReservation", true);
+    private static final Probe.Operation RESERVE = operation("reserve", true);
+    private static final Probe.Operation RELEASE = operation("releaseReservation", true);
+    private static final Probe.Operation GET_INGREDIENTS_IN_DATE_INTERVAL = operation("getIngredientsInDateInterval", false);
+
+    private final ArrayList<Ingredient> storage;
+    private int removedSlots;
+    private final ReentrantReadWriteLock storageLock = new ReentrantReadWriteLock();
+    private final ConcurrentHashMap<Integer, IngredientGroup> groups = new ConcurrentHashMap<>();
     private Scanner scanner;
+    private volatile OutputSink output = OutputSink.none();
 
     /**
      * Constructs an empty Storage instance.
@@ -32,42 +80,103 @@ public class Storage {
     }
 
     /**
-     * Retrieves all ingredients stored in the system.
+     * Sets where messages and questions for the user are written. By default nothing is printed,
+     * so operations called programmatically spend no time on output.
+     *
+     * @param output the sink to write to.
+     */
+    public void setOutput(OutputSink output) {
+        this.output = output;
+    }
+
+    /**
+     * Retrieves where messages and questions for the user are written.
+     *
+     * @return the output sink.
+     */
+    public OutputSink getOutput() {
+        return output;
+    }
+
+    /**
+     * Retrieves all ingredients stored in the system, in the order they were added.
+     * The list is a snapshot; adding to or removing from it does not change the storage.
      *
      * @return a list of ingredients in storage.
      */
     public ArrayList<Ingredient> getIngredients() {
-        return storage;
+        Probe probe = GET_INGREDIENTS.start();
+        try {
+            storageLock.readLock().lock();
+            try {
+                ArrayList<Ingredient> ingredients = new ArrayList<>(storage.size() - removedSlots);
+                for (Ingredient lot : storage) {
+                    if (lot != null) {
+                        ingredients.add(lot);
+                    }
+                }
+                probe.setResultSize(ingredients.size());
+                probe.setItemsScanned(ingredients.size());
+                return ingredients;
+            } finally {
+                storageLock.readLock().unlock();
+            }
+        } catch (RuntimeException e) {
+            throw probe.failed(e);
+        } finally {
+            probe.stop();
+        }
     }
 
     /**
      * Prompts the user for confirmation to update a specific field to a new value.
      *
+     * @param prompts the sink the question is written to.
      * @param scanner the Scanner instance for user input.
      * @param field the name of the field being updated.
      * @param newValue the proposed new value for the field.
      * @return true if the user confirms; false otherwise.
      */
-    private boolean confirmUpdate(Scanner scanner, String field, Object newValue) {
-        System.out.print("Update " + field + " to '" + newValue + "'? (y/n): ");
-        return scanner.nextLine().trim().equalsIgnoreCase("y");
+    private static boolean confirmUpdate(OutputSink prompts, Scanner scanner, String field, Object newValue) {
+        prompts.print("Update " + field + " to '" + newValue + "'? (y/n): ");
+        prompts.flush();
+        return readYes(scanner);
+    }
+
+    /**
+     * Reads the answer to a yes/no question, counting the wait as {@link InputWait}.
+     *
+     * @param scanner the Scanner instance for user input.
+     * @return true if the answer is y; false otherwise.
+     */
+    private static boolean readYes(Scanner scanner) {
+        long start = InputWait.start();
+        try {
+            return scanner.nextLine().trim().equalsIgnoreCase("y");
+        } finally {
+            InputWait.stop(start);
+        }
     }
 
     /**
      * Prompts the user to confirm an action described by the given message.
      *
+     * @param prompts the sink the question is written to.
      * @param scanner the Scanner instance for user input.
      * @param actionDescription a description of the action being confirmed.
      * @return true if the user confirms; false otherwise.
      */
-    private boolean confirmAction(Scanner scanner, String actionDescription) {
-        System.out.print("Do you want to " + actionDescription + "? (y/n): ");
-        return scanner.nextLine().trim().equalsIgnoreCase("y");
+    private static boolean confirmAction(OutputSink prompts, Scanner scanner, String actionDescription) {
+        prompts.print("Do you want to " + actionDescription + "? (y/n): ");
+        prompts.flush();
+        return readYes(scanner);
     }
 
     /**
      * Adds an ingredient to the storage. If the ingredient already exists, its amount is updated,
      * and mismatched details can optionally be modified.
+     * Whether to update the existing entry is asked on the assigned sink, or on the console if none is assigned,
+     * and answered on the scanner; callers that cannot answer should use {@link #addEntry} instead.
      *
      * @param ingredientName       the name of the ingredient.
      * @param ingredientAmount     the amount of the ingredient.
@@ -76,56 +185,194 @@ public class Storage {
      * @param ingredientPrice      the price of the ingredient.
      */
     public void addIngredient(String ingredientName, double ingredientAmount, String ingredientMeasurement, LocalDate expireDate, double ingredientPrice) {
-        Ingredient existingIngredient = storage.stream()
-                .filter(ingredient -> ingredient.getIngredientName().equalsIgnoreCase(ingredientName))
-                .findFirst()
-                .orElse(null);
+        long waited = InputWait.total();
+        Probe probe = ADD_INGREDIENT.start(ingredientName, ingredientAmount);
+        try {
+            IngredientGroup group = groupOf(ingredientName);
+            Ingredient existingIngredient;
+            group.lock.lock();
+            try {
+                existingIngredient = group.lots.isEmpty() ? null : group.lots.get(0);
+                if (existingIngredient == null) {
+                    addLot(group, new Ingredient(ingredientName, ingredientAmount, ingredientMeasurement, expireDate, ingredientPrice));
+                }
+            } finally {
+                group.lock.unlock();
+            }
 
-        if (existingIngredient != null) {
-            System.out.println("Ingredient '" + ingredientName + "' already exists:");
-            System.out.println(" - Current Details: " + existingIngredient);
+            if (existingIngredient != null) {
+                // The user is asked what to do, so the questions are shown even when no sink has been assigned.
+                OutputSink prompts = output.isEnabled() ? output : OutputSink.console();
+                prompts.println("Ingredient '" + ingredientName + "' already exists:");
+                prompts.println(" - Current Details: " + existingIngredient);
 
-            boolean measurementMismatch = !existingIngredient.getIngredientMeasurement().equalsIgnoreCase(ingredientMeasurement);
-            boolean expireDateMismatch = !existingIngredient.getExpireDate().equals(expireDate);
-            boolean priceMismatch = existingIngredient.getIngredientPrice() != ingredientPrice;
+                boolean measurementMismatch = existingIngredient.getUnitID() != Units.idOf(ingredientMeasurement);
+                boolean expireDateMismatch = !Objects.equals(existingIngredient.getExpireDate(), expireDate);
+                boolean priceMismatch = existingIngredient.getIngredientPrice() != ingredientPrice;
 
-            if (measurementMismatch || expireDateMismatch || priceMismatch) {
-                System.out.println("Mismatched details found:");
-                if (measurementMismatch) {
-                    System.out.println(" - Measurement: Existing = " + existingIngredient.getIngredientMeasurement() + ", New = " + ingredientMeasurement);
+                if (measurementMismatch || expireDateMismatch || priceMismatch) {
+                    prompts.println("Mismatched details found:");
+                    if (measurementMismatch) {
+                        prompts.println(" - Measurement: Existing = " + existingIngredient.getIngredientMeasurement() + ", New = " + ingredientMeasurement);
+                    }
+                    if (expireDateMismatch) {
+                        prompts.println(" - Expiration Date: Existing = " + existingIngredient.getExpireDate() + ", New = " + expireDate);
+                    }
+                    if (priceMismatch) {
+                        prompts.println(" - Price: Existing = " + existingIngredient.getIngredientPrice() + ", New = " + ingredientPrice);
+                    }
                 }
-                if (expireDateMismatch) {
-                    System.out.println(" - Expiration Date: Existing = " + existingIngredient.getExpireDate() + ", New = " + expireDate);
+
+                prompts.print("Do you want to update the existing ingredient? (y/n): ");
+                prompts.flush();
+                if (readYes(scanner)) {
+                    // Answers are collected first so the group is not locked while waiting for user input.
+                    boolean updateMeasurement = measurementMismatch && confirmUpdate(prompts, scanner, "measurement", ingredientMeasurement);
+                    boolean updateExpireDate = expireDateMismatch && confirmUpdate(prompts, scanner, "expiration date", expireDate);
+                    boolean updatePrice = priceMismatch && confirmUpdate(prompts, scanner, "price", ingredientPrice);
+
+                    group.lock.lock();
+                    try {
+                        if (group.lots.contains(existingIngredient)) {
+                            group.addStock(existingIngredient.getUnitID(), -existingIngredient.getIngredientAmount());
+                            existingIngredient.setIngredientAmount(existingIngredient.getIngredientAmount() + ingredientAmount);
+                            if (updateMeasurement) {
+                                existingIngredient.setIngredientMeasurement(ingredientMeasurement);
+                            }
+                            group.addStock(existingIngredient.getUnitID(), existingIngredient.getIngredientAmount());
+                            if (updateExpireDate) {
+                                existingIngredient.setExpireDate(expireDate);
+                            }
+                            if (updatePrice) {
+                                existingIngredient.setIngredientPrice(ingredientPrice);
+                            }
+                        } else {
+                            // The entry was used up while the user answered, so the amount becomes a new entry.
+                            addLot(group, new Ingredient(ingredientName, ingredientAmount, ingredientMeasurement, expireDate, ingredientPrice));
+                        }
+                    } finally {
+                        group.lock.unlock();
+                    }
+
+                    prompts.println("Ingredient '" + ingredientName + "' updated successfully.");
+                } else if (confirmAction(prompts, scanner, "add a new ingredient entry with the provided details")) {
+                    group.lock.lock();
+                    try {
+                        addLot(group, new Ingredient(ingredientName, ingredientAmount, ingredientMeasurement, expireDate, ingredientPrice));
+                    } finally {
+                        group.lock.unlock();
+                    }
+                    prompts.println("Added new ingredient entry: " + ingredientName + " (" + ingredientAmount + " " + ingredientMeasurement + ")");
+                } else {
+                    prompts.println("No changes were made.");
                 }
-                if (priceMismatch) {
-                    System.out.println(" - Price: Existing = " + existingIngredient.getIngredientPrice() + ", New = " + ingredientPrice);
+                if (prompts != output) {
+                    prompts.flush();
                 }
+            } else if (output.isEnabled()) {
+                output.println("Added new ingredient: " + ingredientName + " (" + ingredientAmount + " " + ingredientMeasurement + ")");
             }
+        } catch (RuntimeException e) {
+            throw probe.failed(e);
+        } finally {
+            probe.stop(InputWait.total() - waited);
+        }
+    }
 
-            System.out.print("Do you want to update the existing ingredient? (y/n): ");
-            if (scanner.nextLine().trim().equalsIgnoreCase("y")) {
-                existingIngredient.setIngredientAmount(existingIngredient.getIngredientAmount() + ingredientAmount);
+    /**
+     * Adds an ingredient to the storage as a new entry, without asking the user about existing entries
+     * and without printing anything. Intended for scripted and remote use.
+     *
+     * @param ingredientName        the name of the ingredient.
+     * @param ingredientAmount      the amount of the ingredient.
+     * @param ingredientMeasurement the measurement unit of the ingredient.
+     * @param expireDate            the expiration date of the ingredient.
+     * @param ingredientPrice       the price of the ingredient.
+     * @return the added entry.
+     */
+    public Ingredient addEntry(String ingredientName, double ingredientAmount, String ingredientMeasurement, LocalDate expireDate, double ingredientPrice) {
+        Probe probe = ADD_ENTRY.start(ingredientName, ingredientAmount);
+        try {
+            Ingredient lot = new Ingredient(ingredientName, ingredientAmount, ingredientMeasurement, expireDate, ingredientPrice);
+            IngredientGroup group = groupOf(ingredientName);
+            group.lock.lock();
+            try {
+                addLot(group, lot);
+            } finally {
+                group.lock.unlock();
+            }
+            return lot;
+        } catch (RuntimeException e) {
+            throw probe.failed(e);
+        } finally {
+            probe.stop();
+        }
+    }
 
-                if (measurementMismatch && confirmUpdate(scanner, "measurement", ingredientMeasurement)) {
-                    existingIngredient.setIngredientMeasurement(ingredientMeasurement);
-                }
-                if (expireDateMismatch && confirmUpdate(scanner, "expiration date", expireDate)) {
-                    existingIngredient.setExpireDate(expireDate);
+    /**
+     * Removes up to a given amount of an ingredient from storage without printing anything.
+     * Entries are drawn from in the order they were added, each in its own unit, like
+     * {@link #removeIngredientByNameAndAmount(String, double)}, and emptied entries are removed.
+     * Amounts held by reservations are not removed, the same as in {@link #cook(Recipe, int)}.
+     *
+     * @param ingredientName the name of the ingredient to remove.
+     * @param amountToRemove the amount of the ingredient to remove.
+     * @return the amount that was removed, which is less than requested if storage held less unreserved stock.
+     */
+    public double withdraw(String ingredientName, double amountToRemove) {
+        Probe probe = WITHDRAW.start(ingredientName, amountToRemove);
+        try {
+            IngredientGroup group = groups.get(IngredientCatalog.find(ingredientName));
+            if (group == null || amountToRemove <= 0) {
+                return 0;
+            }
+            group.lock.lock();
+            try {
+                double remaining = amountToRemove;
+                Set<Ingredient> emptied = Collections.newSetFromMap(new IdentityHashMap<>());
+                // Unreserved stock left per base unit; only tracked when the ingredient has reservations.
+                HashMap<Integer, Double> unreserved = group.reservedByBaseUnit.isEmpty() ? null : new HashMap<>();
+                for (int i = 0; i < group.lots.size() && remaining > 0; i++) {
+                    probe.addItemsScanned(1);
+                    Ingredient lot = group.lots.get(i);
+                    double removable = lot.getIngredientAmount();
+                    int baseUnitID = -1;
+                    double factor = 1;
+                    if (unreserved != null) {
+                        baseUnitID = Units.baseOf(lot.getUnitID());
+                        factor = Units.factorOf(lot.getUnitID());
+                        Double free = unreserved.get(baseUnitID);
+                        if (free == null) {
+                            free = group.stockInBase(baseUnitID) - group.reservedInBase(baseUnitID);
+                        }
+                        removable = Math.min(removable, Math.max(0, free) / factor);
+                        unreserved.put(baseUnitID, free);
+                    }
+                    double taken = Math.min(removable, remaining);
+                    group.addStock(lot.getUnitID(), -taken);
+                    if (taken >= lot.getIngredientAmount()) {
+                        emptied.add(lot);
+                    } else {
+                        lot.setIngredientAmount(lot.getIngredientAmount() - taken);
+                    }
+                    remaining -= taken;
+                    if (unreserved != null) {
+                        unreserved.merge(baseUnitID, -taken * factor, Double::sum);
+                    }
                 }
-                if (priceMismatch && confirmUpdate(scanner, "price", ingredientPrice)) {
-                    existingIngredient.setIngredientPrice(ingredientPrice);
+                probe.setResultSize(emptied.size());
+                if (!emptied.isEmpty()) {
+                    group.lots.removeIf(emptied::contains);
+                    removeFromStorage(emptied);
                 }
-
-                System.out.println("Ingredient '" + ingredientName + "' updated successfully.");
-            } else if (confirmAction(scanner, "add a new ingredient entry with the provided details")) {
-                storage.add(new Ingredient(ingredientName, ingredientAmount, ingredientMeasurement, expireDate, ingredientPrice));
-                System.out.println("Added new ingredient entry: " + ingredientName + " (" + ingredientAmount + " " + ingredientMeasurement + ")");
-            } else {
-                System.out.println("No changes were made.");
+                return amountToRemove - remaining;
+            } finally {
+                group.lock.unlock();
             }
-        } else {
-            storage.add(new Ingredient(ingredientName, ingredientAmount, ingredientMeasurement, expireDate, ingredientPrice));
-            System.out.println("Added new ingredient: " + ingredientName + " (" + ingredientAmount + " " + ingredientMeasurement + ")");
+        } catch (RuntimeException e) {
+            throw probe.failed(e);
+        } finally {
+            probe.stop();
         }
     }
 
@@ -136,31 +383,282 @@ public class Storage {
      * @return a list of matching ingredients.
      */
     public ArrayList<Ingredient> getIngredientsByName(String ingredientName) {
-        return storage.stream().filter(ingredient -> ingredient.getIngredientName().equalsIgnoreCase(ingredientName))
-                .collect(Collectors.toCollection(ArrayList::new));
+        Probe probe = GET_INGREDIENTS_BY_NAME.start(ingredientName, 0);
+        try {
+            IngredientGroup group = groups.get(IngredientCatalog.find(ingredientName));
+            if (group == null) {
+                return new ArrayList<>();
+            }
+            group.lock.lock();
+            try {
+                ArrayList<Ingredient> lots = new ArrayList<>(group.lots);
+                probe.setResultSize(lots.size());
+                probe.setItemsScanned(lots.size());
+                return lots;
+            } finally {
+                group.lock.unlock();
+            }
+        } catch (RuntimeException e) {
+            throw probe.failed(e);
+        } finally {
+            probe.stop();
+        }
     }
 
     /**
      * Removes a specified amount of an ingredient from storage. If the remaining amount is zero or less, the ingredient is removed entirely.
+     * Amounts held by reservations are not removed, the same as in {@link #cook(Recipe, int)}.
      *
      * @param ingredientName the name of the ingredient to remove.
      * @param amountToRemove the amount of the ingredient to remove.
      */
     public void removeIngredientByNameAndAmount(String ingredientName, double amountToRemove) {
-        for (Ingredient ingredient : new ArrayList<>(storage)) {
-            if (ingredient.getIngredientName().equalsIgnoreCase(ingredientName)) {
-                if (ingredient.getIngredientAmount() > amountToRemove) {
-                    ingredient.setIngredientAmount(ingredient.getIngredientAmount() - amountToRemove);
-                    System.out.println(ingredientName + ". Remaining amount: " + ingredient.getIngredientAmount() + " " + ingredient.getIngredientMeasurement());
-                    return;
-                } else {
-                    storage.remove(ingredient);
-                    System.out.println("Removed " + ingredientName + " from storage");
-                    return;
+        Probe probe = REMOVE_INGREDIENT.start(ingredientName, amountToRemove);
+        try {
+            IngredientGroup group = groups.get(IngredientCatalog.find(ingredientName));
+            if (group != null) {
+                group.lock.lock();
+                try {
+                    if (!group.lots.isEmpty()) {
+                        Ingredient ingredient = group.lots.get(0);
+                        probe.setItemsScanned(1);
+                        double removable = unreservedAmountOf(group, ingredient);
+                        if (removable < amountToRemove && removable < ingredient.getIngredientAmount()) {
+                            ingredient.setIngredientAmount(ingredient.getIngredientAmount() - removable);
+                            group.addStock(ingredient.getUnitID(), -removable);
+                            if (output.isEnabled()) {
+                                output.println(ingredientName + ". Removed " + removable + " " + ingredient.getIngredientMeasurement()
+                                        + "; the remaining " + ingredient.getIngredientAmount() + " is reserved.");
+                            }
+                        } else if (ingredient.getIngredientAmount() > amountToRemove) {
+                            ingredient.setIngredientAmount(ingredient.getIngredientAmount() - amountToRemove);
+                            group.addStock(ingredient.getUnitID(), -amountToRemove);
+                            if (output.isEnabled()) {
+                                output.println(ingredientName + ". Remaining amount: " + ingredient.getIngredientAmount() + " " + ingredient.getIngredientMeasurement());
+                            }
+                        } else {
+                            group.lots.remove(0);
+                            group.addStock(ingredient.getUnitID(), -ingredient.getIngredientAmount());
+                            removeFromStorage(Collections.singleton(ingredient));
+                            probe.setResultSize(1);
+                            if (output.isEnabled()) {
+                                output.println("Removed " + ingredientName + " from storage");
+                            }
+                        }
+                        return;
+                    }
+                } finally {
+                    group.lock.unlock();
+                }
+            }
+            if (output.isEnabled()) {
+                output.println("Ingredient " + ingredientName + " not found in storage.");
+            }
+        } catch (RuntimeException e) {
+            throw probe.failed(e);
+        } finally {
+            probe.stop();
+        }
+    }
+
+    /**
+     * Cooks a recipe by deducting every ingredient it requires from storage, scaled by the number of servings.
+     * Either every ingredient is deducted or, if any of them is short, nothing is changed.
+     * Amounts are converted between compatible units, such as g and kg, and the entries that expire first are used first.
+     * Amounts held by reservations are not used.
+     *
+     * <p>The ingredients involved are locked in ascending ID order for the duration of the check and deduction,
+     * so concurrent cooks can never both take the same stock, and cooks using different ingredients do not block each other.
+     *
+     * @param recipe   the recipe to cook.
+     * @param servings how many times the recipe is made.
+     * @return true if the ingredients were deducted; false if storage did not hold enough and nothing was changed.
+     * @throws IllegalArgumentException if the recipe is null or servings is less than 1.
+     */
+    public boolean cook(Recipe recipe, int servings) {
+        Probe probe = COOK.start(null, servings);
+        try {
+            List<Requirement> requirements = requirementsOf(recipe, servings);
+            probe.setRecipeName(recipe.getRecipeName());
+            probe.setItemsScanned(requirements.size());
+            IngredientGroup[] locked = lockInOrder(requirements);
+            try {
+                if (!isUnreservedStockSufficient(requirements)) {
+                    return false;
+                }
+                deduct(requirements, locked);
+                probe.setResultSize(1);
+                return true;
+            } finally {
+                unlock(locked);
+            }
+        } catch (RuntimeException e) {
+            throw probe.failed(e);
+        } finally {
+            probe.stop();
+        }
+    }
+
+    /**
+     * Checks whether a recipe could be cooked right now, without changing anything.
+     * Uses the same rules as {@link #cook(Recipe, int)}, but only reads the stock of the recipe's own ingredients,
+     * so it is cheaper than building an {@link AvailabilityIndex} of the whole storage for one recipe.
+     *
+     * @param recipe   the recipe to check.
+     * @param servings how many times the recipe would be made.
+     * @return true if the unreserved stock is sufficient; false otherwise.
+     * @throws IllegalArgumentException if the recipe is null or servings is less than 1.
+     */
+    public boolean canCook(Recipe recipe, int servings) {
+        Probe probe = CAN_COOK.start(null, servings);
+        try {
+            List<Requirement> requirements = requirementsOf(recipe, servings);
+            probe.setRecipeName(recipe.getRecipeName());
+            probe.setItemsScanned(requirements.size());
+            IngredientGroup[] locked = lockInOrder(requirements);
+            try {
+                boolean sufficient = isUnreservedStockSufficient(requirements);
+                probe.setResultSize(sufficient ? 1 : 0);
+                return sufficient;
+            } finally {
+                unlock(locked);
+            }
+        } catch (RuntimeException e) {
+            throw probe.failed(e);
+        } finally {
+            probe.stop();
+        }
+    }
+
+    /**
+     * Cooks a reserved recipe, deducting the amounts the reservation holds and ending the reservation.
+     *
+     * @param reservation an active reservation made on this storage.
+     * @return true if the ingredients were deducted; false if the reservation had already expired or been released,
+     *         or if reserved stock was removed by hand in the meantime.
+     * @throws IllegalArgumentException if the reservation is null or belongs to another storage.
+     */
+    public boolean cook(Reservation reservation) {
+        Probe probe = COOK_RESERVATION.start();
+        try {
+            if (reservation == null || reservation.storage != this) {
+                throw new IllegalArgumentException("Reservation does not belong to this storage.");
+            }
+            if (!reservation.end()) {
+                return false;
+            }
+            probe.setItemsScanned(reservation.requirements.size());
+            IngredientGroup[] locked = lockInOrder(reservation.requirements);
+            try {
+                for (Requirement requirement : reservation.requirements) {
+                    requirement.group.unreserve(requirement.baseUnitID, requirement.amount);
+                }
+                if (!isUnreservedStockSufficient(reservation.requirements)) {
+                    return false;
+                }
+                deduct(reservation.requirements, locked);
+                probe.setResultSize(1);
+                return true;
+            } finally {
+                unlock(locked);
+            }
+        } catch (RuntimeException e) {
+            throw probe.failed(e);
+        } finally {
+            probe.stop();
+        }
+    }
+
+    /**
+     * Reserves the ingredients of a recipe, scaled by the number of servings, so that other cooks and availability
+     * checks cannot use them. The hold ends when the reservation is cooked with {@link #cook(Reservation)},
+     * released with {@link Reservation#release()}, or when the hold duration has passed, whichever comes first.
+     *
+     * @param recipe   the recipe to reserve ingredients for.
+     * @param servings how many times the recipe will be made.
+     * @param hold     how long the ingredients are held if the reservation is not cooked.
+     * @return the reservation, or null if storage does not hold enough unreserved stock.
+     * @throws IllegalArgumentException if the recipe is null, servings is less than 1, or the hold is not positive.
+     */
+    public Reservation reserve(Recipe recipe, int servings, Duration hold) {
+        Probe probe = RESERVE.start(null, servings);
+        try {
+            if (hold == null || hold.isNegative() || hold.isZero()) {
+                throw new IllegalArgumentException("Hold must be a positive duration.");
+            }
+            List<Requirement> requirements = requirementsOf(recipe, servings);
+            probe.setRecipeName(recipe.getRecipeName());
+            probe.setItemsScanned(requirements.size());
+            Reservation reservation;
+            IngredientGroup[] locked = lockInOrder(requirements);
+            try {
+                if (!isUnreservedStockSufficient(requirements)) {
+                    return null;
                 }
+                for (Requirement requirement : requirements) {
+                    requirement.group.reserve(requirement.baseUnitID, requirement.amount);
+                }
+                reservation = new Reservation(this, requirements, Instant.now().plus(hold));
+            } finally {
+                unlock(locked);
             }
+            reservation.expiry = ExpiryScheduler.INSTANCE.schedule(reservation::release, hold.toNanos(), TimeUnit.NANOSECONDS);
+            probe.setResultSize(1);
+            return reservation;
+        } catch (RuntimeException e) {
+            throw probe.failed(e);
+        } finally {
+            probe.stop();
+        }
+    }
+
+    /**
+     * Retrieves the amount of an ingredient held by active reservations.
+     *
+     * @param ingredientID the {@link IngredientCatalog} ID of the ingredient.
+     * @return the reserved amount in the ingredient's base unit, or zero if none is reserved.
+     */
+    public double getReservedAmount(int ingredientID) {
+        IngredientGroup group = groups.get(ingredientID);
+        if (group == null) {
+            return 0;
+        }
+        group.lock.lock();
+        try {
+            return group.reservedByBaseUnit.values().stream().mapToDouble(Double::doubleValue).sum();
+        } finally {
+            group.lock.unlock();
         }
-        System.out.println("Ingredient " + ingredientName + " not found in storage.");
+    }
+
+    /**
+     * Retrieves the amount of an ingredient held by active reservations in one base unit.
+     *
+     * @param ingredientID the {@link IngredientCatalog} ID of the ingredient.
+     * @param baseUnitID   the {@link Units} ID of the base unit.
+     * @return the reserved amount in that base unit, or zero if none is reserved.
+     */
+    public double getReservedAmount(int ingredientID, int baseUnitID) {
+        IngredientGroup group = groups.get(ingredientID);
+        if (group == null) {
+            return 0;
+        }
+        group.lock.lock();
+        try {
+            return group.reservedInBase(baseUnitID);
+        } finally {
+            group.lock.unlock();
+        }
+    }
+
+    /**
+     * Retrieves the amount of an ingredient held by active reservations.
+     *
+     * @param ingredientName the name of the ingredient.
+     * @return the reserved amount in the ingredient's base unit, or zero if none is reserved.
+     */
+    public double getReservedAmount(String ingredientName) {
+        return getReservedAmount(IngredientCatalog.find(ingredientName));
     }
 
     /**
@@ -172,16 +670,459 @@ public class Storage {
      * @throws IllegalArgumentException if the date range is invalid.
      */
     public ArrayList<Ingredient> getIngredientsInDateInterval(LocalDate lower, LocalDate upper) {
-        if (lower == null || upper == null) {
-            throw new IllegalArgumentException("Date range cannot be null.");
+        Probe probe = GET_INGREDIENTS_IN_DATE_INTERVAL.start();
+        try {
+            if (lower == null || upper == null) {
+                throw new IllegalArgumentException("Date range cannot be null.");
+            }
+            if (lower.isAfter(upper)) {
+                throw new IllegalArgumentException("Lower date cannot be after upper date.");
+            }
+            ArrayList<Ingredient> ingredients = getIngredients();
+            ArrayList<Ingredient> inRange = ingredients.stream()
+                    // An entry without an expiration date never expires, so it is in no bounded interval.
+                    .filter(ingredient -> ingredient.getExpireDate() != null
+                            && !ingredient.getExpireDate().isBefore(lower) && !ingredient.getExpireDate().isAfter(upper))
+                    .sorted(Comparator.comparing(Ingredient::getExpireDate, Comparator.nullsLast(Comparator.naturalOrder())))
+                    .collect(Collectors.toCollection(ArrayList::new));
+            probe.setItemsScanned(ingredients.size());
+            probe.setResultSize(inRange.size());
+            return inRange;
+        } catch (RuntimeException e) {
+            throw probe.failed(e);
+        } finally {
+            probe.stop();
+        }
+    }
+
+    /**
+     * Builds an availability index of the unreserved stock of every ingredient. All groups are locked together,
+     * in the ascending ingredient ID order cooks lock them in, so the index sees each cook either entirely or not
+     * at all. Only each group's running totals are read, so the locks are held for a time proportional to the
+     * number of ingredients rather than the number of entries.
+     *
+     * @return the index.
+     */
+    AvailabilityIndex availability() {
+        int[] ids = groups.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+        IngredientGroup[] locked = new IngredientGroup[ids.length];
+        int count = 0;
+        try {
+            for (int id : ids) {
+                IngredientGroup group = groups.get(id);
+                group.lock.lock();
+                locked[count++] = group;
+            }
+            AvailabilityIndex index = new AvailabilityIndex(IngredientCatalog.size());
+            for (int g = 0; g < ids.length; g++) {
+                locked[g].addUnreservedTo(index, ids[g]);
+            }
+            return index;
+        } finally {
+            for (int g = count - 1; g >= 0; g--) {
+                locked[g].lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Builds an availability index of the unreserved stock of just the ingredients a recipe uses, in the base units
+     * the recipe needs them in. Only the groups of those ingredients are read, so the cost does not depend on the
+     * size of the storage.
+     *
+     * @param recipe the recipe whose ingredients to index.
+     * @return the index.
+     */
+    AvailabilityIndex availabilityOf(Recipe recipe) {
+        Recipe.CompiledRequirements requirements = recipe.compiledRequirements();
+        int capacity = 0;
+        for (int id : requirements.ids) {
+            capacity = Math.max(capacity, id + 1);
+        }
+        AvailabilityIndex index = new AvailabilityIndex(capacity);
+        for (int i = 0; i < requirements.ids.length; i++) {
+            IngredientGroup group = groups.get(requirements.ids[i]);
+            if (group == null) {
+                continue;
+            }
+            int baseUnitID = requirements.baseUnits[i];
+            group.lock.lock();
+            try {
+                index.add(requirements.ids[i], baseUnitID, group.stockInBase(baseUnitID) - group.reservedInBase(baseUnitID));
+                index.countEntries(group.lots.size());
+            } finally {
+                group.lock.unlock();
+            }
+        }
+        return index;
+    }
+
+    private static Probe.Operation operation(String method, boolean mutation) {
+        return new Probe.Operation(MetricsRegistry.global().operation("storage." + method), method, mutation);
+    }
+
+    /**
+     * Retrieves the group of entries for an ingredient, creating it if needed.
+     */
+    private IngredientGroup groupOf(String ingredientName) {
+        return groups.computeIfAbsent(IngredientCatalog.idOf(ingredientName), id -> new IngredientGroup());
+    }
+
+    /**
+     * Adds a new entry to a group and to the storage list, remembering its position in the list.
+     * The caller must hold the group's lock.
+     */
+    private void addLot(IngredientGroup group, Ingredient lot) {
+        if (lot.getUnitID() < 0) {
+            throw new IllegalArgumentException("Measurement cannot be null.");
+        }
+        group.lots.add(lot);
+        group.addStock(lot.getUnitID(), lot.getIngredientAmount());
+        storageLock.writeLock().lock();
+        try {
+            lot.storageSlot = storage.size();
+            storage.add(lot);
+        } finally {
+            storageLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes entries from the storage list. Each entry's position is cleared in constant time, and the list
+     * is compacted once more than half of it is cleared, so removal is amortized constant time per entry
+     * however large the storage is. The caller must hold the locks of the groups the entries belonged to.
+     */
+    private void removeFromStorage(Collection<Ingredient> lots) {
+        storageLock.writeLock().lock();
+        try {
+            for (Ingredient lot : lots) {
+                storage.set(lot.storageSlot, null);
+                lot.storageSlot = -1;
+                removedSlots++;
+            }
+            if (removedSlots > storage.size() / 2) {
+                compact();
+            }
+        } finally {
+            storageLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Closes the gaps left by removed entries, keeping the remaining entries in the order they were added.
+     * The caller must hold the write lock of the storage list.
+     */
+    private void compact() {
+        int live = 0;
+        for (int slot = 0; slot < storage.size(); slot++) {
+            Ingredient lot = storage.get(slot);
+            if (lot != null) {
+                lot.storageSlot = live;
+                storage.set(live++, lot);
+            }
+        }
+        storage.subList(live, storage.size()).clear();
+        removedSlots = 0;
+    }
+
+    /**
+     * Collects the amounts a recipe needs in base units, sorted by ingredient ID. Lines for the same ingredient
+     * in the same base unit draw on the same stock, so they are merged.
+     */
+    private List<Requirement> requirementsOf(Recipe recipe, int servings) {
+        if (recipe == null) {
+            throw new IllegalArgumentException("Recipe cannot be null.");
+        }
+        if (servings < 1) {
+            throw new IllegalArgumentException("Servings must be at least 1.");
         }
-        if (lower.isAfter(upper)) {
-            throw new IllegalArgumentException("Lower date cannot be after upper date.");
+        ArrayList<Requirement> lines = new ArrayList<>();
+        recipe.forEachRequirement((ingredientID, amount, unitID, price) ->
+                lines.add(new Requirement(ingredientID, Units.baseOf(unitID), amount * Units.factorOf(unitID) * servings)));
+        lines.sort(Comparator.comparingInt((Requirement line) -> line.ingredientID).thenComparingInt(line -> line.baseUnitID));
+        ArrayList<Requirement> requirements = new ArrayList<>();
+        for (Requirement line : lines) {
+            Requirement last = requirements.isEmpty() ? null : requirements.get(requirements.size() - 1);
+            if (last != null && last.ingredientID == line.ingredientID && last.baseUnitID == line.baseUnitID) {
+                last.amount += line.amount;
+            } else {
+                line.group = groups.computeIfAbsent(line.ingredientID, id -> new IngredientGroup());
+                requirements.add(line);
+            }
+        }
+        return requirements;
+    }
+
+    /**
+     * Locks the groups of the given requirements in ascending ingredient ID order.
+     *
+     * @return the locked groups, to be passed to {@link #unlock(IngredientGroup[])}.
+     */
+    private static IngredientGroup[] lockInOrder(List<Requirement> requirements) {
+        ArrayList<IngredientGroup> locked = new ArrayList<>(requirements.size());
+        try {
+            for (Requirement requirement : requirements) {
+                if (locked.isEmpty() || locked.get(locked.size() - 1) != requirement.group) {
+                    requirement.group.lock.lock();
+                    locked.add(requirement.group);
+                }
+            }
+        } catch (RuntimeException e) {
+            unlock(locked.toArray(new IngredientGroup[0]));
+            throw e;
+        }
+        return locked.toArray(new IngredientGroup[0]);
+    }
+
+    private static void unlock(IngredientGroup[] locked) {
+        for (int g = locked.length - 1; g >= 0; g--) {
+            locked[g].lock.unlock();
+        }
+    }
+
+    /**
+     * Checks that every requirement is covered by stock that is not reserved. The caller must hold the groups' locks.
+     */
+    private static boolean isUnreservedStockSufficient(List<Requirement> requirements) {
+        for (Requirement requirement : requirements) {
+            double unreserved = requirement.group.stockInBase(requirement.baseUnitID)
+                    - requirement.group.reservedInBase(requirement.baseUnitID);
+            if (unreserved < requirement.amount - EPSILON) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Deducts every requirement from its group and removes the entries that are used up.
+     * The caller must hold the locks of the given groups.
+     */
+    private void deduct(List<Requirement> requirements, IngredientGroup[] locked) {
+        Set<Ingredient> emptied = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Requirement requirement : requirements) {
+            deductInBase(requirement.group, requirement.baseUnitID, requirement.amount, emptied);
+        }
+        if (!emptied.isEmpty()) {
+            for (IngredientGroup group : locked) {
+                group.lots.removeIf(emptied::contains);
+            }
+            removeFromStorage(emptied);
+        }
+    }
+
+    /**
+     * Computes how much of an entry, in its own unit, can be removed without touching reserved stock.
+     * The caller must hold the group's lock.
+     */
+    private static double unreservedAmountOf(IngredientGroup group, Ingredient lot) {
+        if (group.reservedByBaseUnit.isEmpty()) {
+            return lot.getIngredientAmount();
         }
-        return storage.stream()
-                .filter(ingredient -> !ingredient.getExpireDate().isBefore(lower) && !ingredient.getExpireDate().isAfter(upper))
-                .sorted(Comparator.comparing(Ingredient::getExpireDate))
+        int baseUnitID = Units.baseOf(lot.getUnitID());
+        double unreserved = group.stockInBase(baseUnitID) - group.reservedInBase(baseUnitID);
+        return Math.max(0, Math.min(lot.getIngredientAmount(), unreserved / Units.factorOf(lot.getUnitID())));
+    }
+
+    /**
+     * Deducts an amount in a base unit from a group's compatible entries, earliest expiry first.
+     * Entries that are used up are added to {@code emptied}. The caller must hold the group's lock.
+     */
+    private static void deductInBase(IngredientGroup group, int baseUnitID, double amount, Set<Ingredient> emptied) {
+        ArrayList<Ingredient> lots = group.lots.stream()
+                .filter(lot -> Units.baseOf(lot.getUnitID()) == baseUnitID)
+                .sorted(Comparator.comparing(Ingredient::getExpireDate, Comparator.nullsLast(Comparator.naturalOrder())))
                 .collect(Collectors.toCollection(ArrayList::new));
+        double remaining = amount;
+        for (int i = 0; i < lots.size() && remaining > EPSILON; i++) {
+            Ingredient lot = lots.get(i);
+            double factor = Units.factorOf(lot.getUnitID());
+            double taken = Math.min(remaining, lot.getIngredientAmount() * factor);
+            lot.setIngredientAmount(lot.getIngredientAmount() - taken / factor);
+            group.addStock(lot.getUnitID(), -taken / factor);
+            remaining -= taken;
+            if (lot.getIngredientAmount() * factor <= EPSILON) {
+                emptied.add(lot);
+            }
+        }
     }
-}
 
+    /**
+     * An amount of one ingredient, in a base unit, that a cook or reservation needs.
+     */
+    private static final class Requirement {
+        private final int ingredientID;
+        private final int baseUnitID;
+        private double amount;
+        private IngredientGroup group;
+
+        private Requirement(int ingredientID, int baseUnitID, double amount) {
+            this.ingredientID = ingredientID;
+            this.baseUnitID = baseUnitID;
+            this.amount = amount;
+        }
+    }
+
+    /**
+     * The entries of one ingredient, their total amount per base unit, the amounts reserved from them
+     * and the lock that guards all of it. The totals are updated wherever an entry is added or drawn from.
+     */
+    private static final class IngredientGroup {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ArrayList<Ingredient> lots = new ArrayList<>();
+        private final HashMap<Integer, Double> reservedByBaseUnit = new HashMap<>();
+        // Most ingredients are only stocked in one base unit: the total of the first one is kept in fields,
+        // and the totals of any other base units in the map, which is usually empty.
+        private int stockBaseUnitID = -1;
+        private double stock;
+        private final HashMap<Integer, Double> stockInOtherBaseUnits = new HashMap<>();
+
+        private double stockInBase(int baseUnitID) {
+            if (baseUnitID == stockBaseUnitID) {
+                return stock;
+            }
+            return stockInOtherBaseUnits.isEmpty() ? 0 : stockInOtherBaseUnits.getOrDefault(baseUnitID, 0.0);
+        }
+
+        private void addUnreservedTo(AvailabilityIndex index, int ingredientID) {
+            if (stockBaseUnitID >= 0) {
+                index.add(ingredientID, stockBaseUnitID, stock);
+            }
+            for (Map.Entry<Integer, Double> other : stockInOtherBaseUnits.entrySet()) {
+                index.add(ingredientID, other.getKey(), other.getValue());
+            }
+            for (Map.Entry<Integer, Double> reserved : reservedByBaseUnit.entrySet()) {
+                index.add(ingredientID, reserved.getKey(), -reserved.getValue());
+            }
+            index.countEntries(lots.size());
+        }
+
+        private void addStock(int unitID, double amount) {
+            int baseUnitID = Units.baseOf(unitID);
+            if (stockBaseUnitID < 0) {
+                stockBaseUnitID = baseUnitID;
+            }
+            if (baseUnitID == stockBaseUnitID) {
+                stock += amount * Units.factorOf(unitID);
+            } else {
+                stockInOtherBaseUnits.merge(baseUnitID, amount * Units.factorOf(unitID), Double::sum);
+            }
+        }
+
+        private double reservedInBase(int baseUnitID) {
+            return reservedByBaseUnit.getOrDefault(baseUnitID, 0.0);
+        }
+
+        private void reserve(int baseUnitID, double amount) {
+            reservedByBaseUnit.merge(baseUnitID, amount, Double::sum);
+        }
+
+        private void unreserve(int baseUnitID, double amount) {
+            double remaining = reservedInBase(baseUnitID) - amount;
+            if (remaining > EPSILON) {
+                reservedByBaseUnit.put(baseUnitID, remaining);
+            } else {
+                reservedByBaseUnit.remove(baseUnitID);
+            }
+        }
+    }
+
+    /**
+     * A hold on the ingredients of a recipe, made with {@link #reserve(Recipe, int, Duration)}.
+     * A reservation ends exactly once: when it is cooked, released, or expires.
+     */
+    public static final class Reservation {
+        private final Storage storage;
+        private final List<Requirement> requirements;
+        private final Instant expiresAt;
+        private final AtomicBoolean ended = new AtomicBoolean();
+        private volatile ScheduledFuture<?> expiry;
+
+        private Reservation(Storage storage, List<Requirement> requirements, Instant expiresAt) {
+            this.storage = storage;
+            this.requirements = requirements;
+            this.expiresAt = expiresAt;
+        }
+
+        /**
+         * Releases the reserved amounts so they are available again.
+         *
+         * @return true if this call ended the reservation; false if it had already ended.
+         */
+        public boolean release() {
+            Probe probe = RELEASE.start();
+            try {
+                if (!end()) {
+                    return false;
+                }
+                probe.setItemsScanned(requirements.size());
+                probe.setResultSize(1);
+                for (Requirement requirement : requirements) {
+                    requirement.group.lock.lock();
+                    try {
+                        requirement.group.unreserve(requirement.baseUnitID, requirement.amount);
+                    } finally {
+                        requirement.group.lock.unlock();
+                    }
+                }
+                return true;
+            } catch (RuntimeException e) {
+                throw probe.failed(e);
+            } finally {
+                probe.stop();
+            }
+        }
+
+        /**
+         * Checks whether the reservation still holds its ingredients.
+         *
+         * @return true if the reservation has not been cooked, released or expired; false otherwise.
+         */
+        public boolean isActive() {
+            return !ended.get();
+        }
+
+        /**
+         * Retrieves the time at which the reservation expires if it is not cooked or released first.
+         *
+         * @return the expiry time.
+         */
+        public Instant getExpiresAt() {
+            return expiresAt;
+        }
+
+        /**
+         * Marks the reservation as ended and cancels its scheduled expiry.
+         *
+         * @return true if the reservation was active; false if another call already ended it.
+         */
+        private boolean end() {
+            if (!ended.compareAndSet(false, true)) {
+                return false;
+            }
+            ScheduledFuture<?> scheduled = expiry;
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * The single daemon thread that ends reservations when their hold runs out. Cancelled expiries
+     * are removed from its queue right away, so reservations that are cooked in time cost nothing to sweep.
+     */
+    private static final class ExpiryScheduler {
+        private static final ScheduledThreadPoolExecutor INSTANCE = create();
+
+        private static ScheduledThreadPoolExecutor create() {
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, task -> {
+                Thread thread = new Thread(task, "storage-reservation-expiry");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.setRemoveOnCancelPolicy(true);
+            return executor;
+        }
+    }
+}
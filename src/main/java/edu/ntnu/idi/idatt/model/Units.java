@@ -0,0 +1,184 @@
+package edu.ntnu.idi.idatt.model;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns measurement units to integer IDs and converts amounts to a common base unit.
+ * Mass is converted to kg, volume to liter and counts to pcs. Other units, such as "can" or "head",
+ * are their own base unit, so amounts in them are only ever combined with each other.
+ */
+public final class Units {
+    private static final ConcurrentHashMap<String, Integer> idsByKey = new ConcurrentHashMap<>();
+    private static volatile String[] names = new String[16];
+    private static volatile int[] bases = new int[16];
+    private static volatile double[] factors = new double[16];
+    private static volatile int count;
+
+    static {
+        int kg = define("kg", -1, 1);
+        define("g", kg, 0.001);
+        define("gram", kg, 0.001);
+        define("grams", kg, 0.001);
+        define("mg", kg, 0.000001);
+        define("kilogram", kg, 1);
+        define("kilograms", kg, 1);
+
+        int liter = define("liter", -1, 1);
+        define("liters", liter, 1);
+        define("litre", liter, 1);
+        define("l", liter, 1);
+        define("dl", liter, 0.1);
+        define("cl", liter, 0.01);
+        define("ml", liter, 0.001);
+
+        int pcs = define("pcs", -1, 1);
+        define("pc", pcs, 1);
+        define("piece", pcs, 1);
+        define("pieces", pcs, 1);
+        define("stk", pcs, 1);
+
+        define("cans", define("can", -1, 1), 1);
+        define("slices", define("slice", -1, 1), 1);
+        define("cloves", define("clove", -1, 1), 1);
+        define("leaves", define("leaf", -1, 1), 1);
+        define("loaves", define("loaf", -1, 1), 1);
+        define("heads", define("head", -1, 1), 1);
+        define("bottles", define("bottle", -1, 1), 1);
+        define("jars", define("jar", -1, 1), 1);
+    }
+
+    private Units() {
+    }
+
+    /**
+     * Retrieves the ID of a unit, registering unrecognized units as their own base unit.
+     *
+     * @param unit the unit name, for example "g" or "liter".
+     * @return the ID of the unit.
+     * @throws IllegalArgumentException if the unit is null.
+     */
+    public static int idOf(String unit) {
+        if (unit == null) {
+            throw new IllegalArgumentException("Unit cannot be null.");
+        }
+        Integer id = idsByKey.get(keyOf(unit));
+        return id != null ? id : define(keyOf(unit), -1, 1);
+    }
+
+    /**
+     * Looks up the ID of a unit without registering it.
+     *
+     * @param unit the unit name.
+     * @return the ID of the unit, or -1 if the unit is null or has never been seen.
+     */
+    public static int find(String unit) {
+        if (unit == null) {
+            return -1;
+        }
+        Integer id = idsByKey.get(keyOf(unit));
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Retrieves the ID of the base unit amounts in the given unit are converted to.
+     *
+     * @param unitID the ID of the unit.
+     * @return the ID of its base unit.
+     */
+    public static int baseOf(int unitID) {
+        checkID(unitID);
+        return bases[unitID];
+    }
+
+    /**
+     * Retrieves the factor that converts an amount in the given unit to its base unit.
+     *
+     * @param unitID the ID of the unit.
+     * @return the conversion factor.
+     */
+    public static double factorOf(int unitID) {
+        checkID(unitID);
+        return factors[unitID];
+    }
+
+    /**
+     * Retrieves the name of a unit.
+     *
+     * @param unitID the ID of the unit.
+     * @return the unit name.
+     */
+    public static String nameOf(int unitID) {
+        checkID(unitID);
+        return names[unitID];
+    }
+
+    /**
+     * Converts an amount to the base unit of its unit.
+     *
+     * @param amount the amount.
+     * @param unit   the unit the amount is given in.
+     * @return the amount in the base unit.
+     */
+    public static double toBase(double amount, String unit) {
+        return amount * factorOf(idOf(unit));
+    }
+
+    /**
+     * Converts an amount between two units.
+     *
+     * @param amount     the amount.
+     * @param fromUnitID the ID of the unit the amount is given in.
+     * @param toUnitID   the ID of the unit to convert to.
+     * @return the converted amount.
+     * @throws IllegalArgumentException if the units do not share a base unit.
+     */
+    public static double convert(double amount, int fromUnitID, int toUnitID) {
+        if (!areCompatible(fromUnitID, toUnitID)) {
+            throw new IllegalArgumentException("Cannot convert " + nameOf(fromUnitID) + " to " + nameOf(toUnitID) + ".");
+        }
+        return amount * factorOf(fromUnitID) / factorOf(toUnitID);
+    }
+
+    /**
+     * Checks whether amounts in two units can be converted to each other.
+     *
+     * @param unitID      the ID of the first unit.
+     * @param otherUnitID the ID of the second unit.
+     * @return true if the units share a base unit; false otherwise.
+     */
+    public static boolean areCompatible(int unitID, int otherUnitID) {
+        return baseOf(unitID) == baseOf(otherUnitID);
+    }
+
+    private static synchronized int define(String unit, int base, double factor) {
+        String key = keyOf(unit);
+        Integer existing = idsByKey.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        int id = count;
+        if (id == names.length) {
+            names = Arrays.copyOf(names, id * 2);
+            bases = Arrays.copyOf(bases, id * 2);
+            factors = Arrays.copyOf(factors, id * 2);
+        }
+        names[id] = key;
+        bases[id] = base < 0 ? id : base;
+        factors[id] = factor;
+        count = id + 1;
+        idsByKey.put(key, id);
+        return id;
+    }
+
+    private static void checkID(int unitID) {
+        if (unitID < 0 || unitID >= count) {
+            throw new IllegalArgumentException("Invalid unit ID: " + unitID);
+        }
+    }
+
+    private static String keyOf(String unit) {
+        return unit.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,105 @@
+package edu.ntnu.idi.idatt.output;
+
+import java.io.PrintStream;
+import java.util.function.Supplier;
+
+/**
+ * An {@link OutputSink} that collects text in a buffer and writes it to a stream in one call.
+ * The buffer is written when the sink is flushed, when it grows past its capacity, and, depending on
+ * the {@link FlushPolicy}, at the end of every line.
+ *
+ * <p>A sink belongs to one user session and is not safe to share between threads.
+ */
+public class BufferedOutputSink implements OutputSink {
+    /** The buffer size at which text is written even without a flush: 64 KiB characters. */
+    public static final int DEFAULT_CAPACITY = 64 * 1024;
+
+    /**
+     * When buffered text is written to the stream, besides when the buffer is full.
+     */
+    public enum FlushPolicy {
+        /** Only when {@link #flush()} is called; suited to interactive screens that flush before reading input. */
+        EXPLICIT,
+        /** Also at the end of every line, as an auto-flushing {@code System.out} does. */
+        EVERY_LINE
+    }
+
+    private final Supplier<? extends PrintStream> target;
+    private final FlushPolicy policy;
+    private final int capacity;
+    private final StringBuilder buffer;
+
+    /**
+     * Constructs a BufferedOutputSink that writes to a fixed stream when flushed explicitly.
+     *
+     * @param target the stream to write to.
+     */
+    public BufferedOutputSink(PrintStream target) {
+        this(() -> target, FlushPolicy.EXPLICIT, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a BufferedOutputSink.
+     *
+     * @param target   supplies the stream to write to; asked on every write, so it may follow {@code System.out}.
+     * @param policy   when buffered text is written.
+     * @param capacity the number of buffered characters at which text is written regardless of the policy.
+     * @throws IllegalArgumentException if the capacity is not positive.
+     */
+    public BufferedOutputSink(Supplier<? extends PrintStream> target, FlushPolicy policy, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+        this.target = target;
+        this.policy = policy;
+        this.capacity = capacity;
+        this.buffer = new StringBuilder(Math.min(capacity, 1024));
+    }
+
+    /**
+     * Buffers text, writing the buffer if it is full.
+     *
+     * @param text the text to write.
+     */
+    @Override
+    public void print(CharSequence text) {
+        buffer.append(text);
+        if (buffer.length() >= capacity) {
+            flush();
+        }
+    }
+
+    /**
+     * Buffers a line separator, writing the buffer if the policy says so or it is full.
+     */
+    @Override
+    public void println() {
+        buffer.append(System.lineSeparator());
+        if (policy == FlushPolicy.EVERY_LINE || buffer.length() >= capacity) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes the buffered text to the stream and flushes the stream.
+     */
+    @Override
+    public void flush() {
+        if (buffer.length() == 0) {
+            return;
+        }
+        PrintStream out = target.get();
+        out.append(buffer);
+        out.flush();
+        buffer.setLength(0);
+    }
+
+    /**
+     * Retrieves the number of characters buffered but not written yet.
+     *
+     * @return the number of buffered characters.
+     */
+    public int getBuffered() {
+        return buffer.length();
+    }
+}
@@ -0,0 +1,63 @@
+package edu.ntnu.idi.idatt.output;
+
+/**
+ * A sink that discards everything, used when model classes are called programmatically.
+ */
+final class NoOutputSink implements OutputSink {
+    static final NoOutputSink INSTANCE = new NoOutputSink();
+
+    private NoOutputSink() {
+    }
+
+    /**
+     * Reports that text written here is not shown, so callers can skip building it.
+     *
+     * @return false.
+     */
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    /**
+     * Discards the text.
+     *
+     * @param text the text.
+     */
+    @Override
+    public void print(CharSequence text) {
+    }
+
+    /**
+     * Discards the line.
+     *
+     * @param text the text.
+     */
+    @Override
+    public void println(CharSequence text) {
+    }
+
+    /**
+     * Discards the line separator.
+     */
+    @Override
+    public void println() {
+    }
+
+    /**
+     * Discards the text without formatting it.
+     *
+     * @param format the format string.
+     * @param args   the arguments.
+     */
+    @Override
+    public void printf(String format, Object... args) {
+    }
+
+    /**
+     * Does nothing.
+     */
+    @Override
+    public void flush() {
+    }
+}
@@ -0,0 +1,80 @@
+package edu.ntnu.idi.idatt.output;
+
+/**
+ * A destination for the text the application shows the user.
+ *
+ * <p>Model classes print nothing unless a sink is assigned to them, and the console interface shares one
+ * buffered sink between everything it drives, so a screen is written with one call when input is next
+ * needed rather than with one synchronized, flushed write per line.
+ * Callers that build messages only to print them should check {@link #isEnabled()} first.
+ */
+public interface OutputSink {
+
+    /**
+     * Retrieves the sink that discards everything.
+     *
+     * @return the shared no-op sink.
+     */
+    static OutputSink none() {
+        return NoOutputSink.INSTANCE;
+    }
+
+    /**
+     * Creates a buffered sink for the console. Text is written to whatever {@code System.out} is when
+     * the sink is flushed, and only when it is flushed or its buffer is full.
+     *
+     * @return a new console sink.
+     */
+    static OutputSink console() {
+        return new BufferedOutputSink(() -> System.out, BufferedOutputSink.FlushPolicy.EXPLICIT,
+                BufferedOutputSink.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Checks whether text written to this sink is shown anywhere.
+     *
+     * @return false if the sink discards everything; true otherwise.
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Writes text.
+     *
+     * @param text the text to write.
+     */
+    void print(CharSequence text);
+
+    /**
+     * Writes text followed by a line separator.
+     *
+     * @param text the text to write.
+     */
+    default void println(CharSequence text) {
+        print(text);
+        println();
+    }
+
+    /**
+     * Writes a line separator.
+     */
+    default void println() {
+        print(System.lineSeparator());
+    }
+
+    /**
+     * Writes formatted text, as {@link String#format(String, Object...)} does.
+     *
+     * @param format the format string.
+     * @param args   the arguments referenced by the format string.
+     */
+    default void printf(String format, Object... args) {
+        print(String.format(format, args));
+    }
+
+    /**
+     * Writes everything buffered so far, for example before waiting for input.
+     */
+    void flush();
+}
@@ -0,0 +1,129 @@
+package edu.ntnu.idi.idatt.planning;
+
+import edu.ntnu.idi.idatt.model.Recipe;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The result of planning meals over a number of days: which recipes to make on which day,
+ * and how much of the stock that would otherwise expire the plan uses up.
+ */
+public class MealPlan {
+    private final List<PlannedMeal> meals;
+    private final double savedValue;
+    private final double atRiskValue;
+    private final long iterations;
+
+    /**
+     * Constructs a new MealPlan.
+     *
+     * @param meals       the planned meals in day order.
+     * @param savedValue  the value of expiring stock the plan consumes.
+     * @param atRiskValue the value of all stock that expires within the planning horizon.
+     * @param iterations  the number of plans the planner evaluated.
+     */
+    public MealPlan(List<PlannedMeal> meals, double savedValue, double atRiskValue, long iterations) {
+        this.meals = new ArrayList<>(meals);
+        this.savedValue = savedValue;
+        this.atRiskValue = atRiskValue;
+        this.iterations = iterations;
+    }
+
+    /**
+     * Retrieves the planned meals in day order.
+     *
+     * @return a list of planned meals.
+     */
+    public List<PlannedMeal> getMeals() {
+        return meals;
+    }
+
+    /**
+     * Retrieves the value of stock that expires within the horizon and is consumed by the plan.
+     *
+     * @return the saved value in kr.
+     */
+    public double getSavedValue() {
+        return savedValue;
+    }
+
+    /**
+     * Retrieves the value of all stock that expires within the horizon.
+     *
+     * @return the value at risk in kr.
+     */
+    public double getAtRiskValue() {
+        return atRiskValue;
+    }
+
+    /**
+     * Retrieves the value of expiring stock the plan does not use.
+     *
+     * @return the wasted value in kr.
+     */
+    public double getWastedValue() {
+        return atRiskValue - savedValue;
+    }
+
+    /**
+     * Retrieves the number of plans the planner evaluated before returning this one.
+     *
+     * @return the number of evaluated plans.
+     */
+    public long getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Returns a string representation of the plan, one meal per line.
+     *
+     * @return a string representation of the plan.
+     */
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder();
+        for (PlannedMeal meal : meals) {
+            result.append(meal.getDate()).append(": ").append(meal.getRecipe().getRecipeName()).append('\n');
+        }
+        result.append("Saved value: ").append(savedValue).append(" kr of ").append(atRiskValue).append(" kr\n");
+        return result.toString();
+    }
+
+    /**
+     * A recipe planned for a given day.
+     */
+    public static class PlannedMeal {
+        private final LocalDate date;
+        private final Recipe recipe;
+
+        /**
+         * Constructs a new PlannedMeal.
+         *
+         * @param date   the day the recipe is made.
+         * @param recipe the recipe to make.
+         */
+        public PlannedMeal(LocalDate date, Recipe recipe) {
+            this.date = date;
+            this.recipe = recipe;
+        }
+
+        /**
+         * Retrieves the day the recipe is made.
+         *
+         * @return the date of the meal.
+         */
+        public LocalDate getDate() {
+            return date;
+        }
+
+        /**
+         * Retrieves the recipe to make.
+         *
+         * @return the recipe.
+         */
+        public Recipe getRecipe() {
+            return recipe;
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package edu.ntnu.idi.idatt.planning;
+
+import edu.ntnu.idi.idatt.model.Cookbook;
+import edu.ntnu.idi.idatt.model.Ingredient;
+import edu.ntnu.idi.idatt.model.IngredientCatalog;
+import edu.ntnu.idi.idatt.model.Recipe;
+import edu.ntnu.idi.idatt.model.RecipeRequirement;
+import edu.ntnu.idi.idatt.model.Storage;
+import edu.ntnu.idi.idatt.model.Units;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Plans which recipes to make over a number of days so that as much as possible of the stock
+ * that would expire within that period is used up.
+ *
+ * <p>The planner starts with a greedy plan that fills each meal slot, day by day, with the recipe
+ * that consumes the most expiring value. It then improves the plan by local search, replacing the
+ * recipe in a random slot and keeping the change unless the plan gets worse, until the time budget runs out.
+ * The best plan found so far is always returned, so a small budget still gives a usable plan.
+ *
+ * <p>Stock is allocated earliest-expiry first, an entry is never used after its expiration date,
+ * no amount is allocated to more than one meal, and stock held by a reservation is not allocated at all.
+ * Amounts are compared in {@link Units} base units, so a recipe needing 20 g of butter can draw on a 0.2 kg entry,
+ * while an entry in pcs cannot cover an amount in kg.
+ */
+public class MealPlanner {
+    private static final double EPSILON = 1e-9;
+    private static final long NO_EXPIRY = Long.MAX_VALUE;
+
+    private final Recipe[] recipes;
+    private final int[] recipeStart;
+    private final int[] requirementIngredient;
+    private final int[] requirementBaseUnit;
+    private final double[] requirementAmount;
+
+    private final int[] lotStart;
+    private final int[] lotBaseUnit;
+    private final double[] lotAmount;
+    private final long[] lotExpiry;
+    private final double[] lotUnitValue;
+
+    private long seed;
+
+    /**
+     * Constructs a MealPlanner for the current contents of a storage and cookbook.
+     * Later changes to the storage or cookbook are not seen by the planner.
+     *
+     * @param storage  the storage holding the stock to plan for.
+     * @param cookbook the cookbook to choose recipes from.
+     */
+    public MealPlanner(Storage storage, Cookbook cookbook) {
+        this.seed = 42;
+
+        recipes = cookbook.getCookbook().values().stream()
+                .sorted(Comparator.comparingInt(Recipe::getRecipeID))
+                .toArray(Recipe[]::new);
+        recipeStart = new int[recipes.length + 1];
+        for (int r = 0; r < recipes.length; r++) {
+            recipeStart[r + 1] = recipeStart[r] + recipes[r].getRecipe().size();
+        }
+        requirementIngredient = new int[recipeStart[recipes.length]];
+        requirementBaseUnit = new int[requirementIngredient.length];
+        requirementAmount = new double[requirementIngredient.length];
+        for (int r = 0; r < recipes.length; r++) {
+            List<RecipeRequirement> lines = recipes[r].getRecipe();
+            for (int i = 0; i < lines.size(); i++) {
+                RecipeRequirement line = lines.get(i);
+                requirementIngredient[recipeStart[r] + i] = line.getIngredientID();
+                requirementBaseUnit[recipeStart[r] + i] = Units.baseOf(line.getUnitID());
+                requirementAmount[recipeStart[r] + i] = line.getBaseAmount();
+            }
+        }
+
+        List<Ingredient> stock = storage.getIngredients();
+        int[] stockIngredient = new int[stock.size()];
+        for (int l = 0; l < stockIngredient.length; l++) {
+            stockIngredient[l] = stock.get(l).getIngredientID();
+        }
+        long[] stockExpiry = new long[stock.size()];
+        for (int l = 0; l < stockExpiry.length; l++) {
+            LocalDate expireDate = stock.get(l).getExpireDate();
+            stockExpiry[l] = expireDate == null ? NO_EXPIRY : expireDate.toEpochDay();
+        }
+
+        // Group stock entries by ingredient, earliest expiry first, so allocation is a forward walk.
+        lotStart = new int[IngredientCatalog.size() + 1];
+        for (int ingredient : stockIngredient) {
+            lotStart[ingredient + 1]++;
+        }
+        for (int i = 0; i + 1 < lotStart.length; i++) {
+            lotStart[i + 1] += lotStart[i];
+        }
+        long earliest = Arrays.stream(stockExpiry).min().orElse(0);
+        long[] keys = new long[stock.size()];
+        int[] next = Arrays.copyOf(lotStart, lotStart.length);
+        for (int l = 0; l < keys.length; l++) {
+            long daysAfterEarliest = Math.min(stockExpiry[l] - earliest, Integer.MAX_VALUE);
+            keys[next[stockIngredient[l]]++] = (daysAfterEarliest << 32) | l;
+        }
+        lotBaseUnit = new int[keys.length];
+        lotAmount = new double[keys.length];
+        lotExpiry = new long[keys.length];
+        lotUnitValue = new double[keys.length];
+        for (int ingredient = 0; ingredient + 1 < lotStart.length; ingredient++) {
+            Arrays.sort(keys, lotStart[ingredient], lotStart[ingredient + 1]);
+        }
+        for (int l = 0; l < keys.length; l++) {
+            int original = (int) keys[l];
+            Ingredient lot = stock.get(original);
+            double baseAmount = lot.getIngredientAmount() * Units.factorOf(lot.getUnitID());
+            lotBaseUnit[l] = Units.baseOf(lot.getUnitID());
+            lotAmount[l] = Math.max(0, baseAmount);
+            lotExpiry[l] = stockExpiry[original];
+            lotUnitValue[l] = baseAmount > 0 ? lot.getIngredientPrice() / baseAmount : 0;
+        }
+
+        // Reserved stock is taken from the entries that expire first when the reservation is cooked,
+        // so it is left out of those entries here.
+        HashMap<Integer, Double> reserved = new HashMap<>();
+        for (int ingredient = 0; ingredient + 1 < lotStart.length; ingredient++) {
+            reserved.clear();
+            for (int l = lotStart[ingredient]; l < lotStart[ingredient + 1]; l++) {
+                Double held = reserved.get(lotBaseUnit[l]);
+                if (held == null) {
+                    held = storage.getReservedAmount(ingredient, lotBaseUnit[l]);
+                }
+                double taken = Math.min(held, lotAmount[l]);
+                lotAmount[l] -= taken;
+                reserved.put(lotBaseUnit[l], held - taken);
+            }
+        }
+    }
+
+    /**
+     * Sets the seed of the random choices made during local search, so plans can be reproduced.
+     *
+     * @param seed the random seed.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Plans meals for a number of days.
+     *
+     * @param startDate   the first day of the plan.
+     * @param days        the number of days to plan.
+     * @param mealsPerDay the number of recipes that can be made each day.
+     * @param timeBudget  how long the planner may spend improving the plan.
+     * @return the best plan found within the time budget.
+     * @throws IllegalArgumentException if an argument is null or not positive.
+     */
+    public MealPlan plan(LocalDate startDate, int days, int mealsPerDay, Duration timeBudget) {
+        if (startDate == null || timeBudget == null) {
+            throw new IllegalArgumentException("Start date and time budget cannot be null.");
+        }
+        if (days < 1 || mealsPerDay < 1) {
+            throw new IllegalArgumentException("Days and meals per day must be at least 1.");
+        }
+        long deadline = System.nanoTime() + timeBudget.toNanos();
+        Horizon horizon = new Horizon(startDate.toEpochDay(), days, mealsPerDay);
+
+        int[] plan = new int[days * mealsPerDay];
+        Arrays.fill(plan, -1);
+        long iterations = greedy(horizon, plan, deadline);
+        double bestValue = simulate(horizon, plan, null);
+
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] candidates = horizon.candidates;
+        while (candidates.length > 0 && System.nanoTime() < deadline) {
+            for (int step = 0; step < 64; step++) {
+                int slot = random.nextInt(plan.length);
+                int candidate = random.nextInt(candidates.length + 1) - 1;
+                int replacement = candidate < 0 ? -1 : candidates[candidate];
+                int previous = plan[slot];
+                if (replacement == previous) {
+                    continue;
+                }
+                plan[slot] = replacement;
+                double value = simulate(horizon, plan, null);
+                iterations++;
+                // Equal-value moves are kept so the search can cross plateaus, e.g. by queueing
+                // a meal that only becomes possible once an earlier slot changes.
+                if (value >= bestValue - EPSILON) {
+                    bestValue = Math.max(bestValue, value);
+                } else {
+                    plan[slot] = previous;
+                }
+            }
+        }
+
+        List<MealPlan.PlannedMeal> meals = new ArrayList<>();
+        double savedValue = simulate(horizon, plan, meals);
+        return new MealPlan(meals, savedValue, horizon.atRiskValue, iterations);
+    }
+
+    /**
+     * Fills the plan slot by slot with the recipe that saves the most expiring value,
+     * stopping early if the deadline passes.
+     *
+     * @return the number of recipe evaluations performed.
+     */
+    private long greedy(Horizon horizon, int[] plan, long deadline) {
+        double[] remaining = lotAmount.clone();
+        long evaluations = 0;
+        for (int slot = 0; slot < plan.length && System.nanoTime() < deadline; slot++) {
+            int day = slot / horizon.mealsPerDay;
+            int best = -1;
+            double bestGain = EPSILON;
+            for (int recipe : horizon.candidates) {
+                double gain = allocate(horizon, recipe, day, remaining, false);
+                evaluations++;
+                if (gain > bestGain) {
+                    best = recipe;
+                    bestGain = gain;
+                }
+            }
+            if (best < 0) {
+                break;
+            }
+            allocate(horizon, best, day, remaining, true);
+            plan[slot] = best;
+        }
+        return evaluations;
+    }
+
+    /**
+     * Replays a plan from the initial stock and returns the expiring value it consumes.
+     * Meals that cannot be made because earlier meals used up their ingredients are skipped.
+     *
+     * @param meals if not null, receives the meals that can be made.
+     */
+    private double simulate(Horizon horizon, int[] plan, List<MealPlan.PlannedMeal> meals) {
+        double[] remaining = horizon.scratch;
+        System.arraycopy(lotAmount, 0, remaining, 0, remaining.length);
+        double total = 0;
+        for (int slot = 0; slot < plan.length; slot++) {
+            if (plan[slot] < 0) {
+                continue;
+            }
+            int day = slot / horizon.mealsPerDay;
+            if (allocate(horizon, plan[slot], day, remaining, false) < 0) {
+                continue;
+            }
+            total += allocate(horizon, plan[slot], day, remaining, true);
+            if (meals != null) {
+                meals.add(new MealPlan.PlannedMeal(LocalDate.ofEpochDay(horizon.startDay + day), recipes[plan[slot]]));
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Allocates the ingredients of a recipe on a given day, earliest-expiry first.
+     *
+     * @param commit whether to deduct the allocated amounts from {@code remaining}.
+     * @return the expiring value consumed, or -1 if the recipe cannot be made that day.
+     */
+    private double allocate(Horizon horizon, int recipe, int day, double[] remaining, boolean commit) {
+        long today = horizon.startDay + day;
+        double gain = 0;
+        for (int q = recipeStart[recipe]; q < recipeStart[recipe + 1]; q++) {
+            int ingredient = requirementIngredient[q];
+            int baseUnit = requirementBaseUnit[q];
+            double needed = requirementAmount[q];
+            int end = ingredient + 1 < lotStart.length ? lotStart[ingredient + 1] : 0;
+            for (int l = ingredient + 1 < lotStart.length ? lotStart[ingredient] : 0; l < end && needed > EPSILON; l++) {
+                if (lotBaseUnit[l] != baseUnit || lotExpiry[l] < today || remaining[l] <= 0) {
+                    continue;
+                }
+                double taken = Math.min(needed, remaining[l]);
+                needed -= taken;
+                gain += taken * horizon.lotWeight[l];
+                if (commit) {
+                    remaining[l] -= taken;
+                }
+            }
+            if (needed > EPSILON) {
+                return -1;
+            }
+        }
+        return gain;
+    }
+
+    /**
+     * The parts of a planning run that depend on the start date and number of days.
+     */
+    private final class Horizon {
+        private final long startDay;
+        private final int mealsPerDay;
+        private final double[] lotWeight;
+        private final double atRiskValue;
+        private final int[] candidates;
+        private final double[] scratch;
+
+        private Horizon(long startDay, int days, int mealsPerDay) {
+            this.startDay = startDay;
+            this.mealsPerDay = mealsPerDay;
+            this.scratch = new double[lotAmount.length];
+
+            // Only stock that is still usable but expires within the horizon counts as saved when consumed.
+            lotWeight = new double[lotAmount.length];
+            boolean[] ingredientAtRisk = new boolean[lotStart.length];
+            double value = 0;
+            for (int ingredient = 0; ingredient + 1 < lotStart.length; ingredient++) {
+                for (int l = lotStart[ingredient]; l < lotStart[ingredient + 1]; l++) {
+                    if (lotExpiry[l] >= startDay && lotExpiry[l] < startDay + days) {
+                        lotWeight[l] = lotUnitValue[l];
+                        value += lotAmount[l] * lotUnitValue[l];
+                        ingredientAtRisk[ingredient] = true;
+                    }
+                }
+            }
+            atRiskValue = value;
+
+            candidates = IntStream.range(0, recipes.length)
+                    .filter(recipe -> IntStream.range(recipeStart[recipe], recipeStart[recipe + 1])
+                            .anyMatch(q -> requirementIngredient[q] < ingredientAtRisk.length
+                                    && ingredientAtRisk[requirementIngredient[q]]))
+                    .toArray();
+        }
+    }
+}
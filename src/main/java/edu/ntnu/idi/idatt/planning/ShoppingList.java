@@ -0,0 +1,291 @@
+package edu.ntnu.idi.idatt.planning;
+
+import edu.ntnu.idi.idatt.model.Cookbook;
+import edu.ntnu.idi.idatt.model.Ingredient;
+import edu.ntnu.idi.idatt.model.IngredientCatalog;
+import edu.ntnu.idi.idatt.model.Recipe;
+import edu.ntnu.idi.idatt.model.RequirementVisitor;
+import edu.ntnu.idi.idatt.model.Storage;
+import edu.ntnu.idi.idatt.model.Units;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * A consolidated list of what has to be bought to make a selection of recipes.
+ * Requirements are summed per ingredient across all selected recipes in a common base unit,
+ * the stock already in storage that is not held by a reservation is subtracted, and the remainder is priced.
+ */
+public class ShoppingList {
+    private static final double EPSILON = 1e-9;
+
+    private final List<Item> items;
+    private final double totalCost;
+
+    private ShoppingList(List<Item> items) {
+        this.items = items;
+        this.totalCost = items.stream().mapToDouble(Item::getEstimatedCost).sum();
+    }
+
+    /**
+     * Generates a shopping list for a selection of recipes.
+     * A recipe ID can be listed several times to make the recipe several times.
+     * The cost of an item is estimated from the price per unit of the matching stock in storage,
+     * or from the recipe prices if the storage holds none.
+     *
+     * @param recipeIDs the IDs of the selected recipes, as used in {@link Cookbook#getCookbook()}.
+     * @param cookbook  the cookbook containing the recipes.
+     * @param storage   the storage holding the current stock.
+     * @return the shopping list.
+     * @throws IllegalArgumentException if a recipe ID is not in the cookbook.
+     */
+    public static ShoppingList generate(int[] recipeIDs, Cookbook cookbook, Storage storage) {
+        Accumulator accumulator = new Accumulator();
+
+        // Each distinct recipe is visited once and its lines are weighted by how often it was selected.
+        int[] sorted = recipeIDs.clone();
+        Arrays.sort(sorted);
+        for (int start = 0; start < sorted.length; ) {
+            int end = start;
+            while (end < sorted.length && sorted[end] == sorted[start]) {
+                end++;
+            }
+            Recipe recipe = cookbook.getCookbook().get(sorted[start]);
+            if (recipe == null) {
+                throw new IllegalArgumentException("Recipe not found: " + sorted[start]);
+            }
+            accumulator.multiplier = end - start;
+            recipe.forEachRequirement(accumulator);
+            start = end;
+        }
+
+        for (Ingredient ingredient : storage.getIngredients()) {
+            int unitID = ingredient.getUnitID();
+            if (unitID < 0) {
+                continue;
+            }
+            Line line = accumulator.find(ingredient.getIngredientID(), Units.baseOf(unitID));
+            if (line != null) {
+                double amount = ingredient.getIngredientAmount() * Units.factorOf(unitID);
+                line.available += amount;
+                line.stockAmount += amount;
+                line.stockPrice += ingredient.getIngredientPrice();
+            }
+        }
+        // Stock held by reservations is already promised to other recipes, so it still has to be bought.
+        for (Line line : accumulator.lines) {
+            line.available = Math.max(0, line.available - storage.getReservedAmount(line.ingredientID, line.baseUnitID));
+        }
+        return new ShoppingList(accumulator.toItems());
+    }
+
+    /**
+     * Retrieves the items that have to be bought, ordered by ingredient name.
+     *
+     * @return a list of shopping list items.
+     */
+    public List<Item> getItems() {
+        return items;
+    }
+
+    /**
+     * Retrieves the estimated cost of buying every item on the list.
+     *
+     * @return the total cost in kr.
+     */
+    public double getTotalCost() {
+        return totalCost;
+    }
+
+    /**
+     * Returns a string representation of the shopping list, one item per line.
+     *
+     * @return a string representation of the shopping list.
+     */
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder();
+        for (Item item : items) {
+            result.append("- ").append(item.getIngredientName())
+                    .append(": ").append(item.getAmountToBuy())
+                    .append(' ').append(item.getMeasurement())
+                    .append(" (").append(item.getEstimatedCost()).append(" kr)\n");
+        }
+        result.append("Total: ").append(totalCost).append(" kr\n");
+        return result.toString();
+    }
+
+    /**
+     * One ingredient to buy, in its base unit.
+     */
+    public static class Item {
+        private final String ingredientName;
+        private final String measurement;
+        private final double requiredAmount;
+        private final double availableAmount;
+        private final double estimatedCost;
+
+        /**
+         * Constructs a new Item.
+         *
+         * @param ingredientName  the name of the ingredient.
+         * @param measurement     the base unit of the amounts.
+         * @param requiredAmount  the amount the selected recipes need in total.
+         * @param availableAmount the amount already in storage.
+         * @param estimatedCost   the estimated cost of buying the missing amount.
+         */
+        public Item(String ingredientName, String measurement, double requiredAmount, double availableAmount, double estimatedCost) {
+            this.ingredientName = ingredientName;
+            this.measurement = measurement;
+            this.requiredAmount = requiredAmount;
+            this.availableAmount = availableAmount;
+            this.estimatedCost = estimatedCost;
+        }
+
+        /**
+         * Retrieves the name of the ingredient.
+         *
+         * @return the ingredient name.
+         */
+        public String getIngredientName() {
+            return ingredientName;
+        }
+
+        /**
+         * Retrieves the base unit the amounts are given in.
+         *
+         * @return the unit name.
+         */
+        public String getMeasurement() {
+            return measurement;
+        }
+
+        /**
+         * Retrieves the amount the selected recipes need in total.
+         *
+         * @return the required amount.
+         */
+        public double getRequiredAmount() {
+            return requiredAmount;
+        }
+
+        /**
+         * Retrieves the amount already in storage.
+         *
+         * @return the available amount.
+         */
+        public double getAvailableAmount() {
+            return availableAmount;
+        }
+
+        /**
+         * Retrieves the amount that has to be bought.
+         *
+         * @return the required amount minus the available amount.
+         */
+        public double getAmountToBuy() {
+            return requiredAmount - availableAmount;
+        }
+
+        /**
+         * Retrieves the estimated cost of buying the missing amount.
+         *
+         * @return the estimated cost in kr.
+         */
+        public double getEstimatedCost() {
+            return estimatedCost;
+        }
+    }
+
+    /**
+     * Running totals for one ingredient in one base unit.
+     */
+    private static final class Line {
+        private final int ingredientID;
+        private final int baseUnitID;
+        private final String ingredientName;
+        private double required;
+        private double recipeAmount;
+        private double recipePrice;
+        private double available;
+        private double stockAmount;
+        private double stockPrice;
+
+        private Line(int ingredientID, int baseUnitID, String ingredientName) {
+            this.ingredientID = ingredientID;
+            this.baseUnitID = baseUnitID;
+            this.ingredientName = ingredientName;
+        }
+    }
+
+    /**
+     * Sums recipe lines into one {@link Line} per ingredient and base unit. Lines are found by
+     * array index on the ingredient ID; only an ingredient used with a second, incompatible unit
+     * falls back to a hash map. A line is named with the ingredient's {@link IngredientCatalog} spelling.
+     */
+    private static final class Accumulator implements RequirementVisitor {
+        private Line[] byIngredient = new Line[Math.max(16, IngredientCatalog.size())];
+        private final HashMap<Long, Line> otherUnits = new HashMap<>();
+        private final ArrayList<Line> lines = new ArrayList<>();
+        private int multiplier;
+
+        @Override
+        public void visit(int ingredientID, double amount, int unitID, double price) {
+            Line line = findOrCreate(ingredientID, Units.baseOf(unitID));
+            line.required += multiplier * amount * Units.factorOf(unitID);
+            line.recipeAmount += multiplier * amount * Units.factorOf(unitID);
+            line.recipePrice += multiplier * price;
+        }
+
+        private Line find(int ingredientID, int baseUnitID) {
+            if (ingredientID < 0 || ingredientID >= byIngredient.length || byIngredient[ingredientID] == null) {
+                return null;
+            }
+            Line line = byIngredient[ingredientID];
+            return line.baseUnitID == baseUnitID ? line : otherUnits.get(keyOf(ingredientID, baseUnitID));
+        }
+
+        private Line findOrCreate(int ingredientID, int baseUnitID) {
+            if (ingredientID >= byIngredient.length) {
+                byIngredient = Arrays.copyOf(byIngredient, Math.max(ingredientID + 1, byIngredient.length * 2));
+            }
+            Line line = byIngredient[ingredientID];
+            if (line == null) {
+                line = new Line(ingredientID, baseUnitID, IngredientCatalog.nameOf(ingredientID));
+                byIngredient[ingredientID] = line;
+                lines.add(line);
+            } else if (line.baseUnitID != baseUnitID) {
+                line = otherUnits.computeIfAbsent(keyOf(ingredientID, baseUnitID), key -> {
+                    Line other = new Line(ingredientID, baseUnitID, IngredientCatalog.nameOf(ingredientID));
+                    lines.add(other);
+                    return other;
+                });
+            }
+            return line;
+        }
+
+        private List<Item> toItems() {
+            List<Item> items = new ArrayList<>();
+            for (Line line : lines) {
+                double missing = line.required - line.available;
+                if (missing <= EPSILON) {
+                    continue;
+                }
+                double unitPrice = line.stockAmount > 0
+                        ? line.stockPrice / line.stockAmount
+                        : line.recipeAmount > 0 ? line.recipePrice / line.recipeAmount : 0;
+                items.add(new Item(line.ingredientName, Units.nameOf(line.baseUnitID),
+                        line.required, line.available, missing * unitPrice));
+            }
+            items.sort(Comparator.comparing(Item::getIngredientName, String.CASE_INSENSITIVE_ORDER)
+                    .thenComparing(Item::getMeasurement));
+            return items;
+        }
+
+        private static long keyOf(int ingredientID, int baseUnitID) {
+            return ((long) ingredientID << 32) | baseUnitID;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package edu.ntnu.idi.idatt.replay;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A growable list of latencies in nanoseconds. Each simulated user records into its own logs, and
+ * they are merged once the run is over, so recording never contends.
+ */
+class LatencyLog {
+    private long[] nanos = new long[64];
+    private int size;
+
+    /**
+     * Adds a latency.
+     *
+     * @param latencyNanos the latency in nanoseconds.
+     */
+    void add(long latencyNanos) {
+        if (size == nanos.length) {
+            nanos = Arrays.copyOf(nanos, size * 2);
+        }
+        nanos[size++] = latencyNanos;
+    }
+
+    /**
+     * Adds every latency of another log.
+     *
+     * @param other the log to add.
+     */
+    void addAll(LatencyLog other) {
+        if (size + other.size > nanos.length) {
+            nanos = Arrays.copyOf(nanos, Math.max(size + other.size, size * 2));
+        }
+        System.arraycopy(other.nanos, 0, nanos, size, other.size);
+        size += other.size;
+    }
+
+    /**
+     * Copies the latencies into a sorted array.
+     *
+     * @return the sorted latencies.
+     */
+    long[] toSortedArray() {
+        long[] sorted = Arrays.copyOf(nanos, size);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    /**
+     * Latency logs by action name, owned by one thread until merged.
+     */
+    static class Table {
+        private final Map<String, LatencyLog> logs = new HashMap<>();
+
+        /**
+         * Records a latency for an action.
+         *
+         * @param action       the name of the action.
+         * @param latencyNanos the latency in nanoseconds.
+         */
+        void record(String action, long latencyNanos) {
+            logs.computeIfAbsent(action, key -> new LatencyLog()).add(latencyNanos);
+        }
+
+        /**
+         * Adds every latency of another table.
+         *
+         * @param other the table to add.
+         */
+        void addAll(Table other) {
+            other.logs.forEach((action, log) -> logs.computeIfAbsent(action, key -> new LatencyLog()).addAll(log));
+        }
+
+        /**
+         * Retrieves the logs by action name.
+         *
+         * @return the logs.
+         */
+        Map<String, LatencyLog> getLogs() {
+            return logs;
+        }
+    }
+}
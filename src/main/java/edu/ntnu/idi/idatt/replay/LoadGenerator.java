@@ -0,0 +1,129 @@
+package edu.ntnu.idi.idatt.replay;
+
+import edu.ntnu.idi.idatt.foodhandling.ClientCookbook;
+import edu.ntnu.idi.idatt.foodhandling.ClientStorage;
+import edu.ntnu.idi.idatt.inputvalidator.InputValidator;
+import edu.ntnu.idi.idatt.model.Storage;
+import edu.ntnu.idi.idatt.output.OutputSink;
+import edu.ntnu.idi.idatt.ui.UserInterface;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Scanner;
+
+/**
+ * Replays recorded sessions against the console {@link UserInterface} with many concurrent simulated users.
+ *
+ * <p>Each user runs on its own thread with its own predefined storage and cookbook, its own input replayed
+ * from a session and its own console output. Users are assigned sessions round-robin and replay them a number
+ * of times, each time against freshly initialized data, so a run is reproducible. Each user's interface
+ * writes straight to its own {@link OutputSink}, so users never contend on {@code System.out} and their
+ * output is never encoded into bytes only to be discarded.
+ */
+public class LoadGenerator {
+    private final List<Session> sessions;
+    private final int users;
+    private final double speed;
+    private final int repetitions;
+
+    /**
+     * Constructs a LoadGenerator.
+     *
+     * @param sessions    the sessions to replay.
+     * @param users       the number of concurrent simulated users.
+     * @param speed       how many times faster than recorded to replay, or 0 to replay without pauses.
+     * @param repetitions how many times each user replays its session.
+     * @throws IllegalArgumentException if there are no sessions, or a count or the speed is out of range.
+     */
+    public LoadGenerator(List<Session> sessions, int users, double speed, int repetitions) {
+        if (sessions.isEmpty()) {
+            throw new IllegalArgumentException("At least one session is required.");
+        }
+        if (users < 1 || repetitions < 1) {
+            throw new IllegalArgumentException("Users and repetitions must be at least 1.");
+        }
+        if (!(speed >= 0) || Double.isInfinite(speed)) {
+            throw new IllegalArgumentException("Speed must be 0 or a positive number.");
+        }
+        this.sessions = List.copyOf(sessions);
+        this.users = users;
+        this.speed = speed;
+        this.repetitions = repetitions;
+    }
+
+    /**
+     * Runs every simulated user to completion and reports the latencies of their menu actions.
+     *
+     * @return the report.
+     * @throws InterruptedException if the calling thread is interrupted while waiting for the users.
+     */
+    public LoadReport run() throws InterruptedException {
+        SimulatedUser[] simulated = new SimulatedUser[users];
+        Thread[] threads = new Thread[users];
+        long start = System.nanoTime();
+        for (int i = 0; i < users; i++) {
+            simulated[i] = new SimulatedUser(sessions.get(i % sessions.size()));
+            threads[i] = new Thread(simulated[i], "load-user-" + i);
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long wallNanos = System.nanoTime() - start;
+
+        LatencyLog.Table latencies = new LatencyLog.Table();
+        long outputBytes = 0;
+        List<String> errors = new ArrayList<>();
+        for (SimulatedUser user : simulated) {
+            latencies.addAll(user.latencies);
+            outputBytes += user.output.getBytes();
+            if (user.error != null) {
+                errors.add(user.session.getName() + ": " + user.error);
+            }
+        }
+        return new LoadReport(latencies, wallNanos, users, outputBytes, errors);
+    }
+
+    /**
+     * One simulated user, replaying its session the configured number of times.
+     */
+    private final class SimulatedUser implements Runnable {
+        private final Session session;
+        private final UserOutput output = new UserOutput();
+        private final LatencyLog.Table latencies = new LatencyLog.Table();
+        private String error;
+
+        private SimulatedUser(Session session) {
+            this.session = session;
+        }
+
+        /**
+         * Replays the session, recording into this user's own latency table and output.
+         */
+        @Override
+        public void run() {
+            try {
+                for (int i = 0; i < repetitions; i++) {
+                    ReplayInput input = new ReplayInput(session, speed, output, latencies);
+                    Scanner scanner = new Scanner(input);
+                    Storage storage = ClientStorage.init();
+                    // Storage asks its own confirmation questions; they are part of the session too.
+                    storage.setScanner(scanner);
+                    UserInterface ui = new UserInterface(new ClientStorage(), new ClientCookbook(),
+                            storage, ClientCookbook.init(), new InputValidator(scanner, output), output);
+                    try {
+                        ui.start();
+                        input.finish();
+                    } catch (NoSuchElementException e) {
+                        if (!input.isExhausted()) {
+                            throw e;
+                        }
+                        // The session ended without exiting the application.
+                    }
+                }
+            } catch (RuntimeException e) {
+                error = e.toString();
+            }
+        }
+    }
+}
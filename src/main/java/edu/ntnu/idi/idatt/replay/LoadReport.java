@@ -0,0 +1,129 @@
+package edu.ntnu.idi.idatt.replay;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The results of a {@link LoadGenerator} run: throughput and latency percentiles per menu action.
+ * Actions are named after their menu and the option chosen, such as {@code storage 3} for adding an ingredient.
+ */
+public class LoadReport {
+    private final Map<String, long[]> latencies = new TreeMap<>();
+    private final long wallNanos;
+    private final int users;
+    private final long outputBytes;
+    private final List<String> errors;
+
+    /**
+     * Constructs a LoadReport.
+     *
+     * @param latencies   the merged latencies of every user.
+     * @param wallNanos   how long the run took.
+     * @param users       the number of simulated users.
+     * @param outputBytes the number of bytes the users' consoles received.
+     * @param errors      the failures of users whose replay ended with an unexpected exception.
+     */
+    LoadReport(LatencyLog.Table latencies, long wallNanos, int users, long outputBytes, List<String> errors) {
+        latencies.getLogs().forEach((action, log) -> this.latencies.put(action, log.toSortedArray()));
+        this.wallNanos = wallNanos;
+        this.users = users;
+        this.outputBytes = outputBytes;
+        this.errors = Collections.unmodifiableList(new ArrayList<>(errors));
+    }
+
+    /**
+     * Retrieves the names of the actions that were performed, in alphabetical order.
+     *
+     * @return the action names.
+     */
+    public List<String> getActions() {
+        return new ArrayList<>(latencies.keySet());
+    }
+
+    /**
+     * Retrieves how many times an action was performed.
+     *
+     * @param action the name of the action.
+     * @return the count, or 0 if the action was not performed.
+     */
+    public int getCount(String action) {
+        long[] sorted = latencies.get(action);
+        return sorted == null ? 0 : sorted.length;
+    }
+
+    /**
+     * Retrieves how many times per second an action was completed, over the whole run.
+     *
+     * @param action the name of the action.
+     * @return the throughput in actions per second.
+     */
+    public double getThroughput(String action) {
+        return getCount(action) * 1e9 / Math.max(1, wallNanos);
+    }
+
+    /**
+     * Retrieves a latency percentile of an action, using the nearest-rank method.
+     *
+     * @param action     the name of the action.
+     * @param percentile the percentile, from 0 to 100; 100 is the maximum.
+     * @return the latency in nanoseconds, or 0 if the action was not performed.
+     * @throws IllegalArgumentException if the percentile is outside 0 to 100.
+     */
+    public long getLatencyNanos(String action, double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100.");
+        }
+        long[] sorted = latencies.get(action);
+        if (sorted == null) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    /**
+     * Retrieves how long the run took.
+     *
+     * @return the wall-clock time in nanoseconds.
+     */
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    /**
+     * Retrieves the failures of users whose replay ended with an unexpected exception.
+     *
+     * @return the failure messages.
+     */
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    /**
+     * Formats the report as a table with one row per action.
+     *
+     * @return the formatted report.
+     */
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format(Locale.ROOT, "%d users, %.2f s, %d bytes of output, %d errors%n",
+                users, wallNanos / 1e9, outputBytes, errors.size()));
+        report.append(String.format(Locale.ROOT, "%-14s %9s %10s %10s %10s %10s %10s%n",
+                "action", "count", "ops/s", "p50 us", "p90 us", "p99 us", "max us"));
+        for (String action : latencies.keySet()) {
+            report.append(String.format(Locale.ROOT, "%-14s %9d %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+                    action, getCount(action), getThroughput(action),
+                    getLatencyNanos(action, 50) / 1e3, getLatencyNanos(action, 90) / 1e3,
+                    getLatencyNanos(action, 99) / 1e3, getLatencyNanos(action, 100) / 1e3));
+        }
+        for (String error : errors) {
+            report.append("error: ").append(error).append(System.lineSeparator());
+        }
+        return report.toString();
+    }
+}
@@ -0,0 +1,153 @@
+package edu.ntnu.idi.idatt.replay;
+
+import edu.ntnu.idi.idatt.inputvalidator.InputParser;
+import edu.ntnu.idi.idatt.ui.UserInterface;
+import java.io.Reader;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Feeds one simulated user's console input from a recorded session, paced by the recorded timestamps,
+ * and measures how long the user interface takes to handle each menu action.
+ *
+ * <p>The interface asks for input exactly when it has finished handling the previous line, so the time from
+ * handing over a line to the next read is the time spent processing it. An action starts with the answer to
+ * a menu prompt and ends at the next menu prompt; its latency is the processing time of all its lines,
+ * excluding the recorded think time between them. Actions are named after the menu and the option chosen.
+ */
+class ReplayInput extends Reader {
+    private final Session session;
+    private final double speed;
+    private final UserOutput output;
+    private final LatencyLog.Table latencies;
+    private final InputParser parser = new InputParser();
+    private final long startNanos = System.nanoTime();
+    private int next;
+    private String pending;
+    private int pendingOffset;
+    private long deliveredNanos = -1;
+    private String action;
+    private long actionNanos;
+
+    /**
+     * Constructs a ReplayInput.
+     *
+     * @param session   the session to replay.
+     * @param speed     how many times faster than recorded to replay, or 0 to replay without pauses.
+     * @param output    the user's console output, used to recognize menu prompts.
+     * @param latencies the table action latencies are recorded in.
+     */
+    ReplayInput(Session session, double speed, UserOutput output, LatencyLog.Table latencies) {
+        this.session = session;
+        this.speed = speed;
+        this.output = output;
+        this.latencies = latencies;
+    }
+
+    /**
+     * Hands over the next input line, first waiting until it is due. A read means the user interface has
+     * finished with the previous line, so this is where action latencies are measured.
+     *
+     * @param buffer the destination.
+     * @param offset the index of the first character to write.
+     * @param length the maximum number of characters to write.
+     * @return the number of characters written, or -1 when the session is over.
+     */
+    @Override
+    public int read(char[] buffer, int offset, int length) {
+        if (pending == null) {
+            stopClock();
+            String menu = menuOf(output.getLastLine());
+            if (menu != null && action != null) {
+                latencies.record(action, actionNanos);
+                action = null;
+            }
+            if (next == session.size()) {
+                return -1;
+            }
+            String line = session.getLine(next);
+            if (menu != null) {
+                // Answers that are not a number are all the same invalid option.
+                action = parser.parseInt(line) == InputParser.OK ? menu + " " + parser.getInt() : menu + " invalid";
+                actionNanos = 0;
+            }
+            awaitOffset(session.getOffsetMillis(next++));
+            pending = line + '\n';
+            pendingOffset = 0;
+            deliveredNanos = System.nanoTime();
+        }
+        int count = Math.min(length, pending.length() - pendingOffset);
+        pending.getChars(pendingOffset, pendingOffset + count, buffer, offset);
+        pendingOffset += count;
+        if (pendingOffset == pending.length()) {
+            pending = null;
+        }
+        return count;
+    }
+
+    /**
+     * Ends the replay; later reads see the end of the input.
+     */
+    @Override
+    public void close() {
+        next = session.size();
+    }
+
+    /**
+     * Checks whether every line of the session has been handed over.
+     *
+     * @return true if the session is over.
+     */
+    boolean isExhausted() {
+        return next == session.size() && pending == null;
+    }
+
+    /**
+     * Records the action in progress after the user interface has exited, since the action that exits
+     * is not followed by another menu prompt.
+     */
+    void finish() {
+        stopClock();
+        if (action != null) {
+            latencies.record(action, actionNanos);
+            action = null;
+        }
+    }
+
+    /**
+     * Adds the time since the last line was handed over to the action in progress.
+     */
+    private void stopClock() {
+        if (deliveredNanos >= 0) {
+            actionNanos += System.nanoTime() - deliveredNanos;
+            deliveredNanos = -1;
+        }
+    }
+
+    /**
+     * Waits until the scaled time a line was entered at, relative to the start of the replay.
+     */
+    private void awaitOffset(long offsetMillis) {
+        if (speed <= 0) {
+            return;
+        }
+        long deadline = startNanos + (long) (offsetMillis * 1_000_000 / speed);
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    /**
+     * Names the menu a prompt belongs to.
+     *
+     * @return the menu name, or null if the prompt is not a menu prompt.
+     */
+    static String menuOf(String prompt) {
+        return switch (prompt) {
+            case UserInterface.MAIN_MENU_PROMPT -> "main";
+            case UserInterface.STORAGE_MENU_PROMPT -> "storage";
+            case UserInterface.COOKBOOK_MENU_PROMPT -> "cookbook";
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,119 @@
+package edu.ntnu.idi.idatt.replay;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * A recorded operator session: the lines typed into the console and when each was entered.
+ *
+ * <p>A replay file has one line per input line: the milliseconds since the session started, a tab, and the
+ * input exactly as typed. Blank lines and lines starting with {@code #} are ignored, so files can be annotated.
+ * Files are written by {@link SessionRecorder} and replayed by {@link LoadGenerator}.
+ */
+public class Session {
+    private final String name;
+    private final long[] offsetsMillis;
+    private final String[] lines;
+
+    private Session(String name, long[] offsetsMillis, String[] lines) {
+        this.name = name;
+        this.offsetsMillis = offsetsMillis;
+        this.lines = lines;
+    }
+
+    /**
+     * Reads a replay file.
+     *
+     * @param file the file to read.
+     * @return the session, named after the file.
+     * @throws IOException if the file cannot be read.
+     * @throws IllegalArgumentException if the file is malformed.
+     */
+    public static Session read(Path file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return read(file.getFileName().toString(), reader);
+        }
+    }
+
+    /**
+     * Reads a session in the replay file format.
+     *
+     * @param name   the name of the session, used in reports.
+     * @param reader the reader to read from.
+     * @return the session.
+     * @throws IOException if reading fails.
+     * @throws IllegalArgumentException if a line has no tab or its time is not a non-decreasing number.
+     */
+    public static Session read(String name, BufferedReader reader) throws IOException {
+        long[] offsets = new long[64];
+        String[] lines = new String[64];
+        int count = 0;
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || line.charAt(0) == '#') {
+                continue;
+            }
+            int tab = line.indexOf('\t');
+            long offset;
+            try {
+                offset = tab < 0 ? -1 : Long.parseLong(line, 0, tab, 10);
+            } catch (NumberFormatException e) {
+                offset = -1;
+            }
+            if (offset < 0 || (count > 0 && offset < offsets[count - 1])) {
+                throw new IllegalArgumentException(name + ":" + lineNumber + ": expected <milliseconds>\\t<input>.");
+            }
+            if (count == offsets.length) {
+                offsets = Arrays.copyOf(offsets, count * 2);
+                lines = Arrays.copyOf(lines, count * 2);
+            }
+            offsets[count] = offset;
+            lines[count++] = line.substring(tab + 1);
+        }
+        return new Session(name, Arrays.copyOf(offsets, count), Arrays.copyOf(lines, count));
+    }
+
+    /**
+     * Retrieves the name of the session.
+     *
+     * @return the name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Retrieves the number of input lines.
+     *
+     * @return the number of lines.
+     */
+    public int size() {
+        return lines.length;
+    }
+
+    /**
+     * Retrieves an input line.
+     *
+     * @param index the index of the line.
+     * @return the line, without its line terminator.
+     */
+    public String getLine(int index) {
+        return lines[index];
+    }
+
+    /**
+     * Retrieves when an input line was entered.
+     *
+     * @param index the index of the line.
+     * @return the milliseconds since the session started.
+     */
+    public long getOffsetMillis(int index) {
+        return offsetsMillis[index];
+    }
+}
@@ -0,0 +1,111 @@
+package edu.ntnu.idi.idatt.replay;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Records the console input of an operator session while passing it through unchanged.
+ * Every complete input line is written to a replay file as the time since the recording started and the
+ * line, separated by a tab; see {@link Session}. The time is taken when the line is read from the terminal,
+ * which is when the operator pressed Enter.
+ *
+ * <p>Each line is flushed as soon as it is recorded, so a session that is killed still leaves a usable file.
+ */
+public class SessionRecorder extends FilterInputStream {
+    private final Writer replay;
+    private final long startNanos = System.nanoTime();
+    private final ByteArrayOutputStream line = new ByteArrayOutputStream(128);
+
+    /**
+     * Constructs a SessionRecorder.
+     *
+     * @param in     the operator's input, usually {@code System.in}.
+     * @param replay the writer the replay file is written to.
+     */
+    public SessionRecorder(InputStream in, Writer replay) {
+        super(in);
+        this.replay = replay;
+    }
+
+    /**
+     * Reads one byte and records it.
+     *
+     * @return the byte, or -1 at the end of the input.
+     * @throws IOException if reading or recording fails.
+     */
+    @Override
+    public int read() throws IOException {
+        int b = in.read();
+        if (b >= 0) {
+            record(b);
+        }
+        return b;
+    }
+
+    /**
+     * Reads bytes into an array and records them.
+     *
+     * @param buffer the destination.
+     * @param offset the index of the first byte to write.
+     * @param length the maximum number of bytes to read.
+     * @return the number of bytes read, or -1 at the end of the input.
+     * @throws IOException if reading or recording fails.
+     */
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int read = in.read(buffer, offset, length);
+        for (int i = 0; i < read; i++) {
+            record(buffer[offset + i]);
+        }
+        return read;
+    }
+
+    /**
+     * Skipped input is never seen by the application, so it is not recorded either.
+     *
+     * @param n the number of bytes to skip.
+     * @return the number of bytes skipped.
+     * @throws IOException if skipping fails.
+     */
+    @Override
+    public long skip(long n) throws IOException {
+        return in.skip(n);
+    }
+
+    /**
+     * Records an unterminated last line, if any, and closes the input and the replay file.
+     *
+     * @throws IOException if recording or closing fails.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (line.size() > 0) {
+                writeLine();
+            }
+            replay.close();
+        } finally {
+            in.close();
+        }
+    }
+
+    private void record(int b) throws IOException {
+        if (b == '\n') {
+            writeLine();
+        } else if (b != '\r') {
+            line.write(b);
+        }
+    }
+
+    private void writeLine() throws IOException {
+        long offsetMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        replay.append(Long.toString(offsetMillis)).append('\t')
+                .append(line.toString(StandardCharsets.UTF_8)).append('\n');
+        replay.flush();
+        line.reset();
+    }
+}
@@ -0,0 +1,64 @@
+package edu.ntnu.idi.idatt.replay;
+
+import edu.ntnu.idi.idatt.output.OutputSink;
+
+/**
+ * The console output of one simulated user. The output is counted and discarded, except for the last
+ * line, which tells {@link ReplayInput} which prompt the user interface is waiting at.
+ *
+ * <p>Text is read as it is written, without buffering or encoding it, so every prompt has been seen by the
+ * time input is read and the user interface never waits on a stream.
+ */
+class UserOutput implements OutputSink {
+    private static final int MAX_LINE = 256;
+
+    private final StringBuilder currentLine = new StringBuilder(MAX_LINE);
+    private String lastLine = "";
+    private long bytes;
+
+    /**
+     * Counts text and tracks the lines it belongs to.
+     *
+     * @param text the text to write.
+     */
+    @Override
+    public void print(CharSequence text) {
+        for (int i = 0, length = text.length(); i < length; i++) {
+            char c = text.charAt(i);
+            bytes += c < 0x80 ? 1 : c < 0x800 || Character.isSurrogate(c) ? 2 : 3;
+            if (c == '\n') {
+                if (currentLine.length() > 0) {
+                    lastLine = currentLine.toString();
+                    currentLine.setLength(0);
+                }
+            } else if (c != '\r' && currentLine.length() < MAX_LINE) {
+                currentLine.append(c);
+            }
+        }
+    }
+
+    /**
+     * Does nothing, since nothing is buffered.
+     */
+    @Override
+    public void flush() {
+    }
+
+    /**
+     * Retrieves the last non-empty line written, or the line being written if it is not finished.
+     *
+     * @return the line, without its line terminator.
+     */
+    String getLastLine() {
+        return currentLine.length() > 0 ? currentLine.toString() : lastLine;
+    }
+
+    /**
+     * Retrieves the number of bytes written, counted as UTF-8.
+     *
+     * @return the number of bytes.
+     */
+    long getBytes() {
+        return bytes;
+    }
+}
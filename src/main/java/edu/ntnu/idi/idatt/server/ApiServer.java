@@ -0,0 +1,348 @@
+package edu.ntnu.idi.idatt.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import edu.ntnu.idi.idatt.inputvalidator.InputParser;
+import edu.ntnu.idi.idatt.metrics.LatencyHistogram;
+import edu.ntnu.idi.idatt.metrics.MetricsRegistry;
+import edu.ntnu.idi.idatt.metrics.OperationMetrics;
+import edu.ntnu.idi.idatt.model.Ingredient;
+import edu.ntnu.idi.idatt.model.Recipe;
+import edu.ntnu.idi.idatt.model.Renderer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves a {@link PantryService} as a JSON API over HTTP, using the JDK's built-in server.
+ *
+ * <pre>
+ * GET    /ingredients[?name=]                       the entries in storage, or those of one ingredient
+ * POST   /ingredients   name, amount, unit, price,  adds an entry; expires is yyyy-mm-dd and optional
+ *                       expires
+ * DELETE /ingredients?name=&amp;amount=                removes up to an amount of an ingredient
+ * GET    /recipes                                   every recipe
+ * GET    /recipes/{id}                              one recipe
+ * POST   /recipes/{id}/cook[?servings=]             cooks a recipe if storage holds enough
+ * GET    /suggestions                               the recipes that can be made
+ * GET    /valuation[?date=]                         total and expired value of the stock
+ * GET    /metrics                                   counts and sampled latencies of the operations called so far
+ * </pre>
+ *
+ * <p>Parameters are read from the query string and, for POST and DELETE, from a form-encoded body.
+ * Errors are answered with a status code and {@code {"error": "..."}}.
+ *
+ * <p>Each request runs on its own virtual thread when the running JDK supports them. Otherwise, or when a
+ * number of platform threads is configured, requests run on a fixed pool of platform threads.
+ *
+ * <p>The JDK server writes headers and body separately, so small responses on a kept-alive connection wait for
+ * the client's delayed ACK unless the JVM is started with {@code -Dsun.net.httpserver.nodelay=true}.
+ * The property is read once, when the first server is created; {@code Main --server} sets it.
+ */
+public class ApiServer {
+    private static final String JSON = "application/json; charset=utf-8";
+
+    private final PantryService service;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final boolean virtualThreads;
+
+    /**
+     * Constructs an ApiServer bound to an address. The server does not accept requests until started.
+     *
+     * @param service         the service to expose.
+     * @param address         the address to listen on; port 0 picks a free port.
+     * @param platformThreads the number of platform threads to run requests on, or 0 to use
+     *                        virtual threads when available.
+     * @throws IOException if the address cannot be bound.
+     * @throws IllegalArgumentException if the number of platform threads is negative.
+     */
+    public ApiServer(PantryService service, InetSocketAddress address, int platformThreads) throws IOException {
+        if (platformThreads < 0) {
+            throw new IllegalArgumentException("Number of platform threads cannot be negative.");
+        }
+        this.service = service;
+        ExecutorService virtual = platformThreads == 0 ? newVirtualThreadExecutor() : null;
+        this.virtualThreads = virtual != null;
+        this.executor = virtual != null ? virtual : Executors.newFixedThreadPool(
+                platformThreads > 0 ? platformThreads : Runtime.getRuntime().availableProcessors() * 4);
+        this.server = HttpServer.create(address, 1024);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stops the server, waiting up to the given time for requests in progress to finish.
+     *
+     * @param delaySeconds the maximum time to wait, in seconds.
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(delaySeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Retrieves the port the server listens on.
+     *
+     * @return the port number.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Checks whether requests run on virtual threads.
+     *
+     * @return true if each request runs on its own virtual thread; false if a platform thread pool is used.
+     */
+    public boolean usesVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Creates a virtual-thread-per-task executor if the running JDK has one. The method is looked up
+     * reflectively so the application still builds and runs on JDKs without virtual threads.
+     *
+     * @return the executor, or null if virtual threads are not available.
+     */
+    static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            // Missing before JDK 21, and a preview feature that may be disabled in JDK 19 and 20.
+            return null;
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        StringBuilder body = new StringBuilder(256);
+        int status;
+        try {
+            status = route(exchange, body);
+        } catch (IllegalArgumentException e) {
+            status = error(body, 400, e.getMessage());
+        } catch (RuntimeException e) {
+            status = error(body, 500, "Internal error.");
+        }
+        byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", JSON);
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Dispatches a request and writes its JSON response body.
+     *
+     * @return the response status code.
+     */
+    private int route(HttpExchange exchange, StringBuilder body) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        Renderer renderer = new Renderer(Renderer.Format.JSON);
+        InputParser parser = new InputParser();
+
+        if (path.equals("/ingredients")) {
+            Map<String, String> parameters = parameters(exchange);
+            switch (method) {
+                case "GET" -> {
+                    String name = parameters.get("name");
+                    renderer.appendIngredients(name == null ? service.getIngredients() : service.getIngredients(name), body);
+                    return 200;
+                }
+                case "POST" -> {
+                    String expires = parameters.get("expires");
+                    Ingredient added = service.addIngredient(required(parameters, "name"),
+                            number(parser, parameters, "amount"), required(parameters, "unit"),
+                            expires == null || expires.isEmpty() ? null : date(parser, expires, "expires"),
+                            number(parser, parameters, "price"));
+                    renderer.appendIngredient(added, body);
+                    return 201;
+                }
+                case "DELETE" -> {
+                    double removed = service.removeIngredient(required(parameters, "name"), number(parser, parameters, "amount"));
+                    body.append("{\"removed\":").append(removed).append('}');
+                    return 200;
+                }
+                default -> {
+                    return error(body, 405, "Method not allowed: " + method);
+                }
+            }
+        }
+        if (path.equals("/recipes") || path.equals("/suggestions")) {
+            if (!method.equals("GET")) {
+                return error(body, 405, "Method not allowed: " + method);
+            }
+            List<Recipe> recipes = path.equals("/recipes") ? service.getRecipes() : service.getSuggestions();
+            renderer.appendRecipes(recipes, body);
+            return 200;
+        }
+        if (path.startsWith("/recipes/")) {
+            String rest = path.substring("/recipes/".length());
+            boolean cook = rest.endsWith("/cook");
+            int recipeID = parseInt(parser, cook ? rest.substring(0, rest.length() - "/cook".length()) : rest, "recipe ID");
+            if (cook) {
+                if (!method.equals("POST")) {
+                    return error(body, 405, "Method not allowed: " + method);
+                }
+                String servings = parameters(exchange).get("servings");
+                if (service.getRecipe(recipeID) == null) {
+                    return error(body, 404, "Recipe not found: " + recipeID);
+                }
+                boolean cooked = service.cook(recipeID, servings == null ? 1 : parseInt(parser, servings, "servings"));
+                body.append("{\"cooked\":").append(cooked).append('}');
+                return 200;
+            }
+            if (!method.equals("GET")) {
+                return error(body, 405, "Method not allowed: " + method);
+            }
+            Recipe recipe = service.getRecipe(recipeID);
+            if (recipe == null) {
+                return error(body, 404, "Recipe not found: " + recipeID);
+            }
+            renderer.appendRecipe(recipe, body);
+            return 200;
+        }
+        if (path.equals("/valuation")) {
+            if (!method.equals("GET")) {
+                return error(body, 405, "Method not allowed: " + method);
+            }
+            String date = parameters(exchange).get("date");
+            PantryService.Valuation valuation = service.getValuation(date == null ? LocalDate.now() : date(parser, date, "date"));
+            body.append("{\"date\":\"").append(valuation.getDate())
+                    .append("\",\"entries\":").append(valuation.getEntries())
+                    .append(",\"totalValue\":").append(valuation.getTotalValue())
+                    .append(",\"expiredEntries\":").append(valuation.getExpiredEntries())
+                    .append(",\"expiredValue\":").append(valuation.getExpiredValue())
+                    .append('}');
+            return 200;
+        }
+        if (path.equals("/metrics")) {
+            if (!method.equals("GET")) {
+                return error(body, 405, "Method not allowed: " + method);
+            }
+            appendMetrics(MetricsRegistry.global(), body);
+            return 200;
+        }
+        return error(body, 404, "Not found: " + path);
+    }
+
+    /**
+     * Writes the operations of a registry that have been called as JSON, with latencies in microseconds.
+     */
+    private static void appendMetrics(MetricsRegistry registry, StringBuilder body) {
+        body.append("{\"operations\":[");
+        boolean first = true;
+        for (OperationMetrics metrics : registry.getOperations()) {
+            long count = metrics.getCount();
+            long errors = metrics.getErrorCount();
+            if (count == 0 && errors == 0) {
+                continue;
+            }
+            LatencyHistogram.Snapshot latencies = metrics.snapshot();
+            if (!first) {
+                body.append(',');
+            }
+            first = false;
+            body.append("{\"name\":\"").append(metrics.getName())
+                    .append("\",\"count\":").append(count)
+                    .append(",\"errors\":").append(errors)
+                    .append(",\"timed\":").append(latencies.getCount())
+                    .append(",\"meanMicros\":").append(latencies.getMean() / 1000)
+                    .append(",\"p50Micros\":").append(latencies.getValueAtPercentile(50) / 1000.0)
+                    .append(",\"p99Micros\":").append(latencies.getValueAtPercentile(99) / 1000.0)
+                    .append(",\"p999Micros\":").append(latencies.getValueAtPercentile(99.9) / 1000.0)
+                    .append(",\"maxMicros\":").append(latencies.getMax() / 1000.0)
+                    .append('}');
+        }
+        body.append("]}");
+    }
+
+    private static int error(StringBuilder body, int status, String message) {
+        body.setLength(0);
+        body.append("{\"error\":");
+        Renderer.appendJsonString(message, body);
+        body.append('}');
+        return status;
+    }
+
+    /**
+     * Reads the query string and, for requests with a body, the form-encoded body into one map.
+     */
+    private static Map<String, String> parameters(HttpExchange exchange) throws IOException {
+        Map<String, String> parameters = new HashMap<>();
+        decodeForm(exchange.getRequestURI().getRawQuery(), parameters);
+        if (!exchange.getRequestMethod().equals("GET")) {
+            try (InputStream in = exchange.getRequestBody()) {
+                decodeForm(new String(in.readAllBytes(), StandardCharsets.UTF_8), parameters);
+            }
+        }
+        return parameters;
+    }
+
+    private static void decodeForm(String form, Map<String, String> parameters) {
+        if (form == null || form.isEmpty()) {
+            return;
+        }
+        for (String pair : form.split("&")) {
+            int equals = pair.indexOf('=');
+            String key = equals < 0 ? pair : pair.substring(0, equals);
+            String value = equals < 0 ? "" : pair.substring(equals + 1);
+            parameters.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String required(Map<String, String> parameters, String name) {
+        String value = parameters.get(name);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing parameter: " + name);
+        }
+        return value;
+    }
+
+    private static double number(InputParser parser, Map<String, String> parameters, String name) {
+        String value = required(parameters, name);
+        if (parser.parseDouble(value) != InputParser.OK) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+        return parser.getDouble();
+    }
+
+    private static int parseInt(InputParser parser, String value, String name) {
+        if (parser.parseInt(value) != InputParser.OK) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+        return parser.getInt();
+    }
+
+    private static LocalDate date(InputParser parser, String value, String name) {
+        if (parser.parseDate(value) != InputParser.OK) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+        return parser.getDate();
+    }
+}
@@ -0,0 +1,268 @@
+package edu.ntnu.idi.idatt.server;
+
+import edu.ntnu.idi.idatt.model.Cookbook;
+import edu.ntnu.idi.idatt.model.Ingredient;
+import edu.ntnu.idi.idatt.model.IngredientCatalog;
+import edu.ntnu.idi.idatt.model.Recipe;
+import edu.ntnu.idi.idatt.model.Storage;
+import edu.ntnu.idi.idatt.model.Units;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The operations remote clients may perform on a storage and cookbook, safe to call from many threads at once.
+ * Reads work on snapshots, and changes go through the storage operations that lock only the ingredients
+ * involved, so requests for different ingredients do not wait for each other. Nothing is printed
+ * and nothing is read from the console.
+ *
+ * <p>Ingredient names and units are interned in process-wide tables that never shrink, so remote clients
+ * may only use units that are already known, and may only add new ingredient names while the
+ * {@link IngredientCatalog} holds fewer than {@value #MAX_CATALOG_SIZE} ingredients.
+ */
+public class PantryService {
+    /** The catalog size beyond which remote clients can no longer add new ingredient names. */
+    static final int MAX_CATALOG_SIZE = 100_000;
+    /** The longest ingredient name remote clients can add. */
+    static final int MAX_NAME_LENGTH = 100;
+
+    private final Storage storage;
+    private final Cookbook cookbook;
+
+    /**
+     * Constructs a PantryService for a storage and cookbook.
+     *
+     * @param storage  the storage to serve.
+     * @param cookbook the cookbook to serve.
+     */
+    public PantryService(Storage storage, Cookbook cookbook) {
+        this.storage = storage;
+        this.cookbook = cookbook;
+    }
+
+    /**
+     * Retrieves every ingredient entry in storage.
+     *
+     * @return a snapshot of the entries, in the order they were added.
+     */
+    public List<Ingredient> getIngredients() {
+        return storage.getIngredients();
+    }
+
+    /**
+     * Retrieves the entries of one ingredient.
+     *
+     * @param ingredientName the name of the ingredient.
+     * @return a snapshot of the matching entries.
+     */
+    public List<Ingredient> getIngredients(String ingredientName) {
+        return storage.getIngredientsByName(ingredientName);
+    }
+
+    /**
+     * Adds an ingredient to storage as a new entry.
+     *
+     * @param ingredientName        the name of the ingredient.
+     * @param ingredientAmount      the amount of the ingredient.
+     * @param ingredientMeasurement the measurement unit of the ingredient.
+     * @param expireDate            the expiration date, or null if it does not expire.
+     * @param ingredientPrice       the price of the ingredient.
+     * @return the added entry.
+     * @throws IllegalArgumentException if the name or unit is blank, the unit is unknown, the name is new and
+     *                                  cannot be added, or the amount or price is negative or infinite.
+     */
+    public Ingredient addIngredient(String ingredientName, double ingredientAmount, String ingredientMeasurement,
+                                    LocalDate expireDate, double ingredientPrice) {
+        checkEntry(ingredientName, ingredientAmount, ingredientMeasurement, ingredientPrice);
+        return storage.addEntry(ingredientName, ingredientAmount, ingredientMeasurement, expireDate, ingredientPrice);
+    }
+
+    /**
+     * Removes up to a given amount of an ingredient from storage.
+     *
+     * @param ingredientName the name of the ingredient.
+     * @param amount         the amount to remove.
+     * @return the amount that was removed.
+     * @throws IllegalArgumentException if the amount is negative.
+     */
+    public double removeIngredient(String ingredientName, double amount) {
+        if (!(amount >= 0)) {
+            throw new IllegalArgumentException("Amount must be non-negative.");
+        }
+        return storage.withdraw(ingredientName, amount);
+    }
+
+    /**
+     * Retrieves every recipe in the cookbook.
+     *
+     * @return the recipes, ordered by recipe ID.
+     */
+    public List<Recipe> getRecipes() {
+        List<Recipe> recipes = new ArrayList<>(cookbook.getCookbook().values());
+        recipes.sort(Comparator.comparingInt(Recipe::getRecipeID));
+        return recipes;
+    }
+
+    /**
+     * Retrieves a recipe by its ID.
+     *
+     * @param recipeID the ID of the recipe.
+     * @return the recipe, or null if the cookbook has no recipe with that ID.
+     */
+    public Recipe getRecipe(int recipeID) {
+        return cookbook.getCookbook().get(recipeID);
+    }
+
+    /**
+     * Retrieves the recipes that can be made from the unreserved stock.
+     *
+     * @return the recipes, ordered by recipe ID.
+     */
+    public List<Recipe> getSuggestions() {
+        return cookbook.suggestRecipe(storage);
+    }
+
+    /**
+     * Cooks a recipe, deducting its ingredients from storage if all of them are available.
+     *
+     * @param recipeID the ID of the recipe.
+     * @param servings how many times the recipe is made.
+     * @return true if the recipe was cooked; false if storage did not hold enough.
+     * @throws IllegalArgumentException if the recipe does not exist or servings is less than 1.
+     */
+    public boolean cook(int recipeID, int servings) {
+        Recipe recipe = getRecipe(recipeID);
+        if (recipe == null) {
+            throw new IllegalArgumentException("Recipe not found: " + recipeID);
+        }
+        return storage.cook(recipe, servings);
+    }
+
+    /**
+     * Values the stock in storage on a given day.
+     *
+     * @param date the day to value the stock on; entries that expired before it count as expired.
+     * @return the valuation.
+     */
+    public Valuation getValuation(LocalDate date) {
+        List<Ingredient> ingredients = storage.getIngredients();
+        double total = 0;
+        double expired = 0;
+        int expiredEntries = 0;
+        for (Ingredient ingredient : ingredients) {
+            total += ingredient.getIngredientPrice();
+            if (ingredient.getExpireDate() != null && ingredient.getExpireDate().isBefore(date)) {
+                expired += ingredient.getIngredientPrice();
+                expiredEntries++;
+            }
+        }
+        return new Valuation(date, ingredients.size(), total, expiredEntries, expired);
+    }
+
+    /**
+     * The value of the stock in storage on a given day.
+     */
+    public static final class Valuation {
+        private final LocalDate date;
+        private final int entries;
+        private final double totalValue;
+        private final int expiredEntries;
+        private final double expiredValue;
+
+        private Valuation(LocalDate date, int entries, double totalValue, int expiredEntries, double expiredValue) {
+            this.date = date;
+            this.entries = entries;
+            this.totalValue = totalValue;
+            this.expiredEntries = expiredEntries;
+            this.expiredValue = expiredValue;
+        }
+
+        /**
+         * Retrieves the day the stock was valued on.
+         *
+         * @return the valuation date.
+         */
+        public LocalDate getDate() {
+            return date;
+        }
+
+        /**
+         * Retrieves the number of entries in storage.
+         *
+         * @return the number of entries.
+         */
+        public int getEntries() {
+            return entries;
+        }
+
+        /**
+         * Retrieves the total price of every entry in storage.
+         *
+         * @return the total value in kr.
+         */
+        public double getTotalValue() {
+            return totalValue;
+        }
+
+        /**
+         * Retrieves the number of entries that had expired.
+         *
+         * @return the number of expired entries.
+         */
+        public int getExpiredEntries() {
+            return expiredEntries;
+        }
+
+        /**
+         * Retrieves the total price of the entries that had expired.
+         *
+         * @return the expired value in kr.
+         */
+        public double getExpiredValue() {
+            return expiredValue;
+        }
+    }
+
+    /**
+     * Checks an entry a remote client wants to add, whichever protocol it arrives over.
+     *
+     * @param ingredientName        the name of the ingredient.
+     * @param ingredientAmount      the amount of the ingredient.
+     * @param ingredientMeasurement the measurement unit of the ingredient.
+     * @param ingredientPrice       the price of the ingredient.
+     * @throws IllegalArgumentException if the name or unit is blank, the unit is unknown, the name is new and
+     *                                  cannot be added, or the amount or price is negative or infinite.
+     */
+    static void checkEntry(String ingredientName, double ingredientAmount, String ingredientMeasurement, double ingredientPrice) {
+        if (ingredientName == null || ingredientName.isBlank() || ingredientMeasurement == null || ingredientMeasurement.isBlank()) {
+            throw new IllegalArgumentException("Ingredient name and unit cannot be empty.");
+        }
+        checkCatalogGrowth(ingredientName, ingredientMeasurement);
+        if (!(ingredientAmount >= 0) || !(ingredientPrice >= 0) || Double.isInfinite(ingredientAmount) || Double.isInfinite(ingredientPrice)) {
+            throw new IllegalArgumentException("Amount and price must be non-negative.");
+        }
+    }
+
+    /**
+     * Checks that adding an entry for a remote client does not grow the process-wide unit and ingredient tables
+     * without bound: the unit must already be known, and a new ingredient name must be short and fit in the catalog.
+     *
+     * @param ingredientName        the name of the ingredient.
+     * @param ingredientMeasurement the measurement unit of the ingredient.
+     * @throws IllegalArgumentException if the unit is unknown, or the name is new and too long or the catalog is full.
+     */
+    private static void checkCatalogGrowth(String ingredientName, String ingredientMeasurement) {
+        if (Units.find(ingredientMeasurement) < 0) {
+            throw new IllegalArgumentException("Unknown unit: " + ingredientMeasurement);
+        }
+        if (IngredientCatalog.find(ingredientName) < 0) {
+            if (ingredientName.trim().length() > MAX_NAME_LENGTH) {
+                throw new IllegalArgumentException("Ingredient name cannot be longer than " + MAX_NAME_LENGTH + " characters.");
+            }
+            if (IngredientCatalog.size() >= MAX_CATALOG_SIZE) {
+                throw new IllegalArgumentException("No more new ingredients can be added.");
+            }
+        }
+    }
+}
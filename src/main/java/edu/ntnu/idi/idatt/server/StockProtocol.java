@@ -0,0 +1,76 @@
+package edu.ntnu.idi.idatt.server;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The frame layout of the binary stock protocol shared by {@link StockProtocolServer} and
+ * {@link StockProtocolClient}. All numbers are big-endian, and strings are a 16-bit length
+ * followed by that many bytes of UTF-8.
+ *
+ * <p>Every frame starts with a 32-bit length of the rest of the frame. A request continues with an
+ * opcode byte and its arguments:
+ * <pre>
+ * ADD       name, amount f64, unit, expiry epoch day i64 ({@link #NO_EXPIRY} for none), price f64
+ * REMOVE    name, amount f64
+ * CAN_COOK  recipe ID i32, servings i32
+ * </pre>
+ * A response continues with a status byte. {@link #OK} is followed by an f64 result: 0 for ADD,
+ * the amount removed for REMOVE, and 1 or 0 for CAN_COOK. {@link #ERROR} is followed by a message string.
+ *
+ * <p>Clients may send any number of requests without waiting; responses are sent in request order.
+ */
+public final class StockProtocol {
+    /** Adds an entry to storage. */
+    public static final byte ADD = 1;
+    /** Removes up to an amount of an ingredient from storage. */
+    public static final byte REMOVE = 2;
+    /** Checks whether a recipe can be cooked. */
+    public static final byte CAN_COOK = 3;
+
+    /** The request succeeded. */
+    public static final byte OK = 0;
+    /** The request failed; the frame holds a message. */
+    public static final byte ERROR = 1;
+
+    /** The expiry epoch day of an entry that does not expire. */
+    public static final long NO_EXPIRY = Long.MIN_VALUE;
+    /** The largest frame either side accepts, excluding the length prefix. */
+    public static final int MAX_FRAME_LENGTH = 64 * 1024;
+
+    private StockProtocol() {
+    }
+
+    /**
+     * Writes a string as a 16-bit length and UTF-8 bytes.
+     *
+     * @param value  the string to write.
+     * @param buffer the destination.
+     * @throws IllegalArgumentException if the encoded string is longer than 65535 bytes.
+     */
+    public static void putString(String value, ByteBuffer buffer) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("String too long: " + bytes.length + " bytes.");
+        }
+        buffer.putShort((short) bytes.length).put(bytes);
+    }
+
+    /**
+     * Reads a string written by {@link #putString(String, ByteBuffer)}.
+     *
+     * @param buffer the source, positioned at the length.
+     * @return the string.
+     * @throws BufferUnderflowException if the buffer holds less than the string.
+     */
+    public static String getString(ByteBuffer buffer) {
+        int length = Short.toUnsignedInt(buffer.getShort());
+        if (length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+}
@@ -0,0 +1,187 @@
+package edu.ntnu.idi.idatt.server;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.time.LocalDate;
+
+/**
+ * A blocking client for the binary {@link StockProtocol}, for terminals and tests.
+ *
+ * <p>Requests are buffered and sent when the buffer is full, when {@link #flush()} is called, or when a
+ * result is read, so many requests can be pipelined before the first result is awaited.
+ * Results are read with {@link #readResult()} in the order the requests were made. The server stops reading
+ * requests while its responses are not being read, so a client should read results at least every few
+ * thousand requests rather than send everything first.
+ * A client is not safe to share between threads.
+ */
+public class StockProtocolClient implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final SocketChannel channel;
+    private final ByteBuffer out = ByteBuffer.allocate(BUFFER_SIZE);
+    private final ByteBuffer in = ByteBuffer.allocate(BUFFER_SIZE);
+    private int pending;
+
+    /**
+     * Connects to a stock protocol server.
+     *
+     * @param address the address of the server.
+     * @throws IOException if the connection fails.
+     */
+    public StockProtocolClient(InetSocketAddress address) throws IOException {
+        this.channel = SocketChannel.open(address);
+        channel.socket().setTcpNoDelay(true);
+        in.flip();
+    }
+
+    /**
+     * Requests that an entry is added to storage. The result is 0.
+     *
+     * @param ingredientName        the name of the ingredient.
+     * @param ingredientAmount      the amount of the ingredient.
+     * @param ingredientMeasurement the measurement unit of the ingredient.
+     * @param expireDate            the expiration date, or null if it does not expire.
+     * @param ingredientPrice       the price of the ingredient.
+     * @throws IOException if sending buffered requests fails.
+     */
+    public void add(String ingredientName, double ingredientAmount, String ingredientMeasurement,
+                    LocalDate expireDate, double ingredientPrice) throws IOException {
+        int start = begin(StockProtocol.ADD, 2 + 3 * ingredientName.length() + 8 + 2 + 3 * ingredientMeasurement.length() + 8 + 8);
+        StockProtocol.putString(ingredientName, out);
+        out.putDouble(ingredientAmount);
+        StockProtocol.putString(ingredientMeasurement, out);
+        out.putLong(expireDate == null ? StockProtocol.NO_EXPIRY : expireDate.toEpochDay());
+        out.putDouble(ingredientPrice);
+        end(start);
+    }
+
+    /**
+     * Requests that up to an amount of an ingredient is removed from storage. The result is the amount removed.
+     *
+     * @param ingredientName the name of the ingredient.
+     * @param amount         the amount to remove.
+     * @throws IOException if sending buffered requests fails.
+     */
+    public void remove(String ingredientName, double amount) throws IOException {
+        int start = begin(StockProtocol.REMOVE, 2 + 3 * ingredientName.length() + 8);
+        StockProtocol.putString(ingredientName, out);
+        out.putDouble(amount);
+        end(start);
+    }
+
+    /**
+     * Asks whether a recipe can be cooked. The result is 1 if it can and 0 if it cannot.
+     *
+     * @param recipeID the ID of the recipe.
+     * @param servings how many times the recipe would be made.
+     * @throws IOException if sending buffered requests fails.
+     */
+    public void canCook(int recipeID, int servings) throws IOException {
+        int start = begin(StockProtocol.CAN_COOK, 8);
+        out.putInt(recipeID).putInt(servings);
+        end(start);
+    }
+
+    /**
+     * Sends every buffered request.
+     *
+     * @throws IOException if sending fails.
+     */
+    public void flush() throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+
+    /**
+     * Retrieves the number of requests whose results have not been read yet.
+     *
+     * @return the number of outstanding requests.
+     */
+    public int getPending() {
+        return pending;
+    }
+
+    /**
+     * Reads the result of the oldest outstanding request, sending buffered requests first if needed.
+     *
+     * @return the result of the request.
+     * @throws IOException if the connection fails.
+     * @throws IllegalStateException if no request is outstanding.
+     * @throws IllegalArgumentException if the server rejected the request; the message is the server's.
+     */
+    public double readResult() throws IOException {
+        if (pending == 0) {
+            throw new IllegalStateException("No request is waiting for a result.");
+        }
+        if (out.position() > 0) {
+            flush();
+        }
+        fill(4);
+        int length = in.getInt();
+        if (length < 1 || length > StockProtocol.MAX_FRAME_LENGTH) {
+            throw new IOException("Invalid frame length: " + length);
+        }
+        fill(length);
+        pending--;
+        if (in.get() == StockProtocol.OK) {
+            return in.getDouble();
+        }
+        throw new IllegalArgumentException(StockProtocol.getString(in));
+    }
+
+    /**
+     * Closes the connection.
+     *
+     * @throws IOException if closing fails.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Makes room for a request of at most the given payload size and writes its opcode after
+     * a placeholder for the length.
+     *
+     * @return the position of the length placeholder.
+     */
+    private int begin(byte opcode, int maxPayload) throws IOException {
+        if (maxPayload + 5 > StockProtocol.MAX_FRAME_LENGTH) {
+            throw new IllegalArgumentException("Request too large.");
+        }
+        if (out.remaining() < maxPayload + 5) {
+            flush();
+        }
+        int start = out.position();
+        out.putInt(0).put(opcode);
+        return start;
+    }
+
+    private void end(int start) {
+        out.putInt(start, out.position() - start - 4);
+        pending++;
+    }
+
+    /**
+     * Reads from the connection until at least the given number of bytes are buffered.
+     */
+    private void fill(int bytes) throws IOException {
+        if (in.remaining() >= bytes) {
+            return;
+        }
+        in.compact();
+        while (in.position() < bytes) {
+            if (channel.read(in) < 0) {
+                throw new EOFException("Connection closed by server.");
+            }
+        }
+        in.flip();
+    }
+}
@@ -0,0 +1,317 @@
+package edu.ntnu.idi.idatt.server;
+
+import edu.ntnu.idi.idatt.model.Cookbook;
+import edu.ntnu.idi.idatt.model.Recipe;
+import edu.ntnu.idi.idatt.model.Storage;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Iterator;
+
+/**
+ * Serves the binary {@link StockProtocol} from a single non-blocking selector thread.
+ *
+ * <p>Every complete request frame received in one read is executed in order, and the responses are
+ * collected in the connection's output buffer and sent with one write, so pipelining clients get their
+ * responses in batches. While a connection has responses that could not be written yet, no more of its
+ * requests are read, so a client that does not read its responses cannot make the server buffer without bound.
+ *
+ * <p>Requests map onto the quiet storage operations {@link Storage#addEntry}, {@link Storage#withdraw}
+ * and {@link Storage#canCook}, which are safe to call while other threads use the same storage.
+ */
+public class StockProtocolServer implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Storage storage;
+    private final Cookbook cookbook;
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private volatile boolean closed;
+    private Thread thread;
+
+    /**
+     * Constructs a StockProtocolServer bound to an address. Connections are accepted once the server is started.
+     *
+     * @param storage  the storage requests operate on.
+     * @param cookbook the cookbook recipes are looked up in.
+     * @param address  the address to listen on; port 0 picks a free port.
+     * @throws IOException if the address cannot be bound.
+     */
+    public StockProtocolServer(Storage storage, Cookbook cookbook, InetSocketAddress address) throws IOException {
+        this.storage = storage;
+        this.cookbook = cookbook;
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(address, 1024);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    /**
+     * Starts the selector thread.
+     *
+     * @throws IllegalStateException if the server has already been started or has been closed.
+     */
+    public synchronized void start() {
+        if (thread != null) {
+            throw new IllegalStateException("Server already started.");
+        }
+        if (closed) {
+            throw new IllegalStateException("Server closed.");
+        }
+        thread = new Thread(this::run, "stock-protocol");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Retrieves the port the server listens on.
+     *
+     * @return the port number.
+     */
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * Stops the server and closes every connection. Waits for the selector thread to finish the requests
+     * it is executing, then closes each client connection, the selector and the listening socket.
+     *
+     * @throws IOException if closing the channels fails.
+     */
+    @Override
+    public void close() throws IOException {
+        Thread running;
+        synchronized (this) {
+            closed = true;
+            running = thread;
+        }
+        selector.wakeup();
+        if (running != null && running != Thread.currentThread()) {
+            try {
+                running.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        IOException failure = null;
+        if (selector.isOpen()) {
+            for (SelectionKey key : selector.keys()) {
+                try {
+                    key.channel().close();
+                } catch (IOException e) {
+                    failure = failure == null ? e : failure;
+                }
+            }
+            selector.close();
+        }
+        serverChannel.close();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void run() {
+        try {
+            while (!closed) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext() && !closed) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    try {
+                        if (key.isAcceptable()) {
+                            accept();
+                        } else {
+                            Connection connection = (Connection) key.attachment();
+                            if (key.isWritable()) {
+                                connection.write(key);
+                            }
+                            if (key.isValid() && key.isReadable()) {
+                                connection.read(key);
+                            }
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        // The client disconnected or sent garbage, or a request failed unexpectedly:
+                        // only this connection is closed, and the server keeps serving the others.
+                        // A failed accept drops only the connection being accepted.
+                        if (key.channel() != serverChannel) {
+                            key.cancel();
+                            closeQuietly(key);
+                        }
+                    }
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            // The selector failed; close() releases the channels.
+        }
+    }
+
+    private static void closeQuietly(SelectionKey key) {
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            // The connection is being dropped either way.
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel != null) {
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            channel.register(selector, SelectionKey.OP_READ, new Connection(channel));
+        }
+    }
+
+    /**
+     * Executes one request and appends its response to {@code out}.
+     *
+     * @param request the request payload after the length prefix; must be fully consumed.
+     * @param out     the buffer to append the response frame to.
+     */
+    void execute(ByteBuffer request, ByteBuffer out) {
+        int start = out.position();
+        out.position(start + 4);
+        try {
+            byte opcode = request.get();
+            double result;
+            switch (opcode) {
+                case StockProtocol.ADD -> {
+                    String name = StockProtocol.getString(request);
+                    double amount = request.getDouble();
+                    String unit = StockProtocol.getString(request);
+                    long expiry = request.getLong();
+                    double price = request.getDouble();
+                    checkConsumed(request);
+                    PantryService.checkEntry(name, amount, unit, price);
+                    storage.addEntry(name, amount, unit, expiry == StockProtocol.NO_EXPIRY ? null : LocalDate.ofEpochDay(expiry), price);
+                    result = 0;
+                }
+                case StockProtocol.REMOVE -> {
+                    String name = StockProtocol.getString(request);
+                    double amount = request.getDouble();
+                    checkAmount(amount);
+                    checkConsumed(request);
+                    result = storage.withdraw(name, amount);
+                }
+                case StockProtocol.CAN_COOK -> {
+                    int recipeID = request.getInt();
+                    int servings = request.getInt();
+                    checkConsumed(request);
+                    Recipe recipe = cookbook.getCookbook().get(recipeID);
+                    if (recipe == null) {
+                        throw new IllegalArgumentException("Recipe not found: " + recipeID);
+                    }
+                    result = storage.canCook(recipe, servings) ? 1 : 0;
+                }
+                default -> throw new IllegalArgumentException("Unknown opcode: " + opcode);
+            }
+            out.put(StockProtocol.OK).putDouble(result);
+        } catch (IllegalArgumentException | DateTimeException e) {
+            out.position(start + 4);
+            out.put(StockProtocol.ERROR);
+            StockProtocol.putString(String.valueOf(e.getMessage()), out);
+        } catch (BufferUnderflowException e) {
+            out.position(start + 4);
+            out.put(StockProtocol.ERROR);
+            StockProtocol.putString("Malformed request.", out);
+        }
+        out.putInt(start, out.position() - start - 4);
+    }
+
+    private static void checkConsumed(ByteBuffer request) {
+        if (request.hasRemaining()) {
+            throw new IllegalArgumentException("Malformed request.");
+        }
+    }
+
+    private static void checkAmount(double amount) {
+        if (!(amount >= 0) || Double.isInfinite(amount)) {
+            throw new IllegalArgumentException("Invalid amount: " + amount);
+        }
+    }
+
+    /**
+     * The buffers of one client connection.
+     */
+    private final class Connection {
+        /** The largest response to a single request: an error frame with a 64 KiB message. */
+        private static final int MAX_RESPONSE = 4 + 1 + 2 + 0xFFFF;
+
+        private final SocketChannel channel;
+        private final ByteBuffer in = ByteBuffer.allocate(BUFFER_SIZE + 4);
+        private final ByteBuffer out = ByteBuffer.allocate(BUFFER_SIZE + MAX_RESPONSE);
+
+        private Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Reads what is available, executes every complete request and writes the responses.
+         */
+        private void read(SelectionKey key) throws IOException {
+            if (channel.read(in) < 0) {
+                throw new IOException("Connection closed by client.");
+            }
+            process();
+            write(key);
+        }
+
+        /**
+         * Writes pending responses. If they do not all fit, waits for the socket to become writable
+         * instead of reading more requests; once they are written, executes requests that were left
+         * unprocessed while the output buffer was full.
+         */
+        private void write(SelectionKey key) throws IOException {
+            do {
+                out.flip();
+                channel.write(out);
+                out.compact();
+                if (out.position() > 0) {
+                    key.interestOps(SelectionKey.OP_WRITE);
+                    return;
+                }
+                key.interestOps(SelectionKey.OP_READ);
+            } while (process());
+        }
+
+        /**
+         * Executes complete requests from the input buffer until it runs out or the output buffer is full.
+         *
+         * @return true if at least one request was executed.
+         */
+        private boolean process() throws IOException {
+            boolean executed = false;
+            in.flip();
+            try {
+                while (in.remaining() >= 4 && out.position() < BUFFER_SIZE) {
+                    int length = in.getInt(in.position());
+                    if (length < 1 || length > StockProtocol.MAX_FRAME_LENGTH) {
+                        throw new IOException("Invalid frame length: " + length);
+                    }
+                    if (in.remaining() < 4 + length) {
+                        break;
+                    }
+                    int end = in.position() + 4 + length;
+                    execute(in.duplicate().position(in.position() + 4).limit(end), out);
+                    in.position(end);
+                    executed = true;
+                }
+            } finally {
+                in.compact();
+            }
+            return executed;
+        }
+    }
+}
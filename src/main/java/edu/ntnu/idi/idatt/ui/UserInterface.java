@@ -3,21 +3,52 @@ package edu.ntnu.idi.idatt.ui;
 import edu.ntnu.idi.idatt.foodhandling.ClientCookbook;
 import edu.ntnu.idi.idatt.foodhandling.ClientStorage;
 import edu.ntnu.idi.idatt.inputvalidator.InputValidator;
+import edu.ntnu.idi.idatt.metrics.InputWait;
+import edu.ntnu.idi.idatt.metrics.MetricsRegistry;
+import edu.ntnu.idi.idatt.metrics.OperationMetrics;
 import edu.ntnu.idi.idatt.model.Cookbook;
 import edu.ntnu.idi.idatt.model.Storage;
+import edu.ntnu.idi.idatt.output.OutputSink;
 
 import java.util.stream.Collectors;
 
 /**
  * Represents the user interface for interacting with the Recipe & Storage application.
  * Provides menus for managing storage and cookbook data.
+ * The interface, its input validator and the storage and cookbook it manages all write to one buffered
+ * {@link OutputSink}, so each screen reaches the console in a single write when the next input is read.
+ * Every menu action is counted and timed in the global {@link MetricsRegistry} as {@code ui.storage.<action>}
+ * or {@code ui.cookbook.<action>}; the time spent waiting for the user to answer the action's prompts is
+ * left out, so the latency is that of the work done.
  */
 public class UserInterface {
+    /** The prompt of the main menu. */
+    public static final String MAIN_MENU_PROMPT = "Please select an option (1-3): ";
+    /** The prompt of the storage menu. */
+    public static final String STORAGE_MENU_PROMPT = "Please select an option (1-8): ";
+    /** The prompt of the cookbook menu. */
+    public static final String COOKBOOK_MENU_PROMPT = "Please select an option (1-7): ";
+
+    private static final OperationMetrics VIEW_ALL_INGREDIENTS = action("storage.viewAllIngredients");
+    private static final OperationMetrics FIND_INGREDIENT = action("storage.getIngredientsByName");
+    private static final OperationMetrics ADD_INGREDIENT = action("storage.addIngredient");
+    private static final OperationMetrics REMOVE_INGREDIENT = action("storage.removeIngredientByNameAndAmount");
+    private static final OperationMetrics VIEW_EXPIRED = action("storage.getExpiredIngredients");
+    private static final OperationMetrics TOTAL_PRICE = action("storage.getTotalPrice");
+    private static final OperationMetrics DATE_INTERVAL = action("storage.getIngredientsInDateInterval");
+    private static final OperationMetrics VIEW_ALL_RECIPES = action("cookbook.viewAllRecipes");
+    private static final OperationMetrics VIEW_BY_CATEGORY = action("cookbook.viewRecipesByCategory");
+    private static final OperationMetrics ADD_RECIPE = action("cookbook.addRecipeToCookbook");
+    private static final OperationMetrics FIND_RECIPE = action("cookbook.findRecipeByName");
+    private static final OperationMetrics CAN_MAKE_RECIPE = action("cookbook.canMakeRecipe");
+    private static final OperationMetrics SUGGEST_RECIPE = action("cookbook.suggestRecipe");
+
     private final ClientStorage clientStorage;
     private final ClientCookbook clientCookbook;
     private final Storage storage;
     private final Cookbook cookbook;
     private final InputValidator inputValidator;
+    private final OutputSink output;
 
     /**
      * Constructs a new UserInterface instance with the specified storage and cookbook clients.
@@ -28,30 +59,56 @@ public class UserInterface {
      * @param cookbook       the cookbook to be managed.
      */
     public UserInterface(ClientStorage clientStorage, ClientCookbook clientCookbook, Storage storage, Cookbook cookbook, InputValidator inputValidator) {
+        this(clientStorage, clientCookbook, storage, cookbook, inputValidator, OutputSink.console());
+    }
+
+    /**
+     * Constructs a new UserInterface instance that writes to the given output sink.
+     * The storage, cookbook and input validator are set to write to the same sink.
+     *
+     * @param clientStorage  the client handling storage operations.
+     * @param clientCookbook the client handling cookbook operations.
+     * @param storage        the storage system to be managed.
+     * @param cookbook       the cookbook to be managed.
+     * @param inputValidator the validator user input is read through.
+     * @param output         the sink all output of the interface is written to.
+     */
+    public UserInterface(ClientStorage clientStorage, ClientCookbook clientCookbook, Storage storage, Cookbook cookbook,
+                         InputValidator inputValidator, OutputSink output) {
         this.clientStorage = clientStorage;
         this.clientCookbook = clientCookbook;
         this.storage = storage;
         this.cookbook = cookbook;
         this.inputValidator = inputValidator;
+        this.output = output;
+        storage.setOutput(output);
+        cookbook.setOutput(output);
+        inputValidator.setOutput(output);
     }
 
     /**
      * Starts the user interface, displaying the main menu and processing user input.
+     * Buffered output is flushed when the interface exits.
      */
     public void start() {
-        System.out.println("Welcome to the Recipe & Storage App!");
+        output.println("Welcome to the Recipe & Storage App!");
         boolean running = true;
-        while (running) {
-            int mainOption = displayMainMenu();
-            switch (mainOption) {
-                case 1 -> manageStorage();
-                case 2 -> manageCookbook();
-                case 3 -> {
-                    System.out.println("Exiting application... Goodbye!");
-                    running = false;
+        try {
+            while (running) {
+                int mainOption = displayMainMenu();
+                switch (mainOption) {
+                    case 1 -> manageStorage();
+                    case 2 -> manageCookbook();
+                    case 3 -> {
+                        output.println("Exiting application... Goodbye!");
+                        running = false;
+                    }
+                    default -> output.println("Invalid option. Please try again.");
                 }
-                default -> System.out.println("Invalid option. Please try again.");
             }
+        } finally {
+            // Whatever was printed after the last prompt, such as the farewell, is still buffered.
+            output.flush();
         }
     }
 
@@ -63,30 +120,28 @@ public class UserInterface {
         while (running) {
             int storageOption = displayStorageMenu();
             switch (storageOption) {
-                case 1 -> clientStorage.viewAllIngredients(storage);
-                case 2 -> clientStorage.getIngredientsByName(storage, inputValidator);
-                case 3 -> clientStorage.addIngredient(storage, inputValidator);
-                case 4 -> clientStorage.removeIngredientByNameAndAmount(storage, inputValidator);
-                case 5 -> {
-                    System.out.printf("Expired ingredients: %s%nTotal price: %.2f kr%n",
-                            clientStorage.getExpiredIngredients(storage).stream()
-                                    .map(Object::toString).collect(Collectors.joining("\n")),
-                            clientStorage.getExpiredPrice(storage));
-                }
-                case 6 -> clientStorage.getTotalPrice(storage);
-                case 7 -> {
+                case 1 -> perform(VIEW_ALL_INGREDIENTS, () -> clientStorage.viewAllIngredients(storage));
+                case 2 -> perform(FIND_INGREDIENT, () -> clientStorage.getIngredientsByName(storage, inputValidator));
+                case 3 -> perform(ADD_INGREDIENT, () -> clientStorage.addIngredient(storage, inputValidator));
+                case 4 -> perform(REMOVE_INGREDIENT, () -> clientStorage.removeIngredientByNameAndAmount(storage, inputValidator));
+                case 5 -> perform(VIEW_EXPIRED, () -> output.printf("Expired ingredients: %s%nTotal price: %.2f kr%n",
+                        clientStorage.getExpiredIngredients(storage).stream()
+                                .map(Object::toString).collect(Collectors.joining("\n")),
+                        clientStorage.getExpiredPrice(storage)));
+                case 6 -> perform(TOTAL_PRICE, () -> clientStorage.getTotalPrice(storage));
+                case 7 -> perform(DATE_INTERVAL, () -> {
                     var ingredientsInRange = clientStorage.getIngredientsInDateInterval(storage, inputValidator);
                     if (ingredientsInRange.isEmpty()) {
-                        System.out.println("No ingredients found in the specified date range.");
+                        output.println("No ingredients found in the specified date range.");
                     } else {
-                        ingredientsInRange.forEach(System.out::println);
+                        ingredientsInRange.forEach(ingredient -> output.println(ingredient.toString()));
                     }
-                }
+                });
                 case 8 -> {
-                    System.out.println("Returning to Main Menu...");
+                    output.println("Returning to Main Menu...");
                     running = false;
                 }
-                default -> System.out.println("Invalid option. Please try again.");
+                default -> output.println("Invalid option. Please try again.");
             }
         }
     }
@@ -99,60 +154,86 @@ public class UserInterface {
         while (running) {
             int cookbookOption = displayCookbookMenu();
             switch (cookbookOption) {
-                case 1 -> clientCookbook.viewAllRecipes(cookbook);
-                case 2 -> clientCookbook.viewRecipesByCategory(cookbook, inputValidator);
-                case 3 -> clientCookbook.addRecipeToCookbook(cookbook, inputValidator);
-                case 4 -> clientCookbook.findRecipeByName(cookbook, inputValidator);
-                case 5 -> clientCookbook.canMakeRecipe(cookbook, storage, inputValidator);
-                case 6 -> clientCookbook.suggestRecipe(cookbook, storage);
+                case 1 -> perform(VIEW_ALL_RECIPES, () -> clientCookbook.viewAllRecipes(cookbook));
+                case 2 -> perform(VIEW_BY_CATEGORY, () -> clientCookbook.viewRecipesByCategory(cookbook, inputValidator));
+                case 3 -> perform(ADD_RECIPE, () -> clientCookbook.addRecipeToCookbook(cookbook, inputValidator));
+                case 4 -> perform(FIND_RECIPE, () -> clientCookbook.findRecipeByName(cookbook, inputValidator));
+                case 5 -> perform(CAN_MAKE_RECIPE, () -> clientCookbook.canMakeRecipe(cookbook, storage, inputValidator));
+                case 6 -> perform(SUGGEST_RECIPE, () -> clientCookbook.suggestRecipe(cookbook, storage));
                 case 7 -> {
-                    System.out.println("Returning to Main Menu...");
+                    output.println("Returning to Main Menu...");
                     running = false;
                 }
-                default -> System.out.println("Invalid option. Please try again.");
+                default -> output.println("Invalid option. Please try again.");
             }
         }
     }
 
+    /**
+     * Runs a menu action, counting and timing it without the time spent waiting for input.
+     *
+     * @param action the metrics of the action.
+     * @param body   the action.
+     */
+    private void perform(OperationMetrics action, Runnable body) {
+        long waited = InputWait.total();
+        long start = action.start();
+        try {
+            body.run();
+        } catch (RuntimeException e) {
+            action.failed();
+            throw e;
+        } finally {
+            action.stop(start, InputWait.total() - waited);
+        }
+    }
+
+    private static OperationMetrics action(String name) {
+        OperationMetrics action = MetricsRegistry.global().operation("ui." + name);
+        // Menu actions are rare, so timing every one of them costs nothing noticeable.
+        action.setSampleInterval(1);
+        return action;
+    }
+
     private int displayMainMenu() {
-        System.out.println("\n==============================");
-        System.out.println("     Recipe & Storage App     ");
-        System.out.println("==============================");
-        System.out.println("1. Manage Storage");
-        System.out.println("2. Manage Cookbook");
-        System.out.println("3. Exit Application");
-        System.out.println("==============================");
-        return inputValidator.getValidInt("Please select an option (1-3): ");
+        output.println("\n==============================");
+        output.println("     Recipe & Storage App     ");
+        output.println("==============================");
+        output.println("1. Manage Storage");
+        output.println("2. Manage Cookbook");
+        output.println("3. Exit Application");
+        output.println("==============================");
+        return inputValidator.getValidInt(MAIN_MENU_PROMPT);
     }
 
     private int displayStorageMenu() {
-        System.out.println("\n==============================");
-        System.out.println("        Storage Menu          ");
-        System.out.println("==============================");
-        System.out.println("1. View All Ingredients");
-        System.out.println("2. Find Ingredient by Name");
-        System.out.println("3. Add New Ingredient");
-        System.out.println("4. Remove Ingredient by Name and Amount");
-        System.out.println("5. View Expired Ingredients and Total Value");
-        System.out.println("6. Calculate Total Value of Storage");
-        System.out.println("7. Get Ingredients in Date Range");
-        System.out.println("8. Return to Main Menu");
-        System.out.println("==============================");
-        return inputValidator.getValidInt("Please select an option (1-8): ");
+        output.println("\n==============================");
+        output.println("        Storage Menu          ");
+        output.println("==============================");
+        output.println("1. View All Ingredients");
+        output.println("2. Find Ingredient by Name");
+        output.println("3. Add New Ingredient");
+        output.println("4. Remove Ingredient by Name and Amount");
+        output.println("5. View Expired Ingredients and Total Value");
+        output.println("6. Calculate Total Value of Storage");
+        output.println("7. Get Ingredients in Date Range");
+        output.println("8. Return to Main Menu");
+        output.println("==============================");
+        return inputValidator.getValidInt(STORAGE_MENU_PROMPT);
     }
 
     private int displayCookbookMenu() {
-        System.out.println("\n==============================");
-        System.out.println("       Cookbook Menu          ");
-        System.out.println("==============================");
-        System.out.println("1. View All Recipes");
-        System.out.println("2. View Recipes by Category");
-        System.out.println("3. Add a New Recipe");
-        System.out.println("4. Find a Recipe by Name");
-        System.out.println("5. Check if a Recipe Can Be Made");
-        System.out.println("6. Suggest Recipes Based on Ingredients");
-        System.out.println("7. Return to Main Menu");
-        System.out.println("==============================");
-        return inputValidator.getValidInt("Please select an option (1-7): ");
+        output.println("\n==============================");
+        output.println("       Cookbook Menu          ");
+        output.println("==============================");
+        output.println("1. View All Recipes");
+        output.println("2. View Recipes by Category");
+        output.println("3. Add a New Recipe");
+        output.println("4. Find a Recipe by Name");
+        output.println("5. Check if a Recipe Can Be Made");
+        output.println("6. Suggest Recipes Based on Ingredients");
+        output.println("7. Return to Main Menu");
+        output.println("==============================");
+        return inputValidator.getValidInt(COOKBOOK_MENU_PROMPT);
     }
 }
\ No newline at end of file
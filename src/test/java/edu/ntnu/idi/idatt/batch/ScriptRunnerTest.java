@@ -0,0 +1,97 @@
+package edu.ntnu.idi.idatt.batch;
+
+import edu.ntnu.idi.idatt.model.Cookbook;
+import edu.ntnu.idi.idatt.model.Recipe;
+import edu.ntnu.idi.idatt.model.Storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+
+class ScriptRunnerTest {
+    private Storage storage;
+    private Cookbook cookbook;
+    private ScriptRunner runner;
+    private int omeletteID;
+
+    @BeforeEach
+    void setUp() {
+        storage = new Storage();
+        cookbook = new Cookbook();
+        omeletteID = cookbook.addRecipeToCookbook(new Recipe(0, "Omelette", "Eggs.", "Fry."), "Breakfast")
+                .addIngredient("Eggs", 3, "pcs", 6.0)
+                .getRecipeID();
+        runner = new ScriptRunner(storage, cookbook);
+    }
+
+    @Test
+    void testRun_OneResultLinePerCommand() throws IOException {
+        // Arrange
+        String script = String.join("\n",
+                "# stock up",
+                "add Eggs 12 pcs 2026-11-01 3.5",
+                "add Whole Milk 1 liter - 20",
+                "",
+                "suggest",
+                "cook " + omeletteID + " 2",
+                "remove Whole Milk 0.25",
+                "remove Eggs 10");
+        StringWriter out = new StringWriter();
+
+        // Act
+        int failures = runner.run(new BufferedReader(new StringReader(script)), out);
+
+        // Assert
+        assertEquals(0, failures);
+        assertEquals(String.join("\n",
+                "ok",
+                "ok",
+                "ok\t1\t" + omeletteID,
+                "ok\ttrue",
+                "ok\t0.25",
+                "ok\t6.0",
+                ""), out.toString(), "Comments and blank lines should produce no output.");
+        assertEquals(0.75, storage.getIngredientsByName("whole milk").get(0).getIngredientAmount(), 1e-9);
+        assertTrue(storage.getIngredientsByName("Eggs").isEmpty(), "Emptied entries should be removed.");
+    }
+
+    @Test
+    void testRun_ReportsErrorsAndContinues() throws IOException {
+        // Arrange
+        String script = String.join("\n",
+                "add Eggs twelve pcs - 3.5",
+                "frobnicate",
+                "cook 999999",
+                "add Eggs 12 pcs 2026-13-01 3.5",
+                "add Eggs 12 pcs - 3.5");
+        StringWriter out = new StringWriter();
+
+        // Act
+        int failures = runner.run(new BufferedReader(new StringReader(script)), out);
+
+        // Assert
+        String[] lines = out.toString().split("\n");
+        assertEquals(4, failures);
+        assertEquals(5, lines.length);
+        assertTrue(lines[0].startsWith("error\t1\t"));
+        assertEquals("error\t2\tUnknown command: frobnicate", lines[1]);
+        assertEquals("error\t3\tRecipe not found: 999999", lines[2]);
+        assertTrue(lines[3].startsWith("error\t4\t"));
+        assertEquals("ok", lines[4]);
+        assertEquals(1, storage.getIngredients().size(), "Failed commands should not change the storage.");
+    }
+
+    @Test
+    void testExecute_UsageErrors() {
+        // Act & Assert
+        assertEquals("error\t1\tUsage: remove <name> <amount>", runner.execute("remove Eggs"));
+        assertEquals("error\t1\tUsage: suggest", runner.execute("suggest now"));
+        assertNull(runner.execute("   "));
+    }
+}
@@ -0,0 +1,107 @@
+package edu.ntnu.idi.idatt.dataset;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import edu.ntnu.idi.idatt.model.Recipe;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+class DatasetGeneratorTest {
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 19);
+
+    @Test
+    void testGenerate_SameSettingsGiveSameBytes() {
+        // Arrange
+        DatasetGenerator first = new DatasetGenerator(7, TODAY);
+        DatasetGenerator second = new DatasetGenerator(7, TODAY);
+        DatasetGenerator otherSeed = new DatasetGenerator(8, TODAY);
+
+        // Act
+        String a = snapshot(first, 2000, 50);
+        first.generateRecipes(10, (recipe, category) -> { });
+        String b = snapshot(second, 2000, 50);
+        String c = snapshot(otherSeed, 2000, 50);
+
+        // Assert
+        assertEquals(a, b);
+        assertEquals(a, snapshot(first, 2000, 50), "Every call starts from the seed.");
+        assertNotEquals(a, c);
+    }
+
+    @Test
+    void testGenerateLots_PopularIngredientsDominateAndDatesSpreadAroundToday() {
+        // Arrange
+        DatasetGenerator generator = new DatasetGenerator(1, TODAY, 500, 1.0);
+        Map<String, Integer> counts = new HashMap<>();
+        List<LocalDate> dates = new ArrayList<>();
+
+        // Act
+        generator.generateLots(20_000, (name, amount, unit, expireDate, price) -> {
+            counts.merge(name, 1, Integer::sum);
+            dates.add(expireDate);
+            assertTrue(amount > 0 && price >= 0);
+        });
+
+        // Assert
+        int mostPopular = counts.get(generator.ingredientName(0));
+        assertTrue(mostPopular > counts.getOrDefault(generator.ingredientName(9), 0) * 5);
+        assertTrue(dates.stream().anyMatch(date -> date.isBefore(TODAY)), "Some stock is expired.");
+        assertTrue(dates.stream().anyMatch(date -> date.isAfter(TODAY.plusMonths(6))), "Some stock keeps long.");
+    }
+
+    @Test
+    void testGenerateRecipes_DistinctIngredientsFromVocabulary() {
+        // Arrange
+        DatasetGenerator generator = new DatasetGenerator(3, TODAY, 12, 1.0);
+        HashSet<String> vocabulary = new HashSet<>();
+        for (int rank = 0; rank < generator.getVocabulary(); rank++) {
+            vocabulary.add(generator.ingredientName(rank));
+        }
+        List<Recipe> recipes = new ArrayList<>();
+
+        // Act
+        generator.generateRecipes(200, (recipe, category) -> {
+            recipes.add(recipe);
+            assertTrue(List.of("Breakfast", "Lunch", "Dinner", "Dessert").contains(category));
+        });
+
+        // Assert
+        assertEquals(200, recipes.size());
+        for (Recipe recipe : recipes) {
+            int lines = recipe.getRecipe().size();
+            assertTrue(lines >= 3 && lines <= 10);
+            assertEquals(lines, recipe.getRecipe().stream().map(line -> line.getIngredientName()).distinct().count());
+            recipe.getRecipe().forEach(line -> assertTrue(vocabulary.contains(line.getIngredientName())));
+        }
+        assertEquals(200, recipes.stream().map(Recipe::getRecipeName).distinct().count());
+    }
+
+    @Test
+    void testIngredientName_ExtendsEverydayFoodsWithVariants() {
+        // Arrange
+        DatasetGenerator generator = new DatasetGenerator(1, TODAY, 2000, 0);
+
+        // Act & Assert
+        assertEquals("Eggs", generator.ingredientName(0));
+        assertEquals("Organic Eggs", generator.ingredientName(40));
+        assertEquals("Eggs (2)", generator.ingredientName(640));
+        assertEquals("pcs", generator.defaultUnit(0));
+        assertThrows(IllegalArgumentException.class, () -> generator.ingredientName(2000));
+        assertThrows(IllegalArgumentException.class, () -> new DatasetGenerator(1, null));
+        assertThrows(IllegalArgumentException.class, () -> new DatasetGenerator(1, TODAY, 0, 1.0));
+    }
+
+    private static String snapshot(DatasetGenerator generator, long lots, int recipes) {
+        StringWriter out = new StringWriter();
+        SnapshotWriter writer = new SnapshotWriter(out);
+        generator.generateLots(lots, writer);
+        generator.generateRecipes(recipes, writer);
+        return out.toString();
+    }
+}
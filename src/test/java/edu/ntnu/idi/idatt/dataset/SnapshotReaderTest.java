@@ -0,0 +1,86 @@
+package edu.ntnu.idi.idatt.dataset;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import edu.ntnu.idi.idatt.model.Cookbook;
+import edu.ntnu.idi.idatt.model.Recipe;
+import edu.ntnu.idi.idatt.model.Storage;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.LocalDate;
+
+class SnapshotReaderTest {
+
+    @Test
+    void testRead_RoundTripsIntoStorageAndCookbook() throws IOException {
+        // Arrange
+        DatasetGenerator generator = new DatasetGenerator(5, LocalDate.of(2026, 10, 19), 200, 1.0);
+        StringWriter written = new StringWriter();
+        SnapshotWriter writer = new SnapshotWriter(written);
+        writer.comment("test " + generator.describe());
+        generator.generateLots(500, writer);
+        generator.generateRecipes(20, writer);
+        Storage storage = new Storage();
+        Cookbook cookbook = new Cookbook();
+
+        // Act
+        SnapshotReader.read("test", reader(written.toString()), storage::addEntry, cookbook::addRecipeToCookbook);
+
+        // Assert
+        assertEquals(500, storage.getIngredients().size());
+        assertEquals(20, cookbook.getCookbook().size());
+        StringWriter rewritten = new StringWriter();
+        SnapshotWriter again = new SnapshotWriter(rewritten);
+        again.comment("test " + generator.describe());
+        storage.getIngredients().forEach(lot -> again.accept(lot.getIngredientName(), lot.getIngredientAmount(),
+                lot.getIngredientMeasurement(), lot.getExpireDate(), lot.getIngredientPrice()));
+        generator.generateRecipes(20, (recipe, category) -> {
+            Recipe loaded = cookbook.findRecipeByName(recipe.getRecipeName());
+            assertTrue(loaded.isInCategory(cookbook.getCategoryID(category)));
+            again.accept(loaded, category);
+        });
+        assertEquals(written.toString(), rewritten.toString(), "Loading and writing again gives the same bytes.");
+    }
+
+    @Test
+    void testRead_NoExpiryAndComments() throws IOException {
+        // Arrange
+        String snapshot = "# comment\n\nlot\tSalt\t1.0\tkg\t-\t12.5\n";
+        Storage storage = new Storage();
+
+        // Act
+        SnapshotReader.read("s", reader(snapshot), storage::addEntry, (recipe, category) -> fail());
+
+        // Assert
+        assertEquals(1, storage.getIngredients().size());
+        assertNull(storage.getIngredients().get(0).getExpireDate());
+        assertEquals(12.5, storage.getIngredients().get(0).getIngredientPrice());
+    }
+
+    @Test
+    void testRead_RejectsMalformedRecords() {
+        // Arrange
+        LotSink lots = (name, amount, unit, date, price) -> { };
+        RecipeSink recipes = (recipe, category) -> { };
+
+        // Act & Assert
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> SnapshotReader.read("s", reader("# x\nlot\tSalt\tmuch\tkg\t-\t1.0\n"), lots, recipes));
+        assertTrue(e.getMessage().startsWith("s:2:"));
+        assertThrows(IllegalArgumentException.class,
+                () -> SnapshotReader.read("s", reader("lot\tSalt\t1.0\tkg\t2026-02-30\t1.0\n"), lots, recipes));
+        assertThrows(IllegalArgumentException.class,
+                () -> SnapshotReader.read("s", reader("line\tSalt\t1.0\tkg\t1.0\n"), lots, recipes));
+        assertThrows(IllegalArgumentException.class,
+                () -> SnapshotReader.read("s", reader("lot\tSalt\t1.0\tkg\t-\n"), lots, recipes));
+        assertThrows(IllegalArgumentException.class,
+                () -> SnapshotReader.read("s", reader("stock\tSalt\n"), lots, recipes));
+    }
+
+    private static BufferedReader reader(String text) {
+        return new BufferedReader(new StringReader(text));
+    }
+}
@@ -0,0 +1,145 @@
+package edu.ntnu.idi.idatt.events;
+
+import edu.ntnu.idi.idatt.dataset.SnapshotReader;
+import edu.ntnu.idi.idatt.dataset.SnapshotWriter;
+import edu.ntnu.idi.idatt.model.Cookbook;
+import edu.ntnu.idi.idatt.model.Recipe;
+import edu.ntnu.idi.idatt.model.Storage;
+import edu.ntnu.idi.idatt.output.OutputSink;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+class FlightRecorderEventsTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testEvents_DisabledByDefault() throws Exception {
+        // Arrange
+        Storage storage = new Storage();
+
+        // Act
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.start();
+            storage.addEntry("Eggs", 12, "pcs", null, 36.0);
+            recording.stop();
+            events = read(recording);
+        }
+
+        // Assert
+        assertTrue(events.stream().noneMatch(event -> event.getEventType().getName().startsWith("edu.ntnu.idi.idatt.")));
+        assertFalse(new StorageEvent("addEntry", true, "Eggs", 12).isEnabled());
+    }
+
+    @Test
+    void testStorageAndCookbookEvents_RecordFields() throws Exception {
+        // Arrange
+        Storage storage = new Storage();
+        storage.addEntry("Eggs", 2, "pcs", null, 6.0);
+        storage.addEntry("Eggs", 4, "pcs", null, 12.0);
+        Cookbook cookbook = new Cookbook();
+        Recipe omelette = cookbook.addRecipeToCookbook(new Recipe(0, "Omelette", "Eggs.", "Fry."), "Breakfast")
+                .addIngredient("Eggs", 3, "pcs", 6.0)
+                .addIngredient("Milk", 1, "dl", 2.0);
+
+        // Act
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(StorageEvent.NAME);
+            recording.enable(RecipeSuggestionEvent.NAME);
+            recording.enable(RecipeFeasibilityEvent.NAME);
+            recording.start();
+            storage.withdraw("Eggs", 3);
+            storage.getIngredientsByName("Eggs");
+            cookbook.suggestRecipe(storage);
+            omelette.canMakeRecipe(storage, OutputSink.none());
+            recording.stop();
+            events = read(recording);
+        }
+
+        // Assert
+        RecordedEvent withdraw = only(events, StorageEvent.NAME, "withdraw");
+        assertTrue(withdraw.getBoolean("mutation"));
+        assertEquals("Eggs", withdraw.getString("ingredientName"));
+        assertEquals(3.0, withdraw.getDouble("amount"));
+        assertEquals(2, withdraw.getInt("itemsScanned"), "Both entries should be drawn from.");
+        assertEquals(1, withdraw.getInt("resultSize"), "The first entry should be used up.");
+        RecordedEvent query = only(events, StorageEvent.NAME, "getIngredientsByName");
+        assertFalse(query.getBoolean("mutation"));
+        assertEquals(1, query.getInt("resultSize"));
+        RecordedEvent suggestion = only(events, RecipeSuggestionEvent.NAME, null);
+        assertEquals(1, suggestion.getInt("recipesScanned"));
+        assertEquals(0, suggestion.getInt("resultSize"));
+        RecordedEvent feasibility = only(events, RecipeFeasibilityEvent.NAME, null);
+        assertEquals("Omelette", feasibility.getString("recipeName"));
+        assertEquals(2, feasibility.getInt("ingredientsScanned"));
+        assertEquals(1, feasibility.getInt("entriesIndexed"));
+        assertEquals(1, feasibility.getInt("missingIngredients"), "Only the milk should be missing.");
+        assertFalse(feasibility.getBoolean("feasible"));
+    }
+
+    @Test
+    void testSnapshotEvents_CountRecords() throws Exception {
+        // Arrange
+        StringWriter text = new StringWriter();
+        Storage storage = new Storage();
+
+        // Act
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(SnapshotEvent.NAME);
+            recording.start();
+            try (SnapshotWriter writer = new SnapshotWriter(text, "kitchen.tsv")) {
+                writer.comment("test");
+                writer.accept("Eggs", 12, "pcs", null, 36.0);
+                writer.accept(new Recipe(0, "Omelette", "Eggs.", "Fry.").addIngredient("Eggs", 3, "pcs", 6.0), "Breakfast");
+            }
+            SnapshotReader.read("kitchen.tsv", new BufferedReader(new StringReader(text.toString())),
+                    storage::addEntry, (recipe, category) -> { });
+            recording.stop();
+            events = read(recording);
+        }
+
+        // Assert
+        List<RecordedEvent> snapshots = events.stream()
+                .filter(event -> event.getEventType().getName().equals(SnapshotEvent.NAME))
+                .collect(Collectors.toList());
+        assertEquals(2, snapshots.size());
+        for (RecordedEvent snapshot : snapshots) {
+            assertEquals("kitchen.tsv", snapshot.getString("snapshot"));
+            assertEquals(4, snapshot.getLong("lines"));
+            assertEquals(1, snapshot.getLong("lots"));
+            assertEquals(1, snapshot.getLong("recipes"));
+        }
+        assertEquals(1, snapshots.stream().filter(snapshot -> snapshot.getBoolean("write")).count());
+    }
+
+    private List<RecordedEvent> read(Recording recording) throws Exception {
+        Path file = directory.resolve("recording.jfr");
+        recording.dump(file);
+        return RecordingFile.readAllEvents(file);
+    }
+
+    private static RecordedEvent only(List<RecordedEvent> events, String type, String operation) {
+        List<RecordedEvent> matching = events.stream()
+                .filter(event -> event.getEventType().getName().equals(type))
+                .filter(event -> operation == null || operation.equals(event.getString("operation")))
+                .collect(Collectors.toList());
+        assertEquals(1, matching.size(), "Expected one " + type + " event for " + operation + ": " + matching);
+        return matching.get(0);
+    }
+}
@@ -3,9 +3,12 @@ import edu.ntnu.idi.idatt.inputvalidator.InputValidator;
 import edu.ntnu.idi.idatt.model.Cookbook;
 import edu.ntnu.idi.idatt.model.Recipe;
 import edu.ntnu.idi.idatt.model.Storage;
+import edu.ntnu.idi.idatt.output.OutputSink;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import static org.junit.jupiter.api.Assertions.*;
@@ -27,6 +30,12 @@ class ClientCookbookTest {
     @Mock
     private InputValidator mockInputValidator;
 
+    @BeforeEach
+    void setUp() {
+        lenient().when(mockCookbook.getOutput()).thenReturn(OutputSink.none());
+        lenient().when(mockStorage.getOutput()).thenReturn(OutputSink.none());
+    }
+
     @Test
     void testInit() {
         // Arrange
@@ -88,16 +97,33 @@ class ClientCookbookTest {
                 .thenReturn("done");          // To stop ingredient addition
         when(mockInputValidator.getValidDouble(anyString())).thenReturn(1.0); // Mock ingredient amount and price
 
-        // Mock recipe ID generation
-        when(mockCookbook.generateRecipeID(category)).thenReturn(1234);
-
         // Act
         ClientCookbook.addRecipeToCookbook(mockCookbook, mockInputValidator);
 
         // Assert
         verify(mockInputValidator, atLeast(4)).getNonEmptyString(anyString());
-        verify(mockCookbook, times(1)).generateRecipeID(category);
-        verify(mockCookbook, times(1)).addRecipeToCookbook(any(Recipe.class), eq(category));
+        InOrder order = inOrder(mockCookbook);
+        order.verify(mockCookbook, times(1)).registerCategory(category);
+        order.verify(mockCookbook, times(1)).addRecipeToCookbook(any(Recipe.class), eq(category));
+    }
+
+    @Test
+    void testAddRecipeToCookbook_AbandonedEntryDoesNotRegisterCategory() {
+        // Arrange
+        when(mockInputValidator.getNonEmptyString(anyString()))
+                .thenReturn("Brunch")
+                .thenReturn("Eggs Benedict")
+                .thenReturn("Poached eggs on muffins.")
+                .thenReturn("Poach and assemble.")
+                .thenReturn("Eggs");
+        when(mockInputValidator.getValidDouble(anyString())).thenThrow(new IllegalStateException("No more input."));
+
+        // Act
+        assertThrows(IllegalStateException.class, () -> ClientCookbook.addRecipeToCookbook(mockCookbook, mockInputValidator));
+
+        // Assert
+        verify(mockCookbook, never()).registerCategory(anyString());
+        verify(mockCookbook, never()).addRecipeToCookbook(any(Recipe.class), anyString());
     }
 
     @Test
@@ -2,7 +2,9 @@ package edu.ntnu.idi.idatt.foodhandling;
 import edu.ntnu.idi.idatt.inputvalidator.InputValidator;
 import edu.ntnu.idi.idatt.model.Ingredient;
 import edu.ntnu.idi.idatt.model.Storage;
+import edu.ntnu.idi.idatt.output.OutputSink;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -22,6 +24,11 @@ class ClientStorageTest {
     @Mock
     private InputValidator mockInputValidator;
 
+    @BeforeEach
+    void setUp() {
+        lenient().when(mockStorage.getOutput()).thenReturn(OutputSink.none());
+    }
+
     @Test
     void testInit() {
         // Arrange
@@ -128,6 +135,21 @@ class ClientStorageTest {
         verify(mockStorage, times(1)).getIngredients();
     }
 
+    @Test
+    void testGetExpiredIngredients_SkipsEntriesThatNeverExpire() {
+        // Arrange
+        Ingredient expired = new Ingredient("Milk", 2.0, "L", LocalDate.now().minusDays(1), 60.0);
+        when(mockStorage.getIngredients()).thenReturn(new ArrayList<>(List.of(
+                new Ingredient("Salt", 1.0, "kg", null, 15.0),
+                expired)));
+
+        // Act
+        ArrayList<Ingredient> expiredIngredients = ClientStorage.getExpiredIngredients(mockStorage);
+
+        // Assert
+        assertEquals(List.of(expired), expiredIngredients, "An entry without an expiration date never expires.");
+    }
+
     @Test
     void testGetExpiredPrice() {
         // Arrange
@@ -0,0 +1,106 @@
+package edu.ntnu.idi.idatt.inputvalidator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+
+class InputParserTest {
+    private InputParser parser;
+
+    @BeforeEach
+    void setUp() {
+        parser = new InputParser();
+    }
+
+    @Test
+    void testParseInt_StatusCodes() {
+        // Act & Assert
+        assertEquals(InputParser.OK, parser.parseInt(" -42 "));
+        assertEquals(-42, parser.getInt());
+        assertEquals(InputParser.OK, parser.parseInt("-2147483648"));
+        assertEquals(Integer.MIN_VALUE, parser.getInt());
+        assertEquals(InputParser.OUT_OF_RANGE, parser.parseInt("2147483648"));
+        assertEquals(InputParser.OUT_OF_RANGE, parser.parseInt("99999999999999999999"));
+        assertEquals(InputParser.MALFORMED, parser.parseInt("99999999999999999999x"));
+        assertEquals(InputParser.MALFORMED, parser.parseInt("12a"));
+        assertEquals(InputParser.MALFORMED, parser.parseInt("+"));
+        assertEquals(InputParser.EMPTY, parser.parseInt("   "));
+    }
+
+    @Test
+    void testParseDouble_MatchesDoubleParseDouble() {
+        // Arrange
+        String[] inputs = {"0", "5.5", "-0.001", "1.50", ".5", "5.", "3e2", "1.25E-3", "+7",
+            "0.1", "123456789012345", "1234567890.123456789", "1e23", "4.9e-324", "1.7976931348623157e308"};
+
+        // Act & Assert
+        for (String input : inputs) {
+            assertEquals(InputParser.OK, parser.parseDouble(input), input);
+            assertEquals(Double.parseDouble(input), parser.getDouble(), input);
+        }
+    }
+
+    @Test
+    void testParseDouble_RejectsWithoutThrowing() {
+        // Act & Assert
+        assertEquals(InputParser.MALFORMED, parser.parseDouble("NaN"));
+        assertEquals(InputParser.MALFORMED, parser.parseDouble("Infinity"));
+        assertEquals(InputParser.MALFORMED, parser.parseDouble("0x1p3"));
+        assertEquals(InputParser.MALFORMED, parser.parseDouble("1.2.3"));
+        assertEquals(InputParser.MALFORMED, parser.parseDouble("1e"));
+        assertEquals(InputParser.MALFORMED, parser.parseDouble("."));
+        assertEquals(InputParser.MALFORMED, parser.parseDouble("5.5d"));
+        assertEquals(InputParser.EMPTY, parser.parseDouble(""));
+        assertEquals(InputParser.OUT_OF_RANGE, parser.parseDouble("1e309"));
+        assertEquals(InputParser.OUT_OF_RANGE, parser.parseDouble("1e99999999999"));
+        assertEquals(InputParser.OK, parser.parseDouble("1e-99999999999"));
+        assertEquals(0.0, parser.getDouble());
+    }
+
+    @Test
+    void testParseDouble_KeepsParsedInt() {
+        // Arrange
+        parser.parseInt("42");
+
+        // Act
+        int status = parser.parseDouble("1.5e3");
+
+        // Assert
+        assertEquals(InputParser.OK, status);
+        assertEquals(1500.0, parser.getDouble());
+        assertEquals(42, parser.getInt(), "Parsing the exponent should not overwrite the parsed integer.");
+    }
+
+    @Test
+    void testParseDate_ValidatesCalendar() {
+        // Act & Assert
+        assertEquals(InputParser.OK, parser.parseDate("2026-11-01"));
+        assertEquals(LocalDate.of(2026, 11, 1), parser.getDate());
+        assertEquals(InputParser.OK, parser.parseDate("2000-02-29"));
+        assertEquals(InputParser.OUT_OF_RANGE, parser.parseDate("1900-02-29"));
+        assertEquals(InputParser.OUT_OF_RANGE, parser.parseDate("2026-13-01"));
+        assertEquals(InputParser.OUT_OF_RANGE, parser.parseDate("2026-04-31"));
+        assertEquals(InputParser.MALFORMED, parser.parseDate("2026-1-01"));
+        assertEquals(InputParser.MALFORMED, parser.parseDate("2026/11/01"));
+        assertEquals(InputParser.MALFORMED, parser.parseDate("2026"));
+        assertEquals(InputParser.EMPTY, parser.parseDate(""));
+    }
+
+    @Test
+    void testParse_RangeWithinBuffer() {
+        // Arrange
+        StringBuilder buffer = new StringBuilder("add 12.5 2026-11-01 7");
+
+        // Act & Assert
+        assertEquals(InputParser.OK, parser.parseDouble(buffer, 4, 8));
+        assertEquals(12.5, parser.getDouble());
+        assertEquals(InputParser.OK, parser.parseDate(buffer, 9, 19));
+        assertEquals(2026, parser.getYear());
+        assertEquals(11, parser.getMonth());
+        assertEquals(1, parser.getDay());
+        assertEquals(InputParser.OK, parser.parseInt(buffer, 19, 21));
+        assertEquals(7, parser.getInt());
+    }
+}
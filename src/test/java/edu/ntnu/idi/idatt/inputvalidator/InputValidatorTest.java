@@ -97,6 +97,14 @@ class InputValidatorTest {
         verify(mockScanner, times(7)).nextLine();
     }
 
+    @Test
+    void testGetValidExpirationDate_WholeDateAtYearPrompt() {
+        when(mockScanner.nextLine()).thenReturn("2026-02-30", "2026-11-01");
+        LocalDate result = inputValidator.getValidExpirationDate("Enter an expiration date:");
+        assertEquals(LocalDate.of(2026, 11, 1), result);
+        verify(mockScanner, times(2)).nextLine();
+    }
+
     @Test
     void testGetValidExpirationDate_UserCancels() {
         when(mockScanner.nextLine()).thenReturn("cancel");
@@ -161,4 +169,12 @@ class InputValidatorTest {
         assertNull(result, "Expected null when user cancels at day input.");
         verify(mockScanner, times(3)).nextLine();
     }
+
+    @Test
+    void testGetValidExpirationDate_IsoDateAtYearPrompt() {
+        when(mockScanner.nextLine()).thenReturn("2024-02-30", "2024-02-29");
+        LocalDate result = inputValidator.getValidExpirationDate("Enter an expiration date:");
+        assertEquals(LocalDate.of(2024, 2, 29), result);
+        verify(mockScanner, times(2)).nextLine();
+    }
 }
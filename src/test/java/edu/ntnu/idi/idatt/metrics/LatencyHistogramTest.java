@@ -0,0 +1,83 @@
+package edu.ntnu.idi.idatt.metrics;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void testBuckets_AreContiguousAndWithinRelativeError() {
+        // Arrange
+        long previousHighest = -1;
+        int previousBucket = -1;
+
+        // Act & Assert
+        for (long value = 0; value < 1 << 20; value++) {
+            int bucket = LatencyHistogram.bucketOf(value);
+            if (bucket != previousBucket) {
+                assertEquals(previousBucket + 1, bucket, "Buckets should not be skipped at " + value);
+                assertEquals(previousHighest + 1, value, "A bucket should start after the previous one ends.");
+                previousBucket = bucket;
+            }
+            previousHighest = LatencyHistogram.highestValueOf(bucket);
+            assertTrue(value <= previousHighest);
+            assertTrue(previousHighest - value <= value / LatencyHistogram.SUB_BUCKETS, "Too coarse at " + value);
+        }
+        assertEquals(LatencyHistogram.bucketOf(Long.MAX_VALUE), LatencyHistogram.bucketOf(1L << 50),
+                "Values beyond the largest bucket should share it.");
+    }
+
+    @Test
+    void testSnapshot_PercentilesMeanAndMax() {
+        // Arrange
+        LatencyHistogram histogram = new LatencyHistogram(4);
+
+        // Act
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        histogram.record(-5);
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        // Assert
+        assertEquals(1001, snapshot.getCount());
+        assertEquals(500_000.0, snapshot.getMean(), 1000);
+        assertEquals(500_000.0, snapshot.getValueAtPercentile(50), 500_000 / LatencyHistogram.SUB_BUCKETS);
+        assertEquals(990_000.0, snapshot.getValueAtPercentile(99), 990_000 / LatencyHistogram.SUB_BUCKETS);
+        assertTrue(snapshot.getValueAtPercentile(99) >= 990_000, "Percentiles should not be underestimated.");
+        assertEquals(0, snapshot.getValueAtPercentile(0), "The negative latency should be recorded as zero.");
+        assertTrue(snapshot.getMax() >= 1_000_000 && snapshot.getMax() < 1_000_000 * 17 / 16);
+        assertThrows(IllegalArgumentException.class, () -> snapshot.getValueAtPercentile(101));
+    }
+
+    @Test
+    void testRecord_FromManyThreadsAndReset() throws InterruptedException {
+        // Arrange
+        LatencyHistogram histogram = new LatencyHistogram(8);
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.record(100);
+                }
+            });
+        }
+
+        // Act
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        LatencyHistogram.Snapshot recorded = histogram.snapshot();
+        histogram.reset();
+
+        // Assert
+        assertEquals(80_000, recorded.getCount(), "No recording should be lost between stripes.");
+        assertEquals(100.0, recorded.getMean());
+        assertEquals(0, histogram.snapshot().getCount());
+        assertEquals(0, histogram.snapshot().getMax());
+        assertThrows(IllegalArgumentException.class, () -> new LatencyHistogram(0));
+    }
+}
@@ -0,0 +1,143 @@
+package edu.ntnu.idi.idatt.metrics;
+
+import edu.ntnu.idi.idatt.model.Storage;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+
+class MetricsRegistryTest {
+
+    @Test
+    void testOperation_CountsCallsAndErrors() {
+        // Arrange
+        MetricsRegistry registry = new MetricsRegistry();
+        OperationMetrics operation = registry.operation("storage.test");
+        operation.setSampleInterval(1);
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            long start = operation.start();
+            try {
+                if (i == 2) {
+                    throw new IllegalStateException("Failed.");
+                }
+            } catch (RuntimeException e) {
+                operation.failed();
+            } finally {
+                operation.stop(start);
+            }
+        }
+
+        // Assert
+        assertSame(operation, registry.operation("storage.test"));
+        assertEquals(3, operation.getCount());
+        assertEquals(1, operation.getErrorCount());
+        assertEquals(3, operation.snapshot().getCount(), "Every call should be timed.");
+        assertTrue(operation.getMaxMicros() >= operation.getP50Micros());
+        assertThrows(IllegalArgumentException.class, () -> registry.operation(""));
+    }
+
+    @Test
+    void testStop_LeavesOutInputWait() throws InterruptedException {
+        // Arrange
+        OperationMetrics operation = new MetricsRegistry().operation("ui.test");
+        operation.setSampleInterval(1);
+
+        // Act
+        long waited = InputWait.total();
+        long start = operation.start();
+        long read = InputWait.start();
+        Thread.sleep(50);
+        InputWait.stop(read);
+        operation.stop(start, InputWait.total() - waited);
+
+        // Assert
+        assertTrue(InputWait.total() - waited >= 50_000_000L);
+        assertEquals(1, operation.getCount());
+        assertTrue(operation.getMaxMicros() < 50_000, "The wait should not be timed: " + operation.getMaxMicros());
+    }
+
+    @Test
+    void testSampleInterval_TimesAShareOfCalls() {
+        // Arrange
+        OperationMetrics operation = new MetricsRegistry().operation("cookbook.test");
+
+        // Act
+        for (int i = 0; i < 80_000; i++) {
+            operation.stop(operation.start());
+        }
+
+        // Assert
+        assertEquals(OperationMetrics.DEFAULT_SAMPLE_INTERVAL, operation.getSampleInterval());
+        assertEquals(80_000, operation.getCount(), "Every call should be counted.");
+        long timed = operation.snapshot().getCount();
+        assertTrue(timed > 8_000 && timed < 12_000, "About one in eight calls should be timed: " + timed);
+        assertThrows(IllegalArgumentException.class, () -> operation.setSampleInterval(0));
+        assertThrows(IllegalArgumentException.class, () -> operation.setSampleInterval(12));
+    }
+
+    @Test
+    void testDump_ListsCalledOperationsInOrder() {
+        // Arrange
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.operation("storage.withdraw").stop(System.nanoTime());
+        registry.operation("cookbook.suggestRecipe").stop(System.nanoTime());
+        registry.operation("cookbook.unused");
+
+        // Act
+        String dump = registry.dump();
+        registry.reset();
+
+        // Assert
+        String[] lines = dump.split(System.lineSeparator());
+        assertEquals(3, lines.length, dump);
+        assertTrue(lines[0].startsWith("operation"));
+        assertTrue(lines[1].startsWith("cookbook.suggestRecipe "));
+        assertTrue(lines[2].startsWith("storage.withdraw "));
+        assertArrayEquals(new String[] {"cookbook.suggestRecipe", "cookbook.unused", "storage.withdraw"},
+                registry.getOperationNames());
+        assertEquals(1, registry.dump().split(System.lineSeparator()).length, "Reset operations should not be listed.");
+    }
+
+    @Test
+    void testRegisterMBeans_ExposesExistingAndLaterOperations() throws Exception {
+        // Arrange
+        MBeanServer server = MBeanServerFactory.newMBeanServer();
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.operation("storage.addEntry").stop(System.nanoTime());
+
+        // Act
+        registry.registerMBeans(server);
+        registry.registerMBeans(server);
+        registry.operation("cookbook.findRecipeByName");
+
+        // Assert
+        assertEquals(1L, server.getAttribute(new ObjectName("edu.ntnu.idi.idatt:type=Operation,name=storage.addEntry"), "Count"));
+        assertTrue(server.isRegistered(new ObjectName("edu.ntnu.idi.idatt:type=Operation,name=cookbook.findRecipeByName")));
+        String dump = (String) server.invoke(new ObjectName("edu.ntnu.idi.idatt:type=Metrics"), "dump", null, null);
+        assertTrue(dump.contains("storage.addEntry"), dump);
+        assertThrows(IllegalStateException.class, () -> registry.registerMBeans(MBeanServerFactory.newMBeanServer()));
+    }
+
+    @Test
+    void testGlobal_RecordsStorageOperations() {
+        // Arrange
+        Storage storage = new Storage();
+        OperationMetrics addEntry = MetricsRegistry.global().operation("storage.addEntry");
+        OperationMetrics interval = MetricsRegistry.global().operation("storage.getIngredientsInDateInterval");
+        long addsBefore = addEntry.getCount();
+        long errorsBefore = interval.getErrorCount();
+
+        // Act
+        storage.addEntry("Eggs", 12, "pcs", null, 36.0);
+        assertThrows(IllegalArgumentException.class, () -> storage.getIngredientsInDateInterval(null, null));
+
+        // Assert
+        assertTrue(addEntry.getCount() > addsBefore);
+        assertTrue(interval.getErrorCount() > errorsBefore);
+    }
+}
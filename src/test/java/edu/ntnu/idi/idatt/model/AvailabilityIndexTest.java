@@ -0,0 +1,109 @@
+package edu.ntnu.idi.idatt.model;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+
+class AvailabilityIndexTest {
+
+    @Test
+    void testOf_SumsAmountsIgnoringCase() {
+        // Arrange
+        List<Ingredient> ingredients = List.of(
+                new Ingredient("Flour", 1.0, "kg", LocalDate.of(2024, 5, 15), 25.0),
+                new Ingredient("flour", 0.5, "kg", LocalDate.of(2024, 6, 15), 15.0),
+                new Ingredient("Sugar", 2.0, "kg", LocalDate.of(2025, 1, 15), 40.0));
+
+        // Act
+        AvailabilityIndex index = AvailabilityIndex.of(ingredients);
+
+        // Assert
+        assertEquals(1.5, index.getAvailableAmount("FLOUR"), 0.0001);
+        assertEquals(2.0, index.getAvailableAmount(IngredientCatalog.idOf("Sugar")), 0.0001);
+    }
+
+    @Test
+    void testHasAtLeast() {
+        // Arrange
+        AvailabilityIndex index = AvailabilityIndex.of(List.of(
+                new Ingredient("Rice", 2.0, "kg", LocalDate.of(2025, 7, 15), 90.0)));
+        int riceID = IngredientCatalog.idOf("Rice");
+        int kg = Units.idOf("kg");
+
+        // Act & Assert
+        assertTrue(index.hasAtLeast(riceID, kg, 2.0));
+        assertFalse(index.hasAtLeast(riceID, kg, 2.5));
+        assertFalse(index.hasAtLeast(-1, kg, 0));
+    }
+
+    @Test
+    void testOf_KeepsBaseUnitsApart() {
+        // Arrange
+        List<Ingredient> ingredients = List.of(
+                new Ingredient("Garlic", 3, "heads", LocalDate.of(2025, 3, 1), 15.0),
+                new Ingredient("Garlic", 200, "g", LocalDate.of(2025, 3, 1), 20.0),
+                new Ingredient("Garlic", 0.1, "kg", LocalDate.of(2025, 4, 1), 10.0));
+        int garlicID = IngredientCatalog.idOf("Garlic");
+
+        // Act
+        AvailabilityIndex index = AvailabilityIndex.of(ingredients);
+
+        // Assert
+        assertEquals(3.0, index.getAvailableAmount(garlicID, Units.idOf("head")), 0.0001);
+        assertEquals(0.3, index.getAvailableAmount(garlicID, Units.idOf("kg")), 0.0001);
+        assertEquals(0.0, index.getAvailableAmount(garlicID, Units.idOf("pcs")));
+        assertFalse(index.hasAtLeast(garlicID, Units.idOf("kg"), 3.0), "Heads of garlic do not count towards kg.");
+    }
+
+    @Test
+    void testGetAvailableAmount_UnknownIngredient() {
+        // Arrange
+        AvailabilityIndex index = AvailabilityIndex.of(List.of());
+
+        // Act & Assert
+        assertEquals(0.0, index.getAvailableAmount("Saffron From Nowhere"));
+        assertEquals(0.0, index.getAvailableAmount(IngredientCatalog.idOf("Dragon Fruit")));
+    }
+
+    @Test
+    void testOf_NeverSeesPartOfACook() throws Exception {
+        // Arrange
+        Storage storage = new Storage();
+        for (int i = 0; i < 100; i++) {
+            storage.addEntry("Pasta", 10, "pcs", LocalDate.of(2026, 1, 1 + i % 28), 10.0);
+            storage.addEntry("Pesto", 10, "pcs", LocalDate.of(2026, 1, 1 + i % 28), 10.0);
+        }
+        Recipe pastaWithPesto = new Recipe(1, "Pasta with Pesto", "Pasta with Pesto", "Boil.")
+                .addIngredient("Pasta", 1, "pcs", null, 1.0)
+                .addIngredient("Pesto", 1, "pcs", null, 1.0);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        // Act
+        Future<?> cooks = executor.submit(() -> {
+            while (storage.cook(pastaWithPesto, 1)) {
+                // Cook until the stock runs out.
+            }
+        });
+        int mismatches = 0;
+        while (!cooks.isDone()) {
+            AvailabilityIndex index = AvailabilityIndex.of(storage);
+            if (index.getAvailableAmount("Pasta") != index.getAvailableAmount("Pesto")) {
+                mismatches++;
+            }
+        }
+        cooks.get();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals(0, mismatches, "Every cook takes as much pasta as pesto, so an index should never differ.");
+        assertEquals(0.0, AvailabilityIndex.of(storage).getAvailableAmount("Pasta"));
+    }
+}
@@ -0,0 +1,54 @@
+package edu.ntnu.idi.idatt.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class CategoryRegistryTest {
+    private CategoryRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new CategoryRegistry(2);
+    }
+
+    @Test
+    void testRegister_AssignsSequentialIDs() {
+        // Act
+        int lunch = registry.register("Lunch");
+        int dinner = registry.register("Dinner");
+
+        // Assert
+        assertEquals(0, lunch);
+        assertEquals(1, dinner);
+        assertEquals(2, registry.size());
+    }
+
+    @Test
+    void testRegister_IgnoresCase() {
+        // Arrange
+        int lunch = registry.register("Lunch");
+
+        // Act & Assert
+        assertEquals(lunch, registry.register(" lunch "));
+        assertEquals(lunch, registry.idOf("LUNCH"));
+        assertEquals("Lunch", registry.nameOf(lunch), "The display name should be the first registered spelling.");
+    }
+
+    @Test
+    void testIdOf_UnknownCategory() {
+        // Act & Assert
+        assertEquals(-1, registry.idOf("Brunch"));
+        assertEquals(-1, registry.idOf(null));
+    }
+
+    @Test
+    void testRegister_InvalidInput() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> registry.register(" "));
+        registry.register("Lunch");
+        registry.register("Dinner");
+        assertThrows(IllegalStateException.class, () -> registry.register("Dessert"));
+    }
+}
@@ -9,8 +9,14 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 
 
 @ExtendWith(MockitoExtension.class)
@@ -29,7 +35,7 @@ class CookbookTest {
     @Test
     void testGetCookbook() {
         // Arrange & Act
-        HashMap<Integer, Recipe> recipes = cookbook.getCookbook();
+        Map<Integer, Recipe> recipes = cookbook.getCookbook();
 
         // Assert
         assertNotNull(recipes, "Cookbook should return a non-null map of recipes.");
@@ -60,6 +66,107 @@ class CookbookTest {
                 "The exception message should indicate the invalid category.");
     }
 
+    @Test
+    void testGenerateRecipeID_DecodesToCategory() {
+        // Arrange
+        Recipe recipe = new Recipe(0, "Brownies", "Chewy brownies", "Bake.");
+
+        // Act
+        Recipe addedRecipe = cookbook.addRecipeToCookbook(recipe, "Dessert");
+
+        // Assert
+        assertEquals(3, RecipeIdAllocator.categoryOf(addedRecipe.getRecipeID()),
+                "The recipe ID should decode back to the Dessert category.");
+        assertEquals(1, RecipeIdAllocator.sequenceOf(addedRecipe.getRecipeID()),
+                "The first recipe in a category should have sequence number 1.");
+    }
+
+    @Test
+    void testGenerateRecipeID_BeyondThousandRecipes() {
+        // Arrange
+        for (int i = 0; i < 1500; i++) {
+            cookbook.addRecipeToCookbook(new Recipe(0, "Salad " + i, "Salad", "Mix."), "Lunch");
+        }
+
+        // Act
+        Recipe dinner = cookbook.addRecipeToCookbook(new Recipe(0, "Stew", "Stew", "Simmer."), "Dinner");
+
+        // Assert
+        assertEquals(1501, cookbook.getCookbook().size(), "No recipe should be overwritten by an ID collision.");
+        assertEquals(1, RecipeIdAllocator.categoryOf(dinner.getRecipeID()), "The recipe should stay in the Dinner category.");
+    }
+
+    @Test
+    void testAddRecipeToCookbook_ConcurrentAddsGetUniqueIDs() throws InterruptedException {
+        // Arrange
+        int threads = 8;
+        int recipesPerThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // Act
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < recipesPerThread; i++) {
+                    cookbook.addRecipeToCookbook(new Recipe(0, "Soup", "Soup", "Boil."), "Lunch");
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS), "All inserts should finish.");
+
+        // Assert
+        Set<Integer> ids = new HashSet<>(cookbook.getCookbook().keySet());
+        assertEquals(threads * recipesPerThread, ids.size(), "Every concurrently added recipe should have its own ID.");
+        assertEquals(threads * recipesPerThread, cookbook.viewRecipesByCategory("Lunch").size(),
+                "Every concurrently added recipe should be listed in its category.");
+    }
+
+    @Test
+    void testRegisterCategory_UserDefinedCategory() {
+        // Arrange
+        int categoryID = cookbook.registerCategory("Brunch");
+        Recipe recipe = new Recipe(0, "Eggs Benedict", "Poached eggs on muffins", "Poach and assemble.");
+
+        // Act
+        cookbook.addRecipeToCookbook(recipe, "brunch");
+
+        // Assert
+        assertEquals(categoryID, cookbook.registerCategory("BRUNCH"), "Registering an existing category should return its ID.");
+        assertEquals(categoryID, RecipeIdAllocator.categoryOf(recipe.getRecipeID()));
+        assertTrue(cookbook.viewRecipesByCategory("Brunch").contains(recipe));
+        assertTrue(cookbook.getCategories().contains("Brunch"));
+    }
+
+    @Test
+    void testAddRecipeToCategory_RecipeInSeveralCategories() {
+        // Arrange
+        Recipe recipe = new Recipe(0, "Pancake", "Pancakes", "Fry.");
+        cookbook.addRecipeToCookbook(recipe, "Breakfast");
+        int dessertID = cookbook.getCategoryID("Dessert");
+
+        // Act
+        boolean added = cookbook.addRecipeToCategory(recipe, dessertID);
+        boolean addedAgain = cookbook.addRecipeToCategory(recipe, dessertID);
+
+        // Assert
+        assertTrue(added, "The recipe should be added to the second category.");
+        assertFalse(addedAgain, "Adding the recipe to the same category twice should have no effect.");
+        assertTrue(cookbook.isRecipeInCategory(recipe, dessertID));
+        assertTrue(cookbook.isRecipeInCategory(recipe, cookbook.getCategoryID("Breakfast")));
+        assertFalse(cookbook.isRecipeInCategory(recipe, cookbook.getCategoryID("Lunch")));
+        assertEquals(1, cookbook.getRecipesInCategory(dessertID).size());
+        assertArrayEquals(new int[] {2, 3}, recipe.getCategoryIDs());
+    }
+
+    @Test
+    void testViewRecipesByCategory_UnknownCategory() {
+        // Act
+        List<Recipe> recipes = cookbook.viewRecipesByCategory("Unknown");
+
+        // Assert
+        assertTrue(recipes.isEmpty(), "No recipes should be returned for an unknown category.");
+    }
+
     @Test
     void testViewRecipesByCategory_EmptyCategory() {
         // Arrange
@@ -136,7 +243,7 @@ class CookbookTest {
         ArrayList<Ingredient> ingredients = new ArrayList<>();
         ingredients.add(ingredient);
 
-        when(mockStorage.getIngredients()).thenReturn(ingredients);
+        when(mockStorage.availability()).thenReturn(AvailabilityIndex.of(ingredients));
 
         // Act
         List<Recipe> suggestedRecipes = cookbook.suggestRecipe(mockStorage);
@@ -157,7 +264,7 @@ class CookbookTest {
         ArrayList<Ingredient> ingredients = new ArrayList<>();
         ingredients.add(ingredient);
 
-        when(mockStorage.getIngredients()).thenReturn(ingredients);
+        when(mockStorage.availability()).thenReturn(AvailabilityIndex.of(ingredients));
 
         // Act
         List<Recipe> suggestedRecipes = cookbook.suggestRecipe(mockStorage);
@@ -165,4 +272,213 @@ class CookbookTest {
         // Assert
         assertTrue(suggestedRecipes.isEmpty(), "No recipes should be suggested when ingredients are insufficient.");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSuggestRecipe_ParallelMatchesSequential() {
+        // Arrange
+        for (int i = 0; i < 2000; i++) {
+            Recipe recipe = new Recipe(0, "Omelette " + i, "Omelette", "Fry.");
+            recipe.addIngredient("Eggs", i % 7, "pcs", null, 0);
+            recipe.addIngredient(i % 3 == 0 ? "Truffle" : "Butter", 1, "g", null, 0);
+            cookbook.addRecipeToCookbook(recipe, i % 2 == 0 ? "Breakfast" : "Lunch");
+        }
+        ArrayList<Ingredient> ingredients = new ArrayList<>();
+        ingredients.add(new Ingredient("Eggs", 3, "pcs", null, 0));
+        ingredients.add(new Ingredient("Eggs", 1, "pcs", null, 0));
+        ingredients.add(new Ingredient("Butter", 10, "g", null, 0));
+        when(mockStorage.availability()).thenReturn(AvailabilityIndex.of(ingredients));
+
+        // Act
+        List<Recipe> sequential = cookbook.suggestRecipe(mockStorage);
+        cookbook.setParallelThreshold(1);
+        cookbook.setSuggestionPool(new ForkJoinPool(4));
+        List<Recipe> parallel = cookbook.suggestRecipe(mockStorage);
+
+        // Assert
+        assertFalse(sequential.isEmpty(), "Some recipes should be suggested.");
+        assertEquals(sequential, parallel, "Parallel suggestions should match sequential ones, in the same order.");
+        for (int i = 1; i < parallel.size(); i++) {
+            assertTrue(parallel.get(i - 1).getRecipeID() < parallel.get(i).getRecipeID(),
+                    "Suggestions should be ordered by recipe ID.");
+        }
+    }
+
+    @Test
+    void testSuggestRecipe_SumsEntriesWithSameName() {
+        // Arrange
+        Recipe recipe = new Recipe(0, "Omelette", "Omelette", "Fry.");
+        recipe.addIngredient("Eggs", 4, "pcs", null, 0);
+        cookbook.addRecipeToCookbook(recipe, "Breakfast");
+
+        ArrayList<Ingredient> ingredients = new ArrayList<>();
+        ingredients.add(new Ingredient("Eggs", 2, "pcs", null, 0));
+        ingredients.add(new Ingredient("eggs", 2, "pcs", null, 0));
+        when(mockStorage.availability()).thenReturn(AvailabilityIndex.of(ingredients));
+
+        // Act
+        List<Recipe> suggestedRecipes = cookbook.suggestRecipe(mockStorage);
+
+        // Assert
+        assertEquals(List.of(recipe), suggestedRecipes, "Amounts of entries with the same name should be combined.");
+    }
+
+    @Test
+    void testSetParallelThreshold_Invalid() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> cookbook.setParallelThreshold(0));
+        assertThrows(IllegalArgumentException.class, () -> cookbook.setSuggestionPool(null));
+    }
+
+    @Test
+    void testFindClosestRecipes_ByMissingIngredients() {
+        // Arrange
+        Recipe makeable = new Recipe(0, "Toast", "Toast", "Toast bread.");
+        makeable.addIngredient("Bread", 2, "slices", null, 10.0);
+        Recipe oneAway = new Recipe(0, "French Toast", "French toast", "Dip and fry.");
+        oneAway.addIngredient("Bread", 2, "slices", null, 10.0);
+        oneAway.addIngredient("Eggs", 2, "pcs", null, 20.0);
+        Recipe twoAway = new Recipe(0, "Cake", "Cake", "Bake.");
+        twoAway.addIngredient("Flour", 1, "kg", null, 25.0);
+        twoAway.addIngredient("Sugar", 1, "kg", null, 40.0);
+        cookbook.addRecipeToCookbook(twoAway, "Dessert");
+        cookbook.addRecipeToCookbook(oneAway, "Breakfast");
+        cookbook.addRecipeToCookbook(makeable, "Breakfast");
+
+        ArrayList<Ingredient> ingredients = new ArrayList<>();
+        ingredients.add(new Ingredient("Bread", 4, "slices", null, 40.0));
+        when(mockStorage.availability()).thenReturn(AvailabilityIndex.of(ingredients));
+
+        // Act
+        List<RecipeShortfall> closest = cookbook.findClosestRecipes(mockStorage, 2, RecipeShortfall.Measure.MISSING_INGREDIENTS);
+
+        // Assert
+        assertEquals(2, closest.size(), "Only the requested number of recipes should be returned.");
+        assertEquals(makeable, closest.get(0).getRecipe());
+        assertEquals(0.0, closest.get(0).getScore());
+        assertEquals(oneAway, closest.get(1).getRecipe());
+        assertEquals(1.0, closest.get(1).getScore());
+    }
+
+    @Test
+    void testFindClosestRecipes_ByMissingCost() {
+        // Arrange
+        Recipe cheapToFinish = new Recipe(0, "Pancake", "Pancake", "Fry.");
+        cheapToFinish.addIngredient("Milk", 1, "liter", null, 20.0);
+        cheapToFinish.addIngredient("Flour", 1, "kg", null, 25.0);
+        Recipe expensiveToFinish = new Recipe(0, "Steak", "Steak", "Grill.");
+        expensiveToFinish.addIngredient("Beef", 1, "kg", null, 300.0);
+        cookbook.addRecipeToCookbook(expensiveToFinish, "Dinner");
+        cookbook.addRecipeToCookbook(cheapToFinish, "Breakfast");
+
+        ArrayList<Ingredient> ingredients = new ArrayList<>();
+        ingredients.add(new Ingredient("Milk", 0.5, "liter", null, 10.0));
+        when(mockStorage.availability()).thenReturn(AvailabilityIndex.of(ingredients));
+
+        // Act
+        List<RecipeShortfall> closest = cookbook.findClosestRecipes(mockStorage, 1, RecipeShortfall.Measure.MISSING_COST);
+
+        // Assert
+        assertEquals(1, closest.size());
+        assertEquals(cheapToFinish, closest.get(0).getRecipe());
+        assertEquals(35.0, closest.get(0).getScore(), 0.0001, "Half the milk and all the flour should be missing.");
+    }
+
+    @Test
+    void testFindClosestRecipes_InvalidInput() {
+        // Act & Assert
+        AvailabilityIndex index = AvailabilityIndex.of(new ArrayList<>());
+        assertThrows(IllegalArgumentException.class, () -> cookbook.findClosestRecipes(index, -1, RecipeShortfall.Measure.MISSING_COST));
+        assertThrows(IllegalArgumentException.class, () -> cookbook.findClosestRecipes(index, 1, null));
+        assertTrue(cookbook.findClosestRecipes(index, 0, RecipeShortfall.Measure.MISSING_COST).isEmpty());
+    }
+
+    @Test
+    void testComputeMaxServings_MinimumOverIngredients() {
+        // Arrange
+        Recipe pancakes = new Recipe(0, "Pancakes", "Pancakes", "Fry.");
+        pancakes.addIngredient("Milk", 5, "dl", null, 10.0);
+        pancakes.addIngredient("Eggs", 2, "pcs", null, 8.0);
+        Recipe omelette = new Recipe(0, "Omelette", "Omelette", "Fry.");
+        omelette.addIngredient("Eggs", 3, "pcs", null, 12.0);
+        omelette.addIngredient("Cheese", 0.1, "kg", null, 15.0);
+        cookbook.addRecipeToCookbook(pancakes, "Breakfast");
+        cookbook.addRecipeToCookbook(omelette, "Breakfast");
+
+        ArrayList<Ingredient> ingredients = new ArrayList<>();
+        ingredients.add(new Ingredient("Milk", 2, "liter", null, 30.0));
+        ingredients.add(new Ingredient("Eggs", 7, "pcs", null, 28.0));
+        when(mockStorage.availability()).thenReturn(AvailabilityIndex.of(ingredients));
+
+        // Act
+        RecipeServings servings = cookbook.computeMaxServings(mockStorage);
+
+        // Assert
+        assertEquals(2, servings.size());
+        assertEquals(3, servings.getServings(pancakes.getRecipeID()), "Eggs limit pancakes to three servings.");
+        assertEquals(0, servings.getServings(omelette.getRecipeID()), "Without cheese the omelette cannot be made.");
+        assertThrows(IllegalArgumentException.class, () -> servings.getServings(-1));
+    }
+
+    @Test
+    void testComputeMaxServings_SeesChangedRecipes() {
+        // Arrange
+        Recipe toast = new Recipe(0, "Toast", "Toast", "Toast bread.");
+        toast.addIngredient("Bread", 2, "slices", null, 10.0);
+        cookbook.addRecipeToCookbook(toast, "Breakfast");
+        AvailabilityIndex index = AvailabilityIndex.of(List.of(
+                new Ingredient("Bread", 10, "slices", null, 40.0),
+                new Ingredient("Butter", 0.05, "kg", null, 5.0)));
+
+        // Act
+        int before = cookbook.computeMaxServings(index).getServings(toast.getRecipeID());
+        toast.addIngredient("Butter", 20, "g", null, 2.0);
+        Recipe plain = cookbook.addRecipeToCookbook(new Recipe(0, "Nothing", "Nothing", "Wait."), "Lunch");
+        RecipeServings after = cookbook.computeMaxServings(index);
+
+        // Assert
+        assertEquals(5, before);
+        assertEquals(2, after.getServings(toast.getRecipeID()), "Butter now limits toast to two servings.");
+        assertEquals(Integer.MAX_VALUE, after.getServings(plain.getRecipeID()));
+    }
+
+    @Test
+    void testFeasibility_DoesNotMixIncompatibleUnits() {
+        // Arrange
+        Storage storage = new Storage();
+        storage.addEntry("Eggs", 12, "pcs", null, 48.0);
+        Recipe meringue = cookbook.addRecipeToCookbook(new Recipe(0, "Meringue", "Meringue", "Whisk."), "Dessert")
+                .addIngredient("Eggs", 0.5, "kg", null, 30.0);
+
+        // Act
+        boolean canMake = meringue.canMakeRecipe(storage);
+        List<Recipe> suggestions = cookbook.suggestRecipe(storage);
+        int servings = cookbook.computeMaxServings(storage).getServings(meringue.getRecipeID());
+
+        // Assert
+        assertFalse(storage.canCook(meringue, 1), "Eggs counted in pcs cannot cover an amount in kg.");
+        assertFalse(canMake, "Feasibility checks should agree with cooking.");
+        assertTrue(suggestions.isEmpty());
+        assertEquals(0, servings);
+        assertFalse(storage.cook(meringue, 1));
+    }
+
+    @Test
+    void testFeasibility_ConvertsCompatibleUnits() {
+        // Arrange
+        Storage storage = new Storage();
+        storage.addEntry("Eggs", 12, "pcs", null, 48.0);
+        storage.addEntry("Eggs", 0.6, "kg", null, 40.0);
+        Recipe meringue = cookbook.addRecipeToCookbook(new Recipe(0, "Meringue", "Meringue", "Whisk."), "Dessert")
+                .addIngredient("Eggs", 500, "g", null, 30.0);
+
+        // Act
+        boolean canMake = meringue.canMakeRecipe(storage);
+        List<Recipe> suggestions = cookbook.suggestRecipe(storage);
+
+        // Assert
+        assertTrue(storage.canCook(meringue, 1));
+        assertTrue(canMake, "The eggs stocked by weight should cover the recipe.");
+        assertEquals(List.of(meringue), suggestions);
+        assertEquals(1, cookbook.computeMaxServings(storage).getServings(meringue.getRecipeID()));
+    }
+}
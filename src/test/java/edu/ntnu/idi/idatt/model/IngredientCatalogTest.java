@@ -0,0 +1,66 @@
+package edu.ntnu.idi.idatt.model;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class IngredientCatalogTest {
+
+    @Test
+    void testIdOf_SameIDIgnoringCase() {
+        // Act
+        int id = IngredientCatalog.idOf("Cardamom");
+
+        // Assert
+        assertEquals(id, IngredientCatalog.idOf(" cardamom "));
+        assertEquals(id, IngredientCatalog.find("CARDAMOM"));
+        assertEquals("Cardamom", IngredientCatalog.nameOf(id));
+        assertTrue(id < IngredientCatalog.size());
+    }
+
+    @Test
+    void testFind_UnknownIngredient() {
+        // Act & Assert
+        assertEquals(-1, IngredientCatalog.find("Never Registered Spice"));
+        assertEquals(-1, IngredientCatalog.find(null));
+    }
+
+    @Test
+    void testIdOf_InvalidInput() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> IngredientCatalog.idOf(null));
+        assertThrows(IllegalArgumentException.class, () -> IngredientCatalog.nameOf(-1));
+    }
+
+    @Test
+    void testIdOf_ManyNames() {
+        // Act
+        int first = IngredientCatalog.idOf("Catalog Growth 0");
+        for (int i = 1; i < 100; i++) {
+            IngredientCatalog.idOf("Catalog Growth " + i);
+        }
+
+        // Assert
+        assertEquals(first + 99, IngredientCatalog.find("Catalog Growth 99"), "IDs should be handed out densely.");
+        assertEquals("Catalog Growth 50", IngredientCatalog.nameOf(first + 50));
+    }
+
+    @Test
+    void testDefinitionOf_SharedWithFirstUnitAsDefault() {
+        // Arrange
+        int id = IngredientCatalog.idOf("Star Anise");
+        Ingredient first = new Ingredient("star anise", 10, "g", null, 5.0);
+        Ingredient second = new Ingredient("STAR ANISE", 1, "pcs", null, 1.0);
+
+        // Act
+        IngredientDefinition definition = IngredientCatalog.definitionOf(id);
+
+        // Assert
+        assertSame(definition, first.getDefinition(), "Stock lots should share one definition.");
+        assertSame(definition, second.getDefinition());
+        assertEquals("Star Anise", definition.getName());
+        assertEquals("star anise", definition.getKey());
+        assertEquals(Units.idOf("g"), IngredientCatalog.defaultUnitOf(id), "The first unit used should become the default.");
+        assertEquals("pcs", second.getIngredientMeasurement());
+    }
+}
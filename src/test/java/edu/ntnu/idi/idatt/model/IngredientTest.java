@@ -132,6 +132,21 @@ class IngredientTest {
         assertEquals(0, comparison); // Both ingredients are equal by name and date
     }
 
+    @Test
+    void testCompareTo_NoExpiryComesLast() {
+        // Arrange
+        Ingredient neverExpires = new Ingredient("Tomato", 10.0, "kg", null, 100.0);
+        Ingredient alsoNeverExpires = new Ingredient("Tomato", 1.0, "kg", null, 10.0);
+
+        // Act
+        int comparison = neverExpires.compareTo(ingredient);
+
+        // Assert
+        assertTrue(comparison > 0, "An ingredient that never expires should come after one that does.");
+        assertTrue(ingredient.compareTo(neverExpires) < 0);
+        assertEquals(0, neverExpires.compareTo(alsoNeverExpires));
+    }
+
     @Test
     void testCompareTo_DifferentName() {
         // Arrange
@@ -143,4 +158,32 @@ class IngredientTest {
         // Assert
         assertTrue(comparison > 0); // `ingredient` ("Tomato") is lexicographically greater than "Apple"
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetters_ShareSpellingOfEveryEntry() {
+        // Arrange
+        Ingredient first = new Ingredient("oat milk", 1.0, "liter", LocalDate.of(2024, 1, 5), 20.0);
+
+        // Act
+        Ingredient second = new Ingredient("Oat Milk", 0.5, "Liter", LocalDate.of(2024, 1, 10), 10.0);
+
+        // Assert
+        assertSame(first.getIngredientName(), second.getIngredientName(), "Entries should show the spelling the ingredient was first registered with.");
+        assertTrue("oat milk".equalsIgnoreCase(second.getIngredientName()));
+        assertEquals("liter", second.getIngredientMeasurement());
+        assertEquals(first.getIngredientID(), second.getIngredientID(), "Both spellings should share one catalog ID.");
+        assertEquals(first.getUnitID(), second.getUnitID());
+    }
+
+    @Test
+    void testConstructor_AcceptsMissingNameAndMeasurement() {
+        // Act
+        Ingredient unnamed = new Ingredient(null, 1.0, null, LocalDate.of(2024, 1, 5), 0.0);
+
+        // Assert
+        assertNull(unnamed.getIngredientName());
+        assertNull(unnamed.getIngredientMeasurement());
+        assertEquals(-1, unnamed.getIngredientID());
+        assertNull(unnamed.getDefinition());
+    }
+}
@@ -0,0 +1,59 @@
+package edu.ntnu.idi.idatt.model;
+
+import edu.ntnu.idi.idatt.metrics.MetricsRegistry;
+import edu.ntnu.idi.idatt.metrics.OperationMetrics;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class ProbeTest {
+
+    @Test
+    void testStop_CountsCallsAndErrors() {
+        // Arrange
+        OperationMetrics metrics = new MetricsRegistry().operation("storage.probe");
+        metrics.setSampleInterval(1);
+        Probe.Operation operation = new Probe.Operation(metrics, "probe", false);
+        IllegalStateException failure = new IllegalStateException("Failed.");
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            Probe probe = operation.start("Eggs", 1);
+            try {
+                if (i == 2) {
+                    throw failure;
+                }
+            } catch (RuntimeException e) {
+                assertSame(failure, probe.failed(e));
+            } finally {
+                probe.stop();
+            }
+        }
+
+        // Assert
+        assertEquals(3, metrics.getCount());
+        assertEquals(1, metrics.getErrorCount());
+        assertEquals(3, metrics.snapshot().getCount(), "Every call should be timed.");
+    }
+
+    @Test
+    void testStart_SharesProbeOfUntimedCalls() {
+        // Arrange
+        OperationMetrics metrics = new MetricsRegistry().operation("storage.probe");
+        metrics.setSampleInterval(1 << 30);
+        Probe.Operation operation = new Probe.Operation(metrics, "probe", false);
+
+        // Act
+        Probe first = operation.start("Eggs", 1);
+        first.setResultSize(1);
+        first.stop();
+        Probe second = operation.start();
+        second.stop();
+
+        // Assert
+        assertSame(first, second, "Calls that are neither timed nor recorded as events should not allocate a probe.");
+        assertEquals(2, metrics.getCount());
+        assertEquals(0, metrics.snapshot().getCount());
+    }
+}
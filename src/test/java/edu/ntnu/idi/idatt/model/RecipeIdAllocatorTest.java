@@ -0,0 +1,56 @@
+package edu.ntnu.idi.idatt.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class RecipeIdAllocatorTest {
+    private RecipeIdAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        allocator = new RecipeIdAllocator();
+    }
+
+    @Test
+    void testAllocate_SequencesArePerCategory() {
+        // Act
+        int first = allocator.allocate(2);
+        int second = allocator.allocate(2);
+        int other = allocator.allocate(0);
+
+        // Assert
+        assertEquals(1, RecipeIdAllocator.sequenceOf(first));
+        assertEquals(2, RecipeIdAllocator.sequenceOf(second));
+        assertEquals(1, other, "The first ID in category 0 should be 1.");
+    }
+
+    @Test
+    void testPeek_DoesNotReserve() {
+        // Act
+        int peeked = allocator.peek(1);
+        int allocated = allocator.allocate(1);
+
+        // Assert
+        assertEquals(peeked, allocated, "Peeking should not consume the ID.");
+    }
+
+    @Test
+    void testCategoryOf_DecodesComposedID() {
+        // Arrange
+        int recipeID = RecipeIdAllocator.compose(RecipeIdAllocator.MAX_CATEGORIES - 1, RecipeIdAllocator.MAX_SEQUENCE);
+
+        // Act & Assert
+        assertTrue(recipeID > 0, "Recipe IDs should stay positive.");
+        assertEquals(RecipeIdAllocator.MAX_CATEGORIES - 1, RecipeIdAllocator.categoryOf(recipeID));
+        assertEquals(RecipeIdAllocator.MAX_SEQUENCE, RecipeIdAllocator.sequenceOf(recipeID));
+    }
+
+    @Test
+    void testAllocate_InvalidCategoryIndex() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> allocator.allocate(-1));
+        assertThrows(IllegalArgumentException.class, () -> allocator.allocate(RecipeIdAllocator.MAX_CATEGORIES));
+    }
+}
@@ -2,24 +2,16 @@ package edu.ntnu.idi.idatt.model;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.*;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 
 
-@ExtendWith(MockitoExtension.class)
 class RecipeTest {
 
     private Recipe recipe;
 
-    @Mock
-    private Storage mockStorage;
-
     @BeforeEach
     void setUp() {
         recipe = new Recipe(1000, "Spaghetti Bolognese", "A delicious pasta dish", "Cook spaghetti and mix with sauce.");
@@ -79,14 +71,12 @@ class RecipeTest {
         recipe.addIngredient("Spaghetti", 0.5, "kg", LocalDate.of(2024, 1, 1), 20.0);
         recipe.addIngredient("Tomato Sauce", 1, "can", LocalDate.of(2024, 1, 1), 10.0);
 
-        ArrayList<Ingredient> ingredients = new ArrayList<>();
-        ingredients.add(new Ingredient("Spaghetti", 1.0, "kg", LocalDate.of(2024, 1, 1), 20.0));
-        ingredients.add(new Ingredient("Tomato Sauce", 2, "can", LocalDate.of(2024, 1, 1), 20.0));
-
-        when(mockStorage.getIngredients()).thenReturn(ingredients);
+        Storage storage = new Storage();
+        storage.addEntry("Spaghetti", 1.0, "kg", LocalDate.of(2024, 1, 1), 20.0);
+        storage.addEntry("Tomato Sauce", 2, "can", LocalDate.of(2024, 1, 1), 20.0);
 
         // Act
-        boolean canMake = recipe.canMakeRecipe(mockStorage);
+        boolean canMake = recipe.canMakeRecipe(storage);
 
         // Assert
         assertTrue(canMake, "The recipe should be possible to make with the available ingredients.");
@@ -98,14 +88,12 @@ class RecipeTest {
         recipe.addIngredient("Spaghetti", 0.5, "kg", LocalDate.of(2024, 1, 1), 20.0);
         recipe.addIngredient("Tomato Sauce", 1, "can", LocalDate.of(2024, 1, 1), 10.0);
 
-        ArrayList<Ingredient> ingredients = new ArrayList<>();
-        ingredients.add(new Ingredient("Spaghetti", 0.4, "kg", LocalDate.of(2024, 1, 1), 20.0)); // Insufficient amount
-        ingredients.add(new Ingredient("Tomato Sauce", 1, "can", LocalDate.of(2024, 1, 1), 10.0));
-
-        when(mockStorage.getIngredients()).thenReturn(ingredients);
+        Storage storage = new Storage();
+        storage.addEntry("Spaghetti", 0.4, "kg", LocalDate.of(2024, 1, 1), 20.0); // Insufficient amount
+        storage.addEntry("Tomato Sauce", 1, "can", LocalDate.of(2024, 1, 1), 10.0);
 
         // Act
-        boolean canMake = recipe.canMakeRecipe(mockStorage);
+        boolean canMake = recipe.canMakeRecipe(storage);
 
         // Assert
         assertFalse(canMake, "The recipe should not be possible to make due to insufficient ingredients.");
@@ -117,13 +105,11 @@ class RecipeTest {
         recipe.addIngredient("Spaghetti", 0.5, "kg", LocalDate.of(2024, 1, 1), 20.0);
         recipe.addIngredient("Tomato Sauce", 1, "can", LocalDate.of(2024, 1, 1), 10.0);
 
-        ArrayList<Ingredient> ingredients = new ArrayList<>();
-        ingredients.add(new Ingredient("Spaghetti", 1.0, "kg", LocalDate.of(2024, 1, 1), 20.0)); // Missing Tomato Sauce
-
-        when(mockStorage.getIngredients()).thenReturn(ingredients);
+        Storage storage = new Storage();
+        storage.addEntry("Spaghetti", 1.0, "kg", LocalDate.of(2024, 1, 1), 20.0); // Missing Tomato Sauce
 
         // Act
-        boolean canMake = recipe.canMakeRecipe(mockStorage);
+        boolean canMake = recipe.canMakeRecipe(storage);
 
         // Assert
         assertFalse(canMake, "The recipe should not be possible to make due to missing ingredients.");
@@ -142,4 +128,121 @@ class RecipeTest {
         assertTrue(recipeString.contains("Spaghetti"), "The string representation should include 'Spaghetti'.");
         assertTrue(recipeString.contains("Tomato Sauce"), "The string representation should include 'Tomato Sauce'.");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCanMakeWith_UsesIndexAndSeesNewIngredients() {
+        // Arrange
+        recipe.addIngredient("Spaghetti", 0.5, "kg", LocalDate.of(2024, 1, 1), 20.0);
+        AvailabilityIndex index = AvailabilityIndex.of(java.util.List.of(
+                new Ingredient("Spaghetti", 1.0, "kg", LocalDate.of(2024, 1, 1), 20.0)));
+
+        // Act
+        boolean before = recipe.canMakeWith(index);
+        recipe.addIngredient("Tomato Sauce", 1, "can", LocalDate.of(2024, 1, 1), 10.0);
+        boolean after = recipe.canMakeWith(index);
+
+        // Assert
+        assertTrue(before, "The recipe should be possible to make before the sauce is added.");
+        assertFalse(after, "The recipe should not be possible to make once it needs sauce.");
+    }
+
+    @Test
+    void testCheckAvailability_ReportsEveryShortIngredient() {
+        // Arrange
+        recipe.addIngredient("Spaghetti", 500, "g", LocalDate.of(2024, 1, 1), 20.0);
+        recipe.addIngredient("Basil", 1, "pcs", LocalDate.of(2024, 1, 1), 5.0);
+        recipe.addIngredient("Tomato Sauce", 1, "can", LocalDate.of(2024, 1, 1), 10.0);
+        AvailabilityIndex index = AvailabilityIndex.of(java.util.List.of(
+                new Ingredient("Spaghetti", 0.4, "kg", LocalDate.of(2024, 1, 1), 20.0),
+                new Ingredient("Tomato Sauce", 2, "can", LocalDate.of(2024, 1, 1), 20.0)));
+        ShortfallReport report = new ShortfallReport();
+
+        // Act
+        boolean canMake = recipe.checkAvailability(index, report);
+
+        // Assert
+        assertFalse(canMake);
+        assertFalse(report.isFeasible());
+        assertSame(recipe, report.getRecipe());
+        assertEquals(2, report.size());
+        assertEquals(IngredientCatalog.find("Spaghetti"), report.getIngredientID(0));
+        assertEquals(0, report.getLine(0));
+        assertEquals(0.5, report.getRequiredAmount(0), 0.0001);
+        assertEquals(0.4, report.getAvailableAmount(0), 0.0001);
+        assertEquals(1, report.getLine(1));
+        assertEquals(0.0, report.getAvailableAmount(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> report.getLine(2));
+    }
+
+    @Test
+    void testCheckAvailability_ReusedReportIsCleared() {
+        // Arrange
+        recipe.addIngredient("Spaghetti", 0.5, "kg", LocalDate.of(2024, 1, 1), 20.0);
+        Recipe other = new Recipe(2, "Plain", "Plain", "Nothing to do.");
+        AvailabilityIndex index = AvailabilityIndex.of(new ArrayList<>());
+        ShortfallReport report = new ShortfallReport();
+
+        // Act
+        recipe.checkAvailability(index, report);
+        boolean canMakeOther = other.checkAvailability(index, report);
+
+        // Assert
+        assertTrue(canMakeOther);
+        assertTrue(report.isFeasible());
+        assertEquals(0, report.size());
+        assertSame(other, report.getRecipe());
+    }
+
+    @Test
+    void testAddIngredient_MergesDuplicatesInLargeRecipe() {
+        // Arrange
+        for (int i = 0; i < 500; i++) {
+            recipe.addIngredient("Component " + i, 1, "pcs", null, 1.0);
+        }
+
+        // Act
+        for (int i = 0; i < 500; i++) {
+            recipe.addIngredient("COMPONENT " + i, 2, "pcs", null, 1.0);
+        }
+
+        // Assert
+        assertEquals(500, recipe.getRecipe().size(), "Duplicate names should be merged case-insensitively.");
+        assertEquals("Component 0", recipe.getRecipe().get(0).getIngredientName(), "Insertion order should be kept.");
+        assertEquals("Component 499", recipe.getRecipe().get(499).getIngredientName());
+        assertEquals(3, recipe.getRecipe().get(250).getIngredientAmount());
+    }
+
+    @Test
+    void testAddIngredient_MergesCompatibleUnitsIntoExistingLine() {
+        // Arrange
+        recipe.addIngredient("Minced Pork", 0.5, "kg", 40.0);
+
+        // Act
+        recipe.addIngredient("Minced Pork", 300, "g", 24.0);
+
+        // Assert
+        RecipeRequirement line = recipe.getRecipe().get(0);
+        assertEquals(1, recipe.getRecipe().size());
+        assertEquals("kg", line.getIngredientMeasurement(), "The unit of the first line should be kept.");
+        assertEquals(0.8, line.getIngredientAmount(), 1e-9);
+        assertEquals(0.8, line.getBaseAmount(), 1e-9);
+    }
+
+    @Test
+    void testAddIngredient_KeepsNoteAndIgnoresExpiryDate() {
+        // Arrange
+        recipe.addIngredient("Shallot", 2, "pcs", 6.0, "finely chopped");
+        recipe.addIngredient("Parsley", 10, "g", LocalDate.of(2024, 1, 1), 5.0);
+
+        // Act
+        RecipeRequirement shallot = recipe.getRecipe().get(0);
+        RecipeRequirement parsley = recipe.getRecipe().get(1);
+
+        // Assert
+        assertEquals("finely chopped", shallot.getNote());
+        assertNull(parsley.getNote());
+        assertEquals(0.01, parsley.getBaseAmount(), 1e-9);
+        assertThrows(UnsupportedOperationException.class, () -> recipe.getRecipe().clear(),
+                "Lines should only change through addIngredient.");
+    }
+}
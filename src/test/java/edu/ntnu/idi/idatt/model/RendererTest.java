@@ -0,0 +1,90 @@
+package edu.ntnu.idi.idatt.model;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+
+class RendererTest {
+
+    private Recipe sampleRecipe() {
+        return new Recipe(7, "Pasta, \"quick\"", "Fast dinner", "Boil.\nServe.")
+                .addIngredient("Spaghetti", 0.5, "kg", null, 20.0)
+                .addIngredient("Crème fraîche", 2, "dl", null, 15.0);
+    }
+
+    @Test
+    void testText_MatchesToString() {
+        // Arrange
+        Ingredient ingredient = new Ingredient("Milk", 1.5, "liter", LocalDate.of(2024, 1, 5), 20.0);
+        StringBuilder recipeOut = new StringBuilder();
+        StringBuilder ingredientOut = new StringBuilder();
+        Renderer renderer = new Renderer(Renderer.Format.TEXT);
+
+        // Act
+        renderer.appendRecipe(sampleRecipe(), recipeOut);
+        renderer.appendIngredient(ingredient, ingredientOut);
+
+        // Assert
+        assertEquals("Recipe: Pasta, \"quick\"\nDescription: Fast dinner\nInstruction: Boil.\nServe.\nIngredients:\n"
+                + "- Spaghetti: 0.5 kg\n- Crème fraîche: 2.0 dl\n", recipeOut.toString());
+        assertEquals("Ingredient: Milk 1.5 liter\nExpire date: 2024-01-05\nPrice: 20.0 kr\n", ingredientOut.toString());
+        assertEquals(ingredientOut.toString(), ingredient.toString());
+    }
+
+    @Test
+    void testCsv_QuotesFieldsAndWritesHeader() {
+        // Arrange
+        StringBuilder out = new StringBuilder();
+
+        // Act
+        new Renderer(Renderer.Format.CSV).appendRecipes(List.of(sampleRecipe()), out);
+
+        // Assert
+        assertEquals("recipeID,recipeName,description,instruction,ingredientName,amount,measurement,price\n"
+                + "7,\"Pasta, \"\"quick\"\"\",Fast dinner,\"Boil.\nServe.\",Spaghetti,0.5,kg,20.0\n"
+                + "7,\"Pasta, \"\"quick\"\"\",Fast dinner,\"Boil.\nServe.\",Crème fraîche,2.0,dl,15.0\n", out.toString());
+    }
+
+    @Test
+    void testJson_EscapesStringsAndWritesArrays() {
+        // Arrange
+        StringBuilder out = new StringBuilder();
+        Ingredient ingredient = new Ingredient("Salt", 1, "kg", null, 10.0);
+
+        // Act
+        new Renderer(Renderer.Format.JSON).appendIngredients(List.of(ingredient, ingredient), out);
+
+        // Assert
+        assertEquals("[{\"name\":\"Salt\",\"amount\":1.0,\"measurement\":\"kg\",\"expireDate\":null,\"price\":10.0},"
+                + "{\"name\":\"Salt\",\"amount\":1.0,\"measurement\":\"kg\",\"expireDate\":null,\"price\":10.0}]", out.toString());
+    }
+
+    @Test
+    void testByteBuffer_WritesUtf8() {
+        // Arrange
+        List<Recipe> recipes = List.of(sampleRecipe());
+        StringBuilder expected = new StringBuilder();
+        Renderer renderer = new Renderer(Renderer.Format.JSON);
+        renderer.appendRecipes(recipes, expected);
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+
+        // Act
+        renderer.appendRecipes(recipes, buffer);
+
+        // Assert
+        buffer.flip();
+        assertEquals(expected.toString(), StandardCharsets.UTF_8.decode(buffer).toString());
+        assertTrue(expected.toString().contains("\"instruction\":\"Boil.\\nServe.\""));
+    }
+
+    @Test
+    void testConstructor_NullFormatThrows() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new Renderer(null));
+    }
+}
@@ -1,5 +1,6 @@
 package edu.ntnu.idi.idatt.model;
 
+import edu.ntnu.idi.idatt.output.BufferedOutputSink;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockitoAnnotations;
@@ -7,9 +8,17 @@ import org.mockito.Mock;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 
 class StorageTest {
@@ -75,6 +84,26 @@ class StorageTest {
         assertEquals(550.0, ingredient.getIngredientPrice(), 0.01, "The price should be updated to NOK.");
     }
 
+    @Test
+    void testAddIngredient_MergesEntriesThatNeverExpire() {
+        // Arrange
+        storage.addIngredient("Salt", 1.0, "kg", null, 15.0);
+        when(mockScanner.nextLine())
+                .thenReturn("y") // Confirm updating existing ingredient
+                .thenReturn("y"); // Confirm updating price
+
+        // Act
+        storage.setScanner(mockScanner);
+        storage.addIngredient("Salt", 0.5, "kg", null, 20.0);
+
+        // Assert
+        List<Ingredient> ingredients = storage.getIngredients();
+        assertEquals(1, ingredients.size(), "Both entries never expire, so only the price should be asked about.");
+        assertEquals(1.5, ingredients.get(0).getIngredientAmount(), 0.01);
+        assertNull(ingredients.get(0).getExpireDate());
+        assertEquals(20.0, ingredients.get(0).getIngredientPrice(), 0.01);
+    }
+
     @Test
     void testAddIngredient_NewEntryAddedOnRejection() {
         // Arrange
@@ -110,6 +139,61 @@ class StorageTest {
         assertEquals(550.0, second.getIngredientPrice(), 0.01, "The price of the second ingredient should be in NOK.");
     }
 
+    @Test
+    void testAddIngredient_QuestionsFlushedBeforeEachAnswer() {
+        // Arrange
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BufferedOutputSink output = new BufferedOutputSink(new PrintStream(bytes));
+        storage.addIngredient("Tomato", 2.0, "kg", LocalDate.of(2023, 12, 31), 500.0);
+        List<String> shownBeforeAnswer = new ArrayList<>();
+        when(mockScanner.nextLine()).thenAnswer(invocation -> {
+            shownBeforeAnswer.add(bytes.toString());
+            return "n";
+        });
+        storage.setScanner(mockScanner);
+        storage.setOutput(output);
+
+        // Act
+        storage.addIngredient("Tomato", 3.0, "kg", LocalDate.of(2024, 1, 1), 550.0);
+        output.flush();
+
+        // Assert
+        assertEquals(2, shownBeforeAnswer.size());
+        assertTrue(shownBeforeAnswer.get(0).endsWith("Do you want to update the existing ingredient? (y/n): "));
+        assertTrue(shownBeforeAnswer.get(1).endsWith("? (y/n): "));
+        assertTrue(bytes.toString().endsWith("No changes were made." + System.lineSeparator()));
+        assertFalse(bytes.toString().contains("Added new ingredient: Tomato"),
+                "The first add happened before an output was assigned, so it printed nothing.");
+    }
+
+    @Test
+    void testAddIngredient_QuestionsShownOnConsoleWithoutOutput() {
+        // Arrange
+        storage.addIngredient("Tomato", 2.0, "kg", LocalDate.of(2023, 12, 31), 500.0);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        List<String> shownBeforeAnswer = new ArrayList<>();
+        when(mockScanner.nextLine()).thenAnswer(invocation -> {
+            shownBeforeAnswer.add(bytes.toString());
+            return "n";
+        });
+        storage.setScanner(mockScanner);
+        PrintStream console = System.out;
+
+        // Act
+        System.setOut(new PrintStream(bytes));
+        try {
+            storage.addIngredient("Tomato", 3.0, "kg", LocalDate.of(2023, 12, 31), 500.0);
+        } finally {
+            System.setOut(console);
+        }
+
+        // Assert
+        assertTrue(shownBeforeAnswer.get(0).endsWith("Do you want to update the existing ingredient? (y/n): "),
+                "A question should never wait for an answer without being shown.");
+        assertTrue(bytes.toString().endsWith("No changes were made." + System.lineSeparator()));
+        assertFalse(storage.getOutput().isEnabled(), "Only the questions should go to the console.");
+    }
+
     @Test
     void testGetIngredientsByName_Found() {
         // Arrange
@@ -190,6 +274,20 @@ class StorageTest {
         assertEquals("Tomato", result.get(0).getIngredientName());
     }
 
+    @Test
+    void testGetIngredientsInDateInterval_SkipsEntriesThatNeverExpire() {
+        // Arrange
+        storage.addIngredient("Salt", 1.0, "kg", null, 15.0);
+        storage.addIngredient("Tomato", 5.0, "kg", LocalDate.of(2023, 12, 15), 50.0);
+
+        // Act
+        List<Ingredient> result = storage.getIngredientsInDateInterval(LocalDate.of(2023, 12, 1), LocalDate.of(2023, 12, 31));
+
+        // Assert
+        assertEquals(1, result.size(), "An entry without an expiration date is in no interval.");
+        assertEquals("Tomato", result.get(0).getIngredientName());
+    }
+
     @Test
     void testGetIngredientsInDateInterval_NotFound() {
         // Arrange
@@ -209,5 +307,281 @@ class StorageTest {
                 storage.getIngredientsInDateInterval(LocalDate.of(2024, 1, 1), LocalDate.of(2023, 12, 31))
         );
     }
-}
 
+    @Test
+    void testCook_DeductsAllIngredientsAcrossUnits() {
+        // Arrange
+        storage.addIngredient("Flour", 1.0, "kg", LocalDate.of(2024, 2, 1), 20.0);
+        storage.addIngredient("Milk", 1.0, "liter", LocalDate.of(2024, 1, 10), 15.0);
+        Recipe pancakes = new Recipe(1, "Pancakes", "Pancakes", "Fry.")
+                .addIngredient("Flour", 250, "g", null, 5.0)
+                .addIngredient("Milk", 5, "dl", null, 7.5);
+
+        // Act
+        boolean cooked = storage.cook(pancakes, 2);
+
+        // Assert
+        assertTrue(cooked);
+        assertEquals(0.5, storage.getIngredientsByName("Flour").get(0).getIngredientAmount(), 0.0001);
+        assertTrue(storage.getIngredientsByName("Milk").isEmpty(), "Used-up entries should be removed.");
+        assertEquals(1, storage.getIngredients().size());
+    }
+
+    @Test
+    void testCook_ChangesNothingWhenAnyIngredientIsShort() {
+        // Arrange
+        storage.addIngredient("Flour", 1.0, "kg", LocalDate.of(2024, 2, 1), 20.0);
+        storage.addIngredient("Eggs", 2, "pcs", LocalDate.of(2024, 1, 10), 8.0);
+        Recipe cake = new Recipe(1, "Cake", "Cake", "Bake.")
+                .addIngredient("Flour", 0.5, "kg", null, 10.0)
+                .addIngredient("Eggs", 3, "pcs", null, 12.0);
+
+        // Act
+        boolean cooked = storage.cook(cake, 1);
+
+        // Assert
+        assertFalse(cooked);
+        assertEquals(1.0, storage.getIngredientsByName("Flour").get(0).getIngredientAmount(), 0.0001);
+        assertEquals(2, storage.getIngredientsByName("Eggs").get(0).getIngredientAmount(), 0.0001);
+    }
+
+    @Test
+    void testCook_UsesEarliestExpiringEntryFirst() {
+        // Arrange
+        when(mockScanner.nextLine()).thenReturn("n").thenReturn("y");
+        storage.addIngredient("Milk", 1.0, "liter", LocalDate.of(2024, 1, 20), 15.0);
+        storage.setScanner(mockScanner);
+        storage.addIngredient("Milk", 1.0, "liter", LocalDate.of(2024, 1, 5), 15.0);
+        Recipe porridge = new Recipe(1, "Porridge", "Porridge", "Boil.").addIngredient("Milk", 1.5, "liter", null, 20.0);
+
+        // Act
+        storage.cook(porridge, 1);
+
+        // Assert
+        List<Ingredient> milk = storage.getIngredientsByName("Milk");
+        assertEquals(1, milk.size());
+        assertEquals(LocalDate.of(2024, 1, 20), milk.get(0).getExpireDate());
+        assertEquals(0.5, milk.get(0).getIngredientAmount(), 0.0001);
+    }
+
+    @Test
+    void testCook_InvalidArgumentsThrow() {
+        // Arrange
+        Recipe recipe = new Recipe(1, "Toast", "Toast", "Toast it.");
+
+        // Act and Assert
+        assertThrows(IllegalArgumentException.class, () -> storage.cook(null, 1));
+        assertThrows(IllegalArgumentException.class, () -> storage.cook(recipe, 0));
+    }
+
+    @Test
+    void testCook_ConcurrentCooksNeverOverdraw() throws Exception {
+        // Arrange
+        storage.addIngredient("Rice", 10.0, "kg", LocalDate.of(2024, 3, 1), 100.0);
+        storage.addIngredient("Beans", 10.0, "kg", LocalDate.of(2024, 3, 1), 100.0);
+        Recipe riceAndBeans = new Recipe(1, "Rice and Beans", "Rice and Beans", "Boil.")
+                .addIngredient("Rice", 1.0, "kg", null, 10.0)
+                .addIngredient("Beans", 1.0, "kg", null, 10.0);
+        Recipe beansAndRice = new Recipe(2, "Beans and Rice", "Beans and Rice", "Boil.")
+                .addIngredient("Beans", 1.0, "kg", null, 10.0)
+                .addIngredient("Rice", 1.0, "kg", null, 10.0);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // Act
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            Recipe recipe = i % 2 == 0 ? riceAndBeans : beansAndRice;
+            results.add(executor.submit(() -> storage.cook(recipe, 1)));
+        }
+        int cooked = 0;
+        for (Future<Boolean> result : results) {
+            cooked += result.get() ? 1 : 0;
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals(10, cooked, "Exactly as many cooks as the stock allows should succeed.");
+        assertTrue(storage.getIngredients().isEmpty());
+    }
+
+    @Test
+    void testReserve_ExcludesHeldStockFromAvailability() {
+        // Arrange
+        storage.addIngredient("Rice", 1.0, "kg", LocalDate.of(2024, 3, 1), 30.0);
+        Recipe rice = new Recipe(1, "Rice", "Rice", "Boil.").addIngredient("Rice", 600, "g", null, 18.0);
+
+        // Act
+        Storage.Reservation reservation = storage.reserve(rice, 1, Duration.ofMinutes(10));
+
+        // Assert
+        assertNotNull(reservation);
+        assertEquals(0.6, storage.getReservedAmount("Rice"), 0.0001);
+        assertEquals(0.4, AvailabilityIndex.of(storage).getAvailableAmount("Rice"), 0.0001);
+        assertFalse(rice.canMakeRecipe(storage), "Only unreserved stock can be used.");
+        assertFalse(storage.cook(rice, 1), "A plain cook must not take reserved stock.");
+        assertNull(storage.reserve(rice, 1, Duration.ofMinutes(10)), "The same stock cannot be reserved twice.");
+    }
+
+    @Test
+    void testCookReservation_DeductsHeldStockOnce() {
+        // Arrange
+        storage.addIngredient("Rice", 1.0, "kg", LocalDate.of(2024, 3, 1), 30.0);
+        Recipe rice = new Recipe(1, "Rice", "Rice", "Boil.").addIngredient("Rice", 0.6, "kg", null, 18.0);
+        Storage.Reservation reservation = storage.reserve(rice, 1, Duration.ofMinutes(10));
+
+        // Act
+        boolean first = storage.cook(reservation);
+        boolean second = storage.cook(reservation);
+
+        // Assert
+        assertTrue(first);
+        assertFalse(second, "A reservation can only be cooked once.");
+        assertFalse(reservation.isActive());
+        assertEquals(0.0, storage.getReservedAmount("Rice"), 0.0001);
+        assertEquals(0.4, storage.getIngredientsByName("Rice").get(0).getIngredientAmount(), 0.0001);
+    }
+
+    @Test
+    void testRelease_MakesStockAvailableAgain() {
+        // Arrange
+        storage.addIngredient("Rice", 1.0, "kg", LocalDate.of(2024, 3, 1), 30.0);
+        Recipe rice = new Recipe(1, "Rice", "Rice", "Boil.").addIngredient("Rice", 1.0, "kg", null, 30.0);
+        Storage.Reservation reservation = storage.reserve(rice, 1, Duration.ofMinutes(10));
+
+        // Act
+        boolean released = reservation.release();
+
+        // Assert
+        assertTrue(released);
+        assertFalse(reservation.release(), "A reservation can only be released once.");
+        assertFalse(storage.cook(reservation));
+        assertTrue(storage.cook(rice, 1));
+    }
+
+    @Test
+    void testReserve_HoldExpiresAutomatically() throws InterruptedException {
+        // Arrange
+        storage.addIngredient("Rice", 1.0, "kg", LocalDate.of(2024, 3, 1), 30.0);
+        Recipe rice = new Recipe(1, "Rice", "Rice", "Boil.").addIngredient("Rice", 1.0, "kg", null, 30.0);
+
+        // Act
+        Storage.Reservation reservation = storage.reserve(rice, 1, Duration.ofMillis(20));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (reservation.isActive() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+
+        // Assert
+        assertFalse(reservation.isActive(), "The hold should have expired.");
+        assertEquals(0.0, storage.getReservedAmount("Rice"), 0.0001);
+        assertFalse(storage.cook(reservation), "An expired reservation cannot be cooked.");
+        assertTrue(storage.cook(rice, 1));
+    }
+
+    @Test
+    void testReserve_InvalidArgumentsThrow() {
+        // Arrange
+        Recipe rice = new Recipe(1, "Rice", "Rice", "Boil.");
+
+        // Act and Assert
+        assertThrows(IllegalArgumentException.class, () -> storage.reserve(rice, 1, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> storage.reserve(rice, 0, Duration.ofMinutes(1)));
+        assertThrows(IllegalArgumentException.class, () -> new Storage().cook(storage.reserve(rice, 1, Duration.ofMinutes(1))));
+    }
+
+    @Test
+    void testWithdraw_DrawsAcrossEntriesWithoutPrompting() {
+        // Arrange
+        storage.addEntry("Rice", 1, "kg", LocalDate.of(2026, 1, 1), 30.0);
+        storage.addEntry("Rice", 2, "kg", LocalDate.of(2026, 6, 1), 60.0);
+
+        // Act
+        double removed = storage.withdraw("rice", 1.5);
+        double removedTooMuch = storage.withdraw("Rice", 5);
+
+        // Assert
+        assertEquals(1.5, removed, 1e-9);
+        assertEquals(1.5, removedTooMuch, 1e-9, "Only what is in storage can be removed.");
+        assertTrue(storage.getIngredients().isEmpty());
+        assertEquals(0, storage.withdraw("Unknown Grain", 1));
+    }
+
+    @Test
+    void testWithdraw_LeavesReservedStock() {
+        // Arrange
+        storage.addEntry("Rice", 1, "kg", LocalDate.of(2026, 1, 1), 30.0);
+        storage.addEntry("Rice", 500, "g", LocalDate.of(2026, 6, 1), 15.0);
+        Recipe rice = new Recipe(1, "Rice", "Rice", "Boil.").addIngredient("Rice", 1.2, "kg", null, 36.0);
+        Storage.Reservation reservation = storage.reserve(rice, 1, Duration.ofMinutes(10));
+
+        // Act
+        double removed = storage.withdraw("Rice", 5);
+
+        // Assert
+        assertEquals(0.3, removed, 1e-9, "Only the 0.3 kg that is not reserved can be removed.");
+        assertTrue(storage.cook(reservation), "The reserved rice should still be there to cook.");
+        assertTrue(storage.getIngredients().isEmpty());
+    }
+
+    @Test
+    void testRemoveIngredientByNameAndAmount_LeavesReservedStock() {
+        // Arrange
+        storage.addIngredient("Rice", 1.0, "kg", LocalDate.of(2024, 3, 1), 30.0);
+        Recipe rice = new Recipe(1, "Rice", "Rice", "Boil.").addIngredient("Rice", 600, "g", null, 18.0);
+        storage.reserve(rice, 1, Duration.ofMinutes(10));
+
+        // Act
+        storage.removeIngredientByNameAndAmount("Rice", 1.0);
+
+        // Assert
+        assertEquals(1, storage.getIngredients().size(), "The reserved part of the entry should be kept.");
+        assertEquals(0.6, storage.getIngredients().get(0).getIngredientAmount(), 1e-9);
+    }
+
+    @Test
+    void testCanCook_FollowsStockThroughEveryChange() {
+        // Arrange
+        storage.addEntry("Rice", 1, "kg", LocalDate.of(2026, 1, 1), 30.0);
+        storage.addEntry("Rice", 500, "g", LocalDate.of(2026, 6, 1), 15.0);
+        storage.addIngredient("Tomato", 2.0, "kg", LocalDate.of(2026, 1, 1), 50.0);
+        when(mockScanner.nextLine())
+                .thenReturn("y") // Confirm updating existing ingredient
+                .thenReturn("y"); // Confirm updating measurement
+        storage.setScanner(mockScanner);
+
+        // Act
+        storage.withdraw("Rice", 0.3);
+        storage.removeIngredientByNameAndAmount("Rice", 0.2);
+        storage.cook(new Recipe(1, "Rice", "Rice", "Boil.").addIngredient("Rice", 600, "g", null, 18.0), 1);
+        storage.addIngredient("Tomato", 3.0, "g", LocalDate.of(2026, 1, 1), 50.0);
+
+        // Assert
+        assertTrue(storage.canCook(new Recipe(2, "Rice", "Rice", "Boil.").addIngredient("Rice", 0.4, "kg", null, 0), 1));
+        assertFalse(storage.canCook(new Recipe(3, "Rice", "Rice", "Boil.").addIngredient("Rice", 0.41, "kg", null, 0), 1));
+        assertTrue(storage.canCook(new Recipe(4, "Sauce", "Sauce", "Simmer.").addIngredient("Tomato", 5, "g", null, 0), 1),
+                "The merged entry now holds 5 g.");
+        assertFalse(storage.canCook(new Recipe(5, "Sauce", "Sauce", "Simmer.").addIngredient("Tomato", 6, "g", null, 0), 1));
+    }
+
+    @Test
+    void testGetIngredients_KeepsAddOrderAcrossRemovals() {
+        // Arrange
+        for (int i = 0; i < 10; i++) {
+            storage.addEntry("Spice " + i, 1, "jar", LocalDate.of(2026, 1, 1), 10.0);
+        }
+
+        // Act
+        for (int i = 0; i < 10; i += 2) {
+            storage.withdraw("Spice " + i, 1);
+        }
+        storage.withdraw("Spice 3", 1);
+        storage.addEntry("Spice 10", 1, "jar", LocalDate.of(2026, 1, 1), 10.0);
+        storage.withdraw("Spice 5", 1);
+
+        // Assert
+        List<String> names = storage.getIngredients().stream().map(Ingredient::getIngredientName).toList();
+        assertEquals(List.of("Spice 1", "Spice 7", "Spice 9", "Spice 10"), names);
+        assertEquals(1, storage.getIngredientsByName("Spice 9").size());
+    }
+}
@@ -0,0 +1,55 @@
+package edu.ntnu.idi.idatt.model;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class UnitsTest {
+
+    @Test
+    void testToBase_ConvertsMassAndVolume() {
+        // Act & Assert
+        assertEquals(0.25, Units.toBase(250, "g"), 0.0001);
+        assertEquals(0.3, Units.toBase(3, "dl"), 0.0001);
+        assertEquals(2.0, Units.toBase(2, "Liters"), 0.0001);
+    }
+
+    @Test
+    void testIdOf_SpellingsShareBaseUnit() {
+        // Act & Assert
+        assertEquals(Units.idOf("kg"), Units.baseOf(Units.idOf("gram")));
+        assertEquals(Units.idOf("can"), Units.baseOf(Units.idOf("cans")));
+        assertEquals(Units.idOf(" KG "), Units.idOf("kg"));
+    }
+
+    @Test
+    void testIdOf_UnknownUnitIsOwnBase() {
+        // Act
+        int id = Units.idOf("handful");
+
+        // Assert
+        assertEquals(id, Units.baseOf(id));
+        assertEquals(1.0, Units.factorOf(id));
+        assertFalse(Units.areCompatible(id, Units.idOf("kg")));
+    }
+
+    @Test
+    void testFind_DoesNotRegister() {
+        // Act
+        int unknown = Units.find("fistful of nothing");
+
+        // Assert
+        assertEquals(-1, unknown);
+        assertEquals(-1, Units.find("fistful of nothing"), "Looking a unit up should not register it.");
+        assertEquals(Units.idOf("kg"), Units.find(" Kg "));
+        assertEquals(-1, Units.find(null));
+    }
+
+    @Test
+    void testConvert_IncompatibleUnitsThrow() {
+        // Act & Assert
+        assertEquals(1500, Units.convert(1.5, Units.idOf("kg"), Units.idOf("g")), 0.0001);
+        assertThrows(IllegalArgumentException.class, () -> Units.convert(1, Units.idOf("kg"), Units.idOf("liter")));
+        assertThrows(IllegalArgumentException.class, () -> Units.idOf(null));
+    }
+}
@@ -0,0 +1,97 @@
+package edu.ntnu.idi.idatt.output;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+class BufferedOutputSinkTest {
+    private final PrintStream console = System.out;
+
+    @AfterEach
+    void restoreConsole() {
+        System.setOut(console);
+    }
+
+    @Test
+    void testFlush_WritesBufferedTextOnce() {
+        // Arrange
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BufferedOutputSink sink = new BufferedOutputSink(new PrintStream(bytes));
+
+        // Act
+        sink.println("Storage Menu");
+        sink.printf("%d. %s%n", 1, "View All Ingredients");
+        String beforeFlush = bytes.toString();
+        sink.flush();
+
+        // Assert
+        assertEquals("", beforeFlush, "Nothing should be written before the sink is flushed.");
+        assertEquals("Storage Menu" + System.lineSeparator() + "1. View All Ingredients" + System.lineSeparator(),
+                bytes.toString());
+        assertEquals(0, sink.getBuffered());
+    }
+
+    @Test
+    void testFlushPolicy_EveryLineAndCapacity() {
+        // Arrange
+        ByteArrayOutputStream lines = new ByteArrayOutputStream();
+        ByteArrayOutputStream small = new ByteArrayOutputStream();
+        PrintStream linesStream = new PrintStream(lines);
+        PrintStream smallStream = new PrintStream(small);
+        BufferedOutputSink everyLine = new BufferedOutputSink(() -> linesStream, BufferedOutputSink.FlushPolicy.EVERY_LINE, 1024);
+        BufferedOutputSink bounded = new BufferedOutputSink(() -> smallStream, BufferedOutputSink.FlushPolicy.EXPLICIT, 8);
+
+        // Act
+        everyLine.print("Year: ");
+        String unterminated = lines.toString();
+        everyLine.println("2026");
+        bounded.print("1234");
+        String underCapacity = small.toString();
+        bounded.print("56789");
+
+        // Assert
+        assertEquals("", unterminated);
+        assertEquals("Year: 2026" + System.lineSeparator(), lines.toString());
+        assertEquals("", underCapacity);
+        assertEquals("123456789", small.toString(), "A full buffer should be written without a flush.");
+        assertThrows(IllegalArgumentException.class,
+                () -> new BufferedOutputSink(() -> smallStream, BufferedOutputSink.FlushPolicy.EXPLICIT, 0));
+    }
+
+    @Test
+    void testConsole_FollowsSystemOutAtFlush() {
+        // Arrange
+        OutputSink sink = OutputSink.console();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        // Act
+        sink.print("Goodbye!");
+        System.setOut(new PrintStream(bytes));
+        sink.flush();
+
+        // Assert
+        assertEquals("Goodbye!", bytes.toString());
+        assertTrue(sink.isEnabled());
+    }
+
+    @Test
+    void testNone_DiscardsEverything() {
+        // Arrange
+        OutputSink sink = OutputSink.none();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(bytes));
+
+        // Act
+        sink.println("Added new ingredient: Eggs");
+        sink.printf("%s", "ignored");
+        sink.flush();
+
+        // Assert
+        assertFalse(sink.isEnabled());
+        assertSame(sink, OutputSink.none());
+        assertEquals("", bytes.toString());
+    }
+}
@@ -0,0 +1,173 @@
+package edu.ntnu.idi.idatt.planning;
+
+import edu.ntnu.idi.idatt.model.Cookbook;
+import edu.ntnu.idi.idatt.model.Ingredient;
+import edu.ntnu.idi.idatt.model.Recipe;
+import edu.ntnu.idi.idatt.model.Storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+
+
+@ExtendWith(MockitoExtension.class)
+class MealPlannerTest {
+    private static final LocalDate TODAY = LocalDate.of(2026, 11, 1);
+
+    @Mock
+    private Storage mockStorage;
+    private Cookbook cookbook;
+    private ArrayList<Ingredient> stock;
+
+    @BeforeEach
+    void setUp() {
+        cookbook = new Cookbook();
+        stock = new ArrayList<>();
+    }
+
+    @Test
+    void testPlan_PrefersRecipeUsingExpiringStock() {
+        // Arrange
+        stock.add(new Ingredient("Milk", 1.0, "liter", TODAY.plusDays(1), 20.0));
+        stock.add(new Ingredient("Rice", 1.0, "kg", TODAY.plusDays(300), 30.0));
+        Recipe milkRecipe = cookbook.addRecipeToCookbook(new Recipe(0, "Porridge", "Porridge", "Boil."), "Breakfast")
+                .addIngredient("Milk", 1.0, "liter", null, 0);
+        cookbook.addRecipeToCookbook(new Recipe(0, "Plain Rice", "Rice", "Boil."), "Dinner")
+                .addIngredient("Rice", 1.0, "kg", null, 0);
+        when(mockStorage.getIngredients()).thenReturn(stock);
+
+        // Act
+        MealPlan plan = new MealPlanner(mockStorage, cookbook).plan(TODAY, 3, 1, Duration.ofMillis(20));
+
+        // Assert
+        assertEquals(1, plan.getMeals().size(), "Only the recipe using expiring stock is worth planning.");
+        assertEquals(milkRecipe, plan.getMeals().get(0).getRecipe());
+        assertEquals(20.0, plan.getSavedValue(), 0.0001);
+        assertEquals(0.0, plan.getWastedValue(), 0.0001);
+    }
+
+    @Test
+    void testPlan_DoesNotAllocateStockTwice() {
+        // Arrange
+        stock.add(new Ingredient("Eggs", 4, "pcs", TODAY.plusDays(2), 40.0));
+        cookbook.addRecipeToCookbook(new Recipe(0, "Omelette", "Omelette", "Fry."), "Breakfast")
+                .addIngredient("Eggs", 3, "pcs", null, 0);
+        when(mockStorage.getIngredients()).thenReturn(stock);
+
+        // Act
+        MealPlan plan = new MealPlanner(mockStorage, cookbook).plan(TODAY, 3, 2, Duration.ofMillis(20));
+
+        // Assert
+        assertEquals(1, plan.getMeals().size(), "Four eggs are only enough for one omelette.");
+        assertEquals(30.0, plan.getSavedValue(), 0.0001);
+    }
+
+    @Test
+    void testPlan_DoesNotAllocateReservedStock() {
+        // Arrange
+        Storage storage = new Storage();
+        storage.addEntry("Eggs", 4, "pcs", TODAY.plusDays(2), 40.0);
+        Recipe omelette = cookbook.addRecipeToCookbook(new Recipe(0, "Omelette", "Omelette", "Fry."), "Breakfast")
+                .addIngredient("Eggs", 3, "pcs", null, 0);
+        Storage.Reservation reservation = storage.reserve(omelette, 1, Duration.ofMinutes(10));
+
+        // Act
+        MealPlan plan = new MealPlanner(storage, cookbook).plan(TODAY, 3, 2, Duration.ofMillis(20));
+
+        // Assert
+        assertNotNull(reservation);
+        assertTrue(plan.getMeals().isEmpty(), "Three of the four eggs are held for another omelette.");
+    }
+
+    @Test
+    void testPlan_DoesNotUseStockAfterItExpires() {
+        // Arrange
+        stock.add(new Ingredient("Fish", 1, "kg", TODAY, 100.0));
+        cookbook.addRecipeToCookbook(new Recipe(0, "Fish Soup", "Soup", "Boil."), "Dinner")
+                .addIngredient("Fish", 0.5, "kg", null, 0);
+        when(mockStorage.getIngredients()).thenReturn(stock);
+
+        // Act
+        MealPlan plan = new MealPlanner(mockStorage, cookbook).plan(TODAY, 5, 1, Duration.ofMillis(20));
+
+        // Assert
+        assertEquals(1, plan.getMeals().size(), "The fish can only be used on the day it expires.");
+        assertEquals(TODAY, plan.getMeals().get(0).getDate());
+        assertEquals(50.0, plan.getWastedValue(), 0.0001);
+    }
+
+    @Test
+    void testPlan_ConvertsBetweenCompatibleUnits() {
+        // Arrange
+        stock.add(new Ingredient("Butter", 0.2, "kg", TODAY.plusDays(2), 40.0));
+        Recipe toast = cookbook.addRecipeToCookbook(new Recipe(0, "Butter Toast", "Toast", "Spread."), "Breakfast")
+                .addIngredient("Butter", 20, "g", null, 0);
+        when(mockStorage.getIngredients()).thenReturn(stock);
+
+        // Act
+        MealPlan plan = new MealPlanner(mockStorage, cookbook).plan(TODAY, 3, 1, Duration.ofMillis(20));
+
+        // Assert
+        assertEquals(3, plan.getMeals().size(), "20 g of butter a day should be drawn from the 0.2 kg entry.");
+        assertEquals(toast, plan.getMeals().get(0).getRecipe());
+        assertEquals(12.0, plan.getSavedValue(), 0.0001, "60 g of butter at 200 kr per kg.");
+    }
+
+    @Test
+    void testPlan_DoesNotMixIncompatibleUnits() {
+        // Arrange
+        stock.add(new Ingredient("Eggs", 12, "pcs", TODAY.plusDays(1), 60.0));
+        cookbook.addRecipeToCookbook(new Recipe(0, "Meringue", "Meringue", "Whisk."), "Dessert")
+                .addIngredient("Eggs", 0.5, "kg", null, 0);
+        when(mockStorage.getIngredients()).thenReturn(stock);
+
+        // Act
+        MealPlan plan = new MealPlanner(mockStorage, cookbook).plan(TODAY, 2, 1, Duration.ofMillis(20));
+
+        // Assert
+        assertTrue(plan.getMeals().isEmpty(), "Eggs counted in pcs cannot cover an amount in kg.");
+        assertEquals(0.0, plan.getSavedValue(), 0.0001);
+    }
+
+    @Test
+    void testPlan_LocalSearchImprovesGreedyPlan() {
+        // Arrange: greedy takes the big-value recipe first, which blocks two recipes that together save more.
+        stock.add(new Ingredient("Cream", 2, "liter", TODAY, 100.0));
+        stock.add(new Ingredient("Berries", 2, "kg", TODAY, 100.0));
+        cookbook.addRecipeToCookbook(new Recipe(0, "Trifle", "Trifle", "Layer."), "Dessert")
+                .addIngredient("Cream", 1.5, "liter", null, 0)
+                .addIngredient("Berries", 1.5, "kg", null, 0);
+        cookbook.addRecipeToCookbook(new Recipe(0, "Cream Sauce", "Sauce", "Reduce."), "Dinner")
+                .addIngredient("Cream", 2, "liter", null, 0);
+        cookbook.addRecipeToCookbook(new Recipe(0, "Jam", "Jam", "Boil."), "Dessert")
+                .addIngredient("Berries", 2, "kg", null, 0);
+        when(mockStorage.getIngredients()).thenReturn(stock);
+
+        // Act
+        MealPlan plan = new MealPlanner(mockStorage, cookbook).plan(TODAY, 1, 2, Duration.ofMillis(200));
+
+        // Assert
+        assertEquals(200.0, plan.getSavedValue(), 0.0001, "Cream sauce and jam together use all expiring stock.");
+        assertTrue(plan.getIterations() > 0);
+    }
+
+    @Test
+    void testPlan_InvalidInput() {
+        // Arrange
+        when(mockStorage.getIngredients()).thenReturn(stock);
+        MealPlanner planner = new MealPlanner(mockStorage, cookbook);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> planner.plan(null, 1, 1, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> planner.plan(TODAY, 0, 1, Duration.ZERO));
+        assertTrue(planner.plan(TODAY, 1, 1, Duration.ZERO).getMeals().isEmpty());
+    }
+}
@@ -0,0 +1,125 @@
+package edu.ntnu.idi.idatt.planning;
+
+import edu.ntnu.idi.idatt.model.Cookbook;
+import edu.ntnu.idi.idatt.model.Ingredient;
+import edu.ntnu.idi.idatt.model.Recipe;
+import edu.ntnu.idi.idatt.model.Storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+
+
+@ExtendWith(MockitoExtension.class)
+class ShoppingListTest {
+    private static final LocalDate EXPIRY = LocalDate.of(2026, 12, 1);
+
+    @Mock
+    private Storage mockStorage;
+    private Cookbook cookbook;
+    private ArrayList<Ingredient> stock;
+
+    @BeforeEach
+    void setUp() {
+        cookbook = new Cookbook();
+        stock = new ArrayList<>();
+    }
+
+    @Test
+    void testGenerate_MergesUnitsAndSubtractsStock() {
+        // Arrange
+        Recipe pancakes = cookbook.addRecipeToCookbook(new Recipe(0, "Pancakes", "Pancakes", "Fry."), "Breakfast")
+                .addIngredient("Flour", 300, "g", null, 6.0);
+        Recipe bread = cookbook.addRecipeToCookbook(new Recipe(0, "Bread", "Bread", "Bake."), "Lunch")
+                .addIngredient("Flour", 0.5, "kg", null, 10.0);
+        stock.add(new Ingredient("Flour", 200, "g", EXPIRY, 5.0));
+        when(mockStorage.getIngredients()).thenReturn(stock);
+
+        // Act
+        ShoppingList list = ShoppingList.generate(new int[]{pancakes.getRecipeID(), bread.getRecipeID()}, cookbook, mockStorage);
+
+        // Assert
+        assertEquals(1, list.getItems().size());
+        ShoppingList.Item flour = list.getItems().get(0);
+        assertEquals("Flour", flour.getIngredientName());
+        assertEquals("kg", flour.getMeasurement());
+        assertEquals(0.8, flour.getRequiredAmount(), 0.0001);
+        assertEquals(0.2, flour.getAvailableAmount(), 0.0001);
+        assertEquals(0.6, flour.getAmountToBuy(), 0.0001);
+        assertEquals(15.0, flour.getEstimatedCost(), 0.0001, "Priced at the stock's 25 kr per kg.");
+        assertEquals(15.0, list.getTotalCost(), 0.0001);
+    }
+
+    @Test
+    void testGenerate_RepeatedRecipeIsCountedEachTime() {
+        // Arrange
+        Recipe omelette = cookbook.addRecipeToCookbook(new Recipe(0, "Omelette", "Omelette", "Fry."), "Breakfast")
+                .addIngredient("Eggs", 3, "pcs", null, 9.0);
+        when(mockStorage.getIngredients()).thenReturn(stock);
+        int id = omelette.getRecipeID();
+
+        // Act
+        ShoppingList list = ShoppingList.generate(new int[]{id, id, id}, cookbook, mockStorage);
+
+        // Assert
+        assertEquals(9.0, list.getItems().get(0).getAmountToBuy(), 0.0001);
+        assertEquals(27.0, list.getTotalCost(), 0.0001, "Priced from the recipe when nothing is in stock.");
+    }
+
+    @Test
+    void testGenerate_SkipsCoveredAndKeepsIncompatibleUnitsApart() {
+        // Arrange
+        Recipe soup = cookbook.addRecipeToCookbook(new Recipe(0, "Soup", "Soup", "Boil."), "Dinner")
+                .addIngredient("Salt", 5, "g", null, 1.0)
+                .addIngredient("Tomatoes", 2, "cans", null, 20.0);
+        Recipe sauce = cookbook.addRecipeToCookbook(new Recipe(0, "Sauce", "Sauce", "Simmer."), "Dinner")
+                .addIngredient("Tomatoes", 300, "g", null, 15.0);
+        stock.add(new Ingredient("Salt", 1, "kg", EXPIRY, 10.0));
+        stock.add(new Ingredient("Tomatoes", 1, "can", EXPIRY, 10.0));
+        when(mockStorage.getIngredients()).thenReturn(stock);
+
+        // Act
+        ShoppingList list = ShoppingList.generate(new int[]{soup.getRecipeID(), sauce.getRecipeID()}, cookbook, mockStorage);
+
+        // Assert
+        assertEquals(2, list.getItems().size(), "Salt is covered by stock.");
+        assertEquals(1.0, list.getItems().get(0).getAmountToBuy(), 0.0001);
+        assertEquals(0.3, list.getItems().get(1).getAmountToBuy(), 0.0001);
+        assertEquals(25.0, list.getTotalCost(), 0.0001);
+    }
+
+    @Test
+    void testGenerate_BuysStockHeldByReservations() {
+        // Arrange
+        Storage storage = new Storage();
+        storage.addEntry("Flour", 200, "g", EXPIRY, 5.0);
+        Recipe pancakes = cookbook.addRecipeToCookbook(new Recipe(0, "Pancakes", "Pancakes", "Fry."), "Breakfast")
+                .addIngredient("Flour", 300, "g", null, 6.0);
+        Recipe roux = new Recipe(0, "Roux", "Roux", "Stir.").addIngredient("Flour", 100, "g", null, 2.0);
+        storage.reserve(roux, 1, Duration.ofMinutes(10));
+
+        // Act
+        ShoppingList list = ShoppingList.generate(new int[]{pancakes.getRecipeID()}, cookbook, storage);
+
+        // Assert
+        ShoppingList.Item flour = list.getItems().get(0);
+        assertEquals(0.1, flour.getAvailableAmount(), 0.0001, "The reserved 100 g is not available.");
+        assertEquals(0.2, flour.getAmountToBuy(), 0.0001);
+    }
+
+    @Test
+    void testGenerate_UnknownRecipeThrows() {
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> ShoppingList.generate(new int[]{999}, cookbook, mockStorage));
+        assertEquals("Recipe not found: 999", exception.getMessage());
+    }
+}
@@ -0,0 +1,83 @@
+package edu.ntnu.idi.idatt.replay;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.util.List;
+
+class LoadGeneratorTest {
+
+    private static Session session(String... lines) throws IOException {
+        StringBuilder file = new StringBuilder();
+        for (int i = 0; i < lines.length; i++) {
+            file.append(i * 10).append('\t').append(lines[i]).append('\n');
+        }
+        return Session.read("test", new BufferedReader(new StringReader(file.toString())));
+    }
+
+    @Test
+    void testRun_ReportsEveryMenuActionOfEveryUser() throws Exception {
+        // Arrange
+        Session session = session("1", "1", "8", "2", "6", "7", "3");
+        PrintStream console = System.out;
+
+        // Act
+        LoadReport report = new LoadGenerator(List.of(session), 3, 0, 2).run();
+
+        // Assert
+        assertSame(console, System.out, "System.out should be restored after the run.");
+        assertEquals(List.of("cookbook 6", "cookbook 7", "main 1", "main 2", "main 3", "storage 1", "storage 8"),
+                report.getActions());
+        for (String action : report.getActions()) {
+            assertEquals(6, report.getCount(action), action);
+            assertTrue(report.getLatencyNanos(action, 50) <= report.getLatencyNanos(action, 100));
+        }
+        assertTrue(report.getErrors().isEmpty());
+        assertTrue(report.toString().contains("storage 1"));
+    }
+
+    @Test
+    void testRun_MultiPromptActionAndSessionWithoutExit() throws Exception {
+        // Arrange
+        Session session = session("pantry", "1", "2", "Eggs", "3");
+
+        // Act
+        LoadReport report = new LoadGenerator(List.of(session), 1, 0, 1).run();
+
+        // Assert
+        assertEquals(1, report.getCount("storage 2"), "The name prompt should belong to the same action.");
+        assertEquals(1, report.getCount("main 1"));
+        assertEquals(1, report.getCount("main invalid"));
+        assertEquals(0, report.getCount("storage 3"), "An action cut off by the end of the session is not complete.");
+        assertTrue(report.getErrors().isEmpty());
+    }
+
+    @Test
+    void testRun_PacesLinesByRecordedTime() throws Exception {
+        // Arrange
+        Session session = Session.read("slow", new BufferedReader(new StringReader("0\t1\n400\t8\n400\t3\n")));
+
+        // Act
+        LoadReport report = new LoadGenerator(List.of(session), 1, 4, 1).run();
+
+        // Assert
+        assertTrue(report.getWallNanos() >= 100_000_000, "400 ms at 4x speed should take at least 100 ms.");
+        assertTrue(report.getLatencyNanos("storage 8", 100) < 100_000_000, "Think time is not latency.");
+    }
+
+    @Test
+    void testConstructor_RejectsInvalidArguments() throws IOException {
+        // Arrange
+        List<Session> sessions = List.of(session("3"));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new LoadGenerator(List.of(), 1, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new LoadGenerator(sessions, 0, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new LoadGenerator(sessions, 1, -1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new LoadGenerator(sessions, 1, Double.NaN, 1));
+    }
+}
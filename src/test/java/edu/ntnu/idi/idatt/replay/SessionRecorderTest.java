@@ -0,0 +1,41 @@
+package edu.ntnu.idi.idatt.replay;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Scanner;
+
+class SessionRecorderTest {
+
+    @Test
+    void testRecord_PassesInputThroughAndRecordsEachLine() throws IOException {
+        // Arrange
+        byte[] input = "1\r\nRød løk\n3".getBytes(StandardCharsets.UTF_8);
+        StringWriter replay = new StringWriter();
+        SessionRecorder recorder = new SessionRecorder(new ByteArrayInputStream(input), replay);
+
+        // Act
+        Scanner scanner = new Scanner(recorder, StandardCharsets.UTF_8);
+        String first = scanner.nextLine();
+        String second = scanner.nextLine();
+        String third = scanner.nextLine();
+        recorder.close();
+        Session session = Session.read("recorded", new BufferedReader(new StringReader(replay.toString())));
+
+        // Assert
+        assertEquals("1", first);
+        assertEquals("Rød løk", second);
+        assertEquals("3", third);
+        assertEquals(3, session.size());
+        assertEquals("1", session.getLine(0));
+        assertEquals("Rød løk", session.getLine(1));
+        assertEquals("3", session.getLine(2), "An unterminated last line should be recorded on close.");
+        assertTrue(session.getOffsetMillis(0) >= 0);
+    }
+}
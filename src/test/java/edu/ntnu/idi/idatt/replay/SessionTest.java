@@ -0,0 +1,39 @@
+package edu.ntnu.idi.idatt.replay;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+class SessionTest {
+
+    @Test
+    void testRead_SkipsCommentsAndKeepsInputVerbatim() throws IOException {
+        // Arrange
+        String file = "# morning shift\n0\t1\n\n1500\t  Whole\tMilk \n1500\t\n";
+
+        // Act
+        Session session = Session.read("morning", new BufferedReader(new StringReader(file)));
+
+        // Assert
+        assertEquals("morning", session.getName());
+        assertEquals(3, session.size());
+        assertEquals("1", session.getLine(0));
+        assertEquals("  Whole\tMilk ", session.getLine(1), "Only the first tab separates the time.");
+        assertEquals("", session.getLine(2));
+        assertEquals(1500, session.getOffsetMillis(2));
+    }
+
+    @Test
+    void testRead_RejectsMalformedLines() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> Session.read("s", new BufferedReader(new StringReader("1\n"))));
+        assertThrows(IllegalArgumentException.class,
+                () -> Session.read("s", new BufferedReader(new StringReader("x\t1\n"))));
+        assertThrows(IllegalArgumentException.class,
+                () -> Session.read("s", new BufferedReader(new StringReader("20\t1\n10\t2\n"))));
+    }
+}
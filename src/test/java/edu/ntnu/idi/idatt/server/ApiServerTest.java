@@ -0,0 +1,142 @@
+package edu.ntnu.idi.idatt.server;
+
+import edu.ntnu.idi.idatt.model.Cookbook;
+import edu.ntnu.idi.idatt.model.Recipe;
+import edu.ntnu.idi.idatt.model.Storage;
+import edu.ntnu.idi.idatt.model.Units;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+
+class ApiServerTest {
+    private Storage storage;
+    private ApiServer server;
+    private HttpClient client;
+    private int omeletteID;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        storage = new Storage();
+        Cookbook cookbook = new Cookbook();
+        omeletteID = cookbook.addRecipeToCookbook(new Recipe(0, "Omelette", "Eggs.", "Fry."), "Breakfast")
+                .addIngredient("Eggs", 3, "pcs", 6.0)
+                .getRecipeID();
+        server = new ApiServer(new PantryService(storage, cookbook), new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 2);
+        server.start();
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void testIngredients_AddListAndRemove() throws Exception {
+        // Act
+        HttpResponse<String> added = send("POST", "/ingredients", "name=Eggs&amount=6&unit=pcs&expires=2026-11-01&price=18");
+        HttpResponse<String> listed = send("GET", "/ingredients?name=eggs", null);
+        HttpResponse<String> removed = send("DELETE", "/ingredients?name=Eggs&amount=2", null);
+
+        // Assert
+        assertEquals(201, added.statusCode());
+        assertTrue(added.body().contains("\"expireDate\":\"2026-11-01\""), added.body());
+        assertEquals(200, listed.statusCode());
+        assertTrue(listed.body().startsWith("[{") && listed.body().contains("\"name\":\"Eggs\""), listed.body());
+        assertEquals("{\"removed\":2.0}", removed.body());
+        assertEquals(4, storage.getIngredientsByName("Eggs").get(0).getIngredientAmount());
+    }
+
+    @Test
+    void testRecipes_SuggestAndCook() throws Exception {
+        // Arrange
+        storage.addEntry("Eggs", 4, "pcs", null, 12.0);
+
+        // Act
+        HttpResponse<String> suggestions = send("GET", "/suggestions", null);
+        HttpResponse<String> recipe = send("GET", "/recipes/" + omeletteID, null);
+        HttpResponse<String> cooked = send("POST", "/recipes/" + omeletteID + "/cook", "");
+        HttpResponse<String> cookedAgain = send("POST", "/recipes/" + omeletteID + "/cook", "");
+
+        // Assert
+        assertTrue(suggestions.body().contains("\"name\":\"Omelette\""), suggestions.body());
+        assertEquals(200, recipe.statusCode());
+        assertEquals("{\"cooked\":true}", cooked.body());
+        assertEquals("{\"cooked\":false}", cookedAgain.body(), "Only one egg should be left.");
+    }
+
+    @Test
+    void testValuation() throws Exception {
+        // Arrange
+        storage.addEntry("Milk", 1, "liter", java.time.LocalDate.of(2026, 1, 1), 20.0);
+        storage.addEntry("Rice", 1, "kg", null, 30.0);
+
+        // Act
+        HttpResponse<String> response = send("GET", "/valuation?date=2026-02-01", null);
+
+        // Assert
+        assertEquals("{\"date\":\"2026-02-01\",\"entries\":2,\"totalValue\":50.0,\"expiredEntries\":1,\"expiredValue\":20.0}",
+                response.body());
+    }
+
+    @Test
+    void testMetrics_ReportCalledOperations() throws Exception {
+        // Arrange
+        storage.addEntry("Eggs", 4, "pcs", null, 12.0);
+
+        // Act
+        HttpResponse<String> response = send("GET", "/metrics", null);
+
+        // Assert
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().startsWith("{\"operations\":[{"), response.body());
+        assertTrue(response.body().contains("{\"name\":\"storage.addEntry\",\"count\":"), response.body());
+        assertEquals(405, send("DELETE", "/metrics", null).statusCode());
+    }
+
+    @Test
+    void testErrors() throws Exception {
+        // Act & Assert
+        assertEquals(400, send("POST", "/ingredients", "name=Eggs&amount=lots&unit=pcs&price=1").statusCode());
+        assertEquals("{\"error\":\"Missing parameter: unit\"}", send("POST", "/ingredients", "name=Eggs&amount=1&price=1").body());
+        assertEquals("{\"error\":\"Unknown unit: bushel of hope\"}",
+                send("POST", "/ingredients", "name=Eggs&amount=1&unit=bushel+of+hope&price=1").body());
+        assertEquals(400, send("POST", "/ingredients", "name=" + "x".repeat(101) + "&amount=1&unit=pcs&price=1").statusCode());
+        assertEquals(-1, Units.find("bushel of hope"), "A rejected unit should not be registered.");
+        assertEquals(404, send("GET", "/recipes/999999", null).statusCode());
+        assertEquals(405, send("PUT", "/suggestions", "").statusCode());
+        assertEquals(404, send("GET", "/nothing", null).statusCode());
+    }
+
+    @Test
+    void testNewVirtualThreadExecutor_MatchesRuntime() {
+        // Act
+        boolean available = ApiServer.newVirtualThreadExecutor() != null;
+
+        // Assert
+        assertEquals(Runtime.version().feature() >= 21, available);
+        assertFalse(server.usesVirtualThreads(), "A configured number of platform threads should disable virtual threads.");
+    }
+
+    private HttpResponse<String> send(String method, String path, String form) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path));
+        if (form == null) {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        } else {
+            request.header("Content-Type", "application/x-www-form-urlencoded")
+                    .method(method, HttpRequest.BodyPublishers.ofString(form));
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,167 @@
+package edu.ntnu.idi.idatt.server;
+
+import edu.ntnu.idi.idatt.model.Cookbook;
+import edu.ntnu.idi.idatt.model.Recipe;
+import edu.ntnu.idi.idatt.model.Storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+
+
+class StockProtocolServerTest {
+    private Storage storage;
+    private StockProtocolServer server;
+    private StockProtocolClient client;
+    private int omeletteID;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        storage = new Storage();
+        Cookbook cookbook = new Cookbook();
+        omeletteID = cookbook.addRecipeToCookbook(new Recipe(0, "Omelette", "Eggs.", "Fry."), "Breakfast")
+                .addIngredient("Eggs", 3, "pcs", 6.0)
+                .getRecipeID();
+        server = new StockProtocolServer(storage, cookbook, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        server.start();
+        client = new StockProtocolClient(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort()));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        client.close();
+        server.close();
+    }
+
+    @Test
+    void testPipelinedRequests_ResultsInOrder() throws IOException {
+        // Act
+        client.add("Eggs", 4, "pcs", LocalDate.of(2026, 11, 1), 12.0);
+        client.canCook(omeletteID, 1);
+        client.remove("Eggs", 2);
+        client.canCook(omeletteID, 1);
+        client.remove("Eggs", 5);
+
+        // Assert
+        assertEquals(5, client.getPending());
+        assertEquals(0, client.readResult());
+        assertEquals(1, client.readResult(), "Four eggs are enough for an omelette.");
+        assertEquals(2, client.readResult());
+        assertEquals(0, client.readResult(), "Two eggs are not.");
+        assertEquals(2, client.readResult(), "Only what is left can be removed.");
+        assertTrue(storage.getIngredients().isEmpty());
+    }
+
+    @Test
+    void testErrors_DoNotCloseTheConnection() throws IOException {
+        // Act
+        client.canCook(999999, 1);
+        client.remove("Eggs", -1);
+        client.add("Milk", 1, "bushel of hope", null, 20.0);
+        client.add(" ", 1, "liter", null, 20.0);
+        client.add("Milk", 1, "liter", null, 20.0);
+
+        // Assert
+        IllegalArgumentException notFound = assertThrows(IllegalArgumentException.class, client::readResult);
+        assertEquals("Recipe not found: 999999", notFound.getMessage());
+        assertThrows(IllegalArgumentException.class, client::readResult);
+        IllegalArgumentException unknownUnit = assertThrows(IllegalArgumentException.class, client::readResult);
+        assertEquals("Unknown unit: bushel of hope", unknownUnit.getMessage());
+        IllegalArgumentException blankName = assertThrows(IllegalArgumentException.class, client::readResult);
+        assertEquals("Ingredient name and unit cannot be empty.", blankName.getMessage());
+        assertEquals(0, client.readResult());
+        assertNull(storage.getIngredientsByName("Milk").get(0).getExpireDate());
+    }
+
+    @Test
+    void testUnexpectedFailure_ClosesOnlyThatConnection() throws IOException {
+        // Arrange
+        Storage failing = new Storage() {
+            @Override
+            public double withdraw(String ingredientName, double amountToRemove) {
+                throw new IllegalStateException("Storage is broken.");
+            }
+        };
+        try (StockProtocolServer other = new StockProtocolServer(failing, new Cookbook(),
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+            other.start();
+            InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), other.getPort());
+            try (StockProtocolClient broken = new StockProtocolClient(address);
+                 StockProtocolClient healthy = new StockProtocolClient(address)) {
+                // Act
+                broken.remove("Eggs", 1);
+                healthy.add("Eggs", 2, "pcs", null, 4.0);
+
+                // Assert
+                assertThrows(IOException.class, broken::readResult);
+                assertEquals(0, healthy.readResult(), "Other connections should keep being served.");
+            }
+        }
+    }
+
+    @Test
+    void testClose_ClosesConnections() throws IOException {
+        // Arrange
+        client.add("Eggs", 2, "pcs", null, 4.0);
+        assertEquals(0, client.readResult());
+
+        // Act
+        server.close();
+
+        // Assert
+        client.remove("Eggs", 1);
+        assertThrows(IOException.class, client::readResult, "The connection should be closed by the server.");
+    }
+
+    @Test
+    void testManyPipelinedRequests_SpanSeveralBuffers() throws IOException {
+        // Arrange
+        int batches = 20;
+        int perBatch = 5_000;
+
+        // Act
+        double removed = 0;
+        client.add("Flour", batches * perBatch, "g", null, 100.0);
+        client.readResult();
+        for (int batch = 0; batch < batches; batch++) {
+            for (int i = 0; i < perBatch; i++) {
+                client.remove("Flour", 1);
+            }
+            while (client.getPending() > 0) {
+                removed += client.readResult();
+            }
+        }
+
+        // Assert
+        assertEquals(batches * perBatch, removed, 1e-6);
+        assertTrue(storage.getIngredients().isEmpty());
+    }
+
+    @Test
+    void testExecute_MalformedRequestChangesNothing() {
+        // Arrange
+        ByteBuffer request = ByteBuffer.allocate(64);
+        request.put(StockProtocol.REMOVE);
+        StockProtocol.putString("Eggs", request);
+        request.putDouble(1).putInt(7).flip();
+        ByteBuffer response = ByteBuffer.allocate(64);
+        storage.addEntry("Eggs", 2, "pcs", null, 6.0);
+
+        // Act
+        server.execute(request, response);
+
+        // Assert
+        response.flip();
+        assertEquals(response.remaining() - 4, response.getInt());
+        assertEquals(StockProtocol.ERROR, response.get());
+        assertEquals("Malformed request.", StockProtocol.getString(response));
+        assertEquals(2, storage.getIngredientsByName("Eggs").get(0).getIngredientAmount());
+    }
+}
@@ -3,6 +3,8 @@ package edu.ntnu.idi.idatt.ui;
 import edu.ntnu.idi.idatt.inputvalidator.InputValidator;
 import edu.ntnu.idi.idatt.foodhandling.ClientCookbook;
 import edu.ntnu.idi.idatt.foodhandling.ClientStorage;
+import edu.ntnu.idi.idatt.metrics.MetricsRegistry;
+import edu.ntnu.idi.idatt.metrics.OperationMetrics;
 import edu.ntnu.idi.idatt.model.Cookbook;
 import edu.ntnu.idi.idatt.model.Storage;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,7 +13,10 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.PrintStream;
+import java.io.Reader;
+import java.io.StringReader;
 import java.util.Scanner;
 
 
@@ -126,6 +131,35 @@ class UserInterfaceTest {
         assertTrue(output.contains("Exiting application... Goodbye!"));
     }
 
+    @Test
+    void testPerform_LeavesOutTimeWaitingForInput() {
+        // Arrange
+        // Manage Storage -> Find Ingredient by Name -> Return to Main Menu -> Exit Application, typed slowly
+        Reader slowInput = new StringReader("1\n2\nFlour\n8\n3\n") {
+            @Override
+            public int read(char[] buffer, int offset, int length) throws IOException {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.read(buffer, offset, Math.min(length, 2));
+            }
+        };
+        OperationMetrics findIngredient = MetricsRegistry.global().operation("ui.storage.getIngredientsByName");
+        findIngredient.reset();
+        inputValidator = new InputValidator(new Scanner(slowInput));
+        userInterface = new UserInterface(clientStorage, clientCookbook, storage, cookbook, inputValidator);
+
+        // Act
+        userInterface.start();
+
+        // Assert
+        assertEquals(1, findIngredient.getCount());
+        assertTrue(findIngredient.getMaxMicros() < 100_000,
+                "Typing the name should not be timed: " + findIngredient.getMaxMicros() + " us");
+    }
+
     /**
      * Utility method to simulate user input.
      * @param input the input to simulate